@@ -32,6 +32,14 @@ public final class MqttMessages {
   public static final String ON_PUBLISH_EXCEPTION =
       "onPublish execution exception, msg is [{}], error is ";
   public static final String PROCESS_RESULT = "process result: {}";
+  public static final String SKIP_MESSAGE_OF_INVALID_TIMESTAMP =
+      "Skip the message of invalid timestamp {}, because ";
+  public static final String INSERT_BATCH_FAILED =
+      "Failed to insert the batch of {} messages, which are inserted one by one, because {}";
+  public static final String INSERT_MESSAGE_FAILED =
+      "Failed to insert the message of device {} published to topic {}, because {}";
+  public static final String DROP_BATCH_OF_CLOSED_SESSION =
+      "Drop the batch of {} messages, because the session of client {} is closed";
 
   // --- MQTTService ---
   public static final String SERVER_START_EXCEPTION = "Exception while starting server";
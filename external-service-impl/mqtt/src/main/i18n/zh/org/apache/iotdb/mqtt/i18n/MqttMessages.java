@@ -32,6 +32,14 @@ public final class MqttMessages {
   public static final String ON_PUBLISH_EXCEPTION =
       "onPublish 执行异常，消息为 [{}]，错误：";
   public static final String PROCESS_RESULT = "处理结果：{}";
+  public static final String SKIP_MESSAGE_OF_INVALID_TIMESTAMP =
+      "跳过时间戳 {} 不合法的消息，原因：";
+  public static final String INSERT_BATCH_FAILED =
+      "插入 {} 条消息的批次失败，改为逐条插入，原因：{}";
+  public static final String INSERT_MESSAGE_FAILED =
+      "设备 {} 发布到主题 {} 的消息插入失败，原因：{}";
+  public static final String DROP_BATCH_OF_CLOSED_SESSION =
+      "丢弃 {} 条消息的批次，因为客户端 {} 的会话已关闭";
 
   // --- MQTTService ---
   public static final String SERVER_START_EXCEPTION = "启动服务器时发生异常";
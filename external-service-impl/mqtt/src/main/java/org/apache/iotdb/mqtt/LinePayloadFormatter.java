@@ -24,47 +24,36 @@ import io.netty.buffer.ByteBuf;
 import org.apache.tsfile.enums.TSDataType;
 import org.apache.tsfile.external.commons.lang3.NotImplementedException;
 import org.apache.tsfile.utils.Binary;
-import org.apache.tsfile.utils.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
 
 /**
  * The Line payload formatter. myTable,tag1=value1,tag2=value2 attr1=value1,attr2=value2
  * fieldKey="fieldValue" 1740109006000 \n myTable,tag1=value1,tag2=value2 fieldKey="fieldValue"
  * 1740109006000
+ *
+ * <p>The lines are scanned by hand instead of by regular expressions, and the sections of a line
+ * are addressed by their offsets, so that no intermediate string is created except the keys and
+ * the values.
  */
 public class LinePayloadFormatter implements PayloadFormatter {
 
   private static final Logger log = LoggerFactory.getLogger(LinePayloadFormatter.class);
 
-  /*
-  Regular expression matching line protocol ，the attributes field is not required
-  */
-  private static final String REGEX =
-      "(?<table>\\w+)(,(?<tags>[^ ]+))?(\\s+(?<attributes>[^ ]+))?\\s+(?<fields>[^ ]+)\\s+(?<timestamp>\\d+)";
-  private static final String COMMA = ",";
-  private static final String WELL = "#";
-  private static final String LINE_BREAK = "\n";
-  private static final String EQUAL = "=";
-  private static final String TABLE = "table";
-  private static final String TAGS = "tags";
-  private static final String ATTRIBUTES = "attributes";
-  private static final String FIELDS = "fields";
-  private static final String TIMESTAMP = "timestamp";
+  private static final char COMMA = ',';
+  private static final char WELL = '#';
+  private static final char LINE_BREAK = '\n';
+  private static final char EQUAL = '=';
+  private static final char QUOTE = '"';
   private static final String NULL = "null";
 
-  private final Pattern pattern;
-
-  public LinePayloadFormatter() {
-    pattern = Pattern.compile(REGEX);
-  }
+  // The sections of a line are separated by whitespaces, the attributes section is not required
+  private static final int MIN_SECTION_NUM = 3;
+  private static final int MAX_SECTION_NUM = 4;
 
   @Override
   public List<Message> format(String topic, ByteBuf payload) {
@@ -74,58 +63,28 @@ public class LinePayloadFormatter implements PayloadFormatter {
     }
 
     String txt = payload.toString(StandardCharsets.UTF_8);
-    String[] lines = txt.split(LINE_BREAK);
     // '/' previously defined as a database name
     String database = !topic.contains("/") ? topic : topic.substring(0, topic.indexOf("/"));
-    for (String line : lines) {
-      if (line.trim().startsWith(WELL)) {
-        continue;
+    // The start and the end offsets of the sections in the current line
+    int[] sections = new int[MAX_SECTION_NUM * 2];
+    int lineStart = 0;
+    while (lineStart < txt.length()) {
+      int lineEnd = txt.indexOf(LINE_BREAK, lineStart);
+      if (lineEnd < 0) {
+        lineEnd = txt.length();
       }
-      TableMessage message = new TableMessage();
       try {
-        Matcher matcher = pattern.matcher(line.trim());
-        if (!matcher.matches()) {
-          log.warn(MqttMessages.INVALID_LINE_PROTOCOL, line);
-          continue;
-        }
-
-        // Parsing Database Name
-        message.setDatabase((database));
-
-        // Parsing Table Names
-        message.setTable(matcher.group(TABLE));
-
-        // Parsing Tags
-        if (!setTags(matcher, message)) {
-          log.warn(MqttMessages.TAGS_ERROR, line);
-          continue;
-        }
-
-        // Parsing Attributes
-        if (!setAttributes(matcher, message)) {
-          log.warn(MqttMessages.ATTRIBUTES_ERROR, line);
-          continue;
+        TableMessage message = parseLine(txt, lineStart, lineEnd, database, sections);
+        if (message != null) {
+          messages.add(message);
         }
-
-        // Parsing Fields
-        if (!setFields(matcher, message)) {
-          log.warn(MqttMessages.FIELDS_ERROR, line);
-          continue;
-        }
-
-        // Parsing timestamp
-        if (!setTimestamp(matcher, message)) {
-          log.warn(MqttMessages.TIMESTAMP_ERROR, line);
-          continue;
-        }
-
-        messages.add(message);
       } catch (Exception e) {
         log.warn(
             "The line pattern parsing fails, and the failed line message is {} ,exception is",
-            line,
+            txt.substring(lineStart, lineEnd),
             e);
       }
+      lineStart = lineEnd + 1;
     }
     return messages;
   }
@@ -136,138 +95,228 @@ public class LinePayloadFormatter implements PayloadFormatter {
     throw new NotImplementedException();
   }
 
-  private boolean setTags(Matcher matcher, TableMessage message) {
+  /** Parse a line, return null if the line is skipped. */
+  private TableMessage parseLine(
+      String txt, int lineStart, int lineEnd, String database, int[] sections) {
+    int sectionNum = splitSections(txt, lineStart, lineEnd, sections);
+    if (sectionNum == 0 || txt.charAt(sections[0]) == WELL) {
+      // blank line or comment
+      return null;
+    }
+    if (sectionNum < MIN_SECTION_NUM || sectionNum > MAX_SECTION_NUM) {
+      log.warn(MqttMessages.INVALID_LINE_PROTOCOL, txt.substring(lineStart, lineEnd));
+      return null;
+    }
+
+    // The first section is the table name and the tags
+    int tableStart = sections[0];
+    int tableEnd = sections[1];
+    int tableNameEnd = tableStart;
+    while (tableNameEnd < tableEnd && isWordChar(txt.charAt(tableNameEnd))) {
+      tableNameEnd++;
+    }
+    int timestampStart = sections[(sectionNum - 1) * 2];
+    int timestampEnd = sections[(sectionNum - 1) * 2 + 1];
+    if (tableNameEnd == tableStart
+        || (tableNameEnd < tableEnd && txt.charAt(tableNameEnd) != COMMA)
+        || !isDigits(txt, timestampStart, timestampEnd)) {
+      log.warn(MqttMessages.INVALID_LINE_PROTOCOL, txt.substring(lineStart, lineEnd));
+      return null;
+    }
+
+    TableMessage message = new TableMessage();
+    message.setDatabase(database);
+    message.setTable(txt.substring(tableStart, tableNameEnd));
+
     List<String> tagKeys = new ArrayList<>();
     List<Object> tagValues = new ArrayList<>();
-    String tagsGroup = matcher.group(TAGS);
-    if (tagsGroup != null && !tagsGroup.isEmpty()) {
-      String[] tagPairs = tagsGroup.split(COMMA);
-      for (String tagPair : tagPairs) {
-        if (!tagPair.isEmpty()) {
-          String[] keyValue = tagPair.split(EQUAL);
-          if (keyValue.length == 2 && !NULL.equals(keyValue[1])) {
-            tagKeys.add(keyValue[0]);
-            tagValues.add(new Binary[] {new Binary(keyValue[1].getBytes(StandardCharsets.UTF_8))});
-          }
-        }
-      }
-    }
-    if (!tagKeys.isEmpty() && !tagValues.isEmpty() && tagKeys.size() == tagValues.size()) {
-      message.setTagKeys(tagKeys);
-      message.setTagValues(tagValues);
-      return true;
-    } else {
-      return false;
+    parseKeyValuePairs(txt, tableNameEnd, tableEnd, tagKeys, tagValues);
+    if (tagKeys.isEmpty()) {
+      log.warn(MqttMessages.TAGS_ERROR, txt.substring(lineStart, lineEnd));
+      return null;
     }
-  }
+    message.setTagKeys(tagKeys);
+    message.setTagValues(tagValues);
 
-  private boolean setAttributes(Matcher matcher, TableMessage message) {
     List<String> attributeKeys = new ArrayList<>();
     List<Object> attributeValues = new ArrayList<>();
-    String attributesGroup = matcher.group(ATTRIBUTES);
-    if (attributesGroup != null && !attributesGroup.isEmpty()) {
-      String[] attributePairs = attributesGroup.split(COMMA);
-      for (String attributePair : attributePairs) {
-        if (!attributePair.isEmpty()) {
-          String[] keyValue = attributePair.split(EQUAL);
-          if (keyValue.length == 2 && !NULL.equals(keyValue[1])) {
-            attributeKeys.add(keyValue[0]);
-            attributeValues.add(
-                new Binary[] {new Binary(keyValue[1].getBytes(StandardCharsets.UTF_8))});
-          }
-        }
+    if (sectionNum == MAX_SECTION_NUM) {
+      parseKeyValuePairs(txt, sections[2], sections[3], attributeKeys, attributeValues);
+    }
+    message.setAttributeKeys(attributeKeys);
+    message.setAttributeValues(attributeValues);
+
+    int fieldsIndex = sectionNum - 2;
+    if (!parseFields(txt, sections[fieldsIndex * 2], sections[fieldsIndex * 2 + 1], message)) {
+      log.warn(MqttMessages.FIELDS_ERROR, txt.substring(lineStart, lineEnd));
+      return null;
+    }
+
+    message.setTimestamp(Long.parseLong(txt.substring(timestampStart, timestampEnd)));
+    return message;
+  }
+
+  /**
+   * Record the offsets of the whitespace separated sections of the line into the array.
+   *
+   * @return the number of sections, which is more than the capacity of the array if the line has
+   *     too many sections
+   */
+  private static int splitSections(String txt, int start, int end, int[] sections) {
+    int sectionNum = 0;
+    int i = start;
+    while (i < end) {
+      while (i < end && Character.isWhitespace(txt.charAt(i))) {
+        i++;
+      }
+      if (i == end) {
+        break;
+      }
+      int sectionStart = i;
+      while (i < end && !Character.isWhitespace(txt.charAt(i))) {
+        i++;
       }
+      if (sectionNum == MAX_SECTION_NUM) {
+        return sectionNum + 1;
+      }
+      sections[sectionNum * 2] = sectionStart;
+      sections[sectionNum * 2 + 1] = i;
+      sectionNum++;
     }
-    if (attributeKeys.size() == attributeValues.size()) {
-      message.setAttributeKeys(attributeKeys);
-      message.setAttributeValues(attributeValues);
-      return true;
-    } else {
-      return false;
+    return sectionNum;
+  }
+
+  /** Parse the comma separated key=value pairs, the pairs without a valid value are ignored. */
+  private static void parseKeyValuePairs(
+      String txt, int start, int end, List<String> keys, List<Object> values) {
+    int pairStart = start;
+    while (pairStart < end) {
+      int pairEnd = indexOf(txt, COMMA, pairStart, end);
+      if (pairEnd < 0) {
+        pairEnd = end;
+      }
+      int equal = indexOf(txt, EQUAL, pairStart, pairEnd);
+      if (equal > pairStart
+          && equal < pairEnd - 1
+          && indexOf(txt, EQUAL, equal + 1, pairEnd) < 0
+          && !isNull(txt, equal + 1, pairEnd)) {
+        keys.add(txt.substring(pairStart, equal));
+        values.add(new Binary[] {toBinary(txt, equal + 1, pairEnd)});
+      }
+      pairStart = pairEnd + 1;
     }
   }
 
-  private boolean setFields(Matcher matcher, TableMessage message) {
+  private boolean parseFields(String txt, int start, int end, TableMessage message) {
     List<String> fields = new ArrayList<>();
     List<TSDataType> dataTypes = new ArrayList<>();
     List<Object> values = new ArrayList<>();
-    String fieldsGroup = matcher.group(FIELDS);
-    if (fieldsGroup != null && !fieldsGroup.isEmpty()) {
-      String[] fieldPairs = splitFieldPairs(fieldsGroup);
-      for (String fieldPair : fieldPairs) {
-        if (!fieldPair.isEmpty()) {
-          String[] keyValue = fieldPair.split(EQUAL);
-          if (keyValue.length == 2 && !NULL.equals(keyValue[1])) {
-            fields.add(keyValue[0]);
-            Pair<TSDataType, Object> typeAndValue = analyticValue(keyValue[1]);
-            values.add(typeAndValue.getRight());
-            dataTypes.add(typeAndValue.getLeft());
-          }
-        }
+    int pairStart = start;
+    while (pairStart < end) {
+      int keyEnd = pairStart;
+      while (keyEnd < end && isWordChar(txt.charAt(keyEnd))) {
+        keyEnd++;
+      }
+      int valueStart = keyEnd + 1;
+      int valueEnd;
+      boolean quoted = valueStart < end && txt.charAt(valueStart) == QUOTE;
+      if (quoted) {
+        // A quoted string may contain commas and equal signs
+        valueEnd = indexOf(txt, QUOTE, valueStart + 1, end);
+        valueEnd = valueEnd < 0 ? end : valueEnd + 1;
+      } else {
+        valueEnd = indexOf(txt, COMMA, Math.min(keyEnd, end), end);
+        valueEnd = valueEnd < 0 ? end : valueEnd;
+      }
+      if (keyEnd > pairStart
+          && keyEnd < end
+          && txt.charAt(keyEnd) == EQUAL
+          && valueStart < valueEnd
+          && (quoted || indexOf(txt, EQUAL, valueStart, valueEnd) < 0)
+          && !isNull(txt, valueStart, valueEnd)) {
+        fields.add(txt.substring(pairStart, keyEnd));
+        analyticValue(txt, valueStart, valueEnd, dataTypes, values);
       }
+      int next = indexOf(txt, COMMA, Math.max(valueEnd, keyEnd), end);
+      pairStart = next < 0 ? end : next + 1;
     }
-    if (!fields.isEmpty() && !values.isEmpty() && fields.size() == values.size()) {
-      message.setFields(fields);
-      message.setDataTypes(dataTypes);
-      message.setValues(values);
-      return true;
-    } else {
+    if (fields.isEmpty()) {
       return false;
     }
+    message.setFields(fields);
+    message.setDataTypes(dataTypes);
+    message.setValues(values);
+    return true;
   }
 
-  private String[] splitFieldPairs(String fieldsGroup) {
-
-    if (fieldsGroup == null || fieldsGroup.isEmpty()) return new String[0];
-    Matcher m = Pattern.compile("\\w+=\"[^\"]*\"|\\w+=[^,]*").matcher(fieldsGroup);
-    Stream.Builder<String> builder = Stream.builder();
-
-    while (m.find()) builder.add(m.group());
-    return builder.build().toArray(String[]::new);
-  }
-
-  private Pair<TSDataType, Object> analyticValue(String value) {
-    if (value.startsWith("\"") && value.endsWith("\"")) {
+  private static void analyticValue(
+      String txt, int start, int end, List<TSDataType> dataTypes, List<Object> values) {
+    char last = txt.charAt(end - 1);
+    if (end - start >= 2 && txt.charAt(start) == QUOTE && last == QUOTE) {
       // String
-      return new Pair<>(
-          TSDataType.TEXT,
-          new Binary[] {
-            new Binary(value.substring(1, value.length() - 1).getBytes(StandardCharsets.UTF_8))
-          });
-    } else if (value.equalsIgnoreCase("t")
-        || value.equalsIgnoreCase("true")
-        || value.equalsIgnoreCase("f")
-        || value.equalsIgnoreCase("false")) {
+      dataTypes.add(TSDataType.TEXT);
+      values.add(new Binary[] {toBinary(txt, start + 1, end - 1)});
+    } else if (isBoolean(txt, start, end)) {
       // boolean
-      return new Pair<>(
-          TSDataType.BOOLEAN,
-          new boolean[] {value.equalsIgnoreCase("t") || value.equalsIgnoreCase("true")});
-    } else if (value.endsWith("f")) {
+      dataTypes.add(TSDataType.BOOLEAN);
+      char first = txt.charAt(start);
+      values.add(new boolean[] {first == 't' || first == 'T'});
+    } else if (last == 'f') {
       // float
-      return new Pair<>(
-          TSDataType.FLOAT, new float[] {Float.parseFloat(value.substring(0, value.length() - 1))});
-    } else if (value.endsWith("i32")) {
+      dataTypes.add(TSDataType.FLOAT);
+      values.add(new float[] {Float.parseFloat(txt.substring(start, end - 1))});
+    } else if (end - start >= 3 && txt.startsWith("i32", end - 3)) {
       // int
-      return new Pair<>(
-          TSDataType.INT32, new int[] {Integer.parseInt(value.substring(0, value.length() - 3))});
-    } else if (value.endsWith("u") || value.endsWith("i")) {
+      dataTypes.add(TSDataType.INT32);
+      values.add(new int[] {Integer.parseInt(txt.substring(start, end - 3))});
+    } else if (last == 'u' || last == 'i') {
       // long
-      return new Pair<>(
-          TSDataType.INT64, new long[] {Long.parseLong(value.substring(0, value.length() - 1))});
+      dataTypes.add(TSDataType.INT64);
+      values.add(new long[] {Long.parseLong(txt.substring(start, end - 1))});
     } else {
       // double
-      return new Pair<>(TSDataType.DOUBLE, new double[] {Double.parseDouble(value)});
+      dataTypes.add(TSDataType.DOUBLE);
+      values.add(new double[] {Double.parseDouble(txt.substring(start, end))});
     }
   }
 
-  private boolean setTimestamp(Matcher matcher, TableMessage message) {
-    String timestampGroup = matcher.group(TIMESTAMP);
-    if (timestampGroup != null && !timestampGroup.isEmpty()) {
-      message.setTimestamp(Long.parseLong(timestampGroup));
-      return true;
-    } else {
-      return false;
+  private static boolean isBoolean(String txt, int start, int end) {
+    int length = end - start;
+    return (length == 1 && "tTfF".indexOf(txt.charAt(start)) >= 0)
+        || (length == 4 && txt.regionMatches(true, start, "true", 0, length))
+        || (length == 5 && txt.regionMatches(true, start, "false", 0, length));
+  }
+
+  private static boolean isNull(String txt, int start, int end) {
+    return end - start == NULL.length() && txt.startsWith(NULL, start);
+  }
+
+  private static boolean isWordChar(char c) {
+    return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_';
+  }
+
+  /** Return the index of the char in [from, to), or -1 if absent. */
+  private static int indexOf(String txt, char c, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (txt.charAt(i) == c) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean isDigits(String txt, int start, int end) {
+    for (int i = start; i < end; i++) {
+      char c = txt.charAt(i);
+      if (c < '0' || c > '9') {
+        return false;
+      }
     }
+    return end > start;
+  }
+
+  private static Binary toBinary(String txt, int start, int end) {
+    return new Binary(txt.substring(start, end).getBytes(StandardCharsets.UTF_8));
   }
 
   @Override
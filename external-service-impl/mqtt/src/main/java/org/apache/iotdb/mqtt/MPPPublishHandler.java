@@ -19,11 +19,12 @@
 package org.apache.iotdb.mqtt;
 
 import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.concurrent.threadpool.ScheduledExecutorUtil;
 import org.apache.iotdb.commons.conf.IoTDBConstant.ClientVersion;
-import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.commons.queryengine.common.SqlDialect;
 import org.apache.iotdb.commons.queryengine.utils.TimestampPrecisionUtils;
-import org.apache.iotdb.commons.schema.table.column.TsTableColumnCategory;
 import org.apache.iotdb.db.auth.AuthorityChecker;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
@@ -35,13 +36,12 @@ import org.apache.iotdb.db.queryengine.plan.analyze.IPartitionFetcher;
 import org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.DataNodeDevicePathCache;
 import org.apache.iotdb.db.queryengine.plan.analyze.schema.ClusterSchemaFetcher;
 import org.apache.iotdb.db.queryengine.plan.analyze.schema.ISchemaFetcher;
-import org.apache.iotdb.db.queryengine.plan.execution.ExecutionResult;
 import org.apache.iotdb.db.queryengine.plan.planner.LocalExecutionPlanner;
-import org.apache.iotdb.db.queryengine.plan.relational.metadata.Metadata;
 import org.apache.iotdb.db.queryengine.plan.relational.security.TreeAccessCheckContext;
 import org.apache.iotdb.db.queryengine.plan.relational.sql.parser.SqlParser;
+import org.apache.iotdb.db.queryengine.plan.statement.Statement;
 import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertRowStatement;
-import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertTabletStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertRowsStatement;
 import org.apache.iotdb.db.utils.CommonUtils;
 import org.apache.iotdb.mqtt.i18n.MqttMessages;
 import org.apache.iotdb.rpc.TSStatusCode;
@@ -54,17 +54,31 @@ import io.moquette.interception.messages.InterceptPublishMessage;
 import io.netty.buffer.ByteBuf;
 import io.netty.handler.codec.mqtt.MqttQoS;
 import org.apache.tsfile.enums.TSDataType;
-import org.apache.tsfile.utils.BitMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
-/** PublishHandler handle the messages from MQTT clients. */
+/**
+ * PublishHandler handle the messages from MQTT clients.
+ *
+ * <p>The messages are inserted by batches. The messages of one client into one table, or of one
+ * client in the tree model, are batched until the batch holds {@code mqtt_batch_max_row_num} rows
+ * or is older than {@code mqtt_batch_max_delay_in_ms}. If the delay is not positive, the messages
+ * of each publish are inserted at once, which are still batched. A batch is inserted by the session
+ * of its client, and if it fails, its messages are inserted one by one so that a bad message does
+ * not fail the others.
+ */
 public class MPPPublishHandler extends AbstractInterceptHandler {
 
   private static final Logger LOG = LoggerFactory.getLogger(MPPPublishHandler.class);
@@ -79,11 +93,30 @@ public class MPPPublishHandler extends AbstractInterceptHandler {
   private final ISchemaFetcher schemaFetcher;
   private final boolean useTableInsert;
 
+  private final int batchMaxRowNum;
+  private final long batchMaxDelayInMs;
+
+  // The batches waiting for the delay, guarded by itself. Only used if the delay is positive.
+  private final Map<List<String>, PendingBatch> pendingBatches = new HashMap<>();
+  private final ScheduledExecutorService batchFlusher;
+
   public MPPPublishHandler(IoTDBConfig config) {
     this.payloadFormat = PayloadFormatManager.getPayloadFormat(config.getMqttPayloadFormatter());
     partitionFetcher = ClusterPartitionFetcher.getInstance();
     schemaFetcher = ClusterSchemaFetcher.getInstance();
     useTableInsert = PayloadFormatter.TABLE_TYPE.equals(this.payloadFormat.getType());
+    batchMaxRowNum = Math.max(1, config.getMqttBatchMaxRowNum());
+    batchMaxDelayInMs = config.getMqttBatchMaxDelayInMs();
+    if (batchMaxDelayInMs > 0) {
+      batchFlusher =
+          IoTDBThreadPoolFactory.newSingleThreadScheduledExecutor(
+              ThreadName.MQTT_BATCH_FLUSHER.getName());
+      long interval = Math.max(1, batchMaxDelayInMs / 2);
+      ScheduledExecutorUtil.safelyScheduleWithFixedDelay(
+          batchFlusher, this::flushExpiredBatches, interval, interval, TimeUnit.MILLISECONDS);
+    } else {
+      batchFlusher = null;
+    }
   }
 
   @Override
@@ -114,10 +147,15 @@ public class MPPPublishHandler extends AbstractInterceptHandler {
 
   @Override
   public void onDisconnect(InterceptDisconnectMessage msg) {
-    MqttClientSession session = clientIdToSessionMap.remove(msg.getClientID());
+    MqttClientSession session = clientIdToSessionMap.get(msg.getClientID());
     if (null != session) {
-      sessionManager.removeCurrSessionForMqtt(session);
-      sessionManager.closeSession(session, Coordinator.getInstance()::cleanupQueryExecution);
+      // The batches of the client are inserted by its session, which is going to be closed
+      flushBatches(session);
+      synchronized (session) {
+        clientIdToSessionMap.remove(msg.getClientID(), session);
+        sessionManager.removeCurrSessionForMqtt(session);
+        sessionManager.closeSession(session, Coordinator.getInstance()::cleanupQueryExecution);
+      }
     }
   }
 
@@ -149,16 +187,17 @@ public class MPPPublishHandler extends AbstractInterceptHandler {
         return;
       }
 
-      for (Message message : messages) {
-        if (message == null) {
-          continue;
-        }
-        if (useTableInsert) {
-          insertTable((TableMessage) message, session);
-        } else {
-          insertTree((TreeMessage) message, session);
+      List<PendingBatch> readyBatches = new ArrayList<>();
+      if (batchMaxDelayInMs > 0) {
+        synchronized (pendingBatches) {
+          addMessages(messages, topic, session, pendingBatches, readyBatches);
         }
+      } else {
+        Map<List<String>, PendingBatch> batches = new HashMap<>();
+        addMessages(messages, topic, session, batches, readyBatches);
+        readyBatches.addAll(batches.values());
       }
+      readyBatches.forEach(this::insertBatch);
     } catch (Throwable t) {
       LOG.warn(MqttMessages.ON_PUBLISH_EXCEPTION, msg, t);
     } finally {
@@ -167,172 +206,301 @@ public class MPPPublishHandler extends AbstractInterceptHandler {
     }
   }
 
-  /** Inserting table using tablet */
-  private void insertTable(TableMessage message, MqttClientSession session) {
-    TSStatus tsStatus = null;
-    try {
-      TimestampPrecisionUtils.checkTimestampPrecision(message.getTimestamp());
-      InsertTabletStatement insertTabletStatement = constructInsertTabletStatement(message);
-      session.setDatabaseName(message.getDatabase().toLowerCase());
-      session.setSqlDialect(SqlDialect.TABLE);
-      long queryId = sessionManager.requestQueryId();
-      SqlParser relationSqlParser = new SqlParser();
-      Metadata metadata = LocalExecutionPlanner.getInstance().metadata;
-      ExecutionResult result =
-          Coordinator.getInstance()
-              .executeForTableModel(
-                  insertTabletStatement,
-                  relationSqlParser,
-                  session,
-                  queryId,
-                  sessionManager.getSessionInfo(session),
-                  "",
-                  metadata,
-                  config.getQueryTimeoutThreshold());
-
-      tsStatus = result.status;
-      if (LOG.isDebugEnabled()) {
-        LOG.debug(MqttMessages.PROCESS_RESULT, tsStatus);
+  /**
+   * Add the messages into the batches, and move the full batches, together with the batches the
+   * messages can not be added into, to the ready batches.
+   */
+  private void addMessages(
+      List<Message> messages,
+      String topic,
+      MqttClientSession session,
+      Map<List<String>, PendingBatch> batches,
+      List<PendingBatch> readyBatches) {
+    for (Message message : messages) {
+      if (message == null) {
+        continue;
       }
-      if (tsStatus.getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()
-          && tsStatus.getCode() != TSStatusCode.REDIRECTION_RECOMMEND.getStatusCode()) {
-        LOG.warn(
-            "mqtt json insert error, code={}, message={}",
-            tsStatus.getCode(),
-            tsStatus.getMessage());
+      try {
+        TimestampPrecisionUtils.checkTimestampPrecision(message.getTimestamp());
+      } catch (Exception e) {
+        LOG.warn(MqttMessages.SKIP_MESSAGE_OF_INVALID_TIMESTAMP, message.getTimestamp(), e);
+        continue;
+      }
+      List<String> key = getBatchKey(message, session);
+      PendingBatch batch = batches.get(key);
+      if (batch != null && !batch.add(message, topic)) {
+        readyBatches.add(batches.remove(key));
+        batch = null;
+      }
+      if (batch == null) {
+        batch = new PendingBatch(message, session, System.currentTimeMillis());
+        batch.add(message, topic);
+        batches.put(key, batch);
+      }
+      if (batch.size() >= batchMaxRowNum) {
+        readyBatches.add(batches.remove(key));
       }
-    } catch (Exception e) {
-      LOG.warn(
-          "meet error when inserting database {}, table {}, tags {}, attributes {}, fields {}, at time {}, because ",
-          message.getDatabase(),
-          message.getTable(),
-          message.getTagKeys(),
-          message.getAttributeKeys(),
-          message.getFields(),
-          message.getTimestamp(),
-          e);
     }
   }
 
-  private InsertTabletStatement constructInsertTabletStatement(TableMessage message) {
-    InsertTabletStatement insertStatement = new InsertTabletStatement();
-    insertStatement.setDevicePath(new PartialPath(message.getTable(), false));
-    List<String> measurements =
-        Stream.of(message.getFields(), message.getTagKeys(), message.getAttributeKeys())
-            .flatMap(List::stream)
-            .collect(Collectors.toList());
-    insertStatement.setMeasurements(measurements.toArray(new String[0]));
-    long[] timestamps = new long[] {message.getTimestamp()};
-    insertStatement.setTimes(timestamps);
-    int columnSize = measurements.size();
-    int rowSize = 1;
-
-    BitMap[] bitMaps = new BitMap[columnSize];
-    Object[] columns =
-        Stream.of(message.getValues(), message.getTagValues(), message.getAttributeValues())
-            .flatMap(List::stream)
-            .toArray(Object[]::new);
-    insertStatement.setColumns(columns);
-    insertStatement.setBitMaps(bitMaps);
-    insertStatement.setRowCount(rowSize);
-    insertStatement.setAligned(false);
-    insertStatement.setWriteToTable(true);
-    TSDataType[] dataTypes = new TSDataType[measurements.size()];
-    TsTableColumnCategory[] columnCategories = new TsTableColumnCategory[measurements.size()];
-    for (int i = 0; i < message.getFields().size(); i++) {
-      dataTypes[i] = message.getDataTypes().get(i);
-      columnCategories[i] = TsTableColumnCategory.FIELD;
+  private List<String> getBatchKey(Message message, MqttClientSession session) {
+    if (!useTableInsert) {
+      return Collections.singletonList(session.getClientID());
     }
-    for (int i = message.getFields().size();
-        i < message.getFields().size() + message.getTagKeys().size();
-        i++) {
-      dataTypes[i] = TSDataType.STRING;
-      columnCategories[i] = TsTableColumnCategory.TAG;
+    TableMessage tableMessage = (TableMessage) message;
+    return Arrays.asList(
+        session.getClientID(), tableMessage.getDatabase().toLowerCase(), tableMessage.getTable());
+  }
+
+  private void flushExpiredBatches() {
+    long expireTime = System.currentTimeMillis() - batchMaxDelayInMs;
+    List<PendingBatch> expiredBatches = new ArrayList<>();
+    synchronized (pendingBatches) {
+      Iterator<PendingBatch> iterator = pendingBatches.values().iterator();
+      while (iterator.hasNext()) {
+        PendingBatch batch = iterator.next();
+        if (batch.createTimeInMs <= expireTime) {
+          expiredBatches.add(batch);
+          iterator.remove();
+        }
+      }
     }
-    for (int i = message.getFields().size() + message.getTagKeys().size();
-        i
-            < message.getFields().size()
-                + message.getTagKeys().size()
-                + message.getAttributeKeys().size();
-        i++) {
-      dataTypes[i] = TSDataType.STRING;
-      columnCategories[i] = TsTableColumnCategory.ATTRIBUTE;
+    expiredBatches.forEach(this::insertBatch);
+  }
+
+  /** Insert the pending batches opened by the session. */
+  private void flushBatches(MqttClientSession session) {
+    List<PendingBatch> batches = new ArrayList<>();
+    synchronized (pendingBatches) {
+      Iterator<PendingBatch> iterator = pendingBatches.values().iterator();
+      while (iterator.hasNext()) {
+        PendingBatch batch = iterator.next();
+        if (batch.session == session) {
+          batches.add(batch);
+          iterator.remove();
+        }
+      }
     }
-    insertStatement.setDataTypes(dataTypes);
-    insertStatement.setColumnCategories(columnCategories);
+    batches.forEach(this::insertBatch);
+  }
 
-    return insertStatement;
+  /** Insert all the pending batches and stop the flusher. */
+  public void stop() {
+    if (batchFlusher != null) {
+      batchFlusher.shutdownNow();
+    }
+    List<PendingBatch> batches;
+    synchronized (pendingBatches) {
+      batches = new ArrayList<>(pendingBatches.values());
+      pendingBatches.clear();
+    }
+    batches.forEach(this::insertBatch);
   }
 
-  private void insertTree(TreeMessage message, MqttClientSession session) {
-    TSStatus tsStatus = null;
-    try {
-      InsertRowStatement statement = new InsertRowStatement();
-      statement.setDevicePath(
-          DataNodeDevicePathCache.getInstance().getPartialPath(message.getDevice()));
-      TimestampPrecisionUtils.checkTimestampPrecision(message.getTimestamp());
-      statement.setTime(message.getTimestamp());
-      statement.setMeasurements(message.getMeasurements().toArray(new String[0]));
-      if (message.getDataTypes() == null) {
-        statement.setDataTypes(new TSDataType[message.getMeasurements().size()]);
-        statement.setValues(message.getValues().toArray(new Object[0]));
-        statement.setNeedInferType(true);
-      } else {
-        List<TSDataType> dataTypes = message.getDataTypes();
-        List<String> values = message.getValues();
-        Object[] inferredValues = new Object[values.size()];
-        for (int i = 0; i < values.size(); ++i) {
-          inferredValues[i] = CommonUtils.parseValue(dataTypes.get(i), values.get(i));
+  private void insertBatch(PendingBatch batch) {
+    MqttClientSession session = batch.session;
+    // A session is not supposed to execute statements concurrently
+    synchronized (session) {
+      if (clientIdToSessionMap.get(session.getClientID()) != session) {
+        LOG.warn(MqttMessages.DROP_BATCH_OF_CLOSED_SESSION, batch.size(), session.getClientID());
+        return;
+      }
+      int size = batch.size();
+      try {
+        TSStatus status = execute(batch.toStatement(), batch);
+        if (isSuccess(status)) {
+          return;
+        }
+        if (size == 1) {
+          LOG.warn(
+              MqttMessages.INSERT_MESSAGE_FAILED, batch.getDevice(0), batch.topics.get(0), status);
+          return;
+        }
+        LOG.warn(MqttMessages.INSERT_BATCH_FAILED, size, status);
+      } catch (Exception e) {
+        if (size == 1) {
+          LOG.warn(
+              MqttMessages.INSERT_MESSAGE_FAILED,
+              batch.getDevice(0),
+              batch.topics.get(0),
+              e.getMessage(),
+              e);
+          return;
         }
-        statement.setDataTypes(dataTypes.toArray(new TSDataType[0]));
-        statement.setValues(inferredValues);
+        LOG.warn(MqttMessages.INSERT_BATCH_FAILED, size, e.getMessage(), e);
       }
-      statement.setAligned(false);
+      for (int i = 0; i < size; i++) {
+        try {
+          TSStatus status = execute(batch.toStatement(i), batch);
+          if (!isSuccess(status)) {
+            LOG.warn(
+                MqttMessages.INSERT_MESSAGE_FAILED,
+                batch.getDevice(i),
+                batch.topics.get(i),
+                status);
+          }
+        } catch (Exception e) {
+          LOG.warn(
+              MqttMessages.INSERT_MESSAGE_FAILED,
+              batch.getDevice(i),
+              batch.topics.get(i),
+              e.getMessage(),
+              e);
+        }
+      }
+    }
+  }
 
-      tsStatus =
+  private static boolean isSuccess(TSStatus status) {
+    return status.getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()
+        || status.getCode() == TSStatusCode.REDIRECTION_RECOMMEND.getStatusCode();
+  }
+
+  private TSStatus execute(Statement statement, PendingBatch batch) {
+    MqttClientSession session = batch.session;
+    TSStatus status;
+    long queryId;
+    if (useTableInsert) {
+      session.setDatabaseName(batch.tableBatch.getDatabase());
+      queryId = sessionManager.requestQueryId();
+      status =
+          Coordinator.getInstance()
+              .executeForTableModel(
+                  statement,
+                  new SqlParser(),
+                  session,
+                  queryId,
+                  sessionManager.getSessionInfo(session),
+                  "",
+                  LocalExecutionPlanner.getInstance().metadata,
+                  config.getQueryTimeoutThreshold())
+              .status;
+    } else {
+      status =
           AuthorityChecker.checkAuthority(
               statement,
               new TreeAccessCheckContext(
                   session.getUserId(), session.getUsername(), session.getClientID()));
-      if (tsStatus.getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
-        LOG.warn(tsStatus.message);
-      } else {
-        long queryId = sessionManager.requestQueryId();
-        ExecutionResult result =
-            Coordinator.getInstance()
-                .executeForTreeModel(
-                    statement,
-                    queryId,
-                    sessionManager.getSessionInfo(session),
-                    "",
-                    partitionFetcher,
-                    schemaFetcher,
-                    config.getQueryTimeoutThreshold(),
-                    false);
-        tsStatus = result.status;
-        if (LOG.isDebugEnabled()) {
-          LOG.debug(MqttMessages.PROCESS_RESULT, tsStatus);
-        }
-        if (tsStatus.getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()
-            && tsStatus.getCode() != TSStatusCode.REDIRECTION_RECOMMEND.getStatusCode()) {
-          LOG.warn(
-              "mqtt json insert error, code={}, message={}",
-              tsStatus.getCode(),
-              tsStatus.getMessage());
-        }
+      if (status.getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+        return status;
       }
-    } catch (Exception e) {
-      LOG.warn(
-          "meet error when inserting device {}, measurements {}, at time {}, because ",
-          message.getDevice(),
-          message.getMeasurements(),
-          message.getTimestamp(),
-          e);
+      queryId = sessionManager.requestQueryId();
+      status =
+          Coordinator.getInstance()
+              .executeForTreeModel(
+                  statement,
+                  queryId,
+                  sessionManager.getSessionInfo(session),
+                  "",
+                  partitionFetcher,
+                  schemaFetcher,
+                  config.getQueryTimeoutThreshold(),
+                  false)
+              .status;
+    }
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(MqttMessages.PROCESS_RESULT, status);
     }
+    return status;
+  }
+
+  private InsertRowStatement constructInsertRowStatement(TreeMessage message) throws Exception {
+    InsertRowStatement statement = new InsertRowStatement();
+    statement.setDevicePath(
+        DataNodeDevicePathCache.getInstance().getPartialPath(message.getDevice()));
+    statement.setTime(message.getTimestamp());
+    statement.setMeasurements(message.getMeasurements().toArray(new String[0]));
+    if (message.getDataTypes() == null) {
+      statement.setDataTypes(new TSDataType[message.getMeasurements().size()]);
+      statement.setValues(message.getValues().toArray(new Object[0]));
+      statement.setNeedInferType(true);
+    } else {
+      List<TSDataType> dataTypes = message.getDataTypes();
+      List<String> values = message.getValues();
+      Object[] inferredValues = new Object[values.size()];
+      for (int i = 0; i < values.size(); ++i) {
+        inferredValues[i] = CommonUtils.parseValue(dataTypes.get(i), values.get(i));
+      }
+      statement.setDataTypes(dataTypes.toArray(new TSDataType[0]));
+      statement.setValues(inferredValues);
+    }
+    statement.setAligned(false);
+    return statement;
   }
 
   @Override
   public void onSessionLoopError(Throwable throwable) {
     // TODO: Implement something sensible here ...
   }
+
+  /** The messages to be inserted by one statement, with the session to insert them. */
+  private class PendingBatch {
+
+    private final MqttClientSession session;
+    private final long createTimeInMs;
+    private final TableMessageBatch tableBatch;
+    private final List<Message> messages = new ArrayList<>();
+    // The topic each message is published to
+    private final List<String> topics = new ArrayList<>();
+
+    private PendingBatch(Message firstMessage, MqttClientSession session, long createTimeInMs) {
+      this.session = session;
+      this.createTimeInMs = createTimeInMs;
+      if (useTableInsert) {
+        TableMessage tableMessage = (TableMessage) firstMessage;
+        tableBatch =
+            new TableMessageBatch(
+                tableMessage.getDatabase().toLowerCase(), tableMessage.getTable());
+      } else {
+        tableBatch = null;
+      }
+    }
+
+    private boolean add(Message message, String topic) {
+      if (tableBatch != null && !tableBatch.add((TableMessage) message)) {
+        return false;
+      }
+      messages.add(message);
+      topics.add(topic);
+      return true;
+    }
+
+    private int size() {
+      return messages.size();
+    }
+
+    /** Build the statement inserting all the messages, which fails if any message is invalid. */
+    private Statement toStatement() throws Exception {
+      if (tableBatch != null) {
+        return tableBatch.toInsertTabletStatement();
+      }
+      if (messages.size() == 1) {
+        return constructInsertRowStatement((TreeMessage) messages.get(0));
+      }
+      List<InsertRowStatement> rows = new ArrayList<>(messages.size());
+      for (Message message : messages) {
+        rows.add(constructInsertRowStatement((TreeMessage) message));
+      }
+      InsertRowsStatement insertRowsStatement = new InsertRowsStatement();
+      insertRowsStatement.setInsertRowStatementList(rows);
+      return insertRowsStatement;
+    }
+
+    /** Build the statement inserting the i-th message only. */
+    private Statement toStatement(int i) throws Exception {
+      if (tableBatch != null) {
+        TableMessageBatch single =
+            new TableMessageBatch(tableBatch.getDatabase(), tableBatch.getTable());
+        single.add((TableMessage) messages.get(i));
+        return single.toInsertTabletStatement();
+      }
+      return constructInsertRowStatement((TreeMessage) messages.get(i));
+    }
+
+    private String getDevice(int i) {
+      return tableBatch != null
+          ? TableMessageBatch.getDevice((TableMessage) messages.get(i))
+          : ((TreeMessage) messages.get(i)).getDevice();
+    }
+  }
 }
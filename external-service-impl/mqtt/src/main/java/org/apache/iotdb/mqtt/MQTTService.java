@@ -42,6 +42,7 @@ import java.util.Properties;
 public class MQTTService implements IExternalService {
   private static final Logger LOG = LoggerFactory.getLogger(MQTTService.class);
   private final Server server = new Server();
+  private MPPPublishHandler publishHandler;
 
   @Override
   public void start() {
@@ -57,7 +58,8 @@ public class MQTTService implements IExternalService {
     IoTDBConfig iotDBConfig = IoTDBDescriptor.getInstance().getConfig();
     IConfig config = createBrokerConfig(iotDBConfig);
     List<InterceptHandler> handlers = new ArrayList<>(1);
-    handlers.add(new MPPPublishHandler(iotDBConfig));
+    publishHandler = new MPPPublishHandler(iotDBConfig);
+    handlers.add(publishHandler);
     IAuthenticator authenticator = new BrokerAuthenticator();
 
     try {
@@ -102,5 +104,10 @@ public class MQTTService implements IExternalService {
 
   public void shutdown() {
     server.stopServer();
+    if (publishHandler != null) {
+      // insert the batched messages after no more messages arrive
+      publishHandler.stop();
+      publishHandler = null;
+    }
   }
 }
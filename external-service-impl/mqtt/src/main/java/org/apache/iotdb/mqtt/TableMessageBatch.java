@@ -0,0 +1,261 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.mqtt;
+
+import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.commons.schema.table.column.TsTableColumnCategory;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertTabletStatement;
+import org.apache.iotdb.db.utils.CommonUtils;
+
+import org.apache.tsfile.common.conf.TSFileConfig;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.utils.Binary;
+import org.apache.tsfile.utils.BitMap;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The table messages to be inserted into one table by one tablet. The columns of the tablet are
+ * the union of the columns of the messages, and the values absent in a message are null.
+ */
+class TableMessageBatch {
+
+  private final String database;
+  private final String table;
+
+  private final List<TableMessage> messages = new ArrayList<>();
+
+  private final Map<String, Integer> columnIndexes = new HashMap<>();
+  private final List<String> columnNames = new ArrayList<>();
+  private final List<TSDataType> dataTypes = new ArrayList<>();
+  private final List<TsTableColumnCategory> columnCategories = new ArrayList<>();
+  private final List<String> tagColumnNames = new ArrayList<>();
+
+  TableMessageBatch(String database, String table) {
+    this.database = database;
+    this.table = table;
+  }
+
+  String getDatabase() {
+    return database;
+  }
+
+  String getTable() {
+    return table;
+  }
+
+  int size() {
+    return messages.size();
+  }
+
+  /**
+   * Add the message into the batch.
+   *
+   * @return false if a column of the message has another type or category in the batch, then the
+   *     message is not added
+   */
+  boolean add(TableMessage message) {
+    if (!isCompatible(message.getFields(), message.getDataTypes(), TsTableColumnCategory.FIELD)
+        || !isCompatible(message.getTagKeys(), null, TsTableColumnCategory.TAG)
+        || !isCompatible(message.getAttributeKeys(), null, TsTableColumnCategory.ATTRIBUTE)) {
+      return false;
+    }
+    addColumns(message.getFields(), message.getDataTypes(), TsTableColumnCategory.FIELD);
+    addColumns(message.getTagKeys(), null, TsTableColumnCategory.TAG);
+    addColumns(message.getAttributeKeys(), null, TsTableColumnCategory.ATTRIBUTE);
+    messages.add(message);
+    return true;
+  }
+
+  private boolean isCompatible(
+      List<String> names, List<TSDataType> types, TsTableColumnCategory category) {
+    for (int i = 0; i < names.size(); i++) {
+      Integer index = columnIndexes.get(names.get(i));
+      if (index != null
+          && (columnCategories.get(index) != category
+              || dataTypes.get(index) != getDataType(types, i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void addColumns(
+      List<String> names, List<TSDataType> types, TsTableColumnCategory category) {
+    for (int i = 0; i < names.size(); i++) {
+      String name = names.get(i);
+      if (columnIndexes.putIfAbsent(name, columnNames.size()) == null) {
+        columnNames.add(name);
+        dataTypes.add(getDataType(types, i));
+        columnCategories.add(category);
+        if (category == TsTableColumnCategory.TAG) {
+          tagColumnNames.add(name);
+        }
+      }
+    }
+  }
+
+  // Tags and attributes are strings
+  private static TSDataType getDataType(List<TSDataType> types, int index) {
+    return types == null ? TSDataType.STRING : types.get(index);
+  }
+
+  /**
+   * Build the tablet of the messages, whose rows are sorted by the devices and then the
+   * timestamps, since the rows of a device are required to be consecutive and sorted by time.
+   */
+  InsertTabletStatement toInsertTabletStatement() {
+    List<SortedRow> rows = new ArrayList<>(messages.size());
+    for (TableMessage message : messages) {
+      rows.add(new SortedRow(getTagValues(message), message));
+    }
+    rows.sort(
+        Comparator.comparing((SortedRow row) -> row.tagValues, TableMessageBatch::compareTagValues)
+            .thenComparing(row -> row.message.getTimestamp()));
+
+    int rowCount = rows.size();
+    int columnCount = columnNames.size();
+    long[] times = new long[rowCount];
+    Object[] columns = new Object[columnCount];
+    BitMap[] bitMaps = new BitMap[columnCount];
+    for (int i = 0; i < columnCount; i++) {
+      columns[i] =
+          CommonUtils.createValueColumnOfDataType(
+              dataTypes.get(i), columnCategories.get(i), rowCount);
+      bitMaps[i] = new BitMap(rowCount);
+      bitMaps[i].markAll();
+    }
+    for (int row = 0; row < rowCount; row++) {
+      TableMessage message = rows.get(row).message;
+      times[row] = message.getTimestamp();
+      fillRow(message.getFields(), message.getValues(), row, columns, bitMaps);
+      fillRow(message.getTagKeys(), message.getTagValues(), row, columns, bitMaps);
+      fillRow(message.getAttributeKeys(), message.getAttributeValues(), row, columns, bitMaps);
+    }
+    for (int i = 0; i < columnCount; i++) {
+      if (bitMaps[i].isAllUnmarked()) {
+        bitMaps[i] = null;
+      }
+    }
+
+    InsertTabletStatement insertStatement = new InsertTabletStatement();
+    insertStatement.setDevicePath(new PartialPath(table, false));
+    insertStatement.setMeasurements(columnNames.toArray(new String[0]));
+    insertStatement.setTimes(times);
+    insertStatement.setColumns(columns);
+    insertStatement.setBitMaps(bitMaps);
+    insertStatement.setRowCount(rowCount);
+    insertStatement.setAligned(false);
+    insertStatement.setWriteToTable(true);
+    insertStatement.setDataTypes(dataTypes.toArray(new TSDataType[0]));
+    insertStatement.setColumnCategories(columnCategories.toArray(new TsTableColumnCategory[0]));
+    return insertStatement;
+  }
+
+  private void fillRow(
+      List<String> names, List<Object> values, int row, Object[] columns, BitMap[] bitMaps) {
+    for (int i = 0; i < names.size(); i++) {
+      int index = columnIndexes.get(names.get(i));
+      copyValue(dataTypes.get(index), values.get(i), columns[index], row);
+      bitMaps[index].unmark(row);
+    }
+  }
+
+  /** Copy the value from the single-value array of the message into the column. */
+  private static void copyValue(TSDataType dataType, Object source, Object column, int row) {
+    switch (dataType) {
+      case BOOLEAN:
+        ((boolean[]) column)[row] = ((boolean[]) source)[0];
+        break;
+      case INT32:
+        ((int[]) column)[row] = ((int[]) source)[0];
+        break;
+      case INT64:
+      case TIMESTAMP:
+        ((long[]) column)[row] = ((long[]) source)[0];
+        break;
+      case FLOAT:
+        ((float[]) column)[row] = ((float[]) source)[0];
+        break;
+      case DOUBLE:
+        ((double[]) column)[row] = ((double[]) source)[0];
+        break;
+      case TEXT:
+      case STRING:
+      case BLOB:
+        ((Binary[]) column)[row] = ((Binary[]) source)[0];
+        break;
+      default:
+        Array.set(column, row, Array.get(source, 0));
+        break;
+    }
+  }
+
+  /** The device of the message, which is the table followed by the tag values, joined by dots. */
+  static String getDevice(TableMessage message) {
+    StringBuilder device = new StringBuilder(message.getTable());
+    for (Object tagValue : message.getTagValues()) {
+      Binary value = ((Binary[]) tagValue)[0];
+      device.append('.').append(value.getStringValue(TSFileConfig.STRING_CHARSET));
+    }
+    return device.toString();
+  }
+
+  private Binary[] getTagValues(TableMessage message) {
+    Binary[] tagValues = new Binary[tagColumnNames.size()];
+    List<String> tagKeys = message.getTagKeys();
+    for (int i = 0; i < tagKeys.size(); i++) {
+      int index = tagColumnNames.indexOf(tagKeys.get(i));
+      tagValues[index] = ((Binary[]) message.getTagValues().get(i))[0];
+    }
+    return tagValues;
+  }
+
+  private static class SortedRow {
+    private final Binary[] tagValues;
+    private final TableMessage message;
+
+    private SortedRow(Binary[] tagValues, TableMessage message) {
+      this.tagValues = tagValues;
+      this.message = message;
+    }
+  }
+
+  private static int compareTagValues(Binary[] left, Binary[] right) {
+    for (int i = 0; i < left.length; i++) {
+      if (left[i] == right[i]) {
+        continue;
+      }
+      if (left[i] == null || right[i] == null) {
+        return left[i] == null ? -1 : 1;
+      }
+      int result = left[i].compareTo(right[i]);
+      if (result != 0) {
+        return result;
+      }
+    }
+    return 0;
+  }
+}
@@ -92,4 +92,41 @@ public class LinePayloadFormatterTest {
 
     assertEquals(1, message.size());
   }
+
+  @Test
+  public void formatQuotedStringWithComma() {
+    String payload = "test1,tag1=t1 field1=\"a,b=c\",field2=2i 1";
+
+    ByteBuf buf = Unpooled.copiedBuffer(payload, StandardCharsets.UTF_8);
+    LinePayloadFormatter formatter = new LinePayloadFormatter();
+    TableMessage message = (TableMessage) formatter.format("db", buf).get(0);
+
+    assertEquals("db", message.getDatabase());
+    assertEquals(0, message.getAttributeKeys().size());
+    assertEquals(2, message.getFields().size());
+    assertEquals(
+        "a,b=c",
+        ((Binary[]) message.getValues().get(0))[0].getStringValue(StandardCharsets.UTF_8));
+    assertEquals(2L, ((long[]) message.getValues().get(1))[0]);
+  }
+
+  @Test
+  public void formatInvalidLines() {
+    String payload =
+        "test1,tag1=t1 field1=1i 1\n"
+            + "\n"
+            + "test2,tag1=t1 field1=1i 1a\n"
+            + "test3 field1=1i 3\n"
+            + "test4,tag1=t1 a=1 b=2 field1=1i 4\n"
+            + "test5,tag1=t1 field1=5i 5";
+
+    ByteBuf buf = Unpooled.copiedBuffer(payload, StandardCharsets.UTF_8);
+    LinePayloadFormatter formatter = new LinePayloadFormatter();
+    List<Message> messages = formatter.format("", buf);
+
+    assertEquals(2, messages.size());
+    assertEquals("test1", ((TableMessage) messages.get(0)).getTable());
+    assertEquals("test5", ((TableMessage) messages.get(1)).getTable());
+    assertEquals(Long.valueOf(5L), messages.get(1).getTimestamp());
+  }
 }
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.mqtt;
+
+import org.apache.iotdb.commons.schema.table.column.TsTableColumnCategory;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertTabletStatement;
+
+import io.netty.buffer.Unpooled;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.utils.Binary;
+import org.apache.tsfile.utils.BitMap;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TableMessageBatchTest {
+
+  @Test
+  public void testToInsertTabletStatement() {
+    String payload =
+        "t1,id=b f1=1i,f2=1.5 3\n"
+            + "t1,id=a f1=2i 2\n"
+            + "t1,id=b f1=3i 1\n"
+            + "t1,id=a,loc=x f3=t 4";
+    List<Message> messages =
+        new LinePayloadFormatter()
+            .format("db", Unpooled.copiedBuffer(payload, StandardCharsets.UTF_8));
+
+    TableMessageBatch batch = new TableMessageBatch("db", "t1");
+    for (Message message : messages) {
+      assertTrue(batch.add((TableMessage) message));
+    }
+    assertEquals(4, batch.size());
+
+    InsertTabletStatement statement = batch.toInsertTabletStatement();
+    assertEquals(4, statement.getRowCount());
+    assertArrayEquals(
+        new String[] {"f1", "f2", "id", "f3", "loc"}, statement.getMeasurements());
+    assertArrayEquals(
+        new TSDataType[] {
+          TSDataType.INT64,
+          TSDataType.DOUBLE,
+          TSDataType.STRING,
+          TSDataType.BOOLEAN,
+          TSDataType.STRING
+        },
+        statement.getDataTypes());
+    assertEquals(TsTableColumnCategory.TAG, statement.getColumnCategories()[4]);
+
+    // Sorted by the tags, then by the time
+    assertArrayEquals(new long[] {2, 4, 1, 3}, statement.getTimes());
+    assertArrayEquals(new long[] {2, 0, 3, 1}, (long[]) statement.getColumns()[0]);
+    Binary[] ids = (Binary[]) statement.getColumns()[2];
+    assertEquals("a", ids[1].getStringValue(StandardCharsets.UTF_8));
+    assertEquals("b", ids[2].getStringValue(StandardCharsets.UTF_8));
+    assertTrue(((boolean[]) statement.getColumns()[3])[1]);
+
+    BitMap[] bitMaps = statement.getBitMaps();
+    assertTrue(bitMaps[0].isMarked(1));
+    assertFalse(bitMaps[0].isMarked(0));
+    assertNull(bitMaps[2]);
+    assertTrue(bitMaps[4].isMarked(0));
+    assertFalse(bitMaps[4].isMarked(1));
+  }
+
+  @Test
+  public void testIncompatibleMessage() {
+    String payload = "t1,id=a f1=1i 1\nt1,id=b f1=1.0 2\nt1,f1=c f2=1i 3";
+    List<Message> messages =
+        new LinePayloadFormatter()
+            .format("db", Unpooled.copiedBuffer(payload, StandardCharsets.UTF_8));
+
+    TableMessageBatch batch = new TableMessageBatch("db", "t1");
+    assertTrue(batch.add((TableMessage) messages.get(0)));
+    // f1 is of another type
+    assertFalse(batch.add((TableMessage) messages.get(1)));
+    // f1 is of another category
+    assertFalse(batch.add((TableMessage) messages.get(2)));
+    assertEquals(1, batch.size());
+  }
+
+  @Test
+  public void testGetDevice() {
+    String payload = "t1,id=a,loc=x f1=1i 1\nt2,id=b f1=1i 2";
+    List<Message> messages =
+        new LinePayloadFormatter()
+            .format("db", Unpooled.copiedBuffer(payload, StandardCharsets.UTF_8));
+
+    assertEquals("t1.a.x", TableMessageBatch.getDevice((TableMessage) messages.get(0)));
+    assertEquals("t2.b", TableMessageBatch.getDevice((TableMessage) messages.get(1)));
+  }
+}
@@ -32,5 +32,9 @@ public final class RestMessages {
   // --- RequestValidationHandler (v2) ---
   public static final String PREFIX_PATHS_EMPTY = "prefix_paths should not be empty";
 
+  // --- StreamingQueryDataSet ---
+  public static final String STREAMING_QUERY_FAILED =
+      "Failed to stream the result of query {}, ";
+
   private RestMessages() {}
 }
@@ -32,5 +32,9 @@ public final class RestMessages {
   // --- RequestValidationHandler (v2) ---
   public static final String PREFIX_PATHS_EMPTY = "prefix_paths 不能为空";
 
+  // --- StreamingQueryDataSet ---
+  public static final String STREAMING_QUERY_FAILED =
+      "流式返回查询 {} 的结果失败，";
+
   private RestMessages() {}
 }
@@ -24,6 +24,7 @@ import org.apache.iotdb.db.queryengine.common.header.DatasetHeader;
 import org.apache.iotdb.db.queryengine.plan.execution.IQueryExecution;
 import org.apache.iotdb.rest.protocol.model.ExecutionStatus;
 import org.apache.iotdb.rest.protocol.table.v1.model.QueryDataSet;
+import org.apache.iotdb.rest.protocol.utils.StreamingQueryDataSet;
 import org.apache.iotdb.rpc.TSStatusCode;
 
 import org.apache.tsfile.block.column.Column;
@@ -115,6 +116,37 @@ public class QueryDataSetHandler {
     return Response.ok().entity(targetDataSet).build();
   }
 
+  /**
+   * Write the result of the query while it is fetched, instead of collecting the whole result.
+   *
+   * @param actualRowSizeLimit max number of rows to return. no limit when actualRowSizeLimit <= 0.
+   * @param onFinish called once the result is written, whether the writing succeeds or not
+   */
+  public static Response streamQueryDataSet(
+      IQueryExecution queryExecution,
+      Statement statement,
+      int actualRowSizeLimit,
+      Runnable onFinish) {
+    DatasetHeader header = queryExecution.getDatasetHeader();
+    List<String> resultColumns = header.getRespColumns();
+    Map<String, Integer> headerMap = header.getColumnNameIndexMap();
+    int[] sourceColumnIndexes = new int[resultColumns.size()];
+    for (int i = 0; i < resultColumns.size(); i++) {
+      sourceColumnIndexes[i] = statement instanceof Query ? headerMap.get(resultColumns.get(i)) : i;
+    }
+    return Response.ok()
+        .entity(
+            new StreamingQueryDataSet(
+                queryExecution,
+                null,
+                resultColumns,
+                header.getRespDataTypes(),
+                sourceColumnIndexes,
+                actualRowSizeLimit,
+                onFinish))
+        .build();
+  }
+
   private static void addTypedValueToTarget(
       List<String> dataTypes,
       int colIndex,
@@ -144,6 +144,71 @@ public class RestApiServiceImpl extends RestApiService {
     }
   }
 
+  @Override
+  public Response executeQueryStatementStream(SQL sql, SecurityContext securityContext)
+      throws NotFoundException {
+    SqlParser relationSqlParser = new SqlParser();
+    Long queryId = null;
+    boolean streaming = false;
+    long startTime = System.nanoTime();
+    try {
+      IClientSession clientSession = SESSION_MANAGER.getCurrSession();
+      Statement statement = createStatement(sql, clientSession, relationSqlParser);
+      Response resp = validateStatement(statement, true);
+      if (resp != null) {
+        return resp;
+      }
+
+      queryId = SESSION_MANAGER.requestQueryId();
+      Metadata metadata = LocalExecutionPlanner.getInstance().metadata;
+      ExecutionResult result =
+          COORDINATOR.executeForTableModel(
+              statement,
+              relationSqlParser,
+              clientSession,
+              queryId,
+              SESSION_MANAGER.getSessionInfo(SESSION_MANAGER.getCurrSession()),
+              sql.getSql(),
+              metadata,
+              config.getQueryTimeoutThreshold(),
+              true);
+      if (result.status.code != TSStatusCode.SUCCESS_STATUS.getStatusCode()
+          && result.status.code != TSStatusCode.REDIRECTION_RECOMMEND.getStatusCode()) {
+        return Response.ok()
+            .entity(
+                new ExecutionStatus()
+                    .code(result.status.getCode())
+                    .message(result.status.getMessage()))
+            .build();
+      }
+      // The query is cleaned up after its result is written, which happens after returning
+      long streamingQueryId = queryId;
+      Response res =
+          QueryDataSetHandler.streamQueryDataSet(
+              COORDINATOR.getQueryExecution(queryId),
+              statement,
+              sql.getRowLimit() == null ? 0 : sql.getRowLimit(),
+              () -> {
+                try {
+                  CommonUtils.addStatementExecutionLatency(
+                      OperationType.EXECUTE_QUERY_STATEMENT,
+                      StatementType.QUERY.name(),
+                      System.nanoTime() - startTime);
+                } finally {
+                  COORDINATOR.cleanupQueryExecution(streamingQueryId);
+                }
+              });
+      streaming = true;
+      return res;
+    } catch (Exception e) {
+      return Response.ok().entity(ExceptionHandler.tryCatchException(e)).build();
+    } finally {
+      if (queryId != null && !streaming) {
+        COORDINATOR.cleanupQueryExecution(queryId);
+      }
+    }
+  }
+
   @Override
   public Response insertTablet(
       InsertTabletRequest insertTabletRequest, SecurityContext securityContext)
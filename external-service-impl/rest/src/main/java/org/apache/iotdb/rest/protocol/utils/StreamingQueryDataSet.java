@@ -0,0 +1,206 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.rest.protocol.utils;
+
+import org.apache.iotdb.commons.exception.IoTDBException;
+import org.apache.iotdb.db.queryengine.plan.execution.IQueryExecution;
+import org.apache.iotdb.db.utils.SetThreadName;
+import org.apache.iotdb.rest.i18n.RestMessages;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.common.conf.TSFileConfig;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.utils.BytesUtils;
+import org.apache.tsfile.utils.DateUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.core.StreamingOutput;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Writes the result of a query as JSON while its TsBlocks are fetched, so that the memory taken is
+ * bounded by one TsBlock instead of the whole result. The document is {"column_names": [...],
+ * "data_types": [...], "values": [[row], ...]}.
+ *
+ * <p>The rows of each TsBlock are flushed once written, which the container sends as a chunk, and
+ * the next TsBlock is not fetched until the client has taken them. The query is cleaned up by the
+ * given callback when the writing ends, however it ends. If the query fails in the middle, the
+ * document is left unfinished, so that the client does not take a part of the result as the
+ * whole.
+ */
+public class StreamingQueryDataSet implements StreamingOutput {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(StreamingQueryDataSet.class);
+
+  private static final JsonFactory JSON_FACTORY =
+      JsonFactory.builder().disable(StreamWriteFeature.AUTO_CLOSE_CONTENT).build();
+
+  private final IQueryExecution queryExecution;
+  private final String timeColumnName;
+  private final List<String> columnNames;
+  private final List<TSDataType> dataTypes;
+  private final int[] sourceColumnIndexes;
+  private final int rowLimit;
+  private final Runnable onFinish;
+
+  /**
+   * @param timeColumnName name of the time column written before the value columns, or null if the
+   *     time column is not written
+   * @param sourceColumnIndexes indexes of the value columns in the TsBlocks
+   * @param rowLimit max number of rows to write. no limit when rowLimit <= 0.
+   * @param onFinish called once the writing ends, whether the writing succeeds or not
+   */
+  public StreamingQueryDataSet(
+      IQueryExecution queryExecution,
+      String timeColumnName,
+      List<String> columnNames,
+      List<TSDataType> dataTypes,
+      int[] sourceColumnIndexes,
+      int rowLimit,
+      Runnable onFinish) {
+    this.queryExecution = queryExecution;
+    this.timeColumnName = timeColumnName;
+    this.columnNames = columnNames;
+    this.dataTypes = dataTypes;
+    this.sourceColumnIndexes = sourceColumnIndexes;
+    this.rowLimit = rowLimit;
+    this.onFinish = onFinish;
+  }
+
+  @Override
+  public void write(OutputStream output) throws IOException {
+    try (SetThreadName threadName = new SetThreadName(queryExecution.getQueryId())) {
+      JsonGenerator generator = JSON_FACTORY.createGenerator(output);
+      generator.writeStartObject();
+      generator.writeArrayFieldStart("column_names");
+      if (timeColumnName != null) {
+        generator.writeString(timeColumnName);
+      }
+      for (String columnName : columnNames) {
+        generator.writeString(columnName);
+      }
+      generator.writeEndArray();
+      generator.writeArrayFieldStart("data_types");
+      if (timeColumnName != null) {
+        generator.writeString(TSDataType.TIMESTAMP.name());
+      }
+      for (TSDataType dataType : dataTypes) {
+        generator.writeString(dataType.name());
+      }
+      generator.writeEndArray();
+      generator.writeArrayFieldStart("values");
+      writeRows(generator);
+      generator.writeEndArray();
+      generator.writeEndObject();
+      generator.close();
+    } catch (IOException e) {
+      // The client may have gone away
+      LOGGER.warn(RestMessages.STREAMING_QUERY_FAILED, queryExecution.getQueryId(), e);
+      throw e;
+    } catch (Exception e) {
+      LOGGER.warn(RestMessages.STREAMING_QUERY_FAILED, queryExecution.getQueryId(), e);
+      throw new IOException(e);
+    } finally {
+      onFinish.run();
+    }
+  }
+
+  private void writeRows(JsonGenerator generator) throws IOException, IoTDBException {
+    int writtenRowCount = 0;
+    Column[] columns = new Column[sourceColumnIndexes.length];
+    while (rowLimit <= 0 || writtenRowCount < rowLimit) {
+      Optional<TsBlock> optionalTsBlock = queryExecution.getBatchResult();
+      if (!optionalTsBlock.isPresent()) {
+        break;
+      }
+      TsBlock tsBlock = optionalTsBlock.get();
+      int rowCount = tsBlock.getPositionCount();
+      if (rowLimit > 0) {
+        rowCount = Math.min(rowCount, rowLimit - writtenRowCount);
+      }
+      for (int k = 0; k < columns.length; k++) {
+        columns[k] = tsBlock.getColumn(sourceColumnIndexes[k]);
+      }
+      for (int i = 0; i < rowCount; i++) {
+        generator.writeStartArray();
+        if (timeColumnName != null) {
+          generator.writeNumber(tsBlock.getTimeByIndex(i));
+        }
+        for (int k = 0; k < columns.length; k++) {
+          writeValue(generator, dataTypes.get(k), columns[k], i);
+        }
+        generator.writeEndArray();
+      }
+      writtenRowCount += rowCount;
+      generator.flush();
+    }
+  }
+
+  private static void writeValue(
+      JsonGenerator generator, TSDataType dataType, Column column, int rowIndex)
+      throws IOException {
+    if (column.isNull(rowIndex)) {
+      generator.writeNull();
+      return;
+    }
+    switch (dataType) {
+      case BOOLEAN:
+        generator.writeBoolean(column.getBoolean(rowIndex));
+        break;
+      case INT32:
+        generator.writeNumber(column.getInt(rowIndex));
+        break;
+      case INT64:
+      case TIMESTAMP:
+        generator.writeNumber(column.getLong(rowIndex));
+        break;
+      case FLOAT:
+        generator.writeNumber(column.getFloat(rowIndex));
+        break;
+      case DOUBLE:
+        generator.writeNumber(column.getDouble(rowIndex));
+        break;
+      case DATE:
+        generator.writeString(DateUtils.formatDate(column.getInt(rowIndex)));
+        break;
+      case BLOB:
+        generator.writeString(
+            BytesUtils.parseBlobByteArrayToString(column.getBinary(rowIndex).getValues()));
+        break;
+      case TEXT:
+      case STRING:
+        generator.writeString(
+            column.getBinary(rowIndex).getStringValue(TSFileConfig.STRING_CHARSET));
+        break;
+      default:
+        generator.writeString(String.valueOf(column.getObject(rowIndex)));
+        break;
+    }
+  }
+}
@@ -18,6 +18,7 @@
 package org.apache.iotdb.rest.protocol.v2.handler;
 
 import org.apache.iotdb.commons.exception.IoTDBException;
+import org.apache.iotdb.commons.schema.column.ColumnHeaderConstant;
 import org.apache.iotdb.db.queryengine.common.header.DatasetHeader;
 import org.apache.iotdb.db.queryengine.plan.execution.IQueryExecution;
 import org.apache.iotdb.db.queryengine.plan.statement.Statement;
@@ -30,6 +31,7 @@ import org.apache.iotdb.db.queryengine.plan.statement.metadata.model.ShowLoadedM
 import org.apache.iotdb.db.queryengine.plan.statement.metadata.model.ShowModelsStatement;
 import org.apache.iotdb.db.queryengine.plan.statement.sys.AuthorStatement;
 import org.apache.iotdb.rest.protocol.model.ExecutionStatus;
+import org.apache.iotdb.rest.protocol.utils.StreamingQueryDataSet;
 import org.apache.iotdb.rpc.TSStatusCode;
 
 import org.apache.tsfile.block.column.Column;
@@ -56,20 +58,72 @@ public class QueryDataSetHandler {
   public static Response fillQueryDataSet(
       IQueryExecution queryExecution, Statement statement, int actualRowSizeLimit)
       throws IoTDBException {
-    if (statement instanceof ShowStatement
-        || statement instanceof ShowModelsStatement
-        || statement instanceof ShowAIDevicesStatement
-        || statement instanceof ShowLoadedModelsStatement
-        || statement instanceof AuthorStatement
-        || statement instanceof GetRegionIdStatement) {
+    if (isShowPlan(statement)) {
       return fillShowPlanDataSet(queryExecution, actualRowSizeLimit);
     } else if (statement instanceof QueryStatement) {
-      if (((QueryStatement) statement).isAggregationQuery()
-          && !((QueryStatement) statement).isGroupByTime()) {
+      if (isAggregationPlanWithoutTimestamps((QueryStatement) statement)) {
         return fillAggregationPlanDataSet(queryExecution, actualRowSizeLimit);
       }
       return fillDataSetWithTimestamps(queryExecution, actualRowSizeLimit, 1);
     }
+    return unsupportedQueryResponse(statement);
+  }
+
+  /**
+   * Write the result of the query row by row while it is fetched, instead of collecting the whole
+   * result. The time column, if any, is written as the first column.
+   *
+   * @param actualRowSizeLimit max number of rows to return. no limit when actualRowSizeLimit <= 0.
+   * @param onFinish called once the result is written, whether the writing succeeds or not. It is
+   *     not called if the statement is not supported, when the result is not written.
+   */
+  public static Response streamQueryDataSet(
+      IQueryExecution queryExecution,
+      Statement statement,
+      int actualRowSizeLimit,
+      Runnable onFinish) {
+    boolean isShowPlan = isShowPlan(statement);
+    if (!isShowPlan && !(statement instanceof QueryStatement)) {
+      return unsupportedQueryResponse(statement);
+    }
+    DatasetHeader header = queryExecution.getDatasetHeader();
+    List<String> resultColumns = header.getRespColumns();
+    Map<String, Integer> headerMap = header.getColumnNameIndexMap();
+    int[] sourceColumnIndexes = new int[resultColumns.size()];
+    for (int i = 0; i < resultColumns.size(); i++) {
+      sourceColumnIndexes[i] = isShowPlan ? i : headerMap.get(resultColumns.get(i));
+    }
+    String timeColumnName =
+        isShowPlan || isAggregationPlanWithoutTimestamps((QueryStatement) statement)
+            ? null
+            : ColumnHeaderConstant.TIME;
+    return Response.ok()
+        .entity(
+            new StreamingQueryDataSet(
+                queryExecution,
+                timeColumnName,
+                resultColumns,
+                header.getRespDataTypes(),
+                sourceColumnIndexes,
+                actualRowSizeLimit,
+                onFinish))
+        .build();
+  }
+
+  private static boolean isShowPlan(Statement statement) {
+    return statement instanceof ShowStatement
+        || statement instanceof ShowModelsStatement
+        || statement instanceof ShowAIDevicesStatement
+        || statement instanceof ShowLoadedModelsStatement
+        || statement instanceof AuthorStatement
+        || statement instanceof GetRegionIdStatement;
+  }
+
+  private static boolean isAggregationPlanWithoutTimestamps(QueryStatement statement) {
+    return statement.isAggregationQuery() && !statement.isGroupByTime();
+  }
+
+  private static Response unsupportedQueryResponse(Statement statement) {
     return Response.ok()
         .entity(
             new ExecutionStatus()
@@ -73,6 +73,7 @@ import org.apache.tsfile.utils.Pair;
 
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.core.StreamingOutput;
 
 import java.time.ZoneId;
 import java.util.ArrayList;
@@ -421,6 +422,108 @@ public class RestApiServiceImpl extends RestApiService {
     }
   }
 
+  @Override
+  public Response executeQueryStatementStream(SQL sql, SecurityContext securityContext) {
+    Long queryId = null;
+    Statement statement = null;
+    long startTime = System.nanoTime();
+    boolean finish = false;
+    boolean streaming = false;
+    try {
+      RequestValidationHandler.validateSQL(sql);
+      IClientSession session = SESSION_MANAGER.getCurrSession();
+      ZoneId zoneId = (session != null) ? session.getZoneId() : ZoneId.systemDefault();
+      statement = StatementGenerator.createStatement(sql.getSql(), zoneId);
+
+      if (statement == null) {
+        return Response.ok()
+            .entity(
+                new ExecutionStatus()
+                    .code(TSStatusCode.SQL_PARSE_ERROR.getStatusCode())
+                    .message("This operation type is not supported"))
+            .build();
+      }
+
+      if (ExecuteStatementHandler.validateStatement(statement)) {
+        return Response.ok()
+            .entity(
+                new ExecutionStatus()
+                    .code(TSStatusCode.EXECUTE_STATEMENT_ERROR.getStatusCode())
+                    .message(TSStatusCode.EXECUTE_STATEMENT_ERROR.name()))
+            .build();
+      }
+
+      Response response = authorizationHandler.checkAuthority(securityContext, statement);
+      if (response != null) {
+        return response;
+      }
+
+      queryId = SESSION_MANAGER.requestQueryId();
+      ExecutionResult result =
+          COORDINATOR.executeForTreeModel(
+              statement,
+              queryId,
+              SESSION_MANAGER.getSessionInfo(SESSION_MANAGER.getCurrSession()),
+              sql.getSql(),
+              partitionFetcher,
+              schemaFetcher,
+              CONFIG.getQueryTimeoutThreshold(),
+              true);
+      finish = true;
+      if (result.status.code != TSStatusCode.SUCCESS_STATUS.getStatusCode()
+          && result.status.code != TSStatusCode.REDIRECTION_RECOMMEND.getStatusCode()) {
+        return Response.ok()
+            .entity(
+                new ExecutionStatus()
+                    .code(result.status.getCode())
+                    .message(result.status.getMessage()))
+            .build();
+      }
+      // The query is cleaned up after its result is written, which happens after returning
+      long streamingQueryId = queryId;
+      StatementType statementType = statement.getType();
+      Response res =
+          QueryDataSetHandler.streamQueryDataSet(
+              COORDINATOR.getQueryExecution(queryId),
+              statement,
+              sql.getRowLimit() == null ? 0 : sql.getRowLimit(),
+              () -> {
+                try {
+                  long costTime = System.nanoTime() - startTime;
+                  CommonUtils.addStatementExecutionLatency(
+                      OperationType.EXECUTE_QUERY_STATEMENT, statementType.name(), costTime);
+                  long executionTime = COORDINATOR.getTotalExecutionTime(streamingQueryId);
+                  CommonUtils.addQueryLatency(
+                      statementType, executionTime > 0 ? executionTime : costTime);
+                } finally {
+                  COORDINATOR.cleanupQueryExecution(streamingQueryId);
+                }
+              });
+      streaming = res.getEntity() instanceof StreamingOutput;
+      return res;
+    } catch (Exception e) {
+      finish = true;
+      return Response.ok().entity(ExceptionHandler.tryCatchException(e)).build();
+    } finally {
+      if (!streaming) {
+        long costTime = System.nanoTime() - startTime;
+        Optional.ofNullable(statement)
+            .ifPresent(
+                s ->
+                    CommonUtils.addStatementExecutionLatency(
+                        OperationType.EXECUTE_QUERY_STATEMENT, s.getType().name(), costTime));
+        if (queryId != null) {
+          if (finish) {
+            long executionTime = COORDINATOR.getTotalExecutionTime(queryId);
+            CommonUtils.addQueryLatency(
+                statement.getType(), executionTime > 0 ? executionTime : costTime);
+          }
+          COORDINATOR.cleanupQueryExecution(queryId);
+        }
+      }
+    }
+  }
+
   @Override
   public Response insertRecords(
       InsertRecordsRequest insertRecordsRequest, SecurityContext securityContext)
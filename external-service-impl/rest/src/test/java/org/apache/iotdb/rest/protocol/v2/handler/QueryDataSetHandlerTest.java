@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.rest.protocol.v2.handler;
+
+import org.apache.iotdb.commons.exception.IoTDBException;
+import org.apache.iotdb.commons.schema.column.ColumnHeader;
+import org.apache.iotdb.db.queryengine.common.header.DatasetHeader;
+import org.apache.iotdb.db.queryengine.plan.execution.IQueryExecution;
+import org.apache.iotdb.db.queryengine.plan.statement.sys.ShowVersionStatement;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.common.block.column.BinaryColumn;
+import org.apache.tsfile.read.common.block.column.IntColumn;
+import org.apache.tsfile.read.common.block.column.TimeColumn;
+import org.apache.tsfile.utils.Binary;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class QueryDataSetHandlerTest {
+
+  @Test
+  public void testStreamQueryDataSet() throws Exception {
+    IQueryExecution queryExecution = mockQueryExecution();
+    Mockito.when(queryExecution.getBatchResult())
+        .thenReturn(Optional.of(createTsBlock(0, 2)))
+        .thenReturn(Optional.of(createTsBlock(2, 2)))
+        .thenReturn(Optional.empty());
+    AtomicInteger finishCount = new AtomicInteger();
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    stream(queryExecution, 3, finishCount).write(output);
+
+    assertEquals(
+        "{\"column_names\":[\"name\",\"value\"],\"data_types\":[\"TEXT\",\"INT32\"],"
+            + "\"values\":[[\"v0\",0],[\"v1\",null],[\"v2\",2]]}",
+        output.toString(StandardCharsets.UTF_8.name()));
+    assertEquals(1, finishCount.get());
+  }
+
+  @Test
+  public void testStreamQueryDataSetFailure() throws Exception {
+    IQueryExecution queryExecution = mockQueryExecution();
+    Mockito.when(queryExecution.getBatchResult())
+        .thenReturn(Optional.of(createTsBlock(0, 2)))
+        .thenThrow(new IllegalStateException("failed"));
+    AtomicInteger finishCount = new AtomicInteger();
+
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    try {
+      stream(queryExecution, 0, finishCount).write(output);
+      fail();
+    } catch (IOException e) {
+      assertTrue(e.getCause() instanceof IllegalStateException);
+    }
+    // The rows written are not closed, so that they are not taken as the whole result
+    String written = output.toString(StandardCharsets.UTF_8.name());
+    assertTrue(written.endsWith("[\"v1\",null]"));
+    assertEquals(1, finishCount.get());
+
+    Mockito.doThrow(new IoTDBException("failed", 0)).when(queryExecution).getBatchResult();
+    try {
+      stream(queryExecution, 0, finishCount).write(new ByteArrayOutputStream());
+      fail();
+    } catch (IOException e) {
+      assertTrue(e.getCause() instanceof IoTDBException);
+    }
+    assertEquals(2, finishCount.get());
+  }
+
+  private static IQueryExecution mockQueryExecution() {
+    IQueryExecution queryExecution = Mockito.mock(IQueryExecution.class);
+    Mockito.when(queryExecution.getQueryId()).thenReturn("query");
+    Mockito.when(queryExecution.getDatasetHeader())
+        .thenReturn(
+            new DatasetHeader(
+                Arrays.asList(
+                    new ColumnHeader("name", TSDataType.TEXT),
+                    new ColumnHeader("value", TSDataType.INT32)),
+                true));
+    return queryExecution;
+  }
+
+  private static StreamingOutput stream(
+      IQueryExecution queryExecution, int rowLimit, AtomicInteger finishCount) {
+    Response response =
+        QueryDataSetHandler.streamQueryDataSet(
+            queryExecution, new ShowVersionStatement(), rowLimit, finishCount::incrementAndGet);
+    return (StreamingOutput) response.getEntity();
+  }
+
+  /** The rows of odd indexes have a null value. */
+  private static TsBlock createTsBlock(int start, int rowCount) {
+    long[] times = new long[rowCount];
+    Binary[] names = new Binary[rowCount];
+    int[] values = new int[rowCount];
+    boolean[] isNull = new boolean[rowCount];
+    for (int i = 0; i < rowCount; i++) {
+      times[i] = start + i;
+      names[i] = new Binary("v" + (start + i), StandardCharsets.UTF_8);
+      values[i] = start + i;
+      isNull[i] = (start + i) % 2 == 1;
+    }
+    return new TsBlock(
+        rowCount,
+        new TimeColumn(rowCount, times),
+        new BinaryColumn(rowCount, Optional.empty(), names),
+        new IntColumn(rowCount, Optional.of(isNull), values));
+  }
+}
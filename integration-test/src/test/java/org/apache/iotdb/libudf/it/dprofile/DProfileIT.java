@@ -349,7 +349,7 @@ public class DProfileIT {
         Statement statement = connection.createStatement()) {
       ResultSet resultSet = statement.executeQuery(sqlStr);
       resultSet.next();
-      Object result = resultSet.getObject(2);
+      Object result = resultSet.getObject(1);
     } catch (SQLException throwable) {
       fail(throwable.getMessage());
     }
@@ -362,7 +362,7 @@ public class DProfileIT {
         Statement statement = connection.createStatement()) {
       ResultSet resultSet = statement.executeQuery(sqlStr);
       resultSet.next();
-      Object result = resultSet.getObject(2);
+      Object result = resultSet.getObject(1);
     } catch (SQLException throwable) {
       fail(throwable.getMessage());
     }
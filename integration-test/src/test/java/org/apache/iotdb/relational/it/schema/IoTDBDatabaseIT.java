@@ -411,6 +411,7 @@ public class IoTDBDatabaseIT {
               "pipes,INF,",
               "queries,INF,",
               "queries_costs_histogram,INF,",
+              "query_resources,INF,",
               "regions,INF,",
               "services,INF,",
               "subscriptions,INF,",
@@ -670,12 +671,13 @@ public class IoTDBDatabaseIT {
                   "information_schema,connections,INF,USING,null,SYSTEM VIEW,",
                   "information_schema,current_queries,INF,USING,null,SYSTEM VIEW,",
                   "information_schema,queries_costs_histogram,INF,USING,null,SYSTEM VIEW,",
+                  "information_schema,query_resources,INF,USING,null,SYSTEM VIEW,",
                   "test,test,INF,USING,test,BASE TABLE,",
                   "test,view_table,100,USING,null,VIEW FROM TREE,")));
       TestUtils.assertResultSetEqual(
           statement.executeQuery("count devices from tables where status = 'USING'"),
           "count(devices),",
-          Collections.singleton("23,"));
+          Collections.singleton("24,"));
       TestUtils.assertResultSetEqual(
           statement.executeQuery(
               "select * from columns where table_name = 'queries' or database = 'test'"),
@@ -19,6 +19,7 @@
 
 package org.apache.iotdb.udf.api;
 
+import org.apache.iotdb.udf.api.access.Statistics;
 import org.apache.iotdb.udf.api.customizer.config.UDAFConfigurations;
 import org.apache.iotdb.udf.api.customizer.parameter.UDFParameters;
 import org.apache.iotdb.udf.api.utils.ResultValue;
@@ -43,6 +44,18 @@ public interface UDAF extends UDF {
    */
   void addInput(State state, Column[] columns, BitMap bitMap);
 
+  /**
+   * This method is optional. Update state with the statistics of a whole file, chunk or page
+   * instead of its raw values. It is called only if the statistics declared by {@link
+   * UDAFConfigurations#setConsumedStatistics} are available for the input series.
+   *
+   * @param state state to be updated
+   * @param statistics statistics of the values to be aggregated
+   */
+  default void addStatistics(State state, Statistics statistics) {
+    throw new UnsupportedOperationException(getClass().getName());
+  }
+
   /**
    * Merge two state in execution engine.
    *
@@ -47,8 +47,8 @@ import org.apache.tsfile.enums.TSDataType;
  *
  * <ul>
  *   <li>{@link UDTF#beforeStart(UDFParameters, UDTFConfigurations)}
- *   <li>{@link UDTF#transform(RowWindow, PointCollector)} or {@link UDTF#transform(Row,
- *       PointCollector)}
+ *   <li>{@link UDTF#transform(RowWindow, PointCollector)}, {@link UDTF#transform(Row,
+ *       PointCollector)} or {@link UDTF#transform(Column[], ColumnBuilder, ColumnBuilder)}
  * </ul>
  *
  * <p>In the life cycle of a UDTF instance, the calling sequence of each method is as follows:
@@ -85,6 +85,25 @@ public interface UDTF extends UDF {
   @SuppressWarnings("squid:S112")
   void beforeStart(UDFParameters parameters, UDTFConfigurations configurations) throws Exception;
 
+  /**
+   * When the user specifies {@link RowByRowAccessStrategy} to access the original data in {@link
+   * UDTFConfigurations}, this method will be called to process the transformation in batches. It
+   * avoids boxing every input row into a {@link Row}, and is preferred over {@link #transform(Row,
+   * PointCollector)}, which is called instead if this method is not overridden. In a single UDF
+   * query, this method may be called multiple times.
+   *
+   * <p>Unlike {@link #transform(Row, PointCollector)}, the rows whose values are all null are also
+   * passed to this method.
+   *
+   * @param columns original input data columns (aligned by time), the time column is always the
+   *     last column
+   * @param timesBuilder used to collect the times of output data points
+   * @param valuesBuilder used to collect the values of output data points
+   * @throws Exception the user can throw errors if necessary
+   * @throws UnsupportedOperationException if the user does not override this method
+   * @see RowByRowAccessStrategy
+   */
+  @SuppressWarnings("squid:S112")
   default void transform(Column[] columns, ColumnBuilder timesBuilder, ColumnBuilder valuesBuilder)
       throws Exception {
     throw new UnsupportedOperationException();
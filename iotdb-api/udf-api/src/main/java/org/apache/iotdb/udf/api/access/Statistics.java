@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.udf.api.access;
+
+import org.apache.iotdb.udf.api.type.Type;
+
+/**
+ * The statistics of the values in a whole file, chunk or page, which are passed to {@link
+ * org.apache.iotdb.udf.api.UDAF#addStatistics} instead of the raw values.
+ *
+ * <p>Only the items declared by {@link
+ * org.apache.iotdb.udf.api.customizer.config.UDAFConfigurations#setConsumedStatistics} are
+ * guaranteed to be available. The values are boxed according to the data type of the input series:
+ * {@code Integer} for INT32 and DATE, {@code Long} for INT64 and TIMESTAMP, {@code Float} for
+ * FLOAT, {@code Double} for DOUBLE, {@code Boolean} for BOOLEAN and {@link
+ * org.apache.iotdb.udf.api.type.Binary} for TEXT and STRING.
+ */
+public interface Statistics {
+
+  /**
+   * Returns the data type of the input series.
+   *
+   * @return data type of the input series
+   */
+  Type getDataType();
+
+  /**
+   * Returns the number of the non-null values.
+   *
+   * @return number of the non-null values
+   */
+  long getCount();
+
+  /**
+   * Returns the time of the first value.
+   *
+   * @return time of the first value
+   */
+  long getStartTime();
+
+  /**
+   * Returns the time of the last value.
+   *
+   * @return time of the last value
+   */
+  long getEndTime();
+
+  /**
+   * Returns the minimum value.
+   *
+   * @return the minimum value, boxed according to the data type
+   */
+  Object getMinValue();
+
+  /**
+   * Returns the maximum value.
+   *
+   * @return the maximum value, boxed according to the data type
+   */
+  Object getMaxValue();
+
+  /**
+   * Returns the value at {@link #getStartTime()}.
+   *
+   * @return the first value, boxed according to the data type
+   */
+  Object getFirstValue();
+
+  /**
+   * Returns the value at {@link #getEndTime()}.
+   *
+   * @return the last value, boxed according to the data type
+   */
+  Object getLastValue();
+
+  /**
+   * Returns the sum of the values.
+   *
+   * @return the sum of the values
+   */
+  double getSumValue();
+}
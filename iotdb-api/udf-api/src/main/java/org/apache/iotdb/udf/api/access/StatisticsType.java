@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.udf.api.access;
+
+/** The items of the {@link Statistics} that a UDAF can consume instead of the raw values. */
+public enum StatisticsType {
+  /** Number of the non-null values, available for all the data types. */
+  COUNT,
+
+  /** Time of the first value, available for all the data types. */
+  START_TIME,
+
+  /** Time of the last value, available for all the data types. */
+  END_TIME,
+
+  /** Available for INT32, INT64, FLOAT, DOUBLE, DATE, TIMESTAMP and STRING. */
+  MIN_VALUE,
+
+  /** Available for INT32, INT64, FLOAT, DOUBLE, DATE, TIMESTAMP and STRING. */
+  MAX_VALUE,
+
+  /** Available for all the data types except BLOB. */
+  FIRST_VALUE,
+
+  /** Available for all the data types except BLOB. */
+  LAST_VALUE,
+
+  /** Available for INT32, INT64, FLOAT and DOUBLE. */
+  SUM_VALUE
+}
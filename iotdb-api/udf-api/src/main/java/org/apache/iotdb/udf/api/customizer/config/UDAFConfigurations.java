@@ -19,14 +19,43 @@
 
 package org.apache.iotdb.udf.api.customizer.config;
 
+import org.apache.iotdb.udf.api.access.StatisticsType;
 import org.apache.iotdb.udf.api.type.Type;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
 public class UDAFConfigurations extends UDFConfigurations {
 
+  private Set<StatisticsType> consumedStatistics = Collections.emptySet();
+
   public UDAFConfigurations() {}
 
   public UDAFConfigurations setOutputDataType(Type outputDataType) {
     this.outputDataType = outputDataType;
     return this;
   }
+
+  /**
+   * This method is optional. Declare the statistics that {@link
+   * org.apache.iotdb.udf.api.UDAF#addStatistics} consumes, so that the query engine can feed the
+   * statistics of a whole file, chunk or page to the UDAF instead of decoding its raw values. The
+   * statistics are used only if all the declared items are available for the input data type.
+   *
+   * @param statisticsTypes the statistics consumed by the UDAF
+   * @return this
+   */
+  public UDAFConfigurations setConsumedStatistics(StatisticsType... statisticsTypes) {
+    this.consumedStatistics =
+        statisticsTypes.length == 0
+            ? Collections.emptySet()
+            : Collections.unmodifiableSet(EnumSet.copyOf(Arrays.asList(statisticsTypes)));
+    return this;
+  }
+
+  public Set<StatisticsType> getConsumedStatistics() {
+    return consumedStatistics;
+  }
 }
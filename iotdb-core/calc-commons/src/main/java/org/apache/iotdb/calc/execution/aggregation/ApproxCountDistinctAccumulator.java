@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.calc.execution.aggregation;
+
+import org.apache.iotdb.calc.execution.operator.source.relational.aggregation.approximate.HyperLogLog;
+
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.block.column.ColumnBuilder;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.metadata.statistics.Statistics;
+import org.apache.tsfile.utils.Binary;
+import org.apache.tsfile.utils.BitMap;
+import org.apache.tsfile.write.UnSupportedDataTypeException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Estimates the number of distinct values by a HyperLogLog sketch. The serialized sketch is the
+ * partial result, so that the sketches of different regions and time slices can be merged without
+ * shipping the raw points.
+ */
+public class ApproxCountDistinctAccumulator implements Accumulator {
+
+  private final TSDataType seriesDataType;
+  private final double maxStandardError;
+
+  // Created lazily, so that an empty accumulator outputs a null partial result
+  private HyperLogLog hyperLogLog;
+
+  public ApproxCountDistinctAccumulator(TSDataType seriesDataType, double maxStandardError) {
+    this.seriesDataType = seriesDataType;
+    this.maxStandardError = maxStandardError;
+  }
+
+  @Override
+  public void addInput(Column[] columns, BitMap bitMap) {
+    int size = columns[1].getPositionCount();
+    for (int i = 0; i < size; i++) {
+      if (bitMap != null && !bitMap.isMarked(i)) {
+        continue;
+      }
+      if (columns[1].isNull(i)) {
+        continue;
+      }
+      addValue(columns[1], i);
+    }
+  }
+
+  private void addValue(Column column, int position) {
+    HyperLogLog sketch = getOrCreateHyperLogLog();
+    switch (seriesDataType) {
+      case INT32:
+      case DATE:
+        sketch.add(column.getInt(position));
+        return;
+      case INT64:
+      case TIMESTAMP:
+        sketch.add(column.getLong(position));
+        return;
+      case FLOAT:
+        sketch.add(column.getFloat(position));
+        return;
+      case DOUBLE:
+        sketch.add(column.getDouble(position));
+        return;
+      case TEXT:
+      case STRING:
+      case BLOB:
+        sketch.add(column.getBinary(position));
+        return;
+      case BOOLEAN:
+        sketch.add(column.getBoolean(position));
+        return;
+      default:
+        throw new UnSupportedDataTypeException(
+            String.format(
+                "Unsupported data type in APPROX_COUNT_DISTINCT Aggregation: %s", seriesDataType));
+    }
+  }
+
+  private HyperLogLog getOrCreateHyperLogLog() {
+    if (hyperLogLog == null) {
+      hyperLogLog = new HyperLogLog(maxStandardError);
+    }
+    return hyperLogLog;
+  }
+
+  @Override
+  public void addIntermediate(Column[] partialResult) {
+    checkArgument(partialResult.length == 1, "partialResult of ApproxCountDistinct should be 1");
+    if (partialResult[0].isNull(0)) {
+      return;
+    }
+    HyperLogLog other = new HyperLogLog(partialResult[0].getBinary(0).getValues());
+    if (hyperLogLog == null) {
+      hyperLogLog = other;
+    } else {
+      hyperLogLog.merge(other);
+    }
+  }
+
+  @Override
+  public void addStatistics(Statistics statistics) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void setFinal(Column finalResult) {}
+
+  @Override
+  public void outputIntermediate(ColumnBuilder[] columnBuilders) {
+    checkArgument(columnBuilders.length == 1, "partialResult should be 1");
+    if (hyperLogLog == null) {
+      columnBuilders[0].appendNull();
+    } else {
+      columnBuilders[0].writeBinary(new Binary(hyperLogLog.serialize()));
+    }
+  }
+
+  @Override
+  public void outputFinal(ColumnBuilder columnBuilder) {
+    columnBuilder.writeLong(hyperLogLog == null ? 0 : hyperLogLog.cardinality());
+  }
+
+  @Override
+  public void reset() {
+    hyperLogLog = null;
+  }
+
+  @Override
+  public boolean hasFinalResult() {
+    return false;
+  }
+
+  @Override
+  public TSDataType[] getIntermediateType() {
+    return new TSDataType[] {TSDataType.TEXT};
+  }
+
+  @Override
+  public TSDataType getFinalType() {
+    return TSDataType.INT64;
+  }
+}
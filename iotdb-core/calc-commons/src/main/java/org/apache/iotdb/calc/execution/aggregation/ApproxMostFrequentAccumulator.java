@@ -0,0 +1,252 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.calc.execution.aggregation;
+
+import org.apache.iotdb.calc.execution.operator.source.relational.aggregation.BinaryApproxMostFrequentAccumulator;
+import org.apache.iotdb.calc.execution.operator.source.relational.aggregation.BooleanApproxMostFrequentAccumulator;
+import org.apache.iotdb.calc.execution.operator.source.relational.aggregation.DoubleApproxMostFrequentAccumulator;
+import org.apache.iotdb.calc.execution.operator.source.relational.aggregation.FloatApproxMostFrequentAccumulator;
+import org.apache.iotdb.calc.execution.operator.source.relational.aggregation.IntApproxMostFrequentAccumulator;
+import org.apache.iotdb.calc.execution.operator.source.relational.aggregation.LongApproxMostFrequentAccumulator;
+import org.apache.iotdb.calc.execution.operator.source.relational.aggregation.approximate.ApproxMostFrequentBucketDeserializer;
+import org.apache.iotdb.calc.execution.operator.source.relational.aggregation.approximate.ApproxMostFrequentBucketSerializer;
+import org.apache.iotdb.calc.execution.operator.source.relational.aggregation.approximate.SpaceSaving;
+import org.apache.iotdb.calc.execution.operator.source.relational.aggregation.approximate.SpaceSavingByteCalculator;
+
+import com.google.gson.Gson;
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.block.column.ColumnBuilder;
+import org.apache.tsfile.common.conf.TSFileConfig;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.metadata.statistics.Statistics;
+import org.apache.tsfile.utils.Binary;
+import org.apache.tsfile.utils.BitMap;
+import org.apache.tsfile.utils.BytesUtils;
+import org.apache.tsfile.write.UnSupportedDataTypeException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Finds the heavy hitters by a Space-Saving sketch, the final result is a JSON object of the top k
+ * values and their approximate counts. The serialized sketch is the partial result, so that the
+ * sketches of different regions and time slices can be merged without shipping the raw points.
+ *
+ * @param <K> the type of the counted values
+ */
+public class ApproxMostFrequentAccumulator<K> implements Accumulator {
+
+  @FunctionalInterface
+  public interface ValueGetter<K> {
+    K get(Column column, int position);
+  }
+
+  private final int maxBuckets;
+  private final int capacity;
+
+  private final ValueGetter<K> valueGetter;
+  private final Function<K, String> keyFormatter;
+  private final ApproxMostFrequentBucketSerializer<K> serializer;
+  private final ApproxMostFrequentBucketDeserializer<K> deserializer;
+  private final SpaceSavingByteCalculator<K> calculator;
+
+  // Created lazily, so that an empty accumulator outputs a null partial result
+  private SpaceSaving<K> spaceSaving;
+
+  private ApproxMostFrequentAccumulator(
+      int maxBuckets,
+      int capacity,
+      ValueGetter<K> valueGetter,
+      Function<K, String> keyFormatter,
+      ApproxMostFrequentBucketSerializer<K> serializer,
+      ApproxMostFrequentBucketDeserializer<K> deserializer,
+      SpaceSavingByteCalculator<K> calculator) {
+    this.maxBuckets = maxBuckets;
+    this.capacity = capacity;
+    this.valueGetter = valueGetter;
+    this.keyFormatter = keyFormatter;
+    this.serializer = serializer;
+    this.deserializer = deserializer;
+    this.calculator = calculator;
+  }
+
+  /** The buckets are serialized in the same way as those of the table model accumulators. */
+  public static ApproxMostFrequentAccumulator<?> create(
+      TSDataType seriesDataType, int maxBuckets, int capacity) {
+    switch (seriesDataType) {
+      case BOOLEAN:
+        return new ApproxMostFrequentAccumulator<>(
+            maxBuckets,
+            capacity,
+            Column::getBoolean,
+            String::valueOf,
+            BooleanApproxMostFrequentAccumulator::serializeBucket,
+            BooleanApproxMostFrequentAccumulator::deserializeBucket,
+            BooleanApproxMostFrequentAccumulator::calculateKeyByte);
+      case INT32:
+      case DATE:
+        return new ApproxMostFrequentAccumulator<>(
+            maxBuckets,
+            capacity,
+            Column::getInt,
+            String::valueOf,
+            IntApproxMostFrequentAccumulator::serializeBucket,
+            IntApproxMostFrequentAccumulator::deserializeBucket,
+            IntApproxMostFrequentAccumulator::calculateKeyByte);
+      case INT64:
+      case TIMESTAMP:
+        return new ApproxMostFrequentAccumulator<>(
+            maxBuckets,
+            capacity,
+            Column::getLong,
+            String::valueOf,
+            LongApproxMostFrequentAccumulator::serializeBucket,
+            LongApproxMostFrequentAccumulator::deserializeBucket,
+            LongApproxMostFrequentAccumulator::calculateKeyByte);
+      case FLOAT:
+        return new ApproxMostFrequentAccumulator<>(
+            maxBuckets,
+            capacity,
+            Column::getFloat,
+            String::valueOf,
+            FloatApproxMostFrequentAccumulator::serializeBucket,
+            FloatApproxMostFrequentAccumulator::deserializeBucket,
+            FloatApproxMostFrequentAccumulator::calculateKeyByte);
+      case DOUBLE:
+        return new ApproxMostFrequentAccumulator<>(
+            maxBuckets,
+            capacity,
+            Column::getDouble,
+            String::valueOf,
+            DoubleApproxMostFrequentAccumulator::serializeBucket,
+            DoubleApproxMostFrequentAccumulator::deserializeBucket,
+            DoubleApproxMostFrequentAccumulator::calculateKeyByte);
+      case TEXT:
+      case STRING:
+        return new ApproxMostFrequentAccumulator<>(
+            maxBuckets,
+            capacity,
+            Column::getBinary,
+            key -> key.getStringValue(TSFileConfig.STRING_CHARSET),
+            BinaryApproxMostFrequentAccumulator::serializeBucket,
+            BinaryApproxMostFrequentAccumulator::deserializeBucket,
+            BinaryApproxMostFrequentAccumulator::calculateKeyByte);
+      case BLOB:
+        return new ApproxMostFrequentAccumulator<>(
+            maxBuckets,
+            capacity,
+            Column::getBinary,
+            key -> BytesUtils.parseBlobByteArrayToString(key.getValues()),
+            BinaryApproxMostFrequentAccumulator::serializeBucket,
+            BinaryApproxMostFrequentAccumulator::deserializeBucket,
+            BinaryApproxMostFrequentAccumulator::calculateKeyByte);
+      default:
+        throw new UnSupportedDataTypeException(
+            String.format(
+                "Unsupported data type in APPROX_MOST_FREQUENT Aggregation: %s", seriesDataType));
+    }
+  }
+
+  @Override
+  public void addInput(Column[] columns, BitMap bitMap) {
+    int size = columns[1].getPositionCount();
+    for (int i = 0; i < size; i++) {
+      if (bitMap != null && !bitMap.isMarked(i)) {
+        continue;
+      }
+      if (columns[1].isNull(i)) {
+        continue;
+      }
+      getOrCreateSpaceSaving().add(valueGetter.get(columns[1], i));
+    }
+  }
+
+  private SpaceSaving<K> getOrCreateSpaceSaving() {
+    if (spaceSaving == null) {
+      spaceSaving = new SpaceSaving<>(maxBuckets, capacity, serializer, deserializer, calculator);
+    }
+    return spaceSaving;
+  }
+
+  @Override
+  public void addIntermediate(Column[] partialResult) {
+    checkArgument(partialResult.length == 1, "partialResult of ApproxMostFrequent should be 1");
+    if (partialResult[0].isNull(0)) {
+      return;
+    }
+    getOrCreateSpaceSaving()
+        .merge(
+            new SpaceSaving<>(
+                partialResult[0].getBinary(0).getValues(), serializer, deserializer, calculator));
+  }
+
+  @Override
+  public void addStatistics(Statistics statistics) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void setFinal(Column finalResult) {}
+
+  @Override
+  public void outputIntermediate(ColumnBuilder[] columnBuilders) {
+    checkArgument(columnBuilders.length == 1, "partialResult should be 1");
+    if (spaceSaving == null) {
+      columnBuilders[0].appendNull();
+    } else {
+      columnBuilders[0].writeBinary(new Binary(spaceSaving.serialize()));
+    }
+  }
+
+  @Override
+  public void outputFinal(ColumnBuilder columnBuilder) {
+    if (spaceSaving == null) {
+      columnBuilder.appendNull();
+      return;
+    }
+    Map<String, Long> buckets = new LinkedHashMap<>();
+    spaceSaving.forEachBucket((key, count) -> buckets.put(keyFormatter.apply(key), count));
+    columnBuilder.writeBinary(new Binary(new Gson().toJson(buckets), StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public void reset() {
+    spaceSaving = null;
+  }
+
+  @Override
+  public boolean hasFinalResult() {
+    return false;
+  }
+
+  @Override
+  public TSDataType[] getIntermediateType() {
+    return new TSDataType[] {TSDataType.TEXT};
+  }
+
+  @Override
+  public TSDataType getFinalType() {
+    return TSDataType.TEXT;
+  }
+}
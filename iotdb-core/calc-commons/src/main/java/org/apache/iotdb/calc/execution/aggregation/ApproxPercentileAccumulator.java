@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.calc.execution.aggregation;
+
+import org.apache.iotdb.calc.execution.operator.source.relational.aggregation.approximate.TDigest;
+
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.block.column.ColumnBuilder;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.metadata.statistics.Statistics;
+import org.apache.tsfile.utils.Binary;
+import org.apache.tsfile.utils.BitMap;
+import org.apache.tsfile.write.UnSupportedDataTypeException;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Estimates the percentile by a T-Digest sketch. The serialized digest is the partial result, so
+ * that the digests of different regions and time slices can be merged without shipping the raw
+ * points.
+ */
+public class ApproxPercentileAccumulator implements Accumulator {
+
+  private final TSDataType seriesDataType;
+  private final double percentage;
+
+  private final TDigest tDigest = new TDigest();
+
+  public ApproxPercentileAccumulator(TSDataType seriesDataType, double percentage) {
+    this.seriesDataType = seriesDataType;
+    this.percentage = percentage;
+  }
+
+  @Override
+  public void addInput(Column[] columns, BitMap bitMap) {
+    int size = columns[1].getPositionCount();
+    for (int i = 0; i < size; i++) {
+      if (bitMap != null && !bitMap.isMarked(i)) {
+        continue;
+      }
+      if (columns[1].isNull(i)) {
+        continue;
+      }
+      tDigest.add(getDoubleValue(columns[1], i));
+    }
+  }
+
+  private double getDoubleValue(Column column, int position) {
+    switch (seriesDataType) {
+      case INT32:
+        return column.getInt(position);
+      case INT64:
+      case TIMESTAMP:
+        return column.getLong(position);
+      case FLOAT:
+        return column.getFloat(position);
+      case DOUBLE:
+        return column.getDouble(position);
+      default:
+        throw new UnSupportedDataTypeException(
+            String.format(
+                "Unsupported data type in APPROX_PERCENTILE Aggregation: %s", seriesDataType));
+    }
+  }
+
+  @Override
+  public void addIntermediate(Column[] partialResult) {
+    checkArgument(partialResult.length == 1, "partialResult of ApproxPercentile should be 1");
+    if (partialResult[0].isNull(0)) {
+      return;
+    }
+    tDigest.add(TDigest.fromByteArray(partialResult[0].getBinary(0).getValues()));
+  }
+
+  @Override
+  public void addStatistics(Statistics statistics) {
+    throw new UnsupportedOperationException();
+  }
+
+  @Override
+  public void setFinal(Column finalResult) {}
+
+  @Override
+  public void outputIntermediate(ColumnBuilder[] columnBuilders) {
+    checkArgument(columnBuilders.length == 1, "partialResult should be 1");
+    if (tDigest.size() == 0) {
+      columnBuilders[0].appendNull();
+    } else {
+      columnBuilders[0].writeBinary(new Binary(tDigest.toByteArray()));
+    }
+  }
+
+  @Override
+  public void outputFinal(ColumnBuilder columnBuilder) {
+    if (tDigest.size() == 0) {
+      columnBuilder.appendNull();
+      return;
+    }
+    double result = tDigest.quantile(percentage);
+    switch (seriesDataType) {
+      case INT32:
+        columnBuilder.writeInt((int) result);
+        break;
+      case INT64:
+      case TIMESTAMP:
+        columnBuilder.writeLong((long) result);
+        break;
+      case FLOAT:
+        columnBuilder.writeFloat((float) result);
+        break;
+      case DOUBLE:
+        columnBuilder.writeDouble(result);
+        break;
+      default:
+        throw new UnSupportedDataTypeException(
+            String.format(
+                "Unsupported data type in APPROX_PERCENTILE Aggregation: %s", seriesDataType));
+    }
+  }
+
+  @Override
+  public void reset() {
+    tDigest.reset();
+  }
+
+  @Override
+  public boolean hasFinalResult() {
+    return false;
+  }
+
+  @Override
+  public TSDataType[] getIntermediateType() {
+    return new TSDataType[] {TSDataType.TEXT};
+  }
+
+  @Override
+  public TSDataType getFinalType() {
+    return seriesDataType;
+  }
+}
@@ -99,6 +99,9 @@ public abstract class CommonOperatorContext implements Accountable {
 
   public abstract int getPipelineId();
 
+  /** Account the bytes spilled to the disk by this operator to the fragment instance. */
+  public abstract void recordSpilledBytes(long spilledBytes);
+
   public void recordExecutionTime(long executionTimeInNanos) {
     this.totalExecutionTimeInNanos += executionTimeInNanos;
   }
@@ -153,7 +153,7 @@ public abstract class AbstractSortOperator implements ProcessOperator {
                 cachedData.stream().map(MergeSortKey::new).collect(Collectors.toList())));
       } else {
         sortBufferManager.allocateOneSortBranch();
-        diskSpiller.spillSortedData(cachedData);
+        operatorContext.recordSpilledBytes(diskSpiller.spillSortedData(cachedData));
         cachedData = null;
       }
     }
@@ -185,7 +185,7 @@ public abstract class AbstractSortOperator implements ProcessOperator {
     // because there should be at least tsBlockBuilderStatus.DEFAULT_MAX_TSBLOCK_SIZE_IN_BYTES for
     // one branch.
     sortBufferManager.allocateOneSortBranch();
-    diskSpiller.spillSortedData(cachedData);
+    operatorContext.recordSpilledBytes(diskSpiller.spillSortedData(cachedData));
   }
 
   private void buildTsBlockInMemory() {
@@ -72,4 +72,11 @@ public interface MemoryReservationManager {
    * @param bytesAlreadyReserved the amount of memory that has already been reserved
    */
   void reserveMemoryVirtually(final long bytesToBeReserved, final long bytesAlreadyReserved);
+
+  /**
+   * Get the size of memory actually reserved, excluding the accumulated memory not reserved yet.
+   *
+   * @return the size of memory reserved in bytes
+   */
+  long getReservedMemorySize();
 }
@@ -88,6 +88,11 @@ public class SqlConstant {
   public static final String APPROX_COUNT_DISTINCT = "approx_count_distinct";
   public static final String APPROX_MOST_FREQUENT = "approx_most_frequent";
   public static final String APPROX_PERCENTILE = "approx_percentile";
+  // attributes of the approximate aggregation functions in the tree model
+  public static final String APPROX_MAX_STANDARD_ERROR = "maxStandardError";
+  public static final String APPROX_MOST_FREQUENT_K = "k";
+  public static final String APPROX_MOST_FREQUENT_CAPACITY = "capacity";
+  public static final String APPROX_PERCENTILE_PERCENTAGE = "percentage";
 
   // names of scalar functions
   public static final String DIFF = "diff";
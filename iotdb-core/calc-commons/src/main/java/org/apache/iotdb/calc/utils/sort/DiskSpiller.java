@@ -63,18 +63,22 @@ public abstract class DiskSpiller {
     folderCreated = true;
   }
 
-  private void spill(List<TsBlock> tsBlocks) throws IOException, IoTDBException {
+  private long spill(List<TsBlock> tsBlocks) throws IOException, IoTDBException {
     if (!folderCreated) {
       createFolder(folderPath);
     }
     String fileName = filePrefix + String.format("%05d", fileIndex) + FILE_SUFFIX;
     fileIndex++;
 
-    writeData(tsBlocks, fileName);
+    return writeData(tsBlocks, fileName);
   }
 
-  /** todo: directly serialize the sorted line instead of copy into a new tsBlock. */
-  public void spillSortedData(List<SortKey> sortedData) throws IoTDBException {
+  /**
+   * todo: directly serialize the sorted line instead of copy into a new tsBlock.
+   *
+   * @return the number of bytes written to the disk
+   */
+  public long spillSortedData(List<SortKey> sortedData) throws IoTDBException {
     List<TsBlock> tsBlocks = new ArrayList<>();
     TsBlockBuilder tsBlockBuilder = new TsBlockBuilder(dataTypeList);
     ColumnBuilder[] columnBuilders = tsBlockBuilder.getValueColumnBuilders();
@@ -95,7 +99,7 @@ public abstract class DiskSpiller {
     }
 
     try {
-      spill(tsBlocks);
+      return spill(tsBlocks);
     } catch (IOException e) {
       throw new IoTDBException(
           "Create file error: " + filePrefix + (fileIndex - 1) + FILE_SUFFIX,
@@ -106,7 +110,7 @@ public abstract class DiskSpiller {
 
   protected abstract TsBlock buildSortedTsBlock(TsBlockBuilder resultBuilder);
 
-  private void writeData(List<TsBlock> sortedData, String fileName) throws IoTDBException {
+  private long writeData(List<TsBlock> sortedData, String fileName) throws IoTDBException {
     Path filePath = Paths.get(fileName);
     // for stream sort we may reuse the previous tmp file name, so we need TRUNCATE_EXISTING and
     // CREATE
@@ -116,14 +120,16 @@ public abstract class DiskSpiller {
             StandardOpenOption.WRITE,
             StandardOpenOption.TRUNCATE_EXISTING,
             StandardOpenOption.CREATE)) {
+      long writtenBytes = 0;
       for (TsBlock tsBlock : sortedData) {
         ByteBuffer tsBlockBuffer = serde.serialize(tsBlock);
         ByteBuffer length = ByteBuffer.allocate(4);
         length.putInt(tsBlockBuffer.capacity());
         length.flip();
-        fileChannel.write(length);
-        fileChannel.write(tsBlockBuffer);
+        writtenBytes += fileChannel.write(length);
+        writtenBytes += fileChannel.write(tsBlockBuffer);
       }
+      return writtenBytes;
     } catch (IOException e) {
       throw new IoTDBException(
           "Can't write intermediate sorted data to file: " + fileName,
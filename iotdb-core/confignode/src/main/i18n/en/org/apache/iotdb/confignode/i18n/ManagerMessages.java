@@ -264,6 +264,10 @@ public final class ManagerMessages {
       "LoadStatistics service is started successfully.";
   public static final String LOADSTATISTICS_SERVICE_IS_STOPPED_SUCCESSFULLY =
       "LoadStatistics service is stopped successfully.";
+  public static final String LOAD_AWARE_LEADER_BALANCE_SERVICE_IS_STARTED_SUCCESSFULLY =
+      "LoadAwareLeaderBalance service is started successfully.";
+  public static final String LOAD_AWARE_LEADER_BALANCE_SERVICE_IS_STOPPED_SUCCESSFULLY =
+      "LoadAwareLeaderBalance service is stopped successfully.";
   public static final String MIGRATEREGION_SUBMIT_REGIONMIGRATEPROCEDURE_SUCCESSFULLY_REGION_ORIGIN_DATANODE =
       "[MigrateRegion] Submit RegionMigrateProcedure successfully, Region: {}, Origin DataNode: {}, Dest DataNode: {}, Add Coordinator: {}, Remove Coordinator: {}";
   public static final String MISMATCHED_CRC32_CODE_WHEN_DESERIALIZING_SERVICE_INFO =
@@ -382,6 +386,16 @@ public final class ManagerMessages {
   public static final String REGIONPRIORITY_WAIT_FOR_REGION_PRIORITY_UPDATE_OF_REGIONGROUPS =
       "[RegionPriority] Wait for Region priority update of RegionGroups: {}";
   public static final String REGION_ID = "Region id ";
+  public static final String REGION_MIGRATION_BALANCE_DRY_RUN =
+      "[RegionMigrationBalance] Dry run, skip submitting {}, current score gap: {}";
+  public static final String REGION_MIGRATION_BALANCE_SERVICE_IS_STARTED_SUCCESSFULLY =
+      "RegionMigrationBalance service is started successfully.";
+  public static final String REGION_MIGRATION_BALANCE_SERVICE_IS_STOPPED_SUCCESSFULLY =
+      "RegionMigrationBalance service is stopped successfully.";
+  public static final String REGION_MIGRATION_BALANCE_SUBMIT_FAILED =
+      "[RegionMigrationBalance] Failed to submit {}, status: {}";
+  public static final String REGION_MIGRATION_BALANCE_SUBMIT_SUCCESSFULLY =
+      "[RegionMigrationBalance] Submit {} successfully, score gap before migration: {}";
   public static final String REMOVEREGIONPEER_SUBMIT_REMOVEREGIONPEERPROCEDURE_SUCCESSFULLY =
       "[RemoveRegionPeer] Submit RemoveRegionPeerProcedure successfully: {}";
   public static final String REMOVE_REGION_TARGET_DATANODE_NOT_FOUND_WILL_SIMPLY_CLEAN_UP =
@@ -19,6 +19,7 @@
 
 package org.apache.iotdb.confignode.client.async.handlers.heartbeat;
 
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
 import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
 import org.apache.iotdb.commons.client.ThriftClient;
 import org.apache.iotdb.commons.cluster.NodeStatus;
@@ -29,6 +30,7 @@ import org.apache.iotdb.confignode.conf.ConfigNodeDescriptor;
 import org.apache.iotdb.confignode.manager.load.LoadManager;
 import org.apache.iotdb.confignode.manager.load.cache.consensus.ConsensusGroupHeartbeatSample;
 import org.apache.iotdb.confignode.manager.load.cache.node.NodeHeartbeatSample;
+import org.apache.iotdb.confignode.manager.load.cache.region.DataNodeRegionStatisticsSnapshot;
 import org.apache.iotdb.confignode.manager.load.cache.region.RegionHeartbeatSample;
 import org.apache.iotdb.confignode.manager.pipe.coordinator.runtime.PipeRuntimeCoordinator;
 import org.apache.iotdb.consensus.ConsensusFactory;
@@ -60,6 +62,10 @@ public class DataNodeHeartbeatHandler implements AsyncMethodCallback<TDataNodeHe
 
   private final PipeRuntimeCoordinator pipeRuntimeCoordinator;
 
+  // Null if the Region statistics are not delta-encoded
+  private final DataNodeRegionStatisticsSnapshot regionStatisticsSnapshot;
+  private final long regionStatisticsBaseVersion;
+
   public DataNodeHeartbeatHandler(
       int nodeId,
       LoadManager loadManager,
@@ -68,7 +74,9 @@ public class DataNodeHeartbeatHandler implements AsyncMethodCallback<TDataNodeHe
       Map<Integer, Long> regionDisk,
       Consumer<Map<Integer, Long>> seriesUsageRespProcess,
       Consumer<Map<Integer, Long>> deviceUsageRespProcess,
-      PipeRuntimeCoordinator pipeRuntimeCoordinator) {
+      PipeRuntimeCoordinator pipeRuntimeCoordinator,
+      DataNodeRegionStatisticsSnapshot regionStatisticsSnapshot,
+      long regionStatisticsBaseVersion) {
 
     this.nodeId = nodeId;
     this.loadManager = loadManager;
@@ -78,6 +86,8 @@ public class DataNodeHeartbeatHandler implements AsyncMethodCallback<TDataNodeHe
     this.seriesUsageRespProcess = seriesUsageRespProcess;
     this.deviceUsageRespProcess = deviceUsageRespProcess;
     this.pipeRuntimeCoordinator = pipeRuntimeCoordinator;
+    this.regionStatisticsSnapshot = regionStatisticsSnapshot;
+    this.regionStatisticsBaseVersion = regionStatisticsBaseVersion;
   }
 
   @Override
@@ -87,48 +97,19 @@ public class DataNodeHeartbeatHandler implements AsyncMethodCallback<TDataNodeHe
         .getLoadCache()
         .cacheDataNodeHeartbeatSample(nodeId, new NodeHeartbeatSample(heartbeatResp));
 
-    RegionStatus regionStatus = RegionStatus.valueOf(heartbeatResp.getStatus());
-
-    heartbeatResp
-        .getJudgedLeaders()
-        .forEach(
-            (regionGroupId, isLeader) -> {
-
-              // Do not allow regions to inherit the Removing state from datanode
-              RegionStatus nextRegionStatus = regionStatus;
-              if (nextRegionStatus == RegionStatus.Removing) {
-                nextRegionStatus =
-                    loadManager
-                        .getLoadCache()
-                        .getRegionCacheLastSampleStatus(regionGroupId, nodeId);
-              }
-
-              // Update RegionGroupCache
-              loadManager
-                  .getLoadCache()
-                  .cacheRegionHeartbeatSample(
-                      regionGroupId,
-                      nodeId,
-                      new RegionHeartbeatSample(
-                          heartbeatResp.getHeartbeatTimestamp(),
-                          // Region will inherit DataNode's status
-                          nextRegionStatus),
-                      false);
-
-              if (((TConsensusGroupType.SchemaRegion.equals(regionGroupId.getType())
-                          && SCHEMA_REGION_SHOULD_CACHE_CONSENSUS_SAMPLE)
-                      || (TConsensusGroupType.DataRegion.equals(regionGroupId.getType())
-                          && DATA_REGION_SHOULD_CACHE_CONSENSUS_SAMPLE))
-                  && Boolean.TRUE.equals(isLeader)) {
-                // Update ConsensusGroupCache when necessary
-                loadManager
-                    .getLoadCache()
-                    .cacheConsensusSample(
-                        regionGroupId,
-                        new ConsensusGroupHeartbeatSample(
-                            heartbeatResp.getConsensusLogicalTimeMap().get(regionGroupId), nodeId));
-              }
-            });
+    if (regionStatisticsSnapshot != null) {
+      // Restore the complete Region statistics from the delta
+      regionStatisticsSnapshot.apply(
+          regionStatisticsBaseVersion,
+          heartbeatResp,
+          (judgedLeaders, logicalTimeMap) ->
+              cacheRegionStatistics(heartbeatResp, judgedLeaders, logicalTimeMap));
+    } else {
+      cacheRegionStatistics(
+          heartbeatResp,
+          heartbeatResp.getJudgedLeaders(),
+          heartbeatResp.getConsensusLogicalTimeMap());
+    }
 
     if (heartbeatResp.getRegionDeviceUsageMap() != null) {
       deviceNum.putAll(heartbeatResp.getRegionDeviceUsageMap());
@@ -165,6 +146,49 @@ public class DataNodeHeartbeatHandler implements AsyncMethodCallback<TDataNodeHe
     }
   }
 
+  private void cacheRegionStatistics(
+      TDataNodeHeartbeatResp heartbeatResp,
+      Map<TConsensusGroupId, Boolean> judgedLeaders,
+      Map<TConsensusGroupId, Long> logicalTimeMap) {
+    RegionStatus regionStatus = RegionStatus.valueOf(heartbeatResp.getStatus());
+
+    judgedLeaders.forEach(
+        (regionGroupId, isLeader) -> {
+
+          // Do not allow regions to inherit the Removing state from datanode
+          RegionStatus nextRegionStatus = regionStatus;
+          if (nextRegionStatus == RegionStatus.Removing) {
+            nextRegionStatus =
+                loadManager.getLoadCache().getRegionCacheLastSampleStatus(regionGroupId, nodeId);
+          }
+
+          // Update RegionGroupCache
+          loadManager
+              .getLoadCache()
+              .cacheRegionHeartbeatSample(
+                  regionGroupId,
+                  nodeId,
+                  new RegionHeartbeatSample(
+                      heartbeatResp.getHeartbeatTimestamp(),
+                      // Region will inherit DataNode's status
+                      nextRegionStatus),
+                  false);
+
+          if (((TConsensusGroupType.SchemaRegion.equals(regionGroupId.getType())
+                      && SCHEMA_REGION_SHOULD_CACHE_CONSENSUS_SAMPLE)
+                  || (TConsensusGroupType.DataRegion.equals(regionGroupId.getType())
+                      && DATA_REGION_SHOULD_CACHE_CONSENSUS_SAMPLE))
+              && Boolean.TRUE.equals(isLeader)) {
+            // Update ConsensusGroupCache when necessary
+            loadManager
+                .getLoadCache()
+                .cacheConsensusSample(
+                    regionGroupId,
+                    new ConsensusGroupHeartbeatSample(logicalTimeMap.get(regionGroupId), nodeId));
+          }
+        });
+  }
+
   @Override
   public void onError(Exception e) {
     if (ThriftClient.isConnectionBroken(e)) {
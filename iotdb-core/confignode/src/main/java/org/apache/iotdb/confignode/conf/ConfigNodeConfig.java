@@ -204,6 +204,12 @@ public class ConfigNodeConfig {
   /** The heartbeat interval in milliseconds. */
   private long heartbeatIntervalInMs = 1000;
 
+  /** Whether DataNodes only report the Region statistics changed since the last heartbeat. */
+  private boolean enableHeartbeatRegionStatisticsDelta = false;
+
+  /** Require a full snapshot of Region statistics every this many heartbeats. */
+  private int heartbeatRegionStatisticsFullSnapshotInterval = 60;
+
   /** Failure detector implementation */
   private String failureDetector = IFailureDetector.PHI_ACCRUAL_DETECTOR;
 
@@ -228,6 +234,30 @@ public class ConfigNodeConfig {
   /** The policy of cluster RegionGroups' leader distribution. */
   private String leaderDistributionPolicy = AbstractLeaderBalancer.CFS_POLICY;
 
+  /** The interval in ms of the periodic leader balance round under the LOAD policy. */
+  private long loadAwareLeaderBalanceIntervalInMs = 60000;
+
+  /** The max number of voluntary leader transfers in one round under the LOAD policy. */
+  private int loadAwareLeaderBalanceMaxTransferNum = 4;
+
+  /** The min interval in ms between two voluntary leader transfers of the same RegionGroup. */
+  private long loadAwareLeaderTransferCooldownInMs = 300000;
+
+  /** Whether to migrate DataRegions automatically to balance the load of DataNodes. */
+  private boolean enableAutoRegionMigrationBalance = false;
+
+  /** Only log the planned Region migrations without submitting them. */
+  private boolean regionMigrationBalanceDryRun = false;
+
+  /** The interval in ms of the periodic Region migration balance round. */
+  private long regionMigrationBalanceIntervalInMs = 300000;
+
+  /** The max number of concurrent Region operations allowed by the Region migration balance. */
+  private int regionMigrationBalanceMaxConcurrentNum = 1;
+
+  /** The Region migration balance stops when the DataNode score gap is within this tolerance. */
+  private double regionMigrationBalanceScoreGapTolerance = 0.2;
+
   /** Whether to enable auto leader balance for Ratis consensus protocol. */
   private boolean enableAutoLeaderBalanceForRatisConsensus = true;
 
@@ -725,6 +755,25 @@ public class ConfigNodeConfig {
     this.heartbeatIntervalInMs = heartbeatIntervalInMs;
   }
 
+  public boolean isEnableHeartbeatRegionStatisticsDelta() {
+    return enableHeartbeatRegionStatisticsDelta;
+  }
+
+  public void setEnableHeartbeatRegionStatisticsDelta(
+      boolean enableHeartbeatRegionStatisticsDelta) {
+    this.enableHeartbeatRegionStatisticsDelta = enableHeartbeatRegionStatisticsDelta;
+  }
+
+  public int getHeartbeatRegionStatisticsFullSnapshotInterval() {
+    return heartbeatRegionStatisticsFullSnapshotInterval;
+  }
+
+  public void setHeartbeatRegionStatisticsFullSnapshotInterval(
+      int heartbeatRegionStatisticsFullSnapshotInterval) {
+    this.heartbeatRegionStatisticsFullSnapshotInterval =
+        heartbeatRegionStatisticsFullSnapshotInterval;
+  }
+
   public String getLeaderDistributionPolicy() {
     return leaderDistributionPolicy;
   }
@@ -733,6 +782,72 @@ public class ConfigNodeConfig {
     this.leaderDistributionPolicy = leaderDistributionPolicy;
   }
 
+  public long getLoadAwareLeaderBalanceIntervalInMs() {
+    return loadAwareLeaderBalanceIntervalInMs;
+  }
+
+  public void setLoadAwareLeaderBalanceIntervalInMs(long loadAwareLeaderBalanceIntervalInMs) {
+    this.loadAwareLeaderBalanceIntervalInMs = loadAwareLeaderBalanceIntervalInMs;
+  }
+
+  public int getLoadAwareLeaderBalanceMaxTransferNum() {
+    return loadAwareLeaderBalanceMaxTransferNum;
+  }
+
+  public void setLoadAwareLeaderBalanceMaxTransferNum(int loadAwareLeaderBalanceMaxTransferNum) {
+    this.loadAwareLeaderBalanceMaxTransferNum = loadAwareLeaderBalanceMaxTransferNum;
+  }
+
+  public long getLoadAwareLeaderTransferCooldownInMs() {
+    return loadAwareLeaderTransferCooldownInMs;
+  }
+
+  public void setLoadAwareLeaderTransferCooldownInMs(long loadAwareLeaderTransferCooldownInMs) {
+    this.loadAwareLeaderTransferCooldownInMs = loadAwareLeaderTransferCooldownInMs;
+  }
+
+  public boolean isEnableAutoRegionMigrationBalance() {
+    return enableAutoRegionMigrationBalance;
+  }
+
+  public void setEnableAutoRegionMigrationBalance(boolean enableAutoRegionMigrationBalance) {
+    this.enableAutoRegionMigrationBalance = enableAutoRegionMigrationBalance;
+  }
+
+  public boolean isRegionMigrationBalanceDryRun() {
+    return regionMigrationBalanceDryRun;
+  }
+
+  public void setRegionMigrationBalanceDryRun(boolean regionMigrationBalanceDryRun) {
+    this.regionMigrationBalanceDryRun = regionMigrationBalanceDryRun;
+  }
+
+  public long getRegionMigrationBalanceIntervalInMs() {
+    return regionMigrationBalanceIntervalInMs;
+  }
+
+  public void setRegionMigrationBalanceIntervalInMs(long regionMigrationBalanceIntervalInMs) {
+    this.regionMigrationBalanceIntervalInMs = regionMigrationBalanceIntervalInMs;
+  }
+
+  public int getRegionMigrationBalanceMaxConcurrentNum() {
+    return regionMigrationBalanceMaxConcurrentNum;
+  }
+
+  public void setRegionMigrationBalanceMaxConcurrentNum(
+      int regionMigrationBalanceMaxConcurrentNum) {
+    this.regionMigrationBalanceMaxConcurrentNum = regionMigrationBalanceMaxConcurrentNum;
+  }
+
+  public double getRegionMigrationBalanceScoreGapTolerance() {
+    return regionMigrationBalanceScoreGapTolerance;
+  }
+
+  public void setRegionMigrationBalanceScoreGapTolerance(
+      double regionMigrationBalanceScoreGapTolerance) {
+    this.regionMigrationBalanceScoreGapTolerance = regionMigrationBalanceScoreGapTolerance;
+  }
+
   public boolean isEnableAutoLeaderBalanceForRatisConsensus() {
     return enableAutoLeaderBalanceForRatisConsensus;
   }
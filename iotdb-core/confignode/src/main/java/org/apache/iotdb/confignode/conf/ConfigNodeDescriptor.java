@@ -310,6 +310,22 @@ public class ConfigNodeDescriptor {
             properties.getProperty(
                 "heartbeat_interval_in_ms", String.valueOf(conf.getHeartbeatIntervalInMs()))));
 
+    conf.setEnableHeartbeatRegionStatisticsDelta(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_heartbeat_region_statistics_delta",
+                String.valueOf(conf.isEnableHeartbeatRegionStatisticsDelta()))));
+
+    int heartbeatRegionStatisticsFullSnapshotInterval =
+        Integer.parseInt(
+            properties.getProperty(
+                "heartbeat_region_statistics_full_snapshot_interval",
+                String.valueOf(conf.getHeartbeatRegionStatisticsFullSnapshotInterval())));
+    if (heartbeatRegionStatisticsFullSnapshotInterval > 0) {
+      conf.setHeartbeatRegionStatisticsFullSnapshotInterval(
+          heartbeatRegionStatisticsFullSnapshotInterval);
+    }
+
     String failureDetector = properties.getProperty("failure_detector", conf.getFailureDetector());
     if (IFailureDetector.FIXED_DETECTOR.equals(failureDetector)
         || IFailureDetector.PHI_ACCRUAL_DETECTOR.equals(failureDetector)) {
@@ -370,7 +386,8 @@ public class ConfigNodeDescriptor {
         properties.getProperty("leader_distribution_policy", conf.getLeaderDistributionPolicy());
     if (AbstractLeaderBalancer.GREEDY_POLICY.equals(leaderDistributionPolicy)
         || AbstractLeaderBalancer.CFS_POLICY.equals(leaderDistributionPolicy)
-        || AbstractLeaderBalancer.HASH_POLICY.equals(leaderDistributionPolicy)) {
+        || AbstractLeaderBalancer.HASH_POLICY.equals(leaderDistributionPolicy)
+        || AbstractLeaderBalancer.LOAD_POLICY.equals(leaderDistributionPolicy)) {
       conf.setLeaderDistributionPolicy(leaderDistributionPolicy);
     } else {
       throw new IOException(
@@ -378,6 +395,72 @@ public class ConfigNodeDescriptor {
               ConfigNodeMessages.UNKNOWN_LEADER_DISTRIBUTION_POLICY, leaderDistributionPolicy));
     }
 
+    long loadAwareLeaderBalanceIntervalInMs =
+        Long.parseLong(
+            properties.getProperty(
+                "load_aware_leader_balance_interval_in_ms",
+                String.valueOf(conf.getLoadAwareLeaderBalanceIntervalInMs())));
+    if (loadAwareLeaderBalanceIntervalInMs > 0) {
+      conf.setLoadAwareLeaderBalanceIntervalInMs(loadAwareLeaderBalanceIntervalInMs);
+    }
+
+    int loadAwareLeaderBalanceMaxTransferNum =
+        Integer.parseInt(
+            properties.getProperty(
+                "load_aware_leader_balance_max_transfer_num",
+                String.valueOf(conf.getLoadAwareLeaderBalanceMaxTransferNum())));
+    if (loadAwareLeaderBalanceMaxTransferNum >= 0) {
+      conf.setLoadAwareLeaderBalanceMaxTransferNum(loadAwareLeaderBalanceMaxTransferNum);
+    }
+
+    long loadAwareLeaderTransferCooldownInMs =
+        Long.parseLong(
+            properties.getProperty(
+                "load_aware_leader_transfer_cooldown_in_ms",
+                String.valueOf(conf.getLoadAwareLeaderTransferCooldownInMs())));
+    if (loadAwareLeaderTransferCooldownInMs >= 0) {
+      conf.setLoadAwareLeaderTransferCooldownInMs(loadAwareLeaderTransferCooldownInMs);
+    }
+
+    conf.setEnableAutoRegionMigrationBalance(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_auto_region_migration_balance",
+                String.valueOf(conf.isEnableAutoRegionMigrationBalance()))));
+
+    conf.setRegionMigrationBalanceDryRun(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "region_migration_balance_dry_run",
+                String.valueOf(conf.isRegionMigrationBalanceDryRun()))));
+
+    long regionMigrationBalanceIntervalInMs =
+        Long.parseLong(
+            properties.getProperty(
+                "region_migration_balance_interval_in_ms",
+                String.valueOf(conf.getRegionMigrationBalanceIntervalInMs())));
+    if (regionMigrationBalanceIntervalInMs > 0) {
+      conf.setRegionMigrationBalanceIntervalInMs(regionMigrationBalanceIntervalInMs);
+    }
+
+    int regionMigrationBalanceMaxConcurrentNum =
+        Integer.parseInt(
+            properties.getProperty(
+                "region_migration_balance_max_concurrent_num",
+                String.valueOf(conf.getRegionMigrationBalanceMaxConcurrentNum())));
+    if (regionMigrationBalanceMaxConcurrentNum > 0) {
+      conf.setRegionMigrationBalanceMaxConcurrentNum(regionMigrationBalanceMaxConcurrentNum);
+    }
+
+    double regionMigrationBalanceScoreGapTolerance =
+        Double.parseDouble(
+            properties.getProperty(
+                "region_migration_balance_score_gap_tolerance",
+                String.valueOf(conf.getRegionMigrationBalanceScoreGapTolerance())));
+    if (regionMigrationBalanceScoreGapTolerance >= 0) {
+      conf.setRegionMigrationBalanceScoreGapTolerance(regionMigrationBalanceScoreGapTolerance);
+    }
+
     conf.setEnableAutoLeaderBalanceForRatisConsensus(
         Boolean.parseBoolean(
             properties.getProperty(
@@ -162,11 +162,12 @@ public class ConfigNodeStartupCheck extends StartupChecks {
     // The leader distribution policy is limited
     if (!AbstractLeaderBalancer.GREEDY_POLICY.equals(CONF.getLeaderDistributionPolicy())
         && !AbstractLeaderBalancer.CFS_POLICY.equals(CONF.getLeaderDistributionPolicy())
-        && !AbstractLeaderBalancer.HASH_POLICY.equals(CONF.getLeaderDistributionPolicy())) {
+        && !AbstractLeaderBalancer.HASH_POLICY.equals(CONF.getLeaderDistributionPolicy())
+        && !AbstractLeaderBalancer.LOAD_POLICY.equals(CONF.getLeaderDistributionPolicy())) {
       throw new ConfigurationException(
           ConfigNodeMessages.LEADER_DISTRIBUTION_POLICY,
           CONF.getRoutePriorityPolicy(),
-          "GREEDY or MIN_COST_FLOW or HASH",
+          "GREEDY or MIN_COST_FLOW or HASH or LOAD",
           "an unrecognized leader_distribution_policy is set");
     }
 
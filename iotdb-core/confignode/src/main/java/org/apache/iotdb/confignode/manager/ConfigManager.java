@@ -114,6 +114,7 @@ import org.apache.iotdb.confignode.manager.cq.CQManager;
 import org.apache.iotdb.confignode.manager.externalservice.ExternalServiceInfo;
 import org.apache.iotdb.confignode.manager.externalservice.ExternalServiceManager;
 import org.apache.iotdb.confignode.manager.load.LoadManager;
+import org.apache.iotdb.confignode.manager.load.balancer.RegionMigrationBalancerMetrics;
 import org.apache.iotdb.confignode.manager.load.cache.node.NodeHeartbeatSample;
 import org.apache.iotdb.confignode.manager.node.ClusterNodeStartUtils;
 import org.apache.iotdb.confignode.manager.node.NodeManager;
@@ -2072,6 +2073,9 @@ public class ConfigManager implements IManager {
   public void addMetrics() {
     MetricService.getInstance().addMetricSet(new NodeMetrics(getNodeManager()));
     MetricService.getInstance().addMetricSet(new PartitionMetrics(this));
+    MetricService.getInstance()
+        .addMetricSet(
+            new RegionMigrationBalancerMetrics(getLoadManager().getRegionMigrationBalancer()));
     getProcedureManager().addMetrics();
   }
 
@@ -2079,6 +2083,9 @@ public class ConfigManager implements IManager {
   public void removeMetrics() {
     MetricService.getInstance().removeMetricSet(new NodeMetrics(getNodeManager()));
     MetricService.getInstance().removeMetricSet(new PartitionMetrics(this));
+    MetricService.getInstance()
+        .removeMetricSet(
+            new RegionMigrationBalancerMetrics(getLoadManager().getRegionMigrationBalancer()));
     getProcedureManager().removeMetrics();
   }
 
@@ -36,6 +36,7 @@ import org.apache.iotdb.confignode.exception.NotEnoughDataNodeException;
 import org.apache.iotdb.confignode.manager.IManager;
 import org.apache.iotdb.confignode.manager.load.balancer.PartitionBalancer;
 import org.apache.iotdb.confignode.manager.load.balancer.RegionBalancer;
+import org.apache.iotdb.confignode.manager.load.balancer.RegionMigrationBalancer;
 import org.apache.iotdb.confignode.manager.load.balancer.RouteBalancer;
 import org.apache.iotdb.confignode.manager.load.cache.LoadCache;
 import org.apache.iotdb.confignode.manager.load.cache.consensus.ConsensusGroupHeartbeatSample;
@@ -66,6 +67,7 @@ public class LoadManager {
 
   private final PartitionBalancer partitionBalancer;
   private final RouteBalancer routeBalancer;
+  private final RegionMigrationBalancer regionMigrationBalancer;
 
   /** Cluster load services. */
   protected final LoadCache loadCache;
@@ -81,6 +83,7 @@ public class LoadManager {
     this.regionBalancer = new RegionBalancer(configManager);
     this.partitionBalancer = new PartitionBalancer(configManager);
     this.routeBalancer = new RouteBalancer(configManager);
+    this.regionMigrationBalancer = new RegionMigrationBalancer(configManager);
 
     this.loadCache = new LoadCache();
     setHeartbeatService(configManager, loadCache);
@@ -152,12 +155,16 @@ public class LoadManager {
     statisticsService.startLoadStatisticsService();
     eventService.startEventService();
     partitionBalancer.setupPartitionBalancer();
+    routeBalancer.startLoadAwareLeaderBalanceService();
+    regionMigrationBalancer.startRegionMigrationBalanceService();
   }
 
   public void stopLoadServices() {
     heartbeatService.stopHeartbeatService();
     statisticsService.stopLoadStatisticsService();
     eventService.stopEventService();
+    routeBalancer.stopLoadAwareLeaderBalanceService();
+    regionMigrationBalancer.stopRegionMigrationBalanceService();
     loadCache.clearHeartbeatCache();
     partitionBalancer.clearPartitionBalancer();
     routeBalancer.clearRegionPriority();
@@ -487,6 +494,10 @@ public class LoadManager {
     return routeBalancer;
   }
 
+  public RegionMigrationBalancer getRegionMigrationBalancer() {
+    return regionMigrationBalancer;
+  }
+
   @TestOnly
   public EventService getEventService() {
     return eventService;
@@ -0,0 +1,227 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.load.balancer;
+
+import org.apache.iotdb.calc.utils.constant.SqlConstant;
+import org.apache.iotdb.common.rpc.thrift.Model;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.commons.cluster.NodeStatus;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.concurrent.threadpool.ScheduledExecutorUtil;
+import org.apache.iotdb.confignode.conf.ConfigNodeConfig;
+import org.apache.iotdb.confignode.conf.ConfigNodeDescriptor;
+import org.apache.iotdb.confignode.i18n.ManagerMessages;
+import org.apache.iotdb.confignode.manager.IManager;
+import org.apache.iotdb.confignode.manager.load.balancer.region.RegionMigrationPlanner;
+import org.apache.iotdb.confignode.manager.load.balancer.region.RegionMigrationPlanner.DataNodeLoad;
+import org.apache.iotdb.confignode.manager.load.balancer.region.RegionMigrationPlanner.RegionMigrationPlan;
+import org.apache.iotdb.confignode.manager.load.cache.LoadCache;
+import org.apache.iotdb.confignode.rpc.thrift.TMigrateRegionReq;
+import org.apache.iotdb.rpc.TSStatusCode;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The RegionMigrationBalancer periodically migrates DataRegions from overloaded DataNodes to
+ * underloaded ones, so that the imbalance caused by skewed devices converges without manual
+ * operations. It reuses the RegionMigrateProcedure and keeps the number of concurrent Region
+ * operations bounded.
+ */
+public class RegionMigrationBalancer {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RegionMigrationBalancer.class);
+  private static final ConfigNodeConfig CONF = ConfigNodeDescriptor.getInstance().getConf();
+
+  private final IManager configManager;
+  private final RegionMigrationPlanner planner;
+
+  private final Object scheduleMonitor = new Object();
+  private Future<?> currentBalanceFuture;
+  private ScheduledExecutorService balanceExecutor;
+
+  // The RegionGroups whose migration is submitted by this balancer and not finished yet
+  private final Set<TConsensusGroupId> runningMigrations;
+  private final AtomicLong plannedMigrationCount;
+  private final AtomicLong submittedMigrationCount;
+  private final AtomicLong failedMigrationCount;
+  private volatile double scoreGap;
+
+  public RegionMigrationBalancer(IManager configManager) {
+    this.configManager = configManager;
+    this.planner = new RegionMigrationPlanner(CONF.getRegionMigrationBalanceScoreGapTolerance());
+    this.runningMigrations = ConcurrentHashMap.newKeySet();
+    this.plannedMigrationCount = new AtomicLong(0);
+    this.submittedMigrationCount = new AtomicLong(0);
+    this.failedMigrationCount = new AtomicLong(0);
+    this.scoreGap = 0;
+  }
+
+  /** Start the periodic Region migration balance if enabled. */
+  public void startRegionMigrationBalanceService() {
+    if (!CONF.isEnableAutoRegionMigrationBalance()) {
+      return;
+    }
+    synchronized (scheduleMonitor) {
+      if (currentBalanceFuture == null) {
+        if (balanceExecutor == null) {
+          balanceExecutor =
+              IoTDBThreadPoolFactory.newSingleThreadScheduledExecutor(
+                  ThreadName.CONFIG_NODE_REGION_MIGRATION_BALANCE.getName());
+        }
+        currentBalanceFuture =
+            ScheduledExecutorUtil.safelyScheduleWithFixedDelay(
+                balanceExecutor,
+                this::balanceRegions,
+                CONF.getRegionMigrationBalanceIntervalInMs(),
+                CONF.getRegionMigrationBalanceIntervalInMs(),
+                TimeUnit.MILLISECONDS);
+        LOGGER.info(ManagerMessages.REGION_MIGRATION_BALANCE_SERVICE_IS_STARTED_SUCCESSFULLY);
+      }
+    }
+  }
+
+  /** Stop the periodic Region migration balance. */
+  public void stopRegionMigrationBalanceService() {
+    synchronized (scheduleMonitor) {
+      if (currentBalanceFuture != null) {
+        currentBalanceFuture.cancel(false);
+        currentBalanceFuture = null;
+        runningMigrations.clear();
+        LOGGER.info(ManagerMessages.REGION_MIGRATION_BALANCE_SERVICE_IS_STOPPED_SUCCESSFULLY);
+      }
+    }
+  }
+
+  /** Plan and submit a bounded number of DataRegion migrations. */
+  private void balanceRegions() {
+    LoadCache loadCache = configManager.getLoadManager().getLoadCache();
+    // Don't migrate Regions while the cluster topology is changing
+    if (!loadCache
+        .filterDataNodeThroughStatus(NodeStatus.Unknown, NodeStatus.Removing)
+        .isEmpty()) {
+      return;
+    }
+
+    Map<Integer, DataNodeLoad> dataNodeLoadMap = new TreeMap<>();
+    for (int dataNodeId : loadCache.filterDataNodeThroughStatus(NodeStatus.Running)) {
+      double diskUsageRate = loadCache.getDiskUsageRate(dataNodeId);
+      double freeDiskSpace = loadCache.getFreeDiskSpace(dataNodeId);
+      double diskCapacity =
+          diskUsageRate < 1 && freeDiskSpace > 0 ? freeDiskSpace / (1 - diskUsageRate) : 0;
+      dataNodeLoadMap.put(dataNodeId, new DataNodeLoad(diskUsageRate, diskCapacity));
+    }
+    List<TRegionReplicaSet> replicaSets =
+        configManager.getPartitionManager().getAllReplicaSets(TConsensusGroupType.DataRegion);
+    // Replicas of the same RegionGroup may differ in size, take the largest one
+    Map<Integer, Long> regionSizeMap = new HashMap<>();
+    for (Map<Integer, Long> sizeMap : loadCache.getRegionSizeMap().values()) {
+      sizeMap.forEach((regionId, size) -> regionSizeMap.merge(regionId, size, Math::max));
+    }
+    Map<TConsensusGroupId, Double> regionWriteThroughputMap =
+        loadCache.getDataRegionWriteThroughputMap();
+
+    Set<TConsensusGroupId> busyRegionGroups =
+        new HashSet<>(configManager.getProcedureManager().getRegionOperationConsensusIds());
+    runningMigrations.retainAll(busyRegionGroups);
+    scoreGap = planner.calculateScoreGap(dataNodeLoadMap, replicaSets, regionWriteThroughputMap);
+
+    List<RegionMigrationPlan> plans =
+        planner.generateMigrationPlans(
+            dataNodeLoadMap,
+            replicaSets,
+            regionSizeMap,
+            regionWriteThroughputMap,
+            busyRegionGroups,
+            CONF.getRegionMigrationBalanceMaxConcurrentNum() - busyRegionGroups.size());
+    plannedMigrationCount.addAndGet(plans.size());
+    for (RegionMigrationPlan plan : plans) {
+      if (CONF.isRegionMigrationBalanceDryRun()) {
+        LOGGER.info(ManagerMessages.REGION_MIGRATION_BALANCE_DRY_RUN, plan, scoreGap);
+        continue;
+      }
+      submitMigration(plan);
+    }
+  }
+
+  private void submitMigration(RegionMigrationPlan plan) {
+    TConsensusGroupId regionGroupId = plan.getRegionGroupId();
+    String database = configManager.getPartitionManager().getRegionDatabase(regionGroupId);
+    if (database == null) {
+      // The RegionGroup has been deleted
+      return;
+    }
+    Model model =
+        database.startsWith(SqlConstant.TREE_MODEL_DATABASE_PREFIX) ? Model.TREE : Model.TABLE;
+    TSStatus status =
+        configManager
+            .getProcedureManager()
+            .migrateRegion(
+                new TMigrateRegionReq(
+                    regionGroupId.getId(),
+                    plan.getSourceDataNodeId(),
+                    plan.getDestDataNodeId(),
+                    model));
+    if (status.getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+      submittedMigrationCount.incrementAndGet();
+      runningMigrations.add(regionGroupId);
+      LOGGER.info(ManagerMessages.REGION_MIGRATION_BALANCE_SUBMIT_SUCCESSFULLY, plan, scoreGap);
+    } else {
+      failedMigrationCount.incrementAndGet();
+      LOGGER.warn(ManagerMessages.REGION_MIGRATION_BALANCE_SUBMIT_FAILED, plan, status);
+    }
+  }
+
+  public long getPlannedMigrationCount() {
+    return plannedMigrationCount.get();
+  }
+
+  public long getSubmittedMigrationCount() {
+    return submittedMigrationCount.get();
+  }
+
+  public long getFailedMigrationCount() {
+    return failedMigrationCount.get();
+  }
+
+  public int getRunningMigrationCount() {
+    return runningMigrations.size();
+  }
+
+  public double getScoreGap() {
+    return scoreGap;
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.load.balancer;
+
+import org.apache.iotdb.commons.service.metric.enums.Metric;
+import org.apache.iotdb.commons.service.metric.enums.Tag;
+import org.apache.iotdb.metrics.AbstractMetricService;
+import org.apache.iotdb.metrics.metricsets.IMetricSet;
+import org.apache.iotdb.metrics.utils.MetricLevel;
+import org.apache.iotdb.metrics.utils.MetricType;
+
+import java.util.Objects;
+import java.util.function.ToDoubleFunction;
+
+/** Monitoring the progress of the automatic Region migration balance. */
+public class RegionMigrationBalancerMetrics implements IMetricSet {
+
+  private static final String PLANNED = "planned";
+  private static final String SUBMITTED = "submitted";
+  private static final String FAILED = "failed";
+  private static final String RUNNING = "running";
+  private static final String SCORE_GAP = "score_gap";
+
+  private final RegionMigrationBalancer regionMigrationBalancer;
+
+  public RegionMigrationBalancerMetrics(RegionMigrationBalancer regionMigrationBalancer) {
+    this.regionMigrationBalancer = regionMigrationBalancer;
+  }
+
+  @Override
+  public void bindTo(AbstractMetricService metricService) {
+    createAutoGauge(metricService, PLANNED, RegionMigrationBalancer::getPlannedMigrationCount);
+    createAutoGauge(metricService, SUBMITTED, RegionMigrationBalancer::getSubmittedMigrationCount);
+    createAutoGauge(metricService, FAILED, RegionMigrationBalancer::getFailedMigrationCount);
+    createAutoGauge(metricService, RUNNING, RegionMigrationBalancer::getRunningMigrationCount);
+    createAutoGauge(metricService, SCORE_GAP, RegionMigrationBalancer::getScoreGap);
+  }
+
+  private void createAutoGauge(
+      AbstractMetricService metricService,
+      String type,
+      ToDoubleFunction<RegionMigrationBalancer> mapper) {
+    metricService.createAutoGauge(
+        Metric.REGION_MIGRATION_BALANCE.toString(),
+        MetricLevel.IMPORTANT,
+        regionMigrationBalancer,
+        mapper,
+        Tag.TYPE.toString(),
+        type);
+  }
+
+  @Override
+  public void unbindFrom(AbstractMetricService metricService) {
+    for (String type : new String[] {PLANNED, SUBMITTED, FAILED, RUNNING, SCORE_GAP}) {
+      metricService.remove(
+          MetricType.AUTO_GAUGE,
+          Metric.REGION_MIGRATION_BALANCE.toString(),
+          Tag.TYPE.toString(),
+          type);
+    }
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    RegionMigrationBalancerMetrics that = (RegionMigrationBalancerMetrics) o;
+    return regionMigrationBalancer.equals(that.regionMigrationBalancer);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(regionMigrationBalancer);
+  }
+}
@@ -26,6 +26,9 @@ import org.apache.iotdb.common.rpc.thrift.TFlushReq;
 import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
 import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.commons.cluster.NodeStatus;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.concurrent.threadpool.ScheduledExecutorUtil;
 import org.apache.iotdb.confignode.client.async.CnToDnAsyncRequestType;
 import org.apache.iotdb.confignode.client.async.CnToDnInternalServiceAsyncRequestManager;
 import org.apache.iotdb.confignode.client.async.handlers.DataNodeAsyncRequestContext;
@@ -39,6 +42,7 @@ import org.apache.iotdb.confignode.manager.load.balancer.router.leader.AbstractL
 import org.apache.iotdb.confignode.manager.load.balancer.router.leader.CostFlowSelectionLeaderBalancer;
 import org.apache.iotdb.confignode.manager.load.balancer.router.leader.GreedyLeaderBalancer;
 import org.apache.iotdb.confignode.manager.load.balancer.router.leader.HashLeaderBalancer;
+import org.apache.iotdb.confignode.manager.load.balancer.router.leader.LoadAwareLeaderBalancer;
 import org.apache.iotdb.confignode.manager.load.balancer.router.priority.GreedyPriorityBalancer;
 import org.apache.iotdb.confignode.manager.load.balancer.router.priority.IPriorityBalancer;
 import org.apache.iotdb.confignode.manager.load.balancer.router.priority.LeaderPriorityBalancer;
@@ -70,6 +74,8 @@ import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.locks.ReentrantLock;
@@ -125,6 +131,12 @@ public class RouteBalancer implements IClusterStatusSubscriber {
   private static final long BALANCE_RATIS_LEADER_FAILED_INTERVAL_IN_NS = 20 * 1000L * 1000L * 1000L;
   private final Map<TConsensusGroupId, Long> lastFailedTimeForLeaderBalance;
 
+  // The write heat changes without any status change event, so the LOAD policy balances leaders
+  // periodically as well
+  private final Object loadAwareLeaderBalanceMonitor = new Object();
+  private Future<?> currentLoadAwareLeaderBalanceFuture;
+  private ScheduledExecutorService loadAwareLeaderBalanceExecutor;
+
   public RouteBalancer(IManager configManager) {
     this.configManager = configManager;
     this.priorityMapLock = new ReentrantReadWriteLock();
@@ -245,6 +257,12 @@ public class RouteBalancer implements IClusterStatusSubscriber {
         return new GreedyLeaderBalancer();
       case AbstractLeaderBalancer.HASH_POLICY:
         return new HashLeaderBalancer();
+      case AbstractLeaderBalancer.LOAD_POLICY:
+        return new LoadAwareLeaderBalancer(
+            () -> getLoadManager().getLoadCache().getDataRegionWriteThroughputMap(),
+            () -> getLoadManager().getLoadCache().getDataNodeCpuUsageRateMap(),
+            CONF.getLoadAwareLeaderBalanceMaxTransferNum(),
+            CONF.getLoadAwareLeaderTransferCooldownInMs());
       case AbstractLeaderBalancer.CFS_POLICY:
       default:
         return new CostFlowSelectionLeaderBalancer();
@@ -592,6 +610,41 @@ public class RouteBalancer implements IClusterStatusSubscriber {
     handleBalanceAction(leaderBalanceResult);
   }
 
+  /** Start balancing leaders periodically if the LOAD leader distribution policy is used. */
+  public void startLoadAwareLeaderBalanceService() {
+    if (!AbstractLeaderBalancer.LOAD_POLICY.equals(CONF.getLeaderDistributionPolicy())) {
+      return;
+    }
+    synchronized (loadAwareLeaderBalanceMonitor) {
+      if (currentLoadAwareLeaderBalanceFuture == null) {
+        if (loadAwareLeaderBalanceExecutor == null) {
+          loadAwareLeaderBalanceExecutor =
+              IoTDBThreadPoolFactory.newSingleThreadScheduledExecutor(
+                  ThreadName.CONFIG_NODE_LOAD_AWARE_LEADER_BALANCE.getName());
+        }
+        currentLoadAwareLeaderBalanceFuture =
+            ScheduledExecutorUtil.safelyScheduleWithFixedDelay(
+                loadAwareLeaderBalanceExecutor,
+                this::balanceRegionLeaderAndPriority,
+                CONF.getLoadAwareLeaderBalanceIntervalInMs(),
+                CONF.getLoadAwareLeaderBalanceIntervalInMs(),
+                TimeUnit.MILLISECONDS);
+        LOGGER.info(ManagerMessages.LOAD_AWARE_LEADER_BALANCE_SERVICE_IS_STARTED_SUCCESSFULLY);
+      }
+    }
+  }
+
+  /** Stop balancing leaders periodically. */
+  public void stopLoadAwareLeaderBalanceService() {
+    synchronized (loadAwareLeaderBalanceMonitor) {
+      if (currentLoadAwareLeaderBalanceFuture != null) {
+        currentLoadAwareLeaderBalanceFuture.cancel(false);
+        currentLoadAwareLeaderBalanceFuture = null;
+        LOGGER.info(ManagerMessages.LOAD_AWARE_LEADER_BALANCE_SERVICE_IS_STOPPED_SUCCESSFULLY);
+      }
+    }
+  }
+
   /** Balance cluster RegionGroup route priority through configured algorithm. */
   private synchronized void balanceRegionPriority() {
     priorityMapLock.writeLock().lock();
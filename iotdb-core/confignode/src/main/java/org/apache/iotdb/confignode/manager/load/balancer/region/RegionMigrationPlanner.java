@@ -0,0 +1,350 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.load.balancer.region;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TDataNodeLocation;
+import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Plan Region migrations that move the cluster toward a balanced state.
+ *
+ * <p>Each DataNode is scored by its disk usage, the write throughput of the Regions it holds and
+ * its Region count. Every component is normalized by the cluster average, so a score of 1 means
+ * an average DataNode. The planner repeatedly moves one Region from the highest scored DataNode to
+ * the DataNode that minimizes the larger score of the two, until the migration budget is used up
+ * or the gap between the highest and the lowest score is within the tolerance.
+ */
+public class RegionMigrationPlanner {
+
+  private final double scoreGapTolerance;
+
+  public RegionMigrationPlanner(double scoreGapTolerance) {
+    this.scoreGapTolerance = scoreGapTolerance;
+  }
+
+  /**
+   * Generate Region migration plans.
+   *
+   * @param dataNodeLoadMap The disk load of each available DataNode, which can be migration sources
+   *     and destinations
+   * @param replicaSets All RegionGroups that can be migrated
+   * @param regionSizeMap The disk size of each Region in bytes
+   * @param regionWriteThroughputMap The write throughput of each RegionGroup in bytes per second
+   * @param busyRegionGroups RegionGroups that already have Region operations in progress
+   * @param maxPlanNum The max number of plans to generate
+   * @return The migration plans in the order of generation
+   */
+  public List<RegionMigrationPlan> generateMigrationPlans(
+      Map<Integer, DataNodeLoad> dataNodeLoadMap,
+      List<TRegionReplicaSet> replicaSets,
+      Map<Integer, Long> regionSizeMap,
+      Map<TConsensusGroupId, Double> regionWriteThroughputMap,
+      Set<TConsensusGroupId> busyRegionGroups,
+      int maxPlanNum) {
+    if (maxPlanNum <= 0 || dataNodeLoadMap.size() < 2) {
+      return Collections.emptyList();
+    }
+
+    // Map<DataNodeId, Set<RegionGroupId>>
+    Map<Integer, Set<TConsensusGroupId>> dataNodeRegionMap = new TreeMap<>();
+    // Map<RegionGroupId, Set<DataNodeId>>
+    Map<TConsensusGroupId, Set<Integer>> regionLocationMap = new TreeMap<>();
+    Map<Integer, DataNodeLoad> loadMap =
+        buildLoadMap(
+            dataNodeLoadMap,
+            replicaSets,
+            regionWriteThroughputMap,
+            dataNodeRegionMap,
+            regionLocationMap);
+    // The total load is conserved by migrations, so are the averages
+    ScoreFunction scoreFunction = new ScoreFunction(loadMap);
+
+    List<RegionMigrationPlan> plans = new ArrayList<>();
+    Set<TConsensusGroupId> migratedRegionGroups = new HashSet<>(busyRegionGroups);
+    while (plans.size() < maxPlanNum) {
+      int sourceId = -1;
+      double sourceScore = -Double.MAX_VALUE;
+      double lowestScore = Double.MAX_VALUE;
+      for (Map.Entry<Integer, DataNodeLoad> entry : loadMap.entrySet()) {
+        double score = scoreFunction.score(entry.getValue());
+        if (score > sourceScore) {
+          sourceScore = score;
+          sourceId = entry.getKey();
+        }
+        lowestScore = Math.min(lowestScore, score);
+      }
+      if (sourceScore - lowestScore <= scoreGapTolerance) {
+        break;
+      }
+
+      RegionMigrationPlan bestPlan = null;
+      double bestScore = sourceScore;
+      double bestDestScore = Double.MAX_VALUE;
+      DataNodeLoad sourceLoad = loadMap.get(sourceId);
+      for (TConsensusGroupId regionGroupId :
+          dataNodeRegionMap.getOrDefault(sourceId, Collections.emptySet())) {
+        if (migratedRegionGroups.contains(regionGroupId)) {
+          continue;
+        }
+        long regionSize = regionSizeMap.getOrDefault(regionGroupId.getId(), 0L);
+        double regionWriteThroughput = regionWriteThroughputMap.getOrDefault(regionGroupId, 0d);
+        double sourceScoreAfter =
+            scoreFunction.score(sourceLoad.afterMigration(-regionSize, -regionWriteThroughput, -1));
+        for (Map.Entry<Integer, DataNodeLoad> entry : loadMap.entrySet()) {
+          if (regionLocationMap.get(regionGroupId).contains(entry.getKey())) {
+            continue;
+          }
+          double destScoreAfter =
+              scoreFunction.score(
+                  entry.getValue().afterMigration(regionSize, regionWriteThroughput, 1));
+          double maxScoreAfter = Math.max(sourceScoreAfter, destScoreAfter);
+          // Prefer the lighter destination if the larger scores are the same
+          if (maxScoreAfter < bestScore
+              || (bestPlan != null
+                  && maxScoreAfter == bestScore
+                  && destScoreAfter < bestDestScore)) {
+            bestScore = maxScoreAfter;
+            bestDestScore = destScoreAfter;
+            bestPlan = new RegionMigrationPlan(regionGroupId, sourceId, entry.getKey());
+          }
+        }
+      }
+      if (bestPlan == null) {
+        break;
+      }
+
+      // Apply the simulated migration
+      TConsensusGroupId regionGroupId = bestPlan.getRegionGroupId();
+      int destId = bestPlan.getDestDataNodeId();
+      long regionSize = regionSizeMap.getOrDefault(regionGroupId.getId(), 0L);
+      double regionWriteThroughput = regionWriteThroughputMap.getOrDefault(regionGroupId, 0d);
+      loadMap.put(sourceId, sourceLoad.afterMigration(-regionSize, -regionWriteThroughput, -1));
+      loadMap.put(destId, loadMap.get(destId).afterMigration(regionSize, regionWriteThroughput, 1));
+      dataNodeRegionMap.get(sourceId).remove(regionGroupId);
+      dataNodeRegionMap.computeIfAbsent(destId, empty -> new HashSet<>()).add(regionGroupId);
+      regionLocationMap.get(regionGroupId).remove(sourceId);
+      regionLocationMap.get(regionGroupId).add(destId);
+      migratedRegionGroups.add(regionGroupId);
+      plans.add(bestPlan);
+    }
+    return plans;
+  }
+
+  /**
+   * Calculate the gap between the highest and the lowest DataNode score.
+   *
+   * @return The score gap, 0 if there are less than 2 DataNodes
+   */
+  public double calculateScoreGap(
+      Map<Integer, DataNodeLoad> dataNodeLoadMap,
+      List<TRegionReplicaSet> replicaSets,
+      Map<TConsensusGroupId, Double> regionWriteThroughputMap) {
+    if (dataNodeLoadMap.size() < 2) {
+      return 0;
+    }
+    Map<Integer, DataNodeLoad> loadMap =
+        buildLoadMap(
+            dataNodeLoadMap,
+            replicaSets,
+            regionWriteThroughputMap,
+            new TreeMap<>(),
+            new TreeMap<>());
+    ScoreFunction scoreFunction = new ScoreFunction(loadMap);
+    double max = -Double.MAX_VALUE;
+    double min = Double.MAX_VALUE;
+    for (DataNodeLoad load : loadMap.values()) {
+      double score = scoreFunction.score(load);
+      max = Math.max(max, score);
+      min = Math.min(min, score);
+    }
+    return max - min;
+  }
+
+  /**
+   * Copy the disk load of each DataNode and fill the write throughput and the Region count from the
+   * Regions it holds. Only the Regions in the given DataNodes are counted.
+   */
+  private static Map<Integer, DataNodeLoad> buildLoadMap(
+      Map<Integer, DataNodeLoad> dataNodeLoadMap,
+      List<TRegionReplicaSet> replicaSets,
+      Map<TConsensusGroupId, Double> regionWriteThroughputMap,
+      Map<Integer, Set<TConsensusGroupId>> dataNodeRegionMap,
+      Map<TConsensusGroupId, Set<Integer>> regionLocationMap) {
+    Map<Integer, DataNodeLoad> loadMap = new TreeMap<>();
+    dataNodeLoadMap.forEach((dataNodeId, load) -> loadMap.put(dataNodeId, load.copy()));
+    for (TRegionReplicaSet replicaSet : replicaSets) {
+      TConsensusGroupId regionGroupId = replicaSet.getRegionId();
+      double regionWriteThroughput = regionWriteThroughputMap.getOrDefault(regionGroupId, 0d);
+      Set<Integer> locations = new HashSet<>();
+      for (TDataNodeLocation location : replicaSet.getDataNodeLocations()) {
+        int dataNodeId = location.getDataNodeId();
+        locations.add(dataNodeId);
+        DataNodeLoad load = loadMap.get(dataNodeId);
+        if (load != null) {
+          load.writeThroughput += regionWriteThroughput;
+          load.regionCount++;
+          dataNodeRegionMap
+              .computeIfAbsent(dataNodeId, empty -> new HashSet<>())
+              .add(regionGroupId);
+        }
+      }
+      regionLocationMap.put(regionGroupId, locations);
+    }
+    return loadMap;
+  }
+
+  private static class ScoreFunction {
+
+    private final double averageDiskUsage;
+    private final double averageWriteThroughput;
+    private final double averageRegionCount;
+
+    private ScoreFunction(Map<Integer, DataNodeLoad> loadMap) {
+      this.averageDiskUsage =
+          loadMap.values().stream().mapToDouble(load -> load.diskUsage).average().orElse(0);
+      this.averageWriteThroughput =
+          loadMap.values().stream().mapToDouble(load -> load.writeThroughput).average().orElse(0);
+      this.averageRegionCount =
+          loadMap.values().stream().mapToDouble(load -> load.regionCount).average().orElse(0);
+    }
+
+    private double score(DataNodeLoad load) {
+      double score = 0;
+      int componentNum = 0;
+      // Skip the components that are unknown or zero in the whole cluster
+      if (averageDiskUsage > 0) {
+        score += load.diskUsage / averageDiskUsage;
+        componentNum++;
+      }
+      if (averageWriteThroughput > 0) {
+        score += load.writeThroughput / averageWriteThroughput;
+        componentNum++;
+      }
+      if (averageRegionCount > 0) {
+        score += load.regionCount / averageRegionCount;
+        componentNum++;
+      }
+      return componentNum == 0 ? 0 : score / componentNum;
+    }
+  }
+
+  /** The load of one DataNode sampled through heartbeat. */
+  public static class DataNodeLoad {
+
+    // The ratio of occupied disk space in [0, 1]
+    private double diskUsage;
+    // The disk capacity in bytes, 0 if unknown
+    private final double diskCapacity;
+    // The write throughput of all Regions in this DataNode, in bytes per second
+    private double writeThroughput;
+    private int regionCount;
+
+    public DataNodeLoad(double diskUsage, double diskCapacity) {
+      this.diskUsage = diskUsage;
+      this.diskCapacity = diskCapacity;
+    }
+
+    private DataNodeLoad copy() {
+      DataNodeLoad copy = new DataNodeLoad(diskUsage, diskCapacity);
+      copy.writeThroughput = writeThroughput;
+      copy.regionCount = regionCount;
+      return copy;
+    }
+
+    private DataNodeLoad afterMigration(
+        long regionSizeDelta, double writeThroughputDelta, int regionCountDelta) {
+      DataNodeLoad result = copy();
+      if (diskCapacity > 0) {
+        result.diskUsage = Math.max(0, diskUsage + regionSizeDelta / diskCapacity);
+      }
+      result.writeThroughput = Math.max(0, writeThroughput + writeThroughputDelta);
+      result.regionCount = regionCount + regionCountDelta;
+      return result;
+    }
+  }
+
+  /** Migrate one Region of the RegionGroup from the source DataNode to the dest DataNode. */
+  public static class RegionMigrationPlan {
+
+    private final TConsensusGroupId regionGroupId;
+    private final int sourceDataNodeId;
+    private final int destDataNodeId;
+
+    public RegionMigrationPlan(
+        TConsensusGroupId regionGroupId, int sourceDataNodeId, int destDataNodeId) {
+      this.regionGroupId = regionGroupId;
+      this.sourceDataNodeId = sourceDataNodeId;
+      this.destDataNodeId = destDataNodeId;
+    }
+
+    public TConsensusGroupId getRegionGroupId() {
+      return regionGroupId;
+    }
+
+    public int getSourceDataNodeId() {
+      return sourceDataNodeId;
+    }
+
+    public int getDestDataNodeId() {
+      return destDataNodeId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      RegionMigrationPlan that = (RegionMigrationPlan) o;
+      return sourceDataNodeId == that.sourceDataNodeId
+          && destDataNodeId == that.destDataNodeId
+          && regionGroupId.equals(that.regionGroupId);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(regionGroupId, sourceDataNodeId, destDataNodeId);
+    }
+
+    @Override
+    public String toString() {
+      return "RegionMigrationPlan{"
+          + "regionGroupId="
+          + regionGroupId
+          + ", sourceDataNodeId="
+          + sourceDataNodeId
+          + ", destDataNodeId="
+          + destDataNodeId
+          + '}';
+    }
+  }
+}
@@ -42,6 +42,7 @@ public abstract class AbstractLeaderBalancer {
   public static final String GREEDY_POLICY = "GREEDY";
   public static final String CFS_POLICY = "CFS";
   public static final String HASH_POLICY = "HASH";
+  public static final String LOAD_POLICY = "LOAD";
 
   // Set<RegionGroupId>
   protected final Set<TConsensusGroupId> regionGroupIntersection;
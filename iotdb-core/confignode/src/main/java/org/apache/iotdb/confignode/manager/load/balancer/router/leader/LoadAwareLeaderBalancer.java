@@ -0,0 +1,264 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.load.balancer.router.leader;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.confignode.manager.load.cache.node.NodeStatistics;
+import org.apache.iotdb.confignode.manager.load.cache.region.RegionStatistics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Leader balancer that minimizes the maximum leader load among DataNodes instead of balancing the
+ * leader count only.
+ *
+ * <p>The load of a RegionGroup-leader is 1 plus its write throughput normalized by the average
+ * write throughput, so the count and the write heat of leaders weigh equally across the cluster.
+ * The load of a DataNode is the sum of its leaders' load, amplified by the cpu usage reported
+ * through heartbeat. Leaders on unavailable DataNodes are always moved, while the transfers that
+ * only improve the balance are limited per round and per RegionGroup to avoid churn.
+ */
+public class LoadAwareLeaderBalancer extends AbstractLeaderBalancer {
+
+  // A transfer is worthwhile only if it reduces the hottest DataNode's load by this ratio
+  private static final double IMBALANCE_TOLERANCE = 0.1;
+  // How much a fully occupied cpu amplifies the load of a DataNode
+  private static final double CPU_USAGE_WEIGHT = 0.5;
+
+  // Supply Map<RegionGroupId, write throughput in bytes per second>
+  private final Supplier<Map<TConsensusGroupId, Double>> regionWriteThroughputSupplier;
+  // Supply Map<DataNodeId, percentage of occupied cpu>
+  private final Supplier<Map<Integer, Double>> dataNodeCpuUsageRateSupplier;
+  private final int maxTransferNumPerRound;
+  private final long transferCooldownInMs;
+
+  // Map<RegionGroupId, the latest time when its leader was transferred by this balancer>
+  private final Map<TConsensusGroupId, Long> lastTransferTimeMap;
+
+  // Map<RegionGroupId, leader load>
+  private final Map<TConsensusGroupId, Double> regionLoadMap;
+  // Map<DataNodeId, cpu amplification factor>
+  private final Map<Integer, Double> cpuFactorMap;
+
+  public LoadAwareLeaderBalancer(
+      Supplier<Map<TConsensusGroupId, Double>> regionWriteThroughputSupplier,
+      Supplier<Map<Integer, Double>> dataNodeCpuUsageRateSupplier,
+      int maxTransferNumPerRound,
+      long transferCooldownInMs) {
+    super();
+    this.regionWriteThroughputSupplier = regionWriteThroughputSupplier;
+    this.dataNodeCpuUsageRateSupplier = dataNodeCpuUsageRateSupplier;
+    this.maxTransferNumPerRound = maxTransferNumPerRound;
+    this.transferCooldownInMs = transferCooldownInMs;
+    this.lastTransferTimeMap = new ConcurrentHashMap<>();
+    this.regionLoadMap = new TreeMap<>();
+    this.cpuFactorMap = new TreeMap<>();
+  }
+
+  @Override
+  public Map<TConsensusGroupId, Integer> generateOptimalLeaderDistribution(
+      Map<String, List<TConsensusGroupId>> databaseRegionGroupMap,
+      Map<TConsensusGroupId, Set<Integer>> regionLocationMap,
+      Map<TConsensusGroupId, Integer> regionLeaderMap,
+      Map<Integer, NodeStatistics> dataNodeStatisticsMap,
+      Map<TConsensusGroupId, Map<Integer, RegionStatistics>> regionStatisticsMap) {
+    initialize(
+        databaseRegionGroupMap,
+        regionLocationMap,
+        regionLeaderMap,
+        dataNodeStatisticsMap,
+        regionStatisticsMap);
+    Map<TConsensusGroupId, Integer> result = constructLoadAwareDistribution();
+    clear();
+    return result;
+  }
+
+  private Map<TConsensusGroupId, Integer> constructLoadAwareDistribution() {
+    long currentTime = System.currentTimeMillis();
+    lastTransferTimeMap
+        .entrySet()
+        .removeIf(entry -> currentTime - entry.getValue() >= transferCooldownInMs);
+    initLoadMaps();
+
+    Map<TConsensusGroupId, Integer> result = new TreeMap<>();
+    // Map<DataNodeId, sum of the leader load>
+    Map<Integer, Double> leaderLoadMap = new TreeMap<>();
+    dataNodeStatisticsMap.keySet().stream()
+        .filter(this::isDataNodeAvailable)
+        .forEach(dataNodeId -> leaderLoadMap.put(dataNodeId, 0d));
+
+    // Keep the leaders that are still available
+    List<TConsensusGroupId> leaderlessRegionGroups = new ArrayList<>();
+    for (TConsensusGroupId regionGroupId : regionGroupIntersection) {
+      int leaderId = regionLeaderMap.get(regionGroupId);
+      if (leaderLoadMap.containsKey(leaderId) && isRegionAvailable(regionGroupId, leaderId)) {
+        result.put(regionGroupId, leaderId);
+        leaderLoadMap.merge(leaderId, regionLoadMap.get(regionGroupId), Double::sum);
+      } else {
+        leaderlessRegionGroups.add(regionGroupId);
+      }
+    }
+
+    // Select new leaders for the RegionGroups whose leader is unavailable, heavier ones first.
+    // These transfers are necessary, so they are not limited.
+    leaderlessRegionGroups.sort(
+        Comparator.comparingDouble((TConsensusGroupId id) -> regionLoadMap.get(id)).reversed());
+    for (TConsensusGroupId regionGroupId : leaderlessRegionGroups) {
+      double regionLoad = regionLoadMap.get(regionGroupId);
+      int newLeaderId = -1;
+      double minCost = Double.MAX_VALUE;
+      for (int dataNodeId : regionLocationMap.get(regionGroupId)) {
+        if (!leaderLoadMap.containsKey(dataNodeId)
+            || !isRegionAvailable(regionGroupId, dataNodeId)) {
+          continue;
+        }
+        double cost = cost(dataNodeId, leaderLoadMap.get(dataNodeId) + regionLoad);
+        if (cost < minCost) {
+          minCost = cost;
+          newLeaderId = dataNodeId;
+        }
+      }
+      if (newLeaderId == -1) {
+        // No available candidate, keep the current leader
+        result.put(regionGroupId, regionLeaderMap.get(regionGroupId));
+      } else {
+        result.put(regionGroupId, newLeaderId);
+        leaderLoadMap.merge(newLeaderId, regionLoad, Double::sum);
+        lastTransferTimeMap.put(regionGroupId, currentTime);
+      }
+    }
+
+    // Move leaders away from the hottest DataNode until the limit is reached or it can't be cooled
+    for (int transferNum = 0; transferNum < maxTransferNumPerRound; transferNum++) {
+      if (!transferFromHottestDataNode(result, leaderLoadMap, currentTime)) {
+        break;
+      }
+    }
+
+    regionLoadMap.clear();
+    cpuFactorMap.clear();
+    return result;
+  }
+
+  private void initLoadMaps() {
+    Map<TConsensusGroupId, Double> regionWriteThroughputMap = regionWriteThroughputSupplier.get();
+    double totalWriteThroughput =
+        regionGroupIntersection.stream()
+            .mapToDouble(id -> regionWriteThroughputMap.getOrDefault(id, 0d))
+            .sum();
+    double averageWriteThroughput =
+        regionGroupIntersection.isEmpty()
+            ? 0
+            : totalWriteThroughput / regionGroupIntersection.size();
+    regionGroupIntersection.forEach(
+        regionGroupId ->
+            regionLoadMap.put(
+                regionGroupId,
+                averageWriteThroughput > 0
+                    ? 1 + regionWriteThroughputMap.getOrDefault(regionGroupId, 0d)
+                        / averageWriteThroughput
+                    : 1));
+
+    Map<Integer, Double> dataNodeCpuUsageRateMap = dataNodeCpuUsageRateSupplier.get();
+    dataNodeStatisticsMap
+        .keySet()
+        .forEach(
+            dataNodeId -> {
+              double cpuUsageRate =
+                  Math.min(100, Math.max(0, dataNodeCpuUsageRateMap.getOrDefault(dataNodeId, 0d)));
+              cpuFactorMap.put(dataNodeId, 1 + CPU_USAGE_WEIGHT * cpuUsageRate / 100);
+            });
+  }
+
+  private double cost(int dataNodeId, double leaderLoad) {
+    return leaderLoad * cpuFactorMap.getOrDefault(dataNodeId, 1d);
+  }
+
+  /**
+   * Transfer one leader from the hottest DataNode to the replica that minimizes the larger load of
+   * the two DataNodes.
+   *
+   * @return True if a leader is transferred
+   */
+  private boolean transferFromHottestDataNode(
+      Map<TConsensusGroupId, Integer> result,
+      Map<Integer, Double> leaderLoadMap,
+      long currentTime) {
+    int hottestDataNodeId = -1;
+    double hottestCost = -1;
+    for (Map.Entry<Integer, Double> entry : leaderLoadMap.entrySet()) {
+      double cost = cost(entry.getKey(), entry.getValue());
+      if (cost > hottestCost) {
+        hottestCost = cost;
+        hottestDataNodeId = entry.getKey();
+      }
+    }
+    if (hottestDataNodeId == -1) {
+      return false;
+    }
+
+    TConsensusGroupId bestRegionGroupId = null;
+    int bestDataNodeId = -1;
+    double bestCost = hottestCost * (1 - IMBALANCE_TOLERANCE);
+    for (Map.Entry<TConsensusGroupId, Integer> leaderEntry : result.entrySet()) {
+      TConsensusGroupId regionGroupId = leaderEntry.getKey();
+      // Skip the RegionGroups on other DataNodes or transferred recently
+      if (leaderEntry.getValue() != hottestDataNodeId
+          || lastTransferTimeMap.containsKey(regionGroupId)) {
+        continue;
+      }
+      double regionLoad = regionLoadMap.get(regionGroupId);
+      double hottestCostAfter =
+          cost(hottestDataNodeId, leaderLoadMap.get(hottestDataNodeId) - regionLoad);
+      for (int dataNodeId : regionLocationMap.get(regionGroupId)) {
+        if (dataNodeId == hottestDataNodeId
+            || !leaderLoadMap.containsKey(dataNodeId)
+            || !isRegionAvailable(regionGroupId, dataNodeId)) {
+          continue;
+        }
+        double maxCostAfter =
+            Math.max(
+                hottestCostAfter, cost(dataNodeId, leaderLoadMap.get(dataNodeId) + regionLoad));
+        if (maxCostAfter < bestCost) {
+          bestCost = maxCostAfter;
+          bestRegionGroupId = regionGroupId;
+          bestDataNodeId = dataNodeId;
+        }
+      }
+    }
+    if (bestRegionGroupId == null) {
+      return false;
+    }
+
+    double regionLoad = regionLoadMap.get(bestRegionGroupId);
+    result.put(bestRegionGroupId, bestDataNodeId);
+    leaderLoadMap.merge(hottestDataNodeId, -regionLoad, Double::sum);
+    leaderLoadMap.merge(bestDataNodeId, regionLoad, Double::sum);
+    lastTransferTimeMap.put(bestRegionGroupId, currentTime);
+    return true;
+  }
+}
@@ -85,6 +85,8 @@ public class LoadCache {
 
   private static final ConfigNodeConfig CONF = ConfigNodeDescriptor.getInstance().getConf();
 
+  private static final double WRITE_THROUGHPUT_SMOOTHING_FACTOR = 0.3;
+
   // Map<NodeId, is heartbeat processing>
   // False indicates there is no processing heartbeat request, true otherwise
   private final Map<Integer, AtomicBoolean> heartbeatProcessingMap;
@@ -96,6 +98,10 @@ public class LoadCache {
   private final Map<Integer, Map<Integer, Long>> regionSizeMap;
   // Map<NodeId, Map<RegionGroupId, RegionRawSize>>
   private final Map<Integer, Map<Integer, Long>> regionRawSizeMap;
+  // Map<NodeId, nano timestamp of the latest RegionRawSize report>
+  private final Map<Integer, Long> regionRawSizeNanoTimestampMap;
+  // Map<DataRegionGroupId, smoothed write throughput in bytes per second>
+  private final Map<Integer, Double> dataRegionWriteThroughputMap;
   // Map<RegionGroupId, ConsensusGroupCache>
   private final Map<TConsensusGroupId, ConsensusGroupCache> consensusGroupCacheMap;
   // Map<DataNodeId, confirmedConfigNodes>
@@ -109,6 +115,8 @@ public class LoadCache {
     this.regionGroupCacheMap = new ConcurrentHashMap<>();
     this.regionSizeMap = new ConcurrentHashMap<>();
     this.regionRawSizeMap = new ConcurrentHashMap<>();
+    this.regionRawSizeNanoTimestampMap = new ConcurrentHashMap<>();
+    this.dataRegionWriteThroughputMap = new ConcurrentHashMap<>();
     this.consensusGroupCacheMap = new ConcurrentHashMap<>();
     this.confirmedConfigNodeMap = new ConcurrentHashMap<>();
     this.topologyGraph = new HashMap<>();
@@ -592,6 +600,18 @@ public class LoadCache {
         .orElse(0d);
   }
 
+  /**
+   * Get the disk usage rate of the specified DataNode.
+   *
+   * @param dataNodeId The index of the specified DataNode
+   * @return The ratio of occupied disk space in [0, 1], 0 if no heartbeat received
+   */
+  public double getDiskUsageRate(int dataNodeId) {
+    return Optional.ofNullable((DataNodeHeartbeatCache) nodeCacheMap.get(dataNodeId))
+        .map(DataNodeHeartbeatCache::getDiskUsageRate)
+        .orElse(0d);
+  }
+
   /**
    * Get the lowest loadScore DataNode.
    *
@@ -714,6 +734,9 @@ public class LoadCache {
   public void removeRegionGroupCache(TConsensusGroupId consensusGroupId) {
     regionGroupCacheMap.remove(consensusGroupId);
     consensusGroupCacheMap.remove(consensusGroupId);
+    if (TConsensusGroupType.DataRegion.equals(consensusGroupId.getType())) {
+      dataRegionWriteThroughputMap.remove(consensusGroupId.getId());
+    }
   }
 
   /**
@@ -829,7 +852,32 @@ public class LoadCache {
   }
 
   public void updateRegionRawSizeMap(int dataNodeId, Map<Integer, Long> regionRawSizeMap) {
-    this.regionRawSizeMap.put(dataNodeId, regionRawSizeMap);
+    long currentNanoTime = System.nanoTime();
+    Map<Integer, Long> lastRegionRawSizeMap =
+        this.regionRawSizeMap.put(dataNodeId, regionRawSizeMap);
+    Long lastNanoTime = regionRawSizeNanoTimestampMap.put(dataNodeId, currentNanoTime);
+    if (lastRegionRawSizeMap == null || lastNanoTime == null || currentNanoTime <= lastNanoTime) {
+      return;
+    }
+
+    double elapsedSeconds = (currentNanoTime - lastNanoTime) / 1_000_000_000d;
+    regionRawSizeMap.forEach(
+        (regionId, rawSize) -> {
+          Long lastRawSize = lastRegionRawSizeMap.get(regionId);
+          if (lastRawSize == null) {
+            return;
+          }
+          // The raw size may shrink because of deletion or TTL, which is not a negative write
+          double sample = Math.max(0, rawSize - lastRawSize) / elapsedSeconds;
+          // Replicas of the same RegionGroup report similar sizes, so a moving average over all
+          // reports keeps the throughput stable enough to drive leader balancing
+          dataRegionWriteThroughputMap.merge(
+              regionId,
+              sample,
+              (oldValue, newValue) ->
+                  oldValue * (1 - WRITE_THROUGHPUT_SMOOTHING_FACTOR)
+                      + newValue * WRITE_THROUGHPUT_SMOOTHING_FACTOR);
+        });
   }
 
   public Map<Integer, Map<Integer, Long>> getRegionSizeMap() {
@@ -839,4 +887,35 @@ public class LoadCache {
   public Map<Integer, Map<Integer, Long>> getRegionRawSizeMap() {
     return regionRawSizeMap;
   }
+
+  /**
+   * Get the write throughput of each DataRegionGroup, which is derived from the growth of the raw
+   * data size reported by heartbeats.
+   *
+   * @return Map<RegionGroupId, bytes written per second>
+   */
+  public Map<TConsensusGroupId, Double> getDataRegionWriteThroughputMap() {
+    Map<TConsensusGroupId, Double> result = new HashMap<>();
+    dataRegionWriteThroughputMap.forEach(
+        (regionId, throughput) ->
+            result.put(
+                new TConsensusGroupId(TConsensusGroupType.DataRegion, regionId), throughput));
+    return result;
+  }
+
+  /**
+   * Get the cpu usage rate of each DataNode.
+   *
+   * @return Map<DataNodeId, percentage of occupied cpu>, 0 if no load sample received
+   */
+  public Map<Integer, Double> getDataNodeCpuUsageRateMap() {
+    Map<Integer, Double> result = new HashMap<>();
+    nodeCacheMap.forEach(
+        (nodeId, nodeCache) -> {
+          if (nodeCache instanceof DataNodeHeartbeatCache) {
+            result.put(nodeId, ((DataNodeHeartbeatCache) nodeCache).getCpuUsageRate());
+          }
+        });
+    return result;
+  }
 }
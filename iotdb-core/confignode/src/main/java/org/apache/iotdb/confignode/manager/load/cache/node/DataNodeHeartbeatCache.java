@@ -94,4 +94,12 @@ public class DataNodeHeartbeatCache extends BaseNodeCache {
   public double getFreeDiskSpace() {
     return latestLoadSample.get().getFreeDiskSpace();
   }
+
+  public double getDiskUsageRate() {
+    return latestLoadSample.get().getDiskUsageRate();
+  }
+
+  public double getCpuUsageRate() {
+    return latestLoadSample.get().getCpuUsageRate();
+  }
 }
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.load.cache.region;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.mpp.rpc.thrift.TDataNodeHeartbeatResp;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * DataNodeRegionStatisticsSnapshot reconstructs the Region statistics of a DataNode from the
+ * delta-encoded heartbeat responses, so that the heartbeat processing always sees the statistics
+ * of all Regions in the DataNode.
+ */
+public class DataNodeRegionStatisticsSnapshot {
+
+  // The version of the applied Region statistics, -1 means a full snapshot is required
+  private long version = -1;
+  private final Map<TConsensusGroupId, Boolean> judgedLeaders = new HashMap<>();
+  private final Map<TConsensusGroupId, Long> logicalTimeMap = new HashMap<>();
+
+  public synchronized long getVersion() {
+    return version;
+  }
+
+  /**
+   * Apply the Region statistics of the heartbeat response to the snapshot in place, then process
+   * the complete statistics. The processor runs while the snapshot is held, so the statistics
+   * are neither copied nor changed by the next heartbeat of the DataNode meanwhile.
+   *
+   * @param baseVersion the version carried by the corresponding heartbeat request
+   * @param resp the heartbeat response
+   * @param processor consumes the judged leaders and the consensus logical time map
+   */
+  public synchronized void apply(
+      long baseVersion,
+      TDataNodeHeartbeatResp resp,
+      BiConsumer<Map<TConsensusGroupId, Boolean>, Map<TConsensusGroupId, Long>> processor) {
+    if (!resp.isSetRegionStatisticsVersion() || !resp.isSetJudgedLeaders()) {
+      // The DataNode doesn't support delta encoding, the response is always complete
+      processor.accept(resp.getJudgedLeaders(), resp.getConsensusLogicalTimeMap());
+      return;
+    }
+
+    if (resp.isRegionStatisticsDelta()) {
+      if (baseVersion != version) {
+        // The delta is based on a stale snapshot, require a full snapshot in the next heartbeat
+        version = -1;
+        processor.accept(resp.getJudgedLeaders(), resp.getConsensusLogicalTimeMap());
+        return;
+      }
+      if (resp.isSetRemovedRegionIds()) {
+        resp.getRemovedRegionIds()
+            .forEach(
+                regionId -> {
+                  judgedLeaders.remove(regionId);
+                  logicalTimeMap.remove(regionId);
+                });
+      }
+    } else {
+      judgedLeaders.clear();
+      logicalTimeMap.clear();
+    }
+    judgedLeaders.putAll(resp.getJudgedLeaders());
+    if (resp.isSetConsensusLogicalTimeMap()) {
+      logicalTimeMap.putAll(resp.getConsensusLogicalTimeMap());
+    }
+    version = resp.getRegionStatisticsVersion();
+
+    processor.accept(
+        Collections.unmodifiableMap(judgedLeaders), Collections.unmodifiableMap(logicalTimeMap));
+  }
+}
@@ -40,6 +40,7 @@ import org.apache.iotdb.confignode.manager.IManager;
 import org.apache.iotdb.confignode.manager.consensus.ConsensusManager;
 import org.apache.iotdb.confignode.manager.load.cache.LoadCache;
 import org.apache.iotdb.confignode.manager.load.cache.node.ConfigNodeHeartbeatCache;
+import org.apache.iotdb.confignode.manager.load.cache.region.DataNodeRegionStatisticsSnapshot;
 import org.apache.iotdb.confignode.manager.node.NodeManager;
 import org.apache.iotdb.confignode.rpc.thrift.TConfigNodeHeartbeatReq;
 import org.apache.iotdb.db.protocol.client.ConfigNodeInfo;
@@ -50,8 +51,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -68,6 +71,12 @@ public class HeartbeatService {
 
   private static final long HEARTBEAT_INTERVAL =
       ConfigNodeDescriptor.getInstance().getConf().getHeartbeatIntervalInMs();
+  private static final boolean ENABLE_REGION_STATISTICS_DELTA =
+      ConfigNodeDescriptor.getInstance().getConf().isEnableHeartbeatRegionStatisticsDelta();
+  private static final int REGION_STATISTICS_FULL_SNAPSHOT_INTERVAL =
+      ConfigNodeDescriptor.getInstance()
+          .getConf()
+          .getHeartbeatRegionStatisticsFullSnapshotInterval();
 
   protected IManager configManager;
   private final LoadCache loadCache;
@@ -83,6 +92,10 @@ public class HeartbeatService {
   private final AtomicLong heartbeatCounter = new AtomicLong(0);
   private static final int configNodeListPeriodicallySyncInterval = 100;
 
+  // Map<DataNodeId, DataNodeRegionStatisticsSnapshot>, used when delta encoding is enabled
+  private final Map<Integer, DataNodeRegionStatisticsSnapshot> regionStatisticsSnapshotMap =
+      new ConcurrentHashMap<>();
+
   public HeartbeatService(IManager configManager, LoadCache loadCache) {
     setConfigManager(configManager);
     this.loadCache = loadCache;
@@ -114,6 +127,7 @@ public class HeartbeatService {
       if (currentHeartbeatFuture != null) {
         currentHeartbeatFuture.cancel(false);
         currentHeartbeatFuture = null;
+        regionStatisticsSnapshotMap.clear();
         LOGGER.info(ManagerMessages.HEARTBEAT_SERVICE_IS_STOPPED_SUCCESSFULLY);
       }
     }
@@ -250,6 +264,14 @@ public class HeartbeatService {
    */
   private void pingRegisteredDataNodes(
       TDataNodeHeartbeatReq heartbeatReq, List<TDataNodeConfiguration> registeredDataNodes) {
+    if (ENABLE_REGION_STATISTICS_DELTA) {
+      // Discard the snapshots of removed DataNodes
+      Set<Integer> registeredDataNodeIds =
+          registeredDataNodes.stream()
+              .map(dataNodeInfo -> dataNodeInfo.getLocation().getDataNodeId())
+              .collect(Collectors.toSet());
+      regionStatisticsSnapshotMap.keySet().retainAll(registeredDataNodeIds);
+    }
     // Send heartbeat requests
     for (TDataNodeConfiguration dataNodeInfo : registeredDataNodes) {
       int dataNodeId = dataNodeInfo.getLocation().getDataNodeId();
@@ -257,6 +279,18 @@ public class HeartbeatService {
         // Skip the DataNode that is processing heartbeat
         continue;
       }
+      DataNodeRegionStatisticsSnapshot regionStatisticsSnapshot = null;
+      long regionStatisticsBaseVersion = -1;
+      if (ENABLE_REGION_STATISTICS_DELTA) {
+        regionStatisticsSnapshot =
+            regionStatisticsSnapshotMap.computeIfAbsent(
+                dataNodeId, empty -> new DataNodeRegionStatisticsSnapshot());
+        // Periodically require a full snapshot to guard against drift, staggered among DataNodes
+        if ((heartbeatCounter.get() + dataNodeId) % REGION_STATISTICS_FULL_SNAPSHOT_INTERVAL
+            != 0) {
+          regionStatisticsBaseVersion = regionStatisticsSnapshot.getVersion();
+        }
+      }
       DataNodeHeartbeatHandler handler =
           new DataNodeHeartbeatHandler(
               dataNodeId,
@@ -266,9 +300,16 @@ public class HeartbeatService {
               configManager.getClusterQuotaManager().getRegionDisk(),
               configManager.getClusterSchemaManager()::updateTimeSeriesUsage,
               configManager.getClusterSchemaManager()::updateDeviceUsage,
-              configManager.getPipeManager().getPipeRuntimeCoordinator());
+              configManager.getPipeManager().getPipeRuntimeCoordinator(),
+              regionStatisticsSnapshot,
+              regionStatisticsBaseVersion);
       configManager.getClusterQuotaManager().updateSpaceQuotaUsage();
       addConfigNodeLocationsToReq(dataNodeId, heartbeatReq);
+      if (ENABLE_REGION_STATISTICS_DELTA) {
+        // The base version differs among DataNodes, it is reset for each DataNode just like the
+        // ConfigNode locations since the request is serialized before being dispatched
+        heartbeatReq.setRegionStatisticsBaseVersion(regionStatisticsBaseVersion);
+      }
       AsyncDataNodeHeartbeatClientPool.getInstance()
           .getDataNodeHeartBeat(
               dataNodeInfo.getLocation().getInternalEndPoint(), heartbeatReq, handler);
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.load.balancer.region;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.common.rpc.thrift.TDataNodeLocation;
+import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
+import org.apache.iotdb.confignode.manager.load.balancer.region.RegionMigrationPlanner.DataNodeLoad;
+import org.apache.iotdb.confignode.manager.load.balancer.region.RegionMigrationPlanner.RegionMigrationPlan;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+public class RegionMigrationPlannerTest {
+
+  private static final RegionMigrationPlanner PLANNER = new RegionMigrationPlanner(0.2);
+
+  @Test
+  public void regionCountSkewTest() {
+    // DataNode 0 holds 6 Regions, DataNode 1 holds 2 Regions and the others hold nothing
+    List<TRegionReplicaSet> replicaSets = new ArrayList<>();
+    for (int i = 0; i < 8; i++) {
+      replicaSets.add(buildReplicaSet(i, i < 6 ? 0 : 1));
+    }
+
+    List<RegionMigrationPlan> plans =
+        PLANNER.generateMigrationPlans(
+            buildDataNodeLoadMap(4),
+            replicaSets,
+            new HashMap<>(),
+            new HashMap<>(),
+            new HashSet<>(),
+            2);
+
+    Assert.assertEquals(2, plans.size());
+    Set<Integer> destDataNodeIds = new HashSet<>();
+    Set<TConsensusGroupId> migratedRegionGroups = new HashSet<>();
+    for (RegionMigrationPlan plan : plans) {
+      Assert.assertEquals(0, plan.getSourceDataNodeId());
+      destDataNodeIds.add(plan.getDestDataNodeId());
+      migratedRegionGroups.add(plan.getRegionGroupId());
+    }
+    // Each empty DataNode receives one Region
+    Assert.assertEquals(new HashSet<>(Arrays.asList(2, 3)), destDataNodeIds);
+    Assert.assertEquals(2, migratedRegionGroups.size());
+  }
+
+  @Test
+  public void writeHotspotTest() {
+    // Each DataNode holds 2 Regions, but both Regions in DataNode 0 are written heavily
+    List<TRegionReplicaSet> replicaSets = new ArrayList<>();
+    Map<TConsensusGroupId, Double> writeThroughputMap = new HashMap<>();
+    for (int i = 0; i < 6; i++) {
+      TRegionReplicaSet replicaSet = buildReplicaSet(i, i / 2);
+      replicaSets.add(replicaSet);
+      writeThroughputMap.put(replicaSet.getRegionId(), i / 2 == 0 ? 1000d : 10d);
+    }
+    // Region 0 is being migrated by others
+    Set<TConsensusGroupId> busyRegionGroups =
+        Collections.singleton(new TConsensusGroupId(TConsensusGroupType.DataRegion, 0));
+
+    List<RegionMigrationPlan> plans =
+        PLANNER.generateMigrationPlans(
+            buildDataNodeLoadMap(3),
+            replicaSets,
+            new HashMap<>(),
+            writeThroughputMap,
+            busyRegionGroups,
+            1);
+
+    Assert.assertEquals(1, plans.size());
+    Assert.assertEquals(
+        new TConsensusGroupId(TConsensusGroupType.DataRegion, 1), plans.get(0).getRegionGroupId());
+    Assert.assertEquals(0, plans.get(0).getSourceDataNodeId());
+  }
+
+  @Test
+  public void balancedClusterTest() {
+    List<TRegionReplicaSet> replicaSets = new ArrayList<>();
+    for (int i = 0; i < 6; i++) {
+      replicaSets.add(buildReplicaSet(i, i % 3));
+    }
+    Map<Integer, DataNodeLoad> dataNodeLoadMap = buildDataNodeLoadMap(3);
+
+    Assert.assertEquals(
+        0, PLANNER.calculateScoreGap(dataNodeLoadMap, replicaSets, new HashMap<>()), 1e-9);
+    Assert.assertTrue(
+        PLANNER
+            .generateMigrationPlans(
+                dataNodeLoadMap, replicaSets, new HashMap<>(), new HashMap<>(), new HashSet<>(), 5)
+            .isEmpty());
+  }
+
+  private static Map<Integer, DataNodeLoad> buildDataNodeLoadMap(int dataNodeNum) {
+    Map<Integer, DataNodeLoad> dataNodeLoadMap = new TreeMap<>();
+    for (int i = 0; i < dataNodeNum; i++) {
+      // The disk load is unknown
+      dataNodeLoadMap.put(i, new DataNodeLoad(0, 0));
+    }
+    return dataNodeLoadMap;
+  }
+
+  private static TRegionReplicaSet buildReplicaSet(int regionId, int dataNodeId) {
+    return new TRegionReplicaSet(
+        new TConsensusGroupId(TConsensusGroupType.DataRegion, regionId),
+        Collections.singletonList(new TDataNodeLocation().setDataNodeId(dataNodeId)));
+  }
+}
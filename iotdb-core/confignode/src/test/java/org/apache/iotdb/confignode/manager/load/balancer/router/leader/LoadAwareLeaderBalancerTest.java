@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.load.balancer.router.leader;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.commons.cluster.NodeStatus;
+import org.apache.iotdb.commons.cluster.RegionStatus;
+import org.apache.iotdb.confignode.manager.load.cache.node.NodeStatistics;
+import org.apache.iotdb.confignode.manager.load.cache.region.RegionStatistics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+public class LoadAwareLeaderBalancerTest {
+
+  @Test
+  public void hotLeaderTransferTest() {
+    Map<TConsensusGroupId, Set<Integer>> regionLocationMap = new TreeMap<>();
+    Map<TConsensusGroupId, Integer> regionLeaderMap = new TreeMap<>();
+    Map<Integer, NodeStatistics> dataNodeStatisticsMap = new TreeMap<>();
+    Map<TConsensusGroupId, Map<Integer, RegionStatistics>> regionStatisticsMap = new TreeMap<>();
+    Map<TConsensusGroupId, Double> writeThroughputMap = new HashMap<>();
+
+    for (int i = 0; i < 3; i++) {
+      dataNodeStatisticsMap.put(i, new NodeStatistics(NodeStatus.Running));
+    }
+    // Build 6 RegionGroups in DataNodes 0~2, each DataNode leads 2 of them,
+    // but only the RegionGroups led by DataNode 0 are written
+    for (int i = 0; i < 6; i++) {
+      TConsensusGroupId regionGroupId = new TConsensusGroupId(TConsensusGroupType.DataRegion, i);
+      buildRegionGroup(regionGroupId, regionLocationMap, regionStatisticsMap, RegionStatus.Running);
+      regionLeaderMap.put(regionGroupId, i % 3);
+      writeThroughputMap.put(regionGroupId, i % 3 == 0 ? 1000d : 0d);
+    }
+
+    LoadAwareLeaderBalancer balancer =
+        new LoadAwareLeaderBalancer(() -> writeThroughputMap, HashMap::new, 1, 300000);
+    Map<TConsensusGroupId, Integer> leaderDistribution =
+        balancer.generateOptimalLeaderDistribution(
+            new TreeMap<>(),
+            regionLocationMap,
+            regionLeaderMap,
+            dataNodeStatisticsMap,
+            regionStatisticsMap);
+
+    // Exactly one hot leader is transferred away from DataNode 0 because of the limit
+    Assert.assertEquals(1, countTransfers(regionLeaderMap, leaderDistribution));
+    Assert.assertEquals(1, countLeaders(leaderDistribution, 0));
+
+    TConsensusGroupId transferredRegionGroupId =
+        leaderDistribution.keySet().stream()
+            .filter(id -> !leaderDistribution.get(id).equals(regionLeaderMap.get(id)))
+            .findFirst()
+            .orElseThrow(IllegalStateException::new);
+
+    // The transferred RegionGroup is cooling down, so it stays on its new leader in the next round
+    Map<TConsensusGroupId, Integer> nextDistribution =
+        balancer.generateOptimalLeaderDistribution(
+            new TreeMap<>(),
+            regionLocationMap,
+            leaderDistribution,
+            dataNodeStatisticsMap,
+            regionStatisticsMap);
+    Assert.assertTrue(countTransfers(leaderDistribution, nextDistribution) <= 1);
+    Assert.assertEquals(
+        leaderDistribution.get(transferredRegionGroupId),
+        nextDistribution.get(transferredRegionGroupId));
+  }
+
+  @Test
+  public void unavailableLeaderTransferTest() {
+    Map<TConsensusGroupId, Set<Integer>> regionLocationMap = new TreeMap<>();
+    Map<TConsensusGroupId, Integer> regionLeaderMap = new TreeMap<>();
+    Map<Integer, NodeStatistics> dataNodeStatisticsMap = new TreeMap<>();
+    Map<TConsensusGroupId, Map<Integer, RegionStatistics>> regionStatisticsMap = new TreeMap<>();
+
+    dataNodeStatisticsMap.put(0, new NodeStatistics(NodeStatus.Unknown));
+    dataNodeStatisticsMap.put(1, new NodeStatistics(NodeStatus.Running));
+    dataNodeStatisticsMap.put(2, new NodeStatistics(NodeStatus.Running));
+    // Build 10 RegionGroups whose leaders are all in the unavailable DataNode 0
+    for (int i = 0; i < 10; i++) {
+      TConsensusGroupId regionGroupId = new TConsensusGroupId(TConsensusGroupType.DataRegion, i);
+      buildRegionGroup(regionGroupId, regionLocationMap, regionStatisticsMap, RegionStatus.Running);
+      regionLeaderMap.put(regionGroupId, 0);
+    }
+
+    // Necessary transfers are not limited even if no voluntary transfer is allowed
+    LoadAwareLeaderBalancer balancer =
+        new LoadAwareLeaderBalancer(HashMap::new, HashMap::new, 0, 300000);
+    Map<TConsensusGroupId, Integer> leaderDistribution =
+        balancer.generateOptimalLeaderDistribution(
+            new TreeMap<>(),
+            regionLocationMap,
+            regionLeaderMap,
+            dataNodeStatisticsMap,
+            regionStatisticsMap);
+
+    Assert.assertEquals(0, countLeaders(leaderDistribution, 0));
+    Assert.assertEquals(5, countLeaders(leaderDistribution, 1));
+    Assert.assertEquals(5, countLeaders(leaderDistribution, 2));
+  }
+
+  private static void buildRegionGroup(
+      TConsensusGroupId regionGroupId,
+      Map<TConsensusGroupId, Set<Integer>> regionLocationMap,
+      Map<TConsensusGroupId, Map<Integer, RegionStatistics>> regionStatisticsMap,
+      RegionStatus regionStatus) {
+    Set<Integer> dataNodeIds = new HashSet<>();
+    Map<Integer, RegionStatistics> regionStatistics = new TreeMap<>();
+    for (int j = 0; j < 3; j++) {
+      dataNodeIds.add(j);
+      regionStatistics.put(j, new RegionStatistics(regionStatus));
+    }
+    regionLocationMap.put(regionGroupId, dataNodeIds);
+    regionStatisticsMap.put(regionGroupId, regionStatistics);
+  }
+
+  private static int countTransfers(
+      Map<TConsensusGroupId, Integer> before, Map<TConsensusGroupId, Integer> after) {
+    return (int)
+        after.entrySet().stream()
+            .filter(entry -> !entry.getValue().equals(before.get(entry.getKey())))
+            .count();
+  }
+
+  private static int countLeaders(Map<TConsensusGroupId, Integer> distribution, int dataNodeId) {
+    return (int) distribution.values().stream().filter(id -> id == dataNodeId).count();
+  }
+}
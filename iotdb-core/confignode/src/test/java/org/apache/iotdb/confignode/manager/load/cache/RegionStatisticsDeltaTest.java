@@ -0,0 +1,163 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.confignode.manager.load.cache;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+import org.apache.iotdb.confignode.manager.load.cache.region.DataNodeRegionStatisticsSnapshot;
+import org.apache.iotdb.db.protocol.thrift.impl.RegionStatisticsDeltaEncoder;
+import org.apache.iotdb.mpp.rpc.thrift.TDataNodeHeartbeatResp;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class RegionStatisticsDeltaTest {
+
+  private static final TConsensusGroupId REGION_0 =
+      new TConsensusGroupId(TConsensusGroupType.DataRegion, 0);
+  private static final TConsensusGroupId REGION_1 =
+      new TConsensusGroupId(TConsensusGroupType.DataRegion, 1);
+  private static final TConsensusGroupId REGION_2 =
+      new TConsensusGroupId(TConsensusGroupType.SchemaRegion, 2);
+
+  private RegionStatisticsDeltaEncoder encoder = new RegionStatisticsDeltaEncoder();
+  private final DataNodeRegionStatisticsSnapshot snapshot = new DataNodeRegionStatisticsSnapshot();
+
+  // The complete statistics processed after the last applied heartbeat
+  private Map<TConsensusGroupId, Boolean> processedJudgedLeaders;
+  private Map<TConsensusGroupId, Long> processedLogicalTimeMap;
+
+  @Test
+  public void deltaRoundTripTest() {
+    Map<TConsensusGroupId, Boolean> judgedLeaders = new HashMap<>();
+    Map<TConsensusGroupId, Long> logicalTimeMap = new HashMap<>();
+    judgedLeaders.put(REGION_0, true);
+    judgedLeaders.put(REGION_1, false);
+    logicalTimeMap.put(REGION_0, 10L);
+    logicalTimeMap.put(REGION_1, 10L);
+
+    // The first heartbeat always carries a full snapshot
+    TDataNodeHeartbeatResp resp = heartbeat(judgedLeaders, logicalTimeMap);
+    Assert.assertFalse(resp.isRegionStatisticsDelta());
+    Assert.assertEquals(judgedLeaders, processedJudgedLeaders);
+
+    // Only the changed Regions are reported, but the complete statistics are restored
+    judgedLeaders = new HashMap<>(judgedLeaders);
+    logicalTimeMap = new HashMap<>(logicalTimeMap);
+    logicalTimeMap.put(REGION_0, 11L);
+    judgedLeaders.remove(REGION_1);
+    logicalTimeMap.remove(REGION_1);
+    judgedLeaders.put(REGION_2, true);
+    logicalTimeMap.put(REGION_2, 1L);
+    TDataNodeHeartbeatResp deltaResp = new TDataNodeHeartbeatResp();
+    long baseVersion = snapshot.getVersion();
+    encoder.encode(baseVersion, judgedLeaders, logicalTimeMap, deltaResp);
+    Assert.assertTrue(deltaResp.isRegionStatisticsDelta());
+    Assert.assertEquals(1, deltaResp.getJudgedLeadersSize());
+    Assert.assertEquals(2, deltaResp.getConsensusLogicalTimeMapSize());
+    Assert.assertEquals(1, deltaResp.getRemovedRegionIdsSize());
+    apply(baseVersion, deltaResp);
+    Assert.assertEquals(judgedLeaders, processedJudgedLeaders);
+    Assert.assertEquals(logicalTimeMap, processedLogicalTimeMap);
+
+    // Nothing changed, but every Region is still reported to the heartbeat processing
+    resp = heartbeat(judgedLeaders, logicalTimeMap);
+    Assert.assertTrue(resp.isRegionStatisticsDelta());
+    Assert.assertTrue(resp.getJudgedLeaders().isEmpty());
+    Assert.assertEquals(judgedLeaders, processedJudgedLeaders);
+    Assert.assertEquals(logicalTimeMap, processedLogicalTimeMap);
+  }
+
+  @Test
+  public void lostResponseTest() {
+    Map<TConsensusGroupId, Boolean> judgedLeaders = new HashMap<>();
+    Map<TConsensusGroupId, Long> logicalTimeMap = new HashMap<>();
+    judgedLeaders.put(REGION_0, true);
+    logicalTimeMap.put(REGION_0, 10L);
+    heartbeat(judgedLeaders, logicalTimeMap);
+
+    // The response is lost, so the ConfigNode still holds the previous version
+    judgedLeaders = new HashMap<>(judgedLeaders);
+    judgedLeaders.put(REGION_1, false);
+    encoder.encode(
+        snapshot.getVersion(), judgedLeaders, logicalTimeMap, new TDataNodeHeartbeatResp());
+
+    // The DataNode falls back to a full snapshot
+    TDataNodeHeartbeatResp resp = heartbeat(judgedLeaders, logicalTimeMap);
+    Assert.assertFalse(resp.isRegionStatisticsDelta());
+    Assert.assertEquals(judgedLeaders, processedJudgedLeaders);
+
+    // A delta based on a stale version is discarded and a full snapshot is required
+    TDataNodeHeartbeatResp staleResp = new TDataNodeHeartbeatResp();
+    encoder.encode(snapshot.getVersion(), judgedLeaders, logicalTimeMap, staleResp);
+    apply(snapshot.getVersion() - 1, staleResp);
+    Assert.assertEquals(-1, snapshot.getVersion());
+  }
+
+  @Test
+  public void dataNodeRestartTest() throws InterruptedException {
+    Map<TConsensusGroupId, Boolean> judgedLeaders = new HashMap<>();
+    Map<TConsensusGroupId, Long> logicalTimeMap = new HashMap<>();
+    judgedLeaders.put(REGION_0, true);
+    logicalTimeMap.put(REGION_0, 10L);
+    heartbeat(judgedLeaders, logicalTimeMap);
+    Assert.assertTrue(heartbeat(judgedLeaders, logicalTimeMap).isRegionStatisticsDelta());
+
+    // The restarted DataNode starts from a new epoch, so its versions never reach the one held
+    // by the ConfigNode, even if the responses of the restarted DataNode are lost
+    Thread.sleep(10);
+    encoder = new RegionStatisticsDeltaEncoder();
+    judgedLeaders = new HashMap<>();
+    logicalTimeMap = new HashMap<>();
+    judgedLeaders.put(REGION_1, true);
+    logicalTimeMap.put(REGION_1, 1L);
+    for (int i = 0; i < 3; i++) {
+      TDataNodeHeartbeatResp lostResp = new TDataNodeHeartbeatResp();
+      encoder.encode(snapshot.getVersion(), judgedLeaders, logicalTimeMap, lostResp);
+      Assert.assertFalse(lostResp.isRegionStatisticsDelta());
+    }
+    TDataNodeHeartbeatResp resp = heartbeat(judgedLeaders, logicalTimeMap);
+    Assert.assertFalse(resp.isRegionStatisticsDelta());
+    Assert.assertEquals(judgedLeaders, processedJudgedLeaders);
+    Assert.assertEquals(logicalTimeMap, processedLogicalTimeMap);
+  }
+
+  private TDataNodeHeartbeatResp heartbeat(
+      Map<TConsensusGroupId, Boolean> judgedLeaders, Map<TConsensusGroupId, Long> logicalTimeMap) {
+    TDataNodeHeartbeatResp resp = new TDataNodeHeartbeatResp();
+    long baseVersion = snapshot.getVersion();
+    encoder.encode(baseVersion, judgedLeaders, logicalTimeMap, resp);
+    apply(baseVersion, resp);
+    return resp;
+  }
+
+  private void apply(long baseVersion, TDataNodeHeartbeatResp resp) {
+    snapshot.apply(
+        baseVersion,
+        resp,
+        (judgedLeaders, logicalTimeMap) -> {
+          processedJudgedLeaders = new HashMap<>(judgedLeaders);
+          processedLogicalTimeMap = new HashMap<>(logicalTimeMap);
+        });
+  }
+}
@@ -53,6 +53,13 @@ public final class DataNodeQueryMessages {
       "MODE with slidingWindow is not supported now";
   public static final String INVALID_AGGREGATION_TYPE =
       "Invalid Aggregation Type: ";
+  public static final String APPROX_COUNT_DISTINCT_INVALID_MAX_STANDARD_ERROR =
+      "The attribute 'maxStandardError' of APPROX_COUNT_DISTINCT should be a number, but got: %s";
+  public static final String APPROX_PERCENTILE_INVALID_PERCENTAGE =
+      "The attribute 'percentage' of APPROX_PERCENTILE should be a number in [0, 1], but got: %s";
+  public static final String APPROX_MOST_FREQUENT_INVALID_ATTRIBUTES =
+      "The attributes 'k' and 'capacity' of APPROX_MOST_FREQUENT should be positive integers, "
+          + "but got k=%s, capacity=%s";
 
   // --- Execution / Driver ---
 
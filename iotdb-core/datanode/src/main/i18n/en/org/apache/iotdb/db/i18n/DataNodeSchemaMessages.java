@@ -344,6 +344,8 @@ public final class DataNodeSchemaMessages {
   public static final String REENTRANT_WRITE_LOCKS_DETAIL =
       "Reentrant write locks on page {}, content detail:{}";
   public static final String REENTRANT_WRITE_LOCKS = "Reentrant write locks on page:{}";
+  public static final String SKIP_PREFETCHING_PAGE =
+      "Skip prefetching page {} since the prefetch queue is full";
 
   // ======================== PBTree Flush ========================
 
@@ -53,6 +53,12 @@ public final class DataNodeQueryMessages {
       "目前不支持 MODE 与滑动窗口组合使用";
   public static final String INVALID_AGGREGATION_TYPE =
       "无效的聚合类型：";
+  public static final String APPROX_COUNT_DISTINCT_INVALID_MAX_STANDARD_ERROR =
+      "APPROX_COUNT_DISTINCT 的属性 'maxStandardError' 应为数字，实际为：%s";
+  public static final String APPROX_PERCENTILE_INVALID_PERCENTAGE =
+      "APPROX_PERCENTILE 的属性 'percentage' 应为 [0, 1] 范围内的数字，实际为：%s";
+  public static final String APPROX_MOST_FREQUENT_INVALID_ATTRIBUTES =
+      "APPROX_MOST_FREQUENT 的属性 'k' 和 'capacity' 应为正整数，实际为 k=%s，capacity=%s";
 
   // --- Execution / Driver ---
 
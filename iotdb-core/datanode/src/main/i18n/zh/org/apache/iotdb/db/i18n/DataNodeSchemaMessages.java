@@ -343,6 +343,8 @@ public final class DataNodeSchemaMessages {
   public static final String REENTRANT_WRITE_LOCKS_DETAIL =
       "页面 {} 上存在可重入写锁，内容详情：{}";
   public static final String REENTRANT_WRITE_LOCKS = "页面 {} 上存在可重入写锁";
+  public static final String SKIP_PREFETCHING_PAGE =
+      "预取队列已满，跳过预取页面 {}";
 
   // ======================== PBTree Flush 相关消息 ========================
 
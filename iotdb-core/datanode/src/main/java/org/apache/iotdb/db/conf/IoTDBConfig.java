@@ -69,6 +69,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Properties;
 import java.util.concurrent.ConcurrentHashMap;
@@ -127,6 +128,16 @@ public class IoTDBConfig {
   /** Max mqtt message size. Unit: byte */
   private int mqttMaxMessageSize = 1048576;
 
+  /** Max number of the rows of a client connection batched into one insertion by mqtt service. */
+  private int mqttBatchMaxRowNum = 1000;
+
+  /**
+   * Max time the rows received by the mqtt service wait for the rows of the following messages of
+   * the same client connection, and of the same table in the table model, before being inserted. 0
+   * means the rows of a message are inserted before handling the next one. Unit: ms
+   */
+  private long mqttBatchMaxDelayInMs = 0;
+
   /** Rpc binding address. */
   private String rpcAddress = "127.0.0.1";
 
@@ -194,6 +205,15 @@ public class IoTDBConfig {
   /** Minimum ratio of effective information in wal files */
   private volatile double walMinEffectiveInfoRatio = 0.1;
 
+  /** Maximum number of cached parse trees of table model queries, 0 means disabled */
+  private int queryParseTreeCacheMaxSize = 0;
+
+  /** Whether to reorder cross joins of table model queries by the estimated row counts */
+  private boolean enableJoinReorder = false;
+
+  /** Interval of recomputing the table statistics from the sealed TsFiles, in milliseconds */
+  private long tableStatisticsRefreshIntervalInMs = 60_000L;
+
   /** Maximum number of pending device schema requests */
   private volatile int deviceSchemaRequestCacheMaxSize = 500;
 
@@ -350,6 +370,25 @@ public class IoTDBConfig {
   /** How many queries can be concurrently executed. When <= 0, use 1000. */
   private int maxAllowedConcurrentQueries = 1000;
 
+  /**
+   * The share of the query worker threads of each user's resource group, relative to the other
+   * users with ready tasks. The users not listed have the weight 1.
+   */
+  private Map<String, Integer> queryResourceGroupWeights = Collections.emptyMap();
+
+  /**
+   * How many driver tasks of one user can run at the same time on the query worker threads. When
+   * <= 0, there is no limit.
+   */
+  private int queryResourceGroupMaxRunningDriverNum = 0;
+
+  /**
+   * How long a fragment instance waits for the running queries to release the operators memory
+   * when there is not enough memory to admit it. The fragment instances wait in arrival order, and
+   * no longer than the query timeout. When <= 0, the fragment instance fails at once.
+   */
+  private long queryMemoryAdmissionWaitTimeInMs = 0;
+
   /** How many threads can concurrently evaluate windows. When <= 0, use CPU core number. */
   private int windowEvaluationThreadCount = Runtime.getRuntime().availableProcessors();
 
@@ -879,6 +918,9 @@ public class IoTDBConfig {
   /** maximum number of logged pages before log erased */
   private int pbTreeLogSize = 16384;
 
+  /** whether to read the pages of pbtree files through memory mapping */
+  private boolean enablePBTreeMmap = false;
+
   /**
    * Maximum number of measurement in one create timeseries plan node. If the number of measurement
    * in user request exceeds this limit, the request will be split.
@@ -1131,6 +1173,13 @@ public class IoTDBConfig {
 
   private double loadWriteThroughputBytesPerSecond = -1; // Bytes/s
 
+  /**
+   * The maximum number of pieces of a TsFile being dispatched to different data regions at the
+   * same time, while the TsFile goes on being split. 1 means the pieces are dispatched one by one.
+   * It also bounds the threads dispatching the pieces of all the loads on the DataNode.
+   */
+  private int loadTsFileMaxDispatchParallelism = Runtime.getRuntime().availableProcessors();
+
   private long loadTabletConversionThresholdBytes = -1;
 
   private boolean loadActiveListeningEnable = true;
@@ -1871,6 +1920,30 @@ public class IoTDBConfig {
     this.maxAllowedConcurrentQueries = maxAllowedConcurrentQueries;
   }
 
+  public Map<String, Integer> getQueryResourceGroupWeights() {
+    return queryResourceGroupWeights;
+  }
+
+  public void setQueryResourceGroupWeights(Map<String, Integer> queryResourceGroupWeights) {
+    this.queryResourceGroupWeights = queryResourceGroupWeights;
+  }
+
+  public int getQueryResourceGroupMaxRunningDriverNum() {
+    return queryResourceGroupMaxRunningDriverNum;
+  }
+
+  public void setQueryResourceGroupMaxRunningDriverNum(int queryResourceGroupMaxRunningDriverNum) {
+    this.queryResourceGroupMaxRunningDriverNum = queryResourceGroupMaxRunningDriverNum;
+  }
+
+  public long getQueryMemoryAdmissionWaitTimeInMs() {
+    return queryMemoryAdmissionWaitTimeInMs;
+  }
+
+  public void setQueryMemoryAdmissionWaitTimeInMs(long queryMemoryAdmissionWaitTimeInMs) {
+    this.queryMemoryAdmissionWaitTimeInMs = queryMemoryAdmissionWaitTimeInMs;
+  }
+
   public int getWindowEvaluationThreadCount() {
     return windowEvaluationThreadCount;
   }
@@ -2056,6 +2129,36 @@ public class IoTDBConfig {
     this.dataNodeTableSchemaCacheSize = dataNodeTableSchemaCacheSize;
   }
 
+  public int getQueryParseTreeCacheMaxSize() {
+    return queryParseTreeCacheMaxSize;
+  }
+
+  public void setQueryParseTreeCacheMaxSize(int queryParseTreeCacheMaxSize) {
+    if (queryParseTreeCacheMaxSize < 0) {
+      return;
+    }
+    this.queryParseTreeCacheMaxSize = queryParseTreeCacheMaxSize;
+  }
+
+  public boolean isEnableJoinReorder() {
+    return enableJoinReorder;
+  }
+
+  public void setEnableJoinReorder(boolean enableJoinReorder) {
+    this.enableJoinReorder = enableJoinReorder;
+  }
+
+  public long getTableStatisticsRefreshIntervalInMs() {
+    return tableStatisticsRefreshIntervalInMs;
+  }
+
+  public void setTableStatisticsRefreshIntervalInMs(long tableStatisticsRefreshIntervalInMs) {
+    if (tableStatisticsRefreshIntervalInMs <= 0) {
+      return;
+    }
+    this.tableStatisticsRefreshIntervalInMs = tableStatisticsRefreshIntervalInMs;
+  }
+
   public int getDeviceSchemaRequestCacheMaxSize() {
     return deviceSchemaRequestCacheMaxSize;
   }
@@ -2692,6 +2795,22 @@ public class IoTDBConfig {
     this.mqttMaxMessageSize = mqttMaxMessageSize;
   }
 
+  public int getMqttBatchMaxRowNum() {
+    return mqttBatchMaxRowNum;
+  }
+
+  public void setMqttBatchMaxRowNum(int mqttBatchMaxRowNum) {
+    this.mqttBatchMaxRowNum = mqttBatchMaxRowNum;
+  }
+
+  public long getMqttBatchMaxDelayInMs() {
+    return mqttBatchMaxDelayInMs;
+  }
+
+  public void setMqttBatchMaxDelayInMs(long mqttBatchMaxDelayInMs) {
+    this.mqttBatchMaxDelayInMs = mqttBatchMaxDelayInMs;
+  }
+
   public int getTagAttributeFlushInterval() {
     return tagAttributeFlushInterval;
   }
@@ -3130,6 +3249,14 @@ public class IoTDBConfig {
     this.pbTreeLogSize = pbTreeLogSize;
   }
 
+  public boolean isEnablePBTreeMmap() {
+    return enablePBTreeMmap;
+  }
+
+  public void setEnablePBTreeMmap(boolean enablePBTreeMmap) {
+    this.enablePBTreeMmap = enablePBTreeMmap;
+  }
+
   public int getMaxMeasurementNumOfInternalRequest() {
     return maxMeasurementNumOfInternalRequest;
   }
@@ -4053,6 +4180,14 @@ public class IoTDBConfig {
     this.loadWriteThroughputBytesPerSecond = loadWriteThroughputBytesPerSecond;
   }
 
+  public int getLoadTsFileMaxDispatchParallelism() {
+    return loadTsFileMaxDispatchParallelism;
+  }
+
+  public void setLoadTsFileMaxDispatchParallelism(int loadTsFileMaxDispatchParallelism) {
+    this.loadTsFileMaxDispatchParallelism = loadTsFileMaxDispatchParallelism;
+  }
+
   public long getLoadTabletConversionThresholdBytes() {
     return loadTabletConversionThresholdBytes;
   }
@@ -88,7 +88,9 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.FileStore;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Properties;
 import java.util.ServiceLoader;
@@ -571,6 +573,20 @@ public class IoTDBDescriptor {
       conf.setMaxAllowedConcurrentQueries(1000);
     }
 
+    conf.setQueryResourceGroupWeights(
+        parseQueryResourceGroupWeights(
+            properties.getProperty("query_resource_group_weights", "")));
+    conf.setQueryResourceGroupMaxRunningDriverNum(
+        Integer.parseInt(
+            properties.getProperty(
+                "query_resource_group_max_running_driver_num",
+                Integer.toString(conf.getQueryResourceGroupMaxRunningDriverNum()))));
+    conf.setQueryMemoryAdmissionWaitTimeInMs(
+        Long.parseLong(
+            properties.getProperty(
+                "query_memory_admission_wait_time_in_ms",
+                Long.toString(conf.getQueryMemoryAdmissionWaitTimeInMs()))));
+
     conf.setmRemoteSchemaCacheSize(
         Integer.parseInt(
             properties.getProperty(
@@ -874,6 +890,11 @@ public class IoTDBDescriptor {
         Integer.parseInt(
             properties.getProperty("pbtree_log_size", String.valueOf(conf.getPBTreeLogSize()))));
 
+    conf.setEnablePBTreeMmap(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_pbtree_mmap", String.valueOf(conf.isEnablePBTreeMmap()))));
+
     conf.setMaxMeasurementNumOfInternalRequest(
         Integer.parseInt(
             properties.getProperty(
@@ -987,6 +1008,23 @@ public class IoTDBDescriptor {
                 "data_node_table_schema_cache_max_size_in_bytes",
                 String.valueOf(conf.getDataNodeTableSchemaCacheSize()))));
 
+    conf.setQueryParseTreeCacheMaxSize(
+        Integer.parseInt(
+            properties.getProperty(
+                "query_parse_tree_cache_max_size",
+                String.valueOf(conf.getQueryParseTreeCacheMaxSize()))));
+
+    conf.setEnableJoinReorder(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_join_reorder", String.valueOf(conf.isEnableJoinReorder()))));
+
+    conf.setTableStatisticsRefreshIntervalInMs(
+        Long.parseLong(
+            properties.getProperty(
+                "table_statistics_refresh_interval_in_ms",
+                String.valueOf(conf.getTableStatisticsRefreshIntervalInMs()))));
+
     conf.setDeviceSchemaRequestCacheMaxSize(
         Integer.parseInt(
             properties.getProperty(
@@ -2033,6 +2071,16 @@ public class IoTDBDescriptor {
       conf.setMqttMaxMessageSize(
           Integer.parseInt(properties.getProperty(IoTDBConstant.MQTT_MAX_MESSAGE_SIZE).trim()));
     }
+
+    if (properties.getProperty(IoTDBConstant.MQTT_BATCH_MAX_ROW_NUM) != null) {
+      conf.setMqttBatchMaxRowNum(
+          Integer.parseInt(properties.getProperty(IoTDBConstant.MQTT_BATCH_MAX_ROW_NUM).trim()));
+    }
+
+    if (properties.getProperty(IoTDBConstant.MQTT_BATCH_MAX_DELAY_IN_MS) != null) {
+      conf.setMqttBatchMaxDelayInMs(
+          Long.parseLong(properties.getProperty(IoTDBConstant.MQTT_BATCH_MAX_DELAY_IN_MS).trim()));
+    }
   }
 
   // timed flush memtable
@@ -2463,6 +2511,14 @@ public class IoTDBDescriptor {
             properties.getProperty(
                 "load_write_throughput_bytes_per_second",
                 String.valueOf(conf.getLoadWriteThroughputBytesPerSecond()))));
+    conf.setLoadTsFileMaxDispatchParallelism(
+        Integer.parseInt(
+            properties.getProperty(
+                "load_tsfile_max_dispatch_parallelism",
+                Integer.toString(conf.getLoadTsFileMaxDispatchParallelism()))));
+    if (conf.getLoadTsFileMaxDispatchParallelism() <= 0) {
+      conf.setLoadTsFileMaxDispatchParallelism(Runtime.getRuntime().availableProcessors());
+    }
 
     conf.setLoadTsFileAllowedDirs(
         Arrays.stream(properties.getProperty("load_tsfile_allowed_dirs", "").trim().split(","))
@@ -2715,6 +2771,27 @@ public class IoTDBDescriptor {
     }
   }
 
+  private static Map<String, Integer> parseQueryResourceGroupWeights(String weights) {
+    final Map<String, Integer> resourceGroupWeights = new HashMap<>();
+    for (String weight : weights.split(",")) {
+      if (weight.trim().isEmpty()) {
+        continue;
+      }
+      final String[] userAndWeight = weight.split(":");
+      try {
+        resourceGroupWeights.put(
+            userAndWeight[0].trim(), Math.max(1, Integer.parseInt(userAndWeight[1].trim())));
+      } catch (Exception e) {
+        throw new IllegalArgumentException(
+            "Each subsection of configuration item query_resource_group_weights should be "
+                + "user:weight with an integer weight, which is "
+                + weights,
+            e);
+      }
+    }
+    return resourceGroupWeights;
+  }
+
   private void loadTriggerProps(TrimProperties properties) {
     conf.setTriggerDir(properties.getProperty("trigger_lib_dir", conf.getTriggerDir()).trim());
     conf.setRetryNumToFindStatefulTrigger(
@@ -92,9 +92,13 @@ import javax.annotation.Nonnull;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /** Schema write {@link PlanNode} visitor */
 public class SchemaExecutionVisitor implements PlanVisitor<TSStatus, ISchemaRegion> {
@@ -208,8 +212,7 @@ public class SchemaExecutionVisitor implements PlanVisitor<TSStatus, ISchemaRegi
           node.isGeneratedByPipe());
     } else {
       executeInternalCreateTimeSeries(
-          devicePath,
-          measurementGroup,
+          Collections.singletonMap(devicePath, measurementGroup),
           schemaRegion,
           existingTimeSeriesAndAlignmentMismatch,
           failingStatus,
@@ -235,6 +238,8 @@ public class SchemaExecutionVisitor implements PlanVisitor<TSStatus, ISchemaRegi
 
     final List<TSStatus> existingTimeSeriesAndAlignmentMismatch = new ArrayList<>();
     final List<TSStatus> failingStatus = new ArrayList<>();
+    // The non-aligned devices are created together in one batch
+    final Map<PartialPath, MeasurementGroup> nonAlignedMeasurementGroupMap = new LinkedHashMap<>();
 
     for (final Map.Entry<PartialPath, Pair<Boolean, MeasurementGroup>> deviceEntry :
         node.getDeviceMap().entrySet()) {
@@ -249,15 +254,15 @@ public class SchemaExecutionVisitor implements PlanVisitor<TSStatus, ISchemaRegi
             failingStatus,
             node.isGeneratedByPipe());
       } else {
-        executeInternalCreateTimeSeries(
-            devicePath,
-            measurementGroup,
-            schemaRegion,
-            existingTimeSeriesAndAlignmentMismatch,
-            failingStatus,
-            node.isGeneratedByPipe());
+        nonAlignedMeasurementGroupMap.put(devicePath, measurementGroup);
       }
     }
+    executeInternalCreateTimeSeries(
+        nonAlignedMeasurementGroupMap,
+        schemaRegion,
+        existingTimeSeriesAndAlignmentMismatch,
+        failingStatus,
+        node.isGeneratedByPipe());
 
     if (!failingStatus.isEmpty()) {
       return RpcUtils.getStatus(failingStatus);
@@ -270,38 +275,67 @@ public class SchemaExecutionVisitor implements PlanVisitor<TSStatus, ISchemaRegi
     return RpcUtils.getStatus(TSStatusCode.SUCCESS_STATUS, "Execute successfully");
   }
 
+  /**
+   * Create the non-aligned time series of the given devices in one batch, which is logged in one
+   * record by the schema region.
+   */
   private void executeInternalCreateTimeSeries(
-      final PartialPath devicePath,
-      final MeasurementGroup measurementGroup,
+      final Map<PartialPath, MeasurementGroup> measurementGroupMap,
       final ISchemaRegion schemaRegion,
       final List<TSStatus> existingTimeSeriesAndAlignmentMismatch,
       final List<TSStatus> failingStatus,
       final boolean withMerge) {
-    final int size = measurementGroup.getMeasurements().size();
-    // todo implement batch creation of one device in SchemaRegion
-    boolean alignedIsSet = false;
-    for (int i = 0; i < size; i++) {
-      try {
+    final List<ICreateTimeSeriesPlan> createTimeSeriesPlans = new ArrayList<>();
+    // The device path of each plan, used to report the alignment mismatch
+    final List<PartialPath> devicePaths = new ArrayList<>();
+    for (final Map.Entry<PartialPath, MeasurementGroup> entry : measurementGroupMap.entrySet()) {
+      final int size = entry.getValue().getMeasurements().size();
+      for (int i = 0; i < size; i++) {
         final ICreateTimeSeriesPlan createTimeSeriesPlan =
-            transformToCreateTimeSeriesPlan(devicePath, measurementGroup, i);
+            transformToCreateTimeSeriesPlan(entry.getKey(), entry.getValue(), i);
         // With merge is only true for pipe to upsert the receiver alias/tags/attributes in
         // historical transfer.
         // For normal internal creation, the alias/tags/attributes are not set
         // Thus the original ones are not altered
         ((CreateTimeSeriesPlanImpl) createTimeSeriesPlan).setWithMerge(withMerge);
-        schemaRegion.createTimeSeries(createTimeSeriesPlan, -1);
-        if (((CreateTimeSeriesPlanImpl) createTimeSeriesPlan).getAligned().get() && !alignedIsSet) {
+        createTimeSeriesPlans.add(createTimeSeriesPlan);
+        devicePaths.add(entry.getKey());
+      }
+    }
+    if (createTimeSeriesPlans.isEmpty()) {
+      return;
+    }
+
+    final Map<Integer, MetadataException> failingExceptionMap;
+    try {
+      failingExceptionMap =
+          schemaRegion.createTimeSeriesInBatch(
+              SchemaRegionWritePlanFactory.getBatchCreateTimeSeriesPlan(
+                  new ArrayList<>(createTimeSeriesPlans)));
+    } catch (final MetadataException e) {
+      logMetaDataException(String.format("%s: MetaData error: ", e.getMessage()), e);
+      failingStatus.add(RpcUtils.getStatus(e.getErrorCode(), e.getMessage()));
+      return;
+    }
+
+    final Set<PartialPath> alignedDevices = new HashSet<>();
+    for (int i = 0; i < createTimeSeriesPlans.size(); i++) {
+      final MetadataException e = failingExceptionMap.get(i);
+      if (e == null) {
+        if (((CreateTimeSeriesPlanImpl) createTimeSeriesPlans.get(i)).getAligned().get()
+            && alignedDevices.add(devicePaths.get(i))) {
           existingTimeSeriesAndAlignmentMismatch.add(
               new TSStatus(TSStatusCode.ALIGNED_TIMESERIES_ERROR.getStatusCode())
-                  .setMessage(PartialPath.transformDataToString(devicePath)));
-          alignedIsSet = true;
+                  .setMessage(PartialPath.transformDataToString(devicePaths.get(i))));
         }
-      } catch (final MeasurementAlreadyExistException e) {
+      } else if (e instanceof MeasurementAlreadyExistException) {
         // There's no need to internal create time series.
         existingTimeSeriesAndAlignmentMismatch.add(
             RpcUtils.getStatus(
-                e.getErrorCode(), PartialPath.transformDataToString(e.getMeasurementPath())));
-      } catch (final MetadataException e) {
+                e.getErrorCode(),
+                PartialPath.transformDataToString(
+                    ((MeasurementAlreadyExistException) e).getMeasurementPath())));
+      } else {
         logMetaDataException(String.format("%s: MetaData error: ", e.getMessage()), e);
         failingStatus.add(RpcUtils.getStatus(e.getErrorCode(), e.getMessage()));
       }
@@ -78,6 +78,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -96,6 +97,8 @@ import static org.apache.iotdb.commons.pipe.config.constant.PipeSourceConstant.E
 import static org.apache.iotdb.commons.pipe.config.constant.PipeSourceConstant.EXTRACTOR_HISTORY_LOOSE_RANGE_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeSourceConstant.EXTRACTOR_HISTORY_LOOSE_RANGE_PATH_VALUE;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeSourceConstant.EXTRACTOR_HISTORY_LOOSE_RANGE_TIME_VALUE;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeSourceConstant.EXTRACTOR_HISTORY_PREFETCH_WINDOW_DEFAULT_VALUE;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeSourceConstant.EXTRACTOR_HISTORY_PREFETCH_WINDOW_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeSourceConstant.EXTRACTOR_HISTORY_START_TIME_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeSourceConstant.EXTRACTOR_MODE_STRICT_DEFAULT_VALUE;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeSourceConstant.EXTRACTOR_MODE_STRICT_KEY;
@@ -108,6 +111,7 @@ import static org.apache.iotdb.commons.pipe.config.constant.PipeSourceConstant.S
 import static org.apache.iotdb.commons.pipe.config.constant.PipeSourceConstant.SOURCE_HISTORY_ENABLE_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeSourceConstant.SOURCE_HISTORY_END_TIME_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeSourceConstant.SOURCE_HISTORY_LOOSE_RANGE_KEY;
+import static org.apache.iotdb.commons.pipe.config.constant.PipeSourceConstant.SOURCE_HISTORY_PREFETCH_WINDOW_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeSourceConstant.SOURCE_HISTORY_START_TIME_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeSourceConstant.SOURCE_MODE_STRICT_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeSourceConstant.SOURCE_MODS_ENABLE_KEY;
@@ -161,9 +165,18 @@ public class PipeHistoricalDataRegionTsFileAndDeletionSource
 
   private boolean isForwardingPipeRequests;
 
+  // The max number of TsFiles behind the pending queue head whose chunks to be extracted are read
+  // ahead, so that they are in the page cache once their events are supplied. 0 means no
+  // prefetching. The TsFiles are not parsed ahead.
+  private int prefetchWindow = EXTRACTOR_HISTORY_PREFETCH_WINDOW_DEFAULT_VALUE;
+
   private volatile boolean hasBeenStarted = false;
 
   private Queue<PersistentResource> pendingQueue;
+  // TsFiles in the pendingQueue whose reads have been submitted to the prefetcher, and the sizes
+  // reserved for them
+  private final Map<TsFileResource, Long> prefetchedTsFileResources2Size = new HashMap<>();
+  private volatile boolean isPrefetchingCancelled = false;
   private final Map<TsFileResource, Set<String>> filteredTsFileResources2TableNames =
       new HashMap<>();
   private final Map<PersistentResource, Long> pendingResource2ReplicateIndexForIoTV2 =
@@ -219,6 +232,26 @@ public class PipeHistoricalDataRegionTsFileAndDeletionSource
       }
     }
 
+    try {
+      prefetchWindow =
+          parameters.getIntOrDefault(
+              Arrays.asList(
+                  EXTRACTOR_HISTORY_PREFETCH_WINDOW_KEY,
+                  SOURCE_HISTORY_PREFETCH_WINDOW_KEY),
+              EXTRACTOR_HISTORY_PREFETCH_WINDOW_DEFAULT_VALUE);
+    } catch (final Exception e) {
+      // compatible with the current validation framework
+      throw new PipeParameterNotValidException(e.getMessage());
+    }
+    if (prefetchWindow < 0) {
+      throw new PipeParameterNotValidException(
+          String.format(
+              "%s (%s) [%s] should be greater than or equal to 0.",
+              SOURCE_HISTORY_PREFETCH_WINDOW_KEY,
+              EXTRACTOR_HISTORY_PREFETCH_WINDOW_KEY,
+              prefetchWindow));
+    }
+
     if (parameters.hasAnyAttributes(
         SOURCE_START_TIME_KEY,
         EXTRACTOR_START_TIME_KEY,
@@ -405,6 +438,11 @@ public class PipeHistoricalDataRegionTsFileAndDeletionSource
               PipeSourceConstant.EXTRACTOR_FORWARDING_PIPE_REQUESTS_DEFAULT_VALUE);
     }
 
+    // Consensus pipes transfer the TsFiles as they are and never parse them
+    if (pipeName.startsWith(PipeStaticMeta.CONSENSUS_PIPE_PREFIX)) {
+      prefetchWindow = 0;
+    }
+
     if (LOGGER.isInfoEnabled()) {
       LOGGER.info(
           DataNodePipeMessages.PIPE_HISTORICAL_DATA_EXTRACTION_TIME_RANGE_START,
@@ -829,6 +867,10 @@ public class PipeHistoricalDataRegionTsFileAndDeletionSource
       return null;
     }
 
+    if (prefetchWindow > 0) {
+      prefetchPendingTsFiles();
+    }
+
     final PersistentResource resource = pendingQueue.peek();
     if (resource == null) {
       return supplyTerminateEvent();
@@ -836,6 +878,7 @@ public class PipeHistoricalDataRegionTsFileAndDeletionSource
 
     if (resource instanceof TsFileResource) {
       final TsFileResource tsFileResource = (TsFileResource) resource;
+      releasePrefetchedSize(tsFileResource);
       if (consumeSkippedHistoricalTsFileEventIfNecessary(tsFileResource)) {
         clearReplicateIndexForResource(tsFileResource);
         pendingQueue.poll();
@@ -852,6 +895,77 @@ public class PipeHistoricalDataRegionTsFileAndDeletionSource
     return event;
   }
 
+  /**
+   * Warm the reads of the TsFiles behind the head of the {@link #pendingQueue} concurrently. Only
+   * the page cache is filled, the events are still created, checked for skipping and supplied one
+   * by one in the order of the queue.
+   */
+  private void prefetchPendingTsFiles() {
+    final Iterator<PersistentResource> iterator = pendingQueue.iterator();
+    if (!iterator.hasNext()) {
+      return;
+    }
+    // The head is read by the consumer right away
+    iterator.next();
+    for (int i = 0; i < prefetchWindow && iterator.hasNext(); i++) {
+      final PersistentResource resource = iterator.next();
+      if (!(resource instanceof TsFileResource)
+          || !filteredTsFileResources2TableNames.containsKey(resource)
+          || prefetchedTsFileResources2Size.containsKey(resource)) {
+        continue;
+      }
+      final long size = ((TsFileResource) resource).getTsFileSize();
+      if (!PipeHistoricalTsFilePrefetcher.getInstance().tryReserve(size)) {
+        // The rest are prefetched once the TsFiles supplied release the budget
+        return;
+      }
+      prefetchedTsFileResources2Size.put((TsFileResource) resource, size);
+      prefetchTsFile((TsFileResource) resource);
+    }
+  }
+
+  /**
+   * Read only the chunks the event of the TsFile will parse. The pattern and the time range are
+   * not checked if the event skips parsing them, as its whole TsFile may be transferred.
+   */
+  protected void prefetchTsFile(final TsFileResource resource) {
+    final boolean shouldFilterPattern =
+        isModelDetected && !sloppyPattern && !isDbNameCoveredByPattern;
+    final boolean shouldFilterTime =
+        !sloppyTimeRange && !isTsFileResourceCoveredByTimeRange(resource);
+    final boolean isTableModelData = isTableModel;
+    PipeHistoricalTsFilePrefetcher.getInstance()
+        .prefetch(
+            pipeName,
+            resource.getTsFile(),
+            (deviceID, measurement) ->
+                !shouldFilterPattern
+                    || mayMeasurementBeExtracted(isTableModelData, deviceID, measurement),
+            shouldFilterTime ? historicalDataExtractionStartTime : Long.MIN_VALUE,
+            shouldFilterTime ? historicalDataExtractionEndTime : Long.MAX_VALUE,
+            () -> isPrefetchingCancelled);
+  }
+
+  private boolean mayMeasurementBeExtracted(
+      final boolean isTableModelData, final IDeviceID deviceID, final String measurement) {
+    if (isTableModelData) {
+      return tablePattern.isTableModelDataAllowedToBeCaptured()
+          && tablePattern.matchesTable(deviceID.getTableName());
+    }
+    // The time column of an aligned device is read with any of its measurements
+    return treePattern.isTreeModelDataAllowedToBeCaptured()
+        && (measurement.isEmpty()
+            ? treePattern.mayOverlapWithDevice(deviceID)
+            : treePattern.matchesMeasurement(deviceID, measurement));
+  }
+
+  private void releasePrefetchedSize(final TsFileResource resource) {
+    final Long size = prefetchedTsFileResources2Size.remove(resource);
+    if (Objects.nonNull(size)) {
+      PipeHistoricalTsFilePrefetcher.getInstance().release(size);
+    }
+  }
+
   private Event supplyTerminateEvent() {
     final PipeTerminateEvent.HistoricalTransferSummary historicalTransferSummary =
         PipeTerminateEvent.snapshotHistoricalTransferSummary(pipeName, creationTime, dataRegionId);
@@ -1100,6 +1214,11 @@ public class PipeHistoricalDataRegionTsFileAndDeletionSource
     if (!isTerminateSignalSent) {
       PipeTerminateEvent.clearHistoricalTransferSummary(pipeName, creationTime, dataRegionId);
     }
+    isPrefetchingCancelled = true;
+    prefetchedTsFileResources2Size
+        .values()
+        .forEach(PipeHistoricalTsFilePrefetcher.getInstance()::release);
+    prefetchedTsFileResources2Size.clear();
     if (Objects.nonNull(pendingQueue)) {
       pendingQueue.forEach(
           resource -> {
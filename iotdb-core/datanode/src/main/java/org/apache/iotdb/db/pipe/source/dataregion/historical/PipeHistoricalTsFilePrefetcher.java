@@ -0,0 +1,231 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.pipe.source.dataregion.historical;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.pipe.config.PipeConfig;
+
+import org.apache.tsfile.file.metadata.IChunkMetadata;
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.file.metadata.TimeseriesMetadata;
+import org.apache.tsfile.read.TsFileSequenceReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiPredicate;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Reads the chunks of the historical TsFiles to be supplied next on a bounded pool shared by all
+ * pipes, so that they are in the OS page cache when the consumer parses or transfers them. Only the
+ * chunks matching the pattern and the time range of the pipe are read, and the total size of the
+ * TsFiles read ahead but not supplied yet is bounded by {@link
+ * PipeConfig#getPipeHistoricalTsFilePrefetchMaxSizeInBytes()}.
+ *
+ * <p>It does not parse the TsFiles: the events are still created, parsed and supplied one by one in
+ * the order of the pending queue. Prefetching is best-effort: the failures are ignored, and the
+ * consumer reads the file from the disk as before.
+ */
+public class PipeHistoricalTsFilePrefetcher {
+
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(PipeHistoricalTsFilePrefetcher.class);
+
+  private static final int READ_BUFFER_SIZE = 64 * 1024;
+
+  private final ExecutorService prefetchExecutor =
+      IoTDBThreadPoolFactory.newFixedThreadPool(
+          PipeConfig.getInstance().getPipeHistoricalTsFilePrefetchThreadNum(),
+          ThreadName.PIPE_HISTORICAL_TSFILE_PREFETCH_POOL.getName());
+
+  private final long maxPrefetchedSizeInBytes =
+      PipeConfig.getInstance().getPipeHistoricalTsFilePrefetchMaxSizeInBytes();
+  private final AtomicLong prefetchedSizeInBytes = new AtomicLong(0);
+
+  /**
+   * Reserve the size of a TsFile to be read ahead, which is released by {@link #release(long)} once
+   * the TsFile is supplied or dropped.
+   *
+   * @return false if the size of the TsFiles read ahead would exceed the budget
+   */
+  public boolean tryReserve(final long sizeInBytes) {
+    long current;
+    do {
+      current = prefetchedSizeInBytes.get();
+      // A TsFile larger than the budget is still prefetched if it is the only one
+      if (current > 0 && current + sizeInBytes > maxPrefetchedSizeInBytes) {
+        return false;
+      }
+    } while (!prefetchedSizeInBytes.compareAndSet(current, current + sizeInBytes));
+    return true;
+  }
+
+  public void release(final long sizeInBytes) {
+    prefetchedSizeInBytes.addAndGet(-sizeInBytes);
+  }
+
+  /**
+   * Read the chunks of the TsFile to be extracted asynchronously.
+   *
+   * @param measurementFilter whether the chunks of a measurement of a device are extracted
+   * @param startTime the chunks ending before it are not extracted
+   * @param endTime the chunks starting after it are not extracted
+   * @param isCancelled stops the reading once it returns true, e.g. the pipe is dropped
+   */
+  public void prefetch(
+      final String pipeName,
+      final File tsFile,
+      final BiPredicate<IDeviceID, String> measurementFilter,
+      final long startTime,
+      final long endTime,
+      final BooleanSupplier isCancelled) {
+    try {
+      prefetchExecutor.submit(
+          () -> {
+            try {
+              readChunks(tsFile, measurementFilter, startTime, endTime, isCancelled);
+            } catch (final IOException e) {
+              // The consumer will read the file again and report the error if any
+              LOGGER.debug(
+                  "Pipe {}: failed to prefetch historical TsFile {}, will read it lazily.",
+                  pipeName,
+                  tsFile,
+                  e);
+            }
+          });
+    } catch (final RejectedExecutionException e) {
+      LOGGER.debug(
+          "Pipe {}: prefetching of historical TsFile {} is rejected, will read it lazily.",
+          pipeName,
+          tsFile,
+          e);
+    }
+  }
+
+  /** @return the number of bytes read */
+  long readChunks(
+      final File tsFile,
+      final BiPredicate<IDeviceID, String> measurementFilter,
+      final long startTime,
+      final long endTime,
+      final BooleanSupplier isCancelled)
+      throws IOException {
+    // Offsets of all the chunks in the file, and whether each is extracted. A chunk ends where the
+    // next one starts, or where the metadata starts.
+    final TreeMap<Long, Boolean> chunkOffset2IsExtracted = new TreeMap<>();
+    final long metadataOffset;
+    try (final TsFileSequenceReader reader =
+        new TsFileSequenceReader(tsFile.getPath(), true, false)) {
+      metadataOffset = reader.readFileMetadata().getMetaOffset();
+      for (final Map.Entry<IDeviceID, List<TimeseriesMetadata>> entry :
+          reader.getAllTimeseriesMetadata(true).entrySet()) {
+        for (final TimeseriesMetadata timeseriesMetadata : entry.getValue()) {
+          final boolean isMeasurementExtracted =
+              measurementFilter.test(entry.getKey(), timeseriesMetadata.getMeasurementId());
+          for (final IChunkMetadata chunkMetadata : timeseriesMetadata.getChunkMetadataList()) {
+            chunkOffset2IsExtracted.merge(
+                chunkMetadata.getOffsetOfChunkHeader(),
+                isMeasurementExtracted
+                    && chunkMetadata.getEndTime() >= startTime
+                    && chunkMetadata.getStartTime() <= endTime,
+                Boolean::logicalOr);
+          }
+        }
+      }
+    }
+
+    final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    long readBytes = 0;
+    try (final FileChannel channel = FileChannel.open(tsFile.toPath(), StandardOpenOption.READ)) {
+      // Adjacent extracted chunks are read as one range
+      long rangeStart = -1;
+      long rangeEnd = -1;
+      for (final Map.Entry<Long, Boolean> entry : chunkOffset2IsExtracted.entrySet()) {
+        if (!entry.getValue()) {
+          continue;
+        }
+        final Long nextOffset = chunkOffset2IsExtracted.higherKey(entry.getKey());
+        final long chunkEnd = nextOffset != null ? nextOffset : metadataOffset;
+        if (entry.getKey() != rangeEnd) {
+          readBytes += readRange(channel, buffer, rangeStart, rangeEnd, isCancelled);
+          rangeStart = entry.getKey();
+        }
+        rangeEnd = chunkEnd;
+        if (isCancelled.getAsBoolean()) {
+          return readBytes;
+        }
+      }
+      readBytes += readRange(channel, buffer, rangeStart, rangeEnd, isCancelled);
+    }
+    return readBytes;
+  }
+
+  private long readRange(
+      final FileChannel channel,
+      final ByteBuffer buffer,
+      final long start,
+      final long end,
+      final BooleanSupplier isCancelled)
+      throws IOException {
+    long position = start;
+    while (position < end && !isCancelled.getAsBoolean()) {
+      buffer.clear();
+      buffer.limit((int) Math.min(buffer.capacity(), end - position));
+      final int read = channel.read(buffer, position);
+      if (read < 0) {
+        break;
+      }
+      position += read;
+    }
+    return Math.max(position - start, 0);
+  }
+
+  //////////////////////////// singleton ////////////////////////////
+
+  private static class PipeHistoricalTsFilePrefetcherHolder {
+
+    private static final PipeHistoricalTsFilePrefetcher INSTANCE =
+        new PipeHistoricalTsFilePrefetcher();
+
+    private PipeHistoricalTsFilePrefetcherHolder() {
+      // empty constructor
+    }
+  }
+
+  public static PipeHistoricalTsFilePrefetcher getInstance() {
+    return PipeHistoricalTsFilePrefetcherHolder.INSTANCE;
+  }
+
+  private PipeHistoricalTsFilePrefetcher() {
+    // empty constructor
+  }
+}
@@ -421,6 +421,9 @@ public class DataNodeInternalRPCServiceImpl implements IDataNodeRPCService.Iface
 
   private final ClusterTopology clusterTopology = ClusterTopology.getInstance();
 
+  private final RegionStatisticsDeltaEncoder regionStatisticsDeltaEncoder =
+      new RegionStatisticsDeltaEncoder();
+
   private static final long TEST_CONNECTION_TIMEOUT_MS =
       CommonDescriptor.getInstance().getConfig().getDnConnectionTimeoutInMS();
 
@@ -2232,8 +2235,16 @@ public class DataNodeInternalRPCServiceImpl implements IDataNodeRPCService.Iface
     if (req.isNeedJudgeLeader()) {
       // Always get logical clock before judging leader
       // to ensure that the leader is up-to-date
-      resp.setConsensusLogicalTimeMap(getLogicalClockMap());
-      resp.setJudgedLeaders(getJudgedLeaders());
+      Map<TConsensusGroupId, Long> logicalClockMap = getLogicalClockMap();
+      Map<TConsensusGroupId, Boolean> judgedLeaders = getJudgedLeaders();
+      if (req.isSetRegionStatisticsBaseVersion()) {
+        // Only report the Region statistics changed since the version applied by ConfigNode
+        regionStatisticsDeltaEncoder.encode(
+            req.getRegionStatisticsBaseVersion(), judgedLeaders, logicalClockMap, resp);
+      } else {
+        resp.setConsensusLogicalTimeMap(logicalClockMap);
+        resp.setJudgedLeaders(judgedLeaders);
+      }
     }
 
     // Sampling load if necessary
@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.protocol.thrift.impl;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.mpp.rpc.thrift.TDataNodeHeartbeatResp;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Encode the Region statistics of heartbeat responses as deltas against the version last applied
+ * by the ConfigNode-leader. A full snapshot is reported whenever the ConfigNode doesn't hold the
+ * last reported version, e.g. the previous response is lost or the ConfigNode-leader changes.
+ */
+public class RegionStatisticsDeltaEncoder {
+
+  // The version of the last reported Region statistics. It starts from the start time of the
+  // process in milliseconds as an epoch, and heartbeats are far less frequent than once per
+  // millisecond, so the versions of a restarted DataNode never match the ones applied before
+  private long lastVersion = System.currentTimeMillis();
+  private Map<TConsensusGroupId, Boolean> lastJudgedLeaders = Collections.emptyMap();
+  private Map<TConsensusGroupId, Long> lastLogicalTimeMap = Collections.emptyMap();
+
+  /**
+   * Fill the Region statistics into the heartbeat response.
+   *
+   * @param baseVersion the version of Region statistics last applied by the ConfigNode
+   * @param judgedLeaders the current leadership of all local Regions
+   * @param logicalTimeMap the current logical clock of all local Regions
+   */
+  public synchronized void encode(
+      long baseVersion,
+      Map<TConsensusGroupId, Boolean> judgedLeaders,
+      Map<TConsensusGroupId, Long> logicalTimeMap,
+      TDataNodeHeartbeatResp resp) {
+    boolean isDelta = baseVersion == lastVersion;
+    if (isDelta) {
+      resp.setJudgedLeaders(diff(lastJudgedLeaders, judgedLeaders));
+      resp.setConsensusLogicalTimeMap(diff(lastLogicalTimeMap, logicalTimeMap));
+      List<TConsensusGroupId> removedRegionIds = new ArrayList<>();
+      Set<TConsensusGroupId> lastRegionIds = new HashSet<>(lastJudgedLeaders.keySet());
+      lastRegionIds.addAll(lastLogicalTimeMap.keySet());
+      for (TConsensusGroupId regionId : lastRegionIds) {
+        if (!judgedLeaders.containsKey(regionId) && !logicalTimeMap.containsKey(regionId)) {
+          removedRegionIds.add(regionId);
+        }
+      }
+      resp.setRemovedRegionIds(removedRegionIds);
+    } else {
+      resp.setJudgedLeaders(judgedLeaders);
+      resp.setConsensusLogicalTimeMap(logicalTimeMap);
+    }
+
+    lastVersion++;
+    lastJudgedLeaders = judgedLeaders;
+    lastLogicalTimeMap = logicalTimeMap;
+    resp.setRegionStatisticsVersion(lastVersion);
+    resp.setRegionStatisticsDelta(isDelta);
+  }
+
+  private static <V> Map<TConsensusGroupId, V> diff(
+      Map<TConsensusGroupId, V> last, Map<TConsensusGroupId, V> current) {
+    Map<TConsensusGroupId, V> result = new HashMap<>();
+    current.forEach(
+        (regionId, value) -> {
+          if (!Objects.equals(last.get(regionId), value)) {
+            result.put(regionId, value);
+          }
+        });
+    return result;
+  }
+}
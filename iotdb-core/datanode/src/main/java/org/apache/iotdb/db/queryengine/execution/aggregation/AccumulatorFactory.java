@@ -20,6 +20,9 @@
 package org.apache.iotdb.db.queryengine.execution.aggregation;
 
 import org.apache.iotdb.calc.execution.aggregation.Accumulator;
+import org.apache.iotdb.calc.execution.aggregation.ApproxCountDistinctAccumulator;
+import org.apache.iotdb.calc.execution.aggregation.ApproxMostFrequentAccumulator;
+import org.apache.iotdb.calc.execution.aggregation.ApproxPercentileAccumulator;
 import org.apache.iotdb.calc.execution.aggregation.BinaryModeAccumulator;
 import org.apache.iotdb.calc.execution.aggregation.BooleanModeAccumulator;
 import org.apache.iotdb.calc.execution.aggregation.CentralMomentAccumulator;
@@ -31,6 +34,8 @@ import org.apache.iotdb.calc.execution.aggregation.IntModeAccumulator;
 import org.apache.iotdb.calc.execution.aggregation.LongModeAccumulator;
 import org.apache.iotdb.calc.execution.aggregation.RegressionAccumulator;
 import org.apache.iotdb.calc.execution.aggregation.VarianceAccumulator;
+import org.apache.iotdb.calc.execution.operator.source.relational.aggregation.approximate.HyperLogLog;
+import org.apache.iotdb.calc.utils.constant.SqlConstant;
 import org.apache.iotdb.common.rpc.thrift.TAggregationType;
 import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.db.i18n.DataNodeQueryMessages;
@@ -189,6 +194,22 @@ public class AccumulatorFactory {
       case KURTOSIS:
         return new CentralMomentAccumulator(
             tsDataType, CentralMomentAccumulator.MomentType.KURTOSIS);
+      case APPROX_COUNT_DISTINCT:
+        // The attributes have been checked in FE
+        return new ApproxCountDistinctAccumulator(
+            tsDataType,
+            inputAttributes.containsKey(SqlConstant.APPROX_MAX_STANDARD_ERROR)
+                ? Double.parseDouble(inputAttributes.get(SqlConstant.APPROX_MAX_STANDARD_ERROR))
+                : HyperLogLog.DEFAULT_STANDARD_ERROR);
+      case APPROX_MOST_FREQUENT:
+        return ApproxMostFrequentAccumulator.create(
+            tsDataType,
+            Integer.parseInt(inputAttributes.get(SqlConstant.APPROX_MOST_FREQUENT_K)),
+            Integer.parseInt(inputAttributes.get(SqlConstant.APPROX_MOST_FREQUENT_CAPACITY)));
+      case APPROX_PERCENTILE:
+        return new ApproxPercentileAccumulator(
+            tsDataType,
+            Double.parseDouble(inputAttributes.get(SqlConstant.APPROX_PERCENTILE_PERCENTAGE)));
       default:
         throw new IllegalArgumentException(
             DataNodeQueryMessages.INVALID_AGGREGATION_FUNCTION + aggregationType);
@@ -52,6 +52,7 @@ public class UDAFAccumulator implements Accumulator {
 
   private final String functionName;
   private final UDAFConfigurations configurations;
+  private final UDAFStatistics statistics;
 
   private State state;
 
@@ -65,6 +66,7 @@ public class UDAFAccumulator implements Accumulator {
       boolean isInputRaw) {
     this.functionName = functionName;
     this.configurations = new UDAFConfigurations();
+    this.statistics = new UDAFStatistics(childrenExpressionDataTypes);
 
     List<String> childExpressionStrings =
         childrenExpressions.stream()
@@ -140,11 +142,21 @@ public class UDAFAccumulator implements Accumulator {
     udaf.combineState(state, otherState);
   }
 
-  // Currently, UDAF does not support optimization
-  // by statistics in TsFile
+  // Only called if the UDAF consumes the statistics of the input series,
+  // see canUseStatistics()
   @Override
   public void addStatistics(Statistics statistics) {
-    throw new UnsupportedOperationException(getClass().getName());
+    if (statistics == null) {
+      return;
+    }
+    this.statistics.setStatistics(statistics);
+    udaf.addStatistics(state, this.statistics);
+  }
+
+  /** Whether all the statistics consumed by the UDAF are available for the input series. */
+  public boolean canUseStatistics() {
+    return UDAFStatistics.isAvailable(
+        configurations.getConsumedStatistics(), statistics.getInputDataType());
   }
 
   // Currently, query engine won't generate
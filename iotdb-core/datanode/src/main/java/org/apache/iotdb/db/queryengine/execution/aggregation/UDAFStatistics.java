@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.aggregation;
+
+import org.apache.iotdb.commons.udf.utils.UDFDataTypeTransformer;
+import org.apache.iotdb.udf.api.access.StatisticsType;
+import org.apache.iotdb.udf.api.type.Type;
+import org.apache.iotdb.udf.api.utils.RowImpl;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.metadata.statistics.IntegerStatistics;
+import org.apache.tsfile.file.metadata.statistics.Statistics;
+import org.apache.tsfile.utils.Binary;
+
+import java.util.Set;
+
+/** Exposes the TsFile statistics of the input series to {@link UDAFAccumulator}. */
+public class UDAFStatistics implements org.apache.iotdb.udf.api.access.Statistics {
+
+  private final TSDataType inputDataType;
+
+  private Statistics<?> statistics;
+
+  public UDAFStatistics(TSDataType inputDataType) {
+    this.inputDataType = inputDataType;
+  }
+
+  public TSDataType getInputDataType() {
+    return inputDataType;
+  }
+
+  public void setStatistics(Statistics<?> statistics) {
+    this.statistics = statistics;
+  }
+
+  /** Whether all the statistics consumed by a UDAF are recorded for the series data type. */
+  public static boolean isAvailable(Set<StatisticsType> consumedStatistics, TSDataType dataType) {
+    if (consumedStatistics.isEmpty()) {
+      return false;
+    }
+    for (StatisticsType statisticsType : consumedStatistics) {
+      if (!isAvailable(statisticsType, dataType)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isAvailable(StatisticsType statisticsType, TSDataType dataType) {
+    switch (statisticsType) {
+      case COUNT:
+      case START_TIME:
+      case END_TIME:
+        return true;
+      case MIN_VALUE:
+      case MAX_VALUE:
+        return isSummable(dataType)
+            || dataType == TSDataType.DATE
+            || dataType == TSDataType.TIMESTAMP
+            || dataType == TSDataType.STRING;
+      case FIRST_VALUE:
+      case LAST_VALUE:
+        return dataType != TSDataType.BLOB && dataType != TSDataType.OBJECT;
+      case SUM_VALUE:
+        return isSummable(dataType);
+      default:
+        return false;
+    }
+  }
+
+  private static boolean isSummable(TSDataType dataType) {
+    return dataType == TSDataType.INT32
+        || dataType == TSDataType.INT64
+        || dataType == TSDataType.FLOAT
+        || dataType == TSDataType.DOUBLE;
+  }
+
+  @Override
+  public Type getDataType() {
+    return UDFDataTypeTransformer.transformToUDFDataType(inputDataType);
+  }
+
+  @Override
+  public long getCount() {
+    return statistics.getCount();
+  }
+
+  @Override
+  public long getStartTime() {
+    return statistics.getStartTime();
+  }
+
+  @Override
+  public long getEndTime() {
+    return statistics.getEndTime();
+  }
+
+  @Override
+  public Object getMinValue() {
+    return transformValue(statistics.getMinValue());
+  }
+
+  @Override
+  public Object getMaxValue() {
+    return transformValue(statistics.getMaxValue());
+  }
+
+  @Override
+  public Object getFirstValue() {
+    return transformValue(statistics.getFirstValue());
+  }
+
+  @Override
+  public Object getLastValue() {
+    return transformValue(statistics.getLastValue());
+  }
+
+  @Override
+  public double getSumValue() {
+    return statistics instanceof IntegerStatistics
+        ? statistics.getSumLongValue()
+        : statistics.getSumDoubleValue();
+  }
+
+  private static Object transformValue(Object value) {
+    return value instanceof Binary ? RowImpl.transformToUDFBinary((Binary) value) : value;
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.aggregation.slidingwindow;
+
+import org.apache.iotdb.calc.execution.aggregation.Accumulator;
+import org.apache.iotdb.commons.queryengine.plan.planner.plan.parameter.InputLocation;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.AggregationStep;
+
+import java.util.List;
+
+/**
+ * When calculating the APPROX_* functions, a pre-aggregation result can't be removed from the
+ * sketch. After evicting the expired results, the sketch is rebuilt by merging the pre-aggregation
+ * results remaining in the queue.
+ */
+public class MergingQueueSlidingWindowAggregator extends SlidingWindowAggregator {
+
+  public MergingQueueSlidingWindowAggregator(
+      Accumulator accumulator, List<InputLocation[]> inputLocationList, AggregationStep step) {
+    super(accumulator, inputLocationList, step);
+  }
+
+  @Override
+  protected void evictingExpiredValue() {
+    boolean evicted = false;
+    while (!deque.isEmpty() && !curTimeRange.contains(deque.getFirst().getTime())) {
+      deque.removeFirst();
+      evicted = true;
+    }
+    if (evicted) {
+      this.accumulator.reset();
+      for (PartialAggregationResult partialResult : deque) {
+        this.accumulator.addIntermediate(partialResult.getPartialResult());
+      }
+    }
+  }
+
+  @Override
+  public void processPartialResult(PartialAggregationResult partialResult) {
+    if (!partialResult.isNull()) {
+      deque.addLast(partialResult);
+      this.accumulator.addIntermediate(partialResult.getPartialResult());
+    }
+  }
+}
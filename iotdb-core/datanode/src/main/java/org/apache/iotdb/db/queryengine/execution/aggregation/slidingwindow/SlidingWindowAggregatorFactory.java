@@ -210,6 +210,10 @@ public class SlidingWindowAggregatorFactory {
       case KURTOSIS:
       case UDAF: // Currently UDAF belongs to SmoothQueueSlidingWindowAggregator
         return new SmoothQueueSlidingWindowAggregator(accumulator, inputLocationList, step);
+      case APPROX_COUNT_DISTINCT:
+      case APPROX_MOST_FREQUENT:
+      case APPROX_PERCENTILE:
+        return new MergingQueueSlidingWindowAggregator(accumulator, inputLocationList, step);
       case MAX_VALUE:
         return new MonotonicQueueSlidingWindowAggregator(
             accumulator, inputLocationList, step, maxComparators.get(dataTypes.get(0)));
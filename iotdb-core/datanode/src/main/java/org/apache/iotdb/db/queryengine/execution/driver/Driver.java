@@ -28,6 +28,7 @@ import org.apache.iotdb.db.queryengine.execution.exchange.sink.ISink;
 import org.apache.iotdb.db.queryengine.execution.operator.OperatorContext;
 import org.apache.iotdb.db.queryengine.execution.schedule.task.DriverTaskId;
 import org.apache.iotdb.db.queryengine.metric.QueryMetricsManager;
+import org.apache.iotdb.db.utils.stats.CpuTimer;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -138,22 +139,27 @@ public abstract class Driver implements IDriver {
               // only keep doing query processing if driver state is still alive
               if (state.get() == State.ALIVE) {
                 long start = System.nanoTime();
-                // initialization may be time-consuming, so we keep it in the processFor method
-                // in normal case, it won't cause deadlock and should finish soon, otherwise it will
-                // be a
-                // critical bug
-                // We should do initialization after holding the lock to avoid parallelism problems
-                // with close
-                if (!init(blockedFuture)) {
-                  return blockedFuture;
-                }
-
-                do {
-                  ListenableFuture<?> future = processInternal();
-                  if (!future.isDone()) {
-                    return updateDriverBlockedFuture(future);
+                CpuTimer cpuTimer = new CpuTimer();
+                try {
+                  // initialization may be time-consuming, so we keep it in the processFor method
+                  // in normal case, it won't cause deadlock and should finish soon, otherwise it
+                  // will be a critical bug
+                  // We should do initialization after holding the lock to avoid parallelism
+                  // problems with close
+                  if (!init(blockedFuture)) {
+                    return blockedFuture;
                   }
-                } while (System.nanoTime() - start < maxRuntime && !isFinishedInternal());
+
+                  do {
+                    ListenableFuture<?> future = processInternal();
+                    if (!future.isDone()) {
+                      return updateDriverBlockedFuture(future);
+                    }
+                  } while (System.nanoTime() - start < maxRuntime && !isFinishedInternal());
+                } finally {
+                  driverContext.recordCpuTime(
+                      cpuTimer.elapsedTime().getCpu().roundTo(TimeUnit.NANOSECONDS));
+                }
               }
               return NOT_BLOCKED;
             });
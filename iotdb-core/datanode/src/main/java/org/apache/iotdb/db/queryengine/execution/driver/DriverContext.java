@@ -45,6 +45,9 @@ public class DriverContext {
   private final AtomicBoolean finished = new AtomicBoolean();
   private boolean mayHaveTmpFile = false;
 
+  // Only updated by the thread running this driver
+  private volatile long cpuTimeInNanos = 0;
+
   @TestOnly
   public DriverContext() {
     this.fragmentInstanceContext = null;
@@ -126,6 +129,16 @@ public class DriverContext {
     return fragmentInstanceContext;
   }
 
+  /** Record the CPU time of one time slice of this driver, also accounted to its FI. */
+  public void recordCpuTime(long cpuTimeInNanos) {
+    this.cpuTimeInNanos += cpuTimeInNanos;
+    fragmentInstanceContext.addCpuTime(cpuTimeInNanos);
+  }
+
+  public long getCpuTimeInNanos() {
+    return cpuTimeInNanos;
+  }
+
   public void failed(Throwable cause) {
     if (finished.compareAndSet(false, true)) {
       fragmentInstanceContext.failed(cause);
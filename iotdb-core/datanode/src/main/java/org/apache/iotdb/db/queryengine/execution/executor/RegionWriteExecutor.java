@@ -91,6 +91,7 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -752,18 +753,25 @@ public class RegionWriteExecutor {
       final ISchemaRegion schemaRegion =
           schemaEngine.getSchemaRegion((SchemaRegionId) context.getRegionId());
       RegionExecutionResult result;
+      final Map<PartialPath, Integer> deviceTimeSeriesNumMap = new HashMap<>();
       for (final Map.Entry<PartialPath, Pair<Boolean, MeasurementGroup>> deviceEntry :
           node.getDeviceMap().entrySet()) {
         result =
-            checkQuotaAndTypeBeforeCreatingTimeSeries(
-                schemaRegion,
+            checkTypeBeforeCreatingTimeSeries(
                 deviceEntry.getKey(),
-                deviceEntry.getValue().getRight().size(),
                 deviceEntry.getValue().getRight().getMeasurements(),
                 deviceEntry.getValue().getRight().getDataTypes());
         if (result != null) {
           return result;
         }
+        deviceTimeSeriesNumMap.put(deviceEntry.getKey(), deviceEntry.getValue().getRight().size());
+      }
+      // Check the quota of all the devices at once
+      try {
+        schemaRegion.checkSchemaQuota(deviceTimeSeriesNumMap);
+      } catch (final SchemaQuotaExceededException e) {
+        return RegionExecutionResult.create(
+            false, e.getMessage(), RpcUtils.getStatus(e.getErrorCode(), e.getMessage()));
       }
       if (CONFIG.getSchemaRegionConsensusProtocolClass().equals(ConsensusFactory.RATIS_CONSENSUS)
           && !receivedFromPipe) {
@@ -852,6 +860,22 @@ public class RegionWriteExecutor {
         final int size,
         final List<String> measurements,
         final List<TSDataType> dataTypes) {
+      final RegionExecutionResult result =
+          checkTypeBeforeCreatingTimeSeries(path, measurements, dataTypes);
+      if (result != null) {
+        return result;
+      }
+      try {
+        schemaRegion.checkSchemaQuota(path, size);
+      } catch (final SchemaQuotaExceededException e) {
+        return RegionExecutionResult.create(
+            false, e.getMessage(), RpcUtils.getStatus(e.getErrorCode(), e.getMessage()));
+      }
+      return null;
+    }
+
+    private RegionExecutionResult checkTypeBeforeCreatingTimeSeries(
+        final PartialPath path, final List<String> measurements, final List<TSDataType> dataTypes) {
       for (int i = 0; i < measurements.size(); ++i) {
         if (dataTypes.get(i) == TSDataType.OBJECT) {
           final String errorStr =
@@ -862,12 +886,6 @@ public class RegionWriteExecutor {
               false, errorStr, RpcUtils.getStatus(TSStatusCode.METADATA_ERROR, errorStr));
         }
       }
-      try {
-        schemaRegion.checkSchemaQuota(path, size);
-      } catch (final SchemaQuotaExceededException e) {
-        return RegionExecutionResult.create(
-            false, e.getMessage(), RpcUtils.getStatus(e.getErrorCode(), e.getMessage()));
-      }
       return null;
     }
 
@@ -168,6 +168,14 @@ public class FragmentInstanceContext extends QueryContext {
   private long closedUnseqFileNum = 0;
   private boolean highestPriority = false;
 
+  // The time in ms by which the fragment instance times out, Long.MAX_VALUE if it is unknown
+  private long deadlineInMs = Long.MAX_VALUE;
+
+  // Resource usage exposed to the live profiling while the FI is running
+  private final AtomicLong cpuTimeInNanos = new AtomicLong(0);
+  private final AtomicLong spilledBytes = new AtomicLong(0);
+  private volatile long estimatedMemorySize = 0;
+
   public static FragmentInstanceContext createFragmentInstanceContext(
       FragmentInstanceId id,
       FragmentInstanceStateMachine stateMachine,
@@ -1221,7 +1229,44 @@ public class FragmentInstanceContext extends QueryContext {
     this.highestPriority = highestPriority;
   }
 
+  public long getDeadlineInMs() {
+    return deadlineInMs;
+  }
+
+  public void setDeadlineInMs(long deadlineInMs) {
+    this.deadlineInMs = deadlineInMs;
+  }
+
   public boolean isSingleSourcePath() {
     return singleSourcePath;
   }
+
+  public void addCpuTime(long cpuTimeInNanos) {
+    this.cpuTimeInNanos.addAndGet(cpuTimeInNanos);
+  }
+
+  /** CPU time consumed by all the drivers of this FI so far. */
+  public long getCpuTimeInNanos() {
+    return cpuTimeInNanos.get();
+  }
+
+  public void addSpilledBytes(long spilledBytes) {
+    this.spilledBytes.addAndGet(spilledBytes);
+  }
+
+  public long getSpilledBytes() {
+    return spilledBytes.get();
+  }
+
+  public void setEstimatedMemorySize(long estimatedMemorySize) {
+    this.estimatedMemorySize = estimatedMemorySize;
+  }
+
+  /**
+   * Memory reserved by this FI, including the memory estimated for its operators when it is planned
+   * and the memory reserved during its execution.
+   */
+  public long getReservedMemorySize() {
+    return estimatedMemorySize + memoryReservationManager.getReservedMemorySize();
+  }
 }
@@ -42,6 +42,7 @@ import org.apache.iotdb.db.queryengine.metric.QueryRelatedResourceMetricSet;
 import org.apache.iotdb.db.queryengine.plan.Coordinator;
 import org.apache.iotdb.db.queryengine.plan.planner.LocalExecutionPlanner;
 import org.apache.iotdb.db.queryengine.plan.planner.PipelineDriverFactory;
+import org.apache.iotdb.db.queryengine.plan.planner.exceptions.MemoryAdmissionRequiredException;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.FragmentInstance;
 import org.apache.iotdb.db.schemaengine.schemaregion.ISchemaRegion;
 import org.apache.iotdb.db.storageengine.dataregion.IDataRegionForQuery;
@@ -59,6 +60,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -77,7 +79,7 @@ public class FragmentInstanceManager {
   private static final Logger logger = LoggerFactory.getLogger(FragmentInstanceManager.class);
 
   private final Map<FragmentInstanceId, FragmentInstanceContext> instanceContext;
-  private final Map<FragmentInstanceId, FragmentInstanceExecution> instanceExecution;
+  private final ConcurrentMap<FragmentInstanceId, FragmentInstanceExecution> instanceExecution;
   private final Map<QueryId, DataNodeQueryContext> dataNodeQueryContextMap;
   private final LocalExecutionPlanner planner = LocalExecutionPlanner.getInstance();
   private final IDriverScheduler scheduler = DriverScheduler.getInstance();
@@ -140,46 +142,38 @@ public class FragmentInstanceManager {
     FragmentInstanceId instanceId = instance.getId();
     AtomicLong driversCount = new AtomicLong();
     try (SetThreadName fragmentInstanceName = new SetThreadName(instanceId.getFullId())) {
+      long deadlineInMs = getDeadlineInMs(instance);
+      // The planning waiting for the operators memory, and the context it has created
+      MemoryAdmissionRequiredException[] pendingAdmissions =
+          new MemoryAdmissionRequiredException[1];
+      FragmentInstanceContext[] pendingContexts = new FragmentInstanceContext[1];
       FragmentInstanceExecution execution =
-          instanceExecution.computeIfAbsent(
+          planner.computeIfAbsentAfterMemoryAdmission(
+              instanceExecution,
               instanceId,
-              id -> {
-                FragmentInstanceStateMachine stateMachine =
-                    new FragmentInstanceStateMachine(instanceId, instanceNotificationExecutor);
-
-                boolean[] contextCreated = new boolean[] {false};
+              deadlineInMs,
+              reservation -> {
+                MemoryAdmissionRequiredException admission = pendingAdmissions[0];
+                pendingAdmissions[0] = null;
                 DataNodeQueryContext[] dataNodeQueryContexts = new DataNodeQueryContext[1];
                 FragmentInstanceContext context =
-                    instanceContext.computeIfAbsent(
-                        instanceId,
-                        fragmentInstanceId -> {
-                          contextCreated[0] = true;
-                          // Only ensure the DataNodeQueryContext when we actually create the
-                          // FragmentInstanceContext, so the repeated-dispatch path (which rejects
-                          // without creating a context) does not leak a context entry.
-                          dataNodeQueryContexts[0] =
-                              getOrCreateDataNodeQueryContext(
-                                  instanceId.getQueryId(), instance.getDataNodeFINum());
-                          return createFragmentInstanceContext(
-                              fragmentInstanceId,
-                              stateMachine,
-                              instance.getSessionInfo(),
-                              dataRegion,
-                              instance.getGlobalTimePredicate(),
-                              dataNodeQueryContextMap,
-                              instance.isDebug(),
-                              instance.isVerbose());
-                        });
-                rejectIfRepeatedDispatch(contextCreated[0], instanceId);
-                context.setHighestPriority(instance.isHighestPriority());
+                    admission == null
+                        ? createDataQueryContext(
+                            instance, dataRegion, deadlineInMs, dataNodeQueryContexts)
+                        : pendingContexts[0];
+                FragmentInstanceStateMachine stateMachine = context.getStateMachine();
 
                 try {
+                  // Resume the planning after waiting for the memory outside instanceExecution
                   List<PipelineDriverFactory> driverFactories =
-                      planner.plan(
-                          instance.getFragment().getPlanNodeTree(),
-                          instance.getFragment().getTypeProvider(),
-                          context,
-                          dataNodeQueryContexts[0]);
+                      admission == null
+                          ? planner.plan(
+                              instance.getFragment().getPlanNodeTree(),
+                              instance.getFragment().getTypeProvider(),
+                              context,
+                              dataNodeQueryContexts[0],
+                              reservation)
+                          : admission.resume(reservation);
 
                   List<IDriver> drivers = new ArrayList<>();
                   driverFactories.forEach(factory -> drivers.add(factory.createDriver()));
@@ -203,6 +197,10 @@ public class FragmentInstanceManager {
                       instance.getTimeOut(),
                       instance.isExplainAnalyze(),
                       exchangeManager);
+                } catch (MemoryAdmissionRequiredException e) {
+                  pendingAdmissions[0] = e;
+                  pendingContexts[0] = context;
+                  throw e;
                 } catch (Throwable t) {
                   // deal with
                   if (t instanceof IllegalStateException
@@ -253,6 +251,68 @@ public class FragmentInstanceManager {
     }
   }
 
+  private FragmentInstanceContext createDataQueryContext(
+      FragmentInstance instance,
+      IDataRegionForQuery dataRegion,
+      long deadlineInMs,
+      DataNodeQueryContext[] dataNodeQueryContexts) {
+    FragmentInstanceId instanceId = instance.getId();
+    FragmentInstanceStateMachine stateMachine =
+        new FragmentInstanceStateMachine(instanceId, instanceNotificationExecutor);
+
+    boolean[] contextCreated = new boolean[] {false};
+    FragmentInstanceContext context =
+        instanceContext.computeIfAbsent(
+            instanceId,
+            fragmentInstanceId -> {
+              contextCreated[0] = true;
+              // Only ensure the DataNodeQueryContext when we actually create the
+              // FragmentInstanceContext, so the repeated-dispatch path (which rejects
+              // without creating a context) does not leak a context entry.
+              dataNodeQueryContexts[0] =
+                  getOrCreateDataNodeQueryContext(
+                      instanceId.getQueryId(), instance.getDataNodeFINum());
+              return createFragmentInstanceContext(
+                  fragmentInstanceId,
+                  stateMachine,
+                  instance.getSessionInfo(),
+                  dataRegion,
+                  instance.getGlobalTimePredicate(),
+                  dataNodeQueryContextMap,
+                  instance.isDebug(),
+                  instance.isVerbose());
+            });
+    rejectIfRepeatedDispatch(contextCreated[0], instanceId);
+    context.setHighestPriority(instance.isHighestPriority());
+    context.setDeadlineInMs(deadlineInMs);
+    return context;
+  }
+
+  private FragmentInstanceContext createSchemaQueryContext(
+      FragmentInstance instance, long deadlineInMs) {
+    FragmentInstanceId instanceId = instance.getId();
+    FragmentInstanceStateMachine stateMachine =
+        new FragmentInstanceStateMachine(instanceId, instanceNotificationExecutor);
+
+    boolean[] contextCreated = new boolean[] {false};
+    FragmentInstanceContext context =
+        instanceContext.computeIfAbsent(
+            instanceId,
+            fragmentInstanceId -> {
+              contextCreated[0] = true;
+              return createFragmentInstanceContext(
+                  fragmentInstanceId,
+                  stateMachine,
+                  instance.getSessionInfo(),
+                  instance.isDebug(),
+                  instance.isVerbose());
+            });
+    rejectIfRepeatedDispatch(contextCreated[0], instanceId);
+    context.setHighestPriority(instance.isHighestPriority());
+    context.setDeadlineInMs(deadlineInMs);
+    return context;
+  }
+
   /**
    * If {@code instanceContext.computeIfAbsent} returned an existing {@link FragmentInstanceContext}
    * for this {@code instanceId} (i.e. {@code contextCreated} is false), the same FragmentInstance
@@ -277,6 +337,14 @@ public class FragmentInstanceManager {
     }
   }
 
+  /** The time by which the instance times out, Long.MAX_VALUE if its time out is not set. */
+  private static long getDeadlineInMs(FragmentInstance instance) {
+    long currentTime = System.currentTimeMillis();
+    long deadline = currentTime + instance.getTimeOut();
+    // A very large time out may overflow
+    return instance.getTimeOut() <= 0 || deadline < currentTime ? Long.MAX_VALUE : deadline;
+  }
+
   private void clearFIRelatedResources(FragmentInstanceId instanceId) {
     // close and remove all the handles of the fragment instance
     exchangeManager.forceDeregisterFragmentInstance(instanceId.toThrift());
@@ -294,36 +362,35 @@ public class FragmentInstanceManager {
   public FragmentInstanceInfo execSchemaQueryFragmentInstance(
       FragmentInstance instance, ISchemaRegion schemaRegion) {
     FragmentInstanceId instanceId = instance.getId();
+    long deadlineInMs = getDeadlineInMs(instance);
+    // The planning waiting for the operators memory, and the context it has created
+    MemoryAdmissionRequiredException[] pendingAdmissions = new MemoryAdmissionRequiredException[1];
+    FragmentInstanceContext[] pendingContexts = new FragmentInstanceContext[1];
     FragmentInstanceExecution execution =
-        instanceExecution.computeIfAbsent(
+        planner.computeIfAbsentAfterMemoryAdmission(
+            instanceExecution,
             instanceId,
-            id -> {
-              FragmentInstanceStateMachine stateMachine =
-                  new FragmentInstanceStateMachine(instanceId, instanceNotificationExecutor);
-
-              boolean[] contextCreated = new boolean[] {false};
+            deadlineInMs,
+            reservation -> {
+              MemoryAdmissionRequiredException admission = pendingAdmissions[0];
+              pendingAdmissions[0] = null;
               FragmentInstanceContext context =
-                  instanceContext.computeIfAbsent(
-                      instanceId,
-                      fragmentInstanceId -> {
-                        contextCreated[0] = true;
-                        return createFragmentInstanceContext(
-                            fragmentInstanceId,
-                            stateMachine,
-                            instance.getSessionInfo(),
-                            instance.isDebug(),
-                            instance.isVerbose());
-                      });
-              rejectIfRepeatedDispatch(contextCreated[0], instanceId);
-              context.setHighestPriority(instance.isHighestPriority());
+                  admission == null
+                      ? createSchemaQueryContext(instance, deadlineInMs)
+                      : pendingContexts[0];
+              FragmentInstanceStateMachine stateMachine = context.getStateMachine();
 
               try {
+                // Resume the planning after waiting for the memory outside instanceExecution
                 List<PipelineDriverFactory> driverFactories =
-                    planner.plan(
-                        instance.getFragment().getPlanNodeTree(),
-                        instance.getFragment().getTypeProvider(),
-                        context,
-                        schemaRegion);
+                    admission == null
+                        ? planner.plan(
+                            instance.getFragment().getPlanNodeTree(),
+                            instance.getFragment().getTypeProvider(),
+                            context,
+                            schemaRegion,
+                            reservation)
+                        : admission.resume(reservation);
 
                 List<IDriver> drivers = new ArrayList<>();
                 driverFactories.forEach(factory -> drivers.add(factory.createDriver()));
@@ -341,6 +408,10 @@ public class FragmentInstanceManager {
                     instance.getTimeOut(),
                     false,
                     exchangeManager);
+              } catch (MemoryAdmissionRequiredException e) {
+                pendingAdmissions[0] = e;
+                pendingContexts[0] = context;
+                throw e;
               } catch (Throwable t) {
                 // deal with
                 if (t instanceof IllegalStateException
@@ -419,6 +490,11 @@ public class FragmentInstanceManager {
     return context.getInstanceInfo();
   }
 
+  /** Gets the executions of the fragment instances that have not been removed yet. */
+  public List<FragmentInstanceExecution> getInstanceExecutions() {
+    return new ArrayList<>(instanceExecution.values());
+  }
+
   public TFetchFragmentInstanceStatisticsResp getFragmentInstanceStatistics(
       FragmentInstanceId instanceId) {
     requireNonNull(instanceId, "instanceId is null");
@@ -83,6 +83,8 @@ public class QueryStatistics {
   private final AtomicLong pageReadersDecodeNonAlignedDiskTime = new AtomicLong(0);
   private final AtomicLong pageReadersDecodeNonAlignedMemCount = new AtomicLong(0);
   private final AtomicLong pageReadersDecodeNonAlignedMemTime = new AtomicLong(0);
+  // size of the data decoded from the pages, which are decompressed before decoding
+  private final AtomicLong pageReadersDecodedSize = new AtomicLong(0);
 
   private final AtomicLong nonAlignedTimeSeriesMetadataModificationCount = new AtomicLong(0);
   private final AtomicLong nonAlignedTimeSeriesMetadataModificationTime = new AtomicLong(0);
@@ -245,6 +247,10 @@ public class QueryStatistics {
     return alignedTimeSeriesMetadataModificationTime;
   }
 
+  public AtomicLong getPageReadersDecodedSize() {
+    return pageReadersDecodedSize;
+  }
+
   public AtomicLong getPageReaderMaxUsedMemorySize() {
     return pageReaderMaxUsedMemorySize;
   }
@@ -334,6 +340,25 @@ public class QueryStatistics {
     this.rowScanFilteredRows.addAndGet(count);
   }
 
+  /** Bytes of the bloom filters, timeseries metadata and chunks read from the disk. */
+  public long getTotalActualIOSize() {
+    return loadBloomFilterActualIOSize.get()
+        + loadTimeSeriesMetadataActualIOSize.get()
+        + loadChunkActualIOSize.get();
+  }
+
+  public long getTotalLoadFromCacheCount() {
+    return loadBloomFilterFromCacheCount.get()
+        + loadTimeSeriesMetadataFromCacheCount.get()
+        + loadChunkFromCacheCount.get();
+  }
+
+  public long getTotalLoadFromDiskCount() {
+    return loadBloomFilterFromDiskCount.get()
+        + loadTimeSeriesMetadataFromDiskCount.get()
+        + loadChunkFromDiskCount.get();
+  }
+
   public TQueryStatistics toThrift() {
     return new TQueryStatistics(
         loadTimeSeriesMetadataDiskSeqCount.get(),
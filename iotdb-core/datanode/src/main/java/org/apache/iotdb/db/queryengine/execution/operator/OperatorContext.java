@@ -86,6 +86,11 @@ public class OperatorContext extends CommonOperatorContext {
     return driverContext.getPipelineId();
   }
 
+  @Override
+  public void recordSpilledBytes(long spilledBytes) {
+    getInstanceContext().addSpilledBytes(spilledBytes);
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -2012,6 +2012,9 @@ public class SeriesScanUtil implements Accountable {
     protected final boolean isAligned;
     protected final boolean isMem;
 
+    // rows dropped by the filters while the page is decoded
+    private long filteredRows;
+
     VersionPageReader(
         QueryContext context,
         long fileTimestamp,
@@ -2058,11 +2061,9 @@ public class SeriesScanUtil implements Accountable {
       long startTime = System.nanoTime();
       try {
 
-        TsBlock tsBlock =
-            this.context.isVerbose()
-                ? data.getAllSatisfiedData(
-                    this.context.getQueryStatistics()::addFilteredRowsOfRowLevel)
-                : data.getAllSatisfiedData();
+        filteredRows = 0;
+        TsBlock tsBlock = data.getAllSatisfiedData(this::addFilteredRows);
+        recordDecodedSize(tsBlock);
         if (!ascending) {
           tsBlock.reverse();
         }
@@ -2094,6 +2095,34 @@ public class SeriesScanUtil implements Accountable {
       }
     }
 
+    private void addFilteredRows(long rows) {
+      filteredRows += rows;
+      if (context.isVerbose()) {
+        context.getQueryStatistics().addFilteredRowsOfRowLevel(rows);
+      }
+    }
+
+    /**
+     * The returned TsBlock only keeps the rows satisfying the filters, so the rows dropped by them
+     * are added to its size to get the size of all the rows decoded from the page.
+     */
+    private void recordDecodedSize(TsBlock tsBlock) {
+      long decodedSize = tsBlock.getSizeInBytes();
+      int positionCount = tsBlock.getPositionCount();
+      if (filteredRows > 0) {
+        if (positionCount > 0) {
+          decodedSize += decodedSize * filteredRows / positionCount;
+        } else {
+          long rowSize = Long.BYTES;
+          for (int i = 0; i < tsBlock.getValueColumnCount(); i++) {
+            rowSize += tsBlock.getColumn(i).getDataType().getDataTypeSize();
+          }
+          decodedSize = rowSize * filteredRows;
+        }
+      }
+      context.getQueryStatistics().getPageReadersDecodedSize().addAndGet(decodedSize);
+    }
+
     public void addPushDownFilter(Filter pushDownFilter) {
       data.addRecordFilter(pushDownFilter);
     }
@@ -2190,7 +2219,12 @@ public class SeriesScanUtil implements Accountable {
     public TsBlock nextBatch() {
       long startTime = System.nanoTime();
       try {
-        return memPointIterator.nextBatch();
+        TsBlock tsBlock = memPointIterator.nextBatch();
+        context
+            .getQueryStatistics()
+            .getPageReadersDecodedSize()
+            .addAndGet(tsBlock.getSizeInBytes());
+        return tsBlock;
       } finally {
         long time = System.nanoTime() - startTime;
         if (isAligned) {
@@ -35,6 +35,7 @@ import org.apache.iotdb.commons.exception.auth.AccessDeniedException;
 import org.apache.iotdb.commons.pipe.agent.plugin.builtin.BuiltinPipePlugin;
 import org.apache.iotdb.commons.pipe.agent.plugin.meta.PipePluginMeta;
 import org.apache.iotdb.commons.queryengine.common.ConnectionInfo;
+import org.apache.iotdb.commons.queryengine.common.SessionInfo;
 import org.apache.iotdb.commons.queryengine.common.SqlDialect;
 import org.apache.iotdb.commons.queryengine.plan.relational.function.TableBuiltinTableFunction;
 import org.apache.iotdb.commons.queryengine.plan.relational.sql.ast.ComparisonExpression;
@@ -81,6 +82,10 @@ import org.apache.iotdb.db.protocol.client.ConfigNodeInfo;
 import org.apache.iotdb.db.protocol.session.SessionManager;
 import org.apache.iotdb.db.queryengine.common.QueryId;
 import org.apache.iotdb.db.queryengine.execution.QueryState;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceExecution;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceManager;
+import org.apache.iotdb.db.queryengine.execution.fragment.QueryStatistics;
 import org.apache.iotdb.db.queryengine.execution.operator.OperatorContext;
 import org.apache.iotdb.db.queryengine.plan.Coordinator;
 import org.apache.iotdb.db.queryengine.plan.execution.IQueryExecution;
@@ -239,6 +244,8 @@ public class InformationSchemaContentSupplierFactory {
           return new QueriesCostsHistogramSupplier(dataTypes, userEntity);
         case InformationSchema.SERVICES:
           return new ServicesSupplier(dataTypes, userEntity);
+        case InformationSchema.QUERY_RESOURCES:
+          return new QueryResourcesSupplier(dataTypes, userEntity);
         default:
           throw new UnsupportedOperationException(DataNodeQueryMessages.UNKNOWN_TABLE + tableName);
       }
@@ -998,6 +1005,61 @@ public class InformationSchemaContentSupplierFactory {
     }
   }
 
+  static class QueryResourcesSupplier extends TsBlockSupplier {
+
+    private final Iterator<FragmentInstanceExecution> executionIterator;
+
+    private QueryResourcesSupplier(final List<TSDataType> dataTypes, final UserEntity userEntity) {
+      this(dataTypes, userEntity, FragmentInstanceManager.getInstance().getInstanceExecutions());
+    }
+
+    QueryResourcesSupplier(
+        final List<TSDataType> dataTypes,
+        final UserEntity userEntity,
+        List<FragmentInstanceExecution> executions) {
+      super(dataTypes);
+      try {
+        accessControl.checkUserGlobalSysPrivilege(userEntity);
+      } catch (final AccessDeniedException e) {
+        executions =
+            executions.stream()
+                .filter(
+                    execution -> {
+                      final SessionInfo sessionInfo =
+                          execution.getFragmentInstanceContext().getSessionInfo();
+                      return sessionInfo != null
+                          && userEntity.getUsername().equals(sessionInfo.getUserName());
+                    })
+                .collect(Collectors.toList());
+      }
+      executionIterator = executions.iterator();
+    }
+
+    @Override
+    protected void constructLine() {
+      final FragmentInstanceExecution execution = executionIterator.next();
+      final FragmentInstanceContext context = execution.getFragmentInstanceContext();
+      final QueryStatistics statistics = context.getQueryStatistics();
+      columnBuilders[0].writeBinary(BytesUtils.valueOf(context.getId().getQueryId().getId()));
+      columnBuilders[1].writeBinary(BytesUtils.valueOf(context.getId().getFragmentInstanceId()));
+      columnBuilders[2].writeInt(QueryId.getDataNodeId());
+      columnBuilders[3].writeBinary(BytesUtils.valueOf(execution.getInstanceState().toString()));
+      columnBuilders[4].writeFloat((float) context.getCpuTimeInNanos() / 1000_000_000);
+      columnBuilders[5].writeLong(statistics.getTotalActualIOSize());
+      columnBuilders[6].writeLong(statistics.getTotalLoadFromCacheCount());
+      columnBuilders[7].writeLong(statistics.getTotalLoadFromDiskCount());
+      columnBuilders[8].writeLong(statistics.getPageReadersDecodedSize().get());
+      columnBuilders[9].writeLong(context.getReservedMemorySize());
+      columnBuilders[10].writeLong(context.getSpilledBytes());
+      resultBuilder.declarePosition();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return executionIterator.hasNext();
+    }
+  }
+
   private static class ConfigurationsSupplier extends TsBlockSupplier {
     private final Iterator<Pair<Binary, Binary>> resultIterator;
 
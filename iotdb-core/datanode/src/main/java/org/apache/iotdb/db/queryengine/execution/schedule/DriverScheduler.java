@@ -43,8 +43,10 @@ import org.apache.iotdb.db.queryengine.execution.exchange.MPPDataExchangeService
 import org.apache.iotdb.db.queryengine.execution.schedule.queue.L1PriorityQueue;
 import org.apache.iotdb.db.queryengine.execution.schedule.queue.multilevelqueue.DriverTaskHandle;
 import org.apache.iotdb.db.queryengine.execution.schedule.queue.multilevelqueue.MultilevelPriorityQueue;
+import org.apache.iotdb.db.queryengine.execution.schedule.queue.multilevelqueue.ResourceGroup;
 import org.apache.iotdb.db.queryengine.execution.schedule.task.DriverTask;
 import org.apache.iotdb.db.queryengine.execution.schedule.task.DriverTaskStatus;
+import org.apache.iotdb.db.queryengine.metric.DriverSchedulerMetricSet;
 import org.apache.iotdb.db.storageengine.rescon.quotas.DataNodeThrottleQuotaManager;
 import org.apache.iotdb.db.utils.SetThreadName;
 import org.apache.iotdb.mpp.rpc.thrift.TFragmentInstanceId;
@@ -86,6 +88,9 @@ public class DriverScheduler implements IDriverScheduler, IService {
   private final Map<QueryId, Map<FragmentInstanceId, Set<DriverTask>>> queryMap;
   private final ITaskScheduler scheduler;
 
+  /** The resource group of each user, created once the user submits a query. */
+  private final Map<String, ResourceGroup> resourceGroups = new ConcurrentHashMap<>();
+
   private final AtomicInteger nextDriverTaskHandleId = new AtomicInteger(0);
   private IMPPDataExchangeManager blockManager;
 
@@ -172,6 +177,23 @@ public class DriverScheduler implements IDriverScheduler, IService {
         });
   }
 
+  private ResourceGroup getResourceGroup(SessionInfo sessionInfo) {
+    if (sessionInfo == null || sessionInfo.getUserName() == null) {
+      return ((MultilevelPriorityQueue) readyQueue).getDefaultResourceGroup();
+    }
+    return resourceGroups.computeIfAbsent(
+        sessionInfo.getUserName(),
+        userName -> {
+          ResourceGroup group =
+              new ResourceGroup(
+                  userName,
+                  config.getQueryResourceGroupWeights().getOrDefault(userName, 1),
+                  config.getQueryResourceGroupMaxRunningDriverNum());
+          DriverSchedulerMetricSet.getInstance().bindResourceGroup(group);
+          return group;
+        });
+  }
+
   @Override
   public ServiceType getID() {
     return ServiceType.FRAGMENT_INSTANCE_MANAGER_SERVICE;
@@ -185,7 +207,8 @@ public class DriverScheduler implements IDriverScheduler, IService {
         new DriverTaskHandle(
             getNextDriverTaskHandleId(),
             (MultilevelPriorityQueue) readyQueue,
-            OptionalInt.of(Integer.MAX_VALUE));
+            OptionalInt.of(Integer.MAX_VALUE),
+            getResourceGroup(sessionInfo));
     List<DriverTask> tasks = new ArrayList<>();
     drivers.forEach(
         driver ->
@@ -506,6 +529,10 @@ public class DriverScheduler implements IDriverScheduler, IService {
             .getDriverContext()
             .getFragmentInstanceContext()
             .addReadyQueuedTime(readyQueuedTime);
+        ResourceGroup group = task.getResourceGroup();
+        if (group != null) {
+          group.addReadyQueuedTimeInNanos(readyQueuedTime);
+        }
       } finally {
         task.unlock();
       }
@@ -61,6 +61,9 @@ public class DriverTaskThread extends AbstractDriverThread {
 
   private final Ticker ticker;
 
+  // Null if the tasks are not polled from a MultilevelPriorityQueue
+  private final MultilevelPriorityQueue multilevelPriorityQueue;
+
   public DriverTaskThread(
       String workerId,
       ThreadGroup tg,
@@ -69,10 +72,22 @@ public class DriverTaskThread extends AbstractDriverThread {
       ThreadProducer producer) {
     super(workerId, tg, queue, scheduler, producer);
     this.ticker = Ticker.systemTicker();
+    this.multilevelPriorityQueue =
+        queue instanceof MultilevelPriorityQueue ? (MultilevelPriorityQueue) queue : null;
   }
 
   @Override
   public void execute(DriverTask task) throws InterruptedException {
+    try {
+      executeDriverTask(task);
+    } finally {
+      if (multilevelPriorityQueue != null) {
+        multilevelPriorityQueue.releaseRunningTask(task);
+      }
+    }
+  }
+
+  private void executeDriverTask(DriverTask task) throws InterruptedException {
     long startNanos = ticker.read();
     // Try to switch it to RUNNING
     if (!scheduler.readyToRunning(task)) {
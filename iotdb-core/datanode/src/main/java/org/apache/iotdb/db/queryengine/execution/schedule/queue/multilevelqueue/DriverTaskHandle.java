@@ -36,6 +36,8 @@ public class DriverTaskHandle {
 
   private final MultilevelPriorityQueue driverTaskQueue;
 
+  private final ResourceGroup resourceGroup;
+
   /** It is not used for now but can be used to limit the driverNum per Task in the future. */
   private final OptionalInt maxDriversPerTask;
 
@@ -45,13 +47,27 @@ public class DriverTaskHandle {
       int driverTaskHandleId,
       MultilevelPriorityQueue driverTaskQueue,
       OptionalInt maxDriversPerTask) {
+    this(
+        driverTaskHandleId,
+        driverTaskQueue,
+        maxDriversPerTask,
+        driverTaskQueue.getDefaultResourceGroup());
+  }
+
+  public DriverTaskHandle(
+      int driverTaskHandleId,
+      MultilevelPriorityQueue driverTaskQueue,
+      OptionalInt maxDriversPerTask,
+      ResourceGroup resourceGroup) {
     this.driverTaskHandleId = driverTaskHandleId;
     this.driverTaskQueue = requireNonNull(driverTaskQueue, "driverTaskQueue is null");
     this.maxDriversPerTask = requireNonNull(maxDriversPerTask, "maxDriversPerTask is null");
+    this.resourceGroup = requireNonNull(resourceGroup, "resourceGroup is null");
   }
 
   public synchronized Priority addScheduledTimeInNanos(long durationNanos) {
     scheduledTimeInNanos += durationNanos;
+    resourceGroup.addScheduledTimeInNanos(durationNanos);
     Priority newPriority =
         driverTaskQueue.updatePriority(priority.get(), durationNanos, scheduledTimeInNanos);
 
@@ -75,6 +91,10 @@ public class DriverTaskHandle {
     return priority.get();
   }
 
+  public ResourceGroup getResourceGroup() {
+    return resourceGroup;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -23,6 +23,9 @@ import org.apache.iotdb.calc.execution.schedule.queue.IndexedBlockingReserveQueu
 import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.db.queryengine.execution.schedule.task.DriverTask;
 
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
 import java.util.PriorityQueue;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -42,7 +45,11 @@ public class MultilevelPriorityQueue extends IndexedBlockingReserveQueue<DriverT
   /** the upper limit one Task can contribute to its level in one scheduled time. */
   static final long LEVEL_CONTRIBUTION_CAP = SECONDS.toNanos(30);
 
-  private final PriorityQueue<DriverTask>[] levelWaitingSplits;
+  /**
+   * The waiting tasks of each level, queued by their resource groups. The queue of a group is
+   * removed once it is empty, so a level is empty if it has no group.
+   */
+  private final Map<ResourceGroup, PriorityQueue<DriverTask>>[] levelWaitingSplits;
 
   /**
    * This queue is independent of the other priority queues and has the highest priority. It is used
@@ -67,24 +74,42 @@ public class MultilevelPriorityQueue extends IndexedBlockingReserveQueue<DriverT
    */
   private final double levelTimeMultiplier;
 
+  /** The group of the tasks whose handles are not bound to a group, like those in tests. */
+  private final ResourceGroup defaultResourceGroup = new ResourceGroup("default", 1, 0);
+
+  /** The normalized scheduled time of the group most recently polled. */
+  private double groupVirtualTime = 0;
+
   public MultilevelPriorityQueue(
       double levelTimeMultiplier, int maxCapacity, DriverTask queryHolder) {
     super(maxCapacity, queryHolder);
     this.levelScheduledTime = new AtomicLong[LEVEL_THRESHOLD_SECONDS.length];
     this.levelMinScheduledTime = new AtomicLong[LEVEL_THRESHOLD_SECONDS.length];
-    this.levelWaitingSplits = new PriorityQueue[LEVEL_THRESHOLD_SECONDS.length];
+    this.levelWaitingSplits = new Map[LEVEL_THRESHOLD_SECONDS.length];
     this.highestPriorityLevelQueue =
         new PriorityQueue<>(new DriverTask.SchedulePriorityComparator());
     for (int level = 0; level < LEVEL_THRESHOLD_SECONDS.length; level++) {
       levelScheduledTime[level] = new AtomicLong();
       levelMinScheduledTime[level] = new AtomicLong(-1);
-      levelWaitingSplits[level] = new PriorityQueue<>(new DriverTask.SchedulePriorityComparator());
+      levelWaitingSplits[level] = new HashMap<>();
     }
     this.levelTimeMultiplier = levelTimeMultiplier;
   }
 
   // region overridden functions
 
+  /**
+   * Get and remove the first task of a group not running too many tasks. If there is no such task,
+   * this call will be blocked until a task is pushed or a running task is released.
+   */
+  @Override
+  public synchronized DriverTask poll() throws InterruptedException {
+    while (!hasSchedulableTask()) {
+      this.wait();
+    }
+    return super.poll();
+  }
+
   /**
    * During periods of time when a level has no waiting splits, it will not accumulate scheduled
    * time and will fall behind relative to other levels.
@@ -93,7 +118,8 @@ public class MultilevelPriorityQueue extends IndexedBlockingReserveQueue<DriverT
    * previously-empty level.
    *
    * <p>To prevent this we set the scheduled time for levels which were empty to the expected
-   * scheduled time.
+   * scheduled time. Likewise, a resource group which has no ready or running tasks catches up with
+   * the group most recently polled.
    */
   @Override
   public void pushToQueue(DriverTask task) {
@@ -116,7 +142,15 @@ public class MultilevelPriorityQueue extends IndexedBlockingReserveQueue<DriverT
       long delta = levelExpectedTime - levelScheduledTime[level].get();
       levelScheduledTime[level].addAndGet(delta);
     }
-    levelWaitingSplits[level].offer(task);
+    ResourceGroup group = getResourceGroup(task);
+    if (group.getReadyTaskNum() == 0 && group.getRunningTaskNum() == 0) {
+      group.catchUp(groupVirtualTime);
+    }
+    levelWaitingSplits[level]
+        .computeIfAbsent(
+            group, k -> new PriorityQueue<>(new DriverTask.SchedulePriorityComparator()))
+        .offer(task);
+    group.changeReadyTaskNum(1);
   }
 
   @Override
@@ -139,6 +173,7 @@ public class MultilevelPriorityQueue extends IndexedBlockingReserveQueue<DriverT
       }
       int selectedLevel = result.getPriority().getLevel();
       levelMinScheduledTime[selectedLevel].set(result.getPriority().getLevelScheduledTime());
+      getResourceGroup(result).changeRunningTaskNum(1);
       return result;
     }
   }
@@ -149,9 +184,18 @@ public class MultilevelPriorityQueue extends IndexedBlockingReserveQueue<DriverT
     if (highestPriorityLevelQueue.remove(driverTask)) {
       return driverTask;
     }
-    for (PriorityQueue<DriverTask> level : levelWaitingSplits) {
-      if (level.remove(driverTask)) {
-        return driverTask;
+    for (Map<ResourceGroup, PriorityQueue<DriverTask>> level : levelWaitingSplits) {
+      Iterator<Map.Entry<ResourceGroup, PriorityQueue<DriverTask>>> iterator =
+          level.entrySet().iterator();
+      while (iterator.hasNext()) {
+        Map.Entry<ResourceGroup, PriorityQueue<DriverTask>> entry = iterator.next();
+        if (entry.getValue().remove(driverTask)) {
+          if (entry.getValue().isEmpty()) {
+            iterator.remove();
+          }
+          entry.getKey().changeReadyTaskNum(-1);
+          return driverTask;
+        }
       }
     }
     return null;
@@ -162,7 +206,7 @@ public class MultilevelPriorityQueue extends IndexedBlockingReserveQueue<DriverT
     if (!highestPriorityLevelQueue.isEmpty()) {
       return false;
     }
-    for (PriorityQueue<DriverTask> level : levelWaitingSplits) {
+    for (Map<ResourceGroup, PriorityQueue<DriverTask>> level : levelWaitingSplits) {
       if (!level.isEmpty()) {
         return false;
       }
@@ -175,9 +219,11 @@ public class MultilevelPriorityQueue extends IndexedBlockingReserveQueue<DriverT
     if (highestPriorityLevelQueue.contains(driverTask)) {
       return true;
     }
-    for (PriorityQueue<DriverTask> level : levelWaitingSplits) {
-      if (level.contains(driverTask)) {
-        return true;
+    for (Map<ResourceGroup, PriorityQueue<DriverTask>> level : levelWaitingSplits) {
+      for (PriorityQueue<DriverTask> groupQueue : level.values()) {
+        if (groupQueue.contains(driverTask)) {
+          return true;
+        }
       }
     }
     return false;
@@ -194,29 +240,60 @@ public class MultilevelPriorityQueue extends IndexedBlockingReserveQueue<DriverT
   @Override
   protected void clearAllElements() {
     highestPriorityLevelQueue.clear();
-    for (PriorityQueue<DriverTask> level : levelWaitingSplits) {
+    for (Map<ResourceGroup, PriorityQueue<DriverTask>> level : levelWaitingSplits) {
+      for (Map.Entry<ResourceGroup, PriorityQueue<DriverTask>> entry : level.entrySet()) {
+        entry.getKey().changeReadyTaskNum(-entry.getValue().size());
+      }
       level.clear();
     }
   }
 
   // endregion
 
+  /**
+   * Release the running slot of a task polled before, which must be called once the task has been
+   * executed.
+   */
+  public synchronized void releaseRunningTask(DriverTask task) {
+    if (task.isHighestPriority()) {
+      return;
+    }
+    ResourceGroup group = getResourceGroup(task);
+    group.changeRunningTaskNum(-1);
+    if (group.isRunningTaskNumLimited()) {
+      // Wake up the workers waiting for the tasks of this group
+      this.notifyAll();
+    }
+  }
+
+  public ResourceGroup getDefaultResourceGroup() {
+    return defaultResourceGroup;
+  }
+
   // region helper functions
 
   /**
-   * We attempt to give each level a target amount of scheduled time, which is configurable using
-   * levelTimeMultiplier.
+   * We first pick the resource group with the lowest scheduled time relative to its weight among
+   * the groups not running too many tasks, so that the groups share the worker threads in
+   * proportion to their weights whatever the levels of their tasks are.
    *
-   * <p>This function selects the level that has the lowest ratio of actual to the target time with
-   * the objective of minimizing deviation from the target scheduled time. From this level, we pick
-   * the DriverTask with the lowest scheduled time.
+   * <p>Then we attempt to give each level a target amount of scheduled time, which is configurable
+   * using levelTimeMultiplier. This function selects the level of the group that has the lowest
+   * ratio of actual to the target time with the objective of minimizing deviation from the target
+   * scheduled time. From this level, we pick the DriverTask of the group with the lowest scheduled
+   * time.
    */
   private DriverTask chooseLevelAndTask() {
+    ResourceGroup selectedGroup = chooseResourceGroup();
+    // selected group == null means that there is no schedulable task and this method is only
+    // called when there is one.
+    checkState(selectedGroup != null, "selected group can not be null");
+
     long targetScheduledTime = getLevel0TargetTime();
     double worstRatio = 1;
     int selectedLevel = -1;
     for (int level = 0; level < LEVEL_THRESHOLD_SECONDS.length; level++) {
-      if (!levelWaitingSplits[level].isEmpty()) {
+      if (levelWaitingSplits[level].containsKey(selectedGroup)) {
         long levelTime = levelScheduledTime[level].get();
         double ratio = levelTime == 0 ? 0 : targetScheduledTime / (1.0 * levelTime);
         if (selectedLevel == -1 || ratio > worstRatio) {
@@ -228,14 +305,52 @@ public class MultilevelPriorityQueue extends IndexedBlockingReserveQueue<DriverT
       targetScheduledTime /= levelTimeMultiplier;
     }
 
-    // selected level == -1 means that the queue is empty and this method is only called when the
-    // queue is not empty.
     checkState(selectedLevel != -1, "selected level can not equal to -1");
-    DriverTask result = levelWaitingSplits[selectedLevel].poll();
+    PriorityQueue<DriverTask> groupQueue = levelWaitingSplits[selectedLevel].get(selectedGroup);
+    DriverTask result = groupQueue.poll();
     checkState(result != null, "result driverTask cannot be null");
+    if (groupQueue.isEmpty()) {
+      levelWaitingSplits[selectedLevel].remove(selectedGroup);
+    }
+    selectedGroup.changeReadyTaskNum(-1);
+    groupVirtualTime = Math.max(groupVirtualTime, selectedGroup.getNormalizedScheduledTime());
     return result;
   }
 
+  /**
+   * @return the group with the lowest normalized scheduled time among the groups with waiting
+   *     tasks and not running too many tasks, null if there is no such group
+   */
+  private ResourceGroup chooseResourceGroup() {
+    ResourceGroup selectedGroup = null;
+    double minScheduledTime = Double.MAX_VALUE;
+    for (Map<ResourceGroup, PriorityQueue<DriverTask>> level : levelWaitingSplits) {
+      for (ResourceGroup group : level.keySet()) {
+        if (group == selectedGroup || group.isRunningTaskNumReachLimit()) {
+          continue;
+        }
+        double scheduledTime = group.getNormalizedScheduledTime();
+        if (selectedGroup == null || scheduledTime < minScheduledTime) {
+          selectedGroup = group;
+          minScheduledTime = scheduledTime;
+        }
+      }
+    }
+    return selectedGroup;
+  }
+
+  private boolean hasSchedulableTask() {
+    if (!highestPriorityLevelQueue.isEmpty()) {
+      return true;
+    }
+    return chooseResourceGroup() != null;
+  }
+
+  private ResourceGroup getResourceGroup(DriverTask task) {
+    ResourceGroup group = task.getResourceGroup();
+    return group == null ? defaultResourceGroup : group;
+  }
+
   /**
    * Get the expected scheduled time of LEVEL0 based on the maximum scheduled time of all levels
    * after normalization.
@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.schedule.queue.multilevelqueue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The driver tasks of one user share a resource group. {@link MultilevelPriorityQueue} shares the
+ * worker threads between the groups with ready tasks in proportion to their weights, and does not
+ * poll the tasks of a group running too many tasks, so that one heavy user can not occupy all the
+ * worker threads.
+ */
+public class ResourceGroup {
+
+  private final String name;
+  private final int weight;
+
+  /** When <= 0, there is no limit. */
+  private final int maxRunningTaskNum;
+
+  private final AtomicLong scheduledTimeInNanos = new AtomicLong();
+  private final AtomicLong readyQueuedTimeInNanos = new AtomicLong();
+
+  // Updated by MultilevelPriorityQueue with its lock held
+  private final AtomicInteger readyTaskNum = new AtomicInteger();
+  private final AtomicInteger runningTaskNum = new AtomicInteger();
+
+  public ResourceGroup(String name, int weight, int maxRunningTaskNum) {
+    this.name = name;
+    this.weight = Math.max(1, weight);
+    this.maxRunningTaskNum = maxRunningTaskNum;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public int getWeight() {
+    return weight;
+  }
+
+  public boolean isRunningTaskNumLimited() {
+    return maxRunningTaskNum > 0;
+  }
+
+  boolean isRunningTaskNumReachLimit() {
+    return maxRunningTaskNum > 0 && runningTaskNum.get() >= maxRunningTaskNum;
+  }
+
+  /** The scheduled time relative to the weight, the group with the least is polled first. */
+  double getNormalizedScheduledTime() {
+    return (double) scheduledTimeInNanos.get() / weight;
+  }
+
+  void addScheduledTimeInNanos(long durationNanos) {
+    scheduledTimeInNanos.addAndGet(durationNanos);
+  }
+
+  /**
+   * A group without ready or running tasks does not accumulate scheduled time, so it would starve
+   * the other groups when it has tasks again. Raise its scheduled time to the normalized scheduled
+   * time most recently polled to prevent this.
+   */
+  void catchUp(double normalizedScheduledTime) {
+    final long targetScheduledTime = (long) (normalizedScheduledTime * weight);
+    scheduledTimeInNanos.accumulateAndGet(targetScheduledTime, Math::max);
+  }
+
+  public void addReadyQueuedTimeInNanos(long durationNanos) {
+    readyQueuedTimeInNanos.addAndGet(durationNanos);
+  }
+
+  public long getScheduledTimeInNanos() {
+    return scheduledTimeInNanos.get();
+  }
+
+  public long getReadyQueuedTimeInNanos() {
+    return readyQueuedTimeInNanos.get();
+  }
+
+  public int getReadyTaskNum() {
+    return readyTaskNum.get();
+  }
+
+  public int getRunningTaskNum() {
+    return runningTaskNum.get();
+  }
+
+  void changeReadyTaskNum(int delta) {
+    readyTaskNum.addAndGet(delta);
+  }
+
+  void changeRunningTaskNum(int delta) {
+    runningTaskNum.addAndGet(delta);
+  }
+
+  @Override
+  public String toString() {
+    return "ResourceGroup{" + "name='" + name + '\'' + ", weight=" + weight + '}';
+  }
+}
@@ -31,6 +31,7 @@ import org.apache.iotdb.db.queryengine.execution.schedule.DriverTaskThread;
 import org.apache.iotdb.db.queryengine.execution.schedule.ExecutionContext;
 import org.apache.iotdb.db.queryengine.execution.schedule.queue.multilevelqueue.DriverTaskHandle;
 import org.apache.iotdb.db.queryengine.execution.schedule.queue.multilevelqueue.Priority;
+import org.apache.iotdb.db.queryengine.execution.schedule.queue.multilevelqueue.ResourceGroup;
 
 import com.google.common.util.concurrent.ListenableFuture;
 import com.google.common.util.concurrent.SettableFuture;
@@ -176,6 +177,11 @@ public class DriverTask implements IDIndexedAccessible {
     return priority.get();
   }
 
+  /** Return null if the task is not bound to a {@link DriverTaskHandle}. */
+  public ResourceGroup getResourceGroup() {
+    return driverTaskHandle == null ? null : driverTaskHandle.getResourceGroup();
+  }
+
   /**
    * Updates the (potentially stale) priority value cached in this object. This should be called
    * when this object is outside the queue.
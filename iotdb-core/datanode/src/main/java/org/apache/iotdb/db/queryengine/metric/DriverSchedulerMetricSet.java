@@ -22,6 +22,7 @@ package org.apache.iotdb.db.queryengine.metric;
 import org.apache.iotdb.commons.service.metric.enums.Metric;
 import org.apache.iotdb.commons.service.metric.enums.Tag;
 import org.apache.iotdb.db.queryengine.execution.schedule.DriverScheduler;
+import org.apache.iotdb.db.queryengine.execution.schedule.queue.multilevelqueue.ResourceGroup;
 import org.apache.iotdb.metrics.AbstractMetricService;
 import org.apache.iotdb.metrics.impl.DoNothingMetricManager;
 import org.apache.iotdb.metrics.metricsets.IMetricSet;
@@ -29,6 +30,9 @@ import org.apache.iotdb.metrics.type.Timer;
 import org.apache.iotdb.metrics.utils.MetricLevel;
 import org.apache.iotdb.metrics.utils.MetricType;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 public class DriverSchedulerMetricSet implements IMetricSet {
   private static final DriverSchedulerMetricSet INSTANCE = new DriverSchedulerMetricSet();
 
@@ -42,12 +46,24 @@ public class DriverSchedulerMetricSet implements IMetricSet {
   public static final String BLOCK_QUEUE_TASK_COUNT = "block_queue_task_count";
   private static final String TIMEOUT_QUEUE_SIZE = "timeout_queue_task_count";
   private static final String QUERY_MAP_SIZE = "query_map_size";
+  private static final String GROUP_READY_TASK_COUNT = "resource_group_ready_task_count";
+  private static final String GROUP_RUNNING_TASK_COUNT = "resource_group_running_task_count";
+  private static final String GROUP_SCHEDULED_TIME = "resource_group_scheduled_time";
+  private static final String GROUP_READY_QUEUED_TIME = "resource_group_ready_queued_time";
+  private static final String[] GROUP_METRIC_NAMES = {
+    GROUP_READY_TASK_COUNT, GROUP_RUNNING_TASK_COUNT, GROUP_SCHEDULED_TIME, GROUP_READY_QUEUED_TIME
+  };
 
   private Timer readyQueuedTimeTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer blockQueuedTimeTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
 
+  private final Map<String, ResourceGroup> resourceGroups = new ConcurrentHashMap<>();
+  private volatile AbstractMetricService metricService;
+
   @Override
   public void bindTo(AbstractMetricService metricService) {
+    this.metricService = metricService;
+    resourceGroups.values().forEach(group -> createResourceGroupMetrics(metricService, group));
     readyQueuedTimeTimer =
         metricService.getOrCreateTimer(
             Metric.DRIVER_SCHEDULER.toString(),
@@ -92,6 +108,21 @@ public class DriverSchedulerMetricSet implements IMetricSet {
 
   @Override
   public void unbindFrom(AbstractMetricService metricService) {
+    this.metricService = null;
+    resourceGroups
+        .keySet()
+        .forEach(
+            groupName -> {
+              for (String name : GROUP_METRIC_NAMES) {
+                metricService.remove(
+                    MetricType.AUTO_GAUGE,
+                    Metric.DRIVER_SCHEDULER.toString(),
+                    Tag.NAME.toString(),
+                    name,
+                    Tag.RESOURCE_GROUP.toString(),
+                    groupName);
+              }
+            });
     readyQueuedTimeTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     blockQueuedTimeTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
     metricService.remove(
@@ -139,6 +170,56 @@ public class DriverSchedulerMetricSet implements IMetricSet {
     }
   }
 
+  /** Create the metrics of a resource group, now if this set is bound or once it is bound. */
+  public void bindResourceGroup(ResourceGroup group) {
+    if (resourceGroups.putIfAbsent(group.getName(), group) == null) {
+      AbstractMetricService service = metricService;
+      if (service != null) {
+        createResourceGroupMetrics(service, group);
+      }
+    }
+  }
+
+  private void createResourceGroupMetrics(
+      AbstractMetricService metricService, ResourceGroup group) {
+    metricService.createAutoGauge(
+        Metric.DRIVER_SCHEDULER.toString(),
+        MetricLevel.IMPORTANT,
+        group,
+        ResourceGroup::getReadyTaskNum,
+        Tag.NAME.toString(),
+        GROUP_READY_TASK_COUNT,
+        Tag.RESOURCE_GROUP.toString(),
+        group.getName());
+    metricService.createAutoGauge(
+        Metric.DRIVER_SCHEDULER.toString(),
+        MetricLevel.IMPORTANT,
+        group,
+        ResourceGroup::getRunningTaskNum,
+        Tag.NAME.toString(),
+        GROUP_RUNNING_TASK_COUNT,
+        Tag.RESOURCE_GROUP.toString(),
+        group.getName());
+    metricService.createAutoGauge(
+        Metric.DRIVER_SCHEDULER.toString(),
+        MetricLevel.IMPORTANT,
+        group,
+        ResourceGroup::getScheduledTimeInNanos,
+        Tag.NAME.toString(),
+        GROUP_SCHEDULED_TIME,
+        Tag.RESOURCE_GROUP.toString(),
+        group.getName());
+    metricService.createAutoGauge(
+        Metric.DRIVER_SCHEDULER.toString(),
+        MetricLevel.IMPORTANT,
+        group,
+        ResourceGroup::getReadyQueuedTimeInNanos,
+        Tag.NAME.toString(),
+        GROUP_READY_QUEUED_TIME,
+        Tag.RESOURCE_GROUP.toString(),
+        group.getName());
+  }
+
   public static DriverSchedulerMetricSet getInstance() {
     return INSTANCE;
   }
@@ -547,6 +547,9 @@ public class ExpressionTypeAnalyzer {
       case SqlConstant.KURTOSIS:
       case SqlConstant.MAX_BY:
       case SqlConstant.MIN_BY:
+      case SqlConstant.APPROX_COUNT_DISTINCT:
+      case SqlConstant.APPROX_MOST_FREQUENT:
+      case SqlConstant.APPROX_PERCENTILE:
         return expressionTypes.get(NodeRef.of(inputExpressions.get(0)));
       case SqlConstant.CORR:
       case SqlConstant.COVAR_POP:
@@ -37,6 +37,12 @@ public interface IDualKeyCacheStats {
   /** Return the hit rate of recorded cases, equal hitCount() / requestCount(). */
   double hitRate();
 
+  /**
+   * Return the count of evicted cache entries, since the cache has been utilized after init or
+   * clean up.
+   */
+  long evictionCount();
+
   /** Return current memory usage of dual key cache. */
   long memoryUsage();
 
@@ -36,6 +36,7 @@ class CacheStats implements IDualKeyCacheStats {
 
   private final AtomicLong requestCount = new AtomicLong(0);
   private final AtomicLong hitCount = new AtomicLong(0);
+  private final AtomicLong evictionCount = new AtomicLong(0);
 
   CacheStats(
       long memoryCapacity,
@@ -67,6 +68,10 @@ class CacheStats implements IDualKeyCacheStats {
     requestCount.getAndAdd(num);
   }
 
+  void recordEviction() {
+    evictionCount.getAndIncrement();
+  }
+
   @Override
   public long requestCount() {
     return requestCount.get();
@@ -90,6 +95,11 @@ class CacheStats implements IDualKeyCacheStats {
     return hitCount * 1.0 / requestCount;
   }
 
+  @Override
+  public long evictionCount() {
+    return evictionCount.get();
+  }
+
   @Override
   public long memoryUsage() {
     return memoryComputation.get();
@@ -52,6 +52,9 @@ public class DualKeyCacheBuilder<FK, SK, V> {
       case FIFO:
         cacheEntryManager = new FIFOCacheEntryManager<>();
         break;
+      case TINY_LFU:
+        cacheEntryManager = new TinyLFUCacheEntryManager<>();
+        break;
     }
     return new DualKeyCacheImpl<>(
         cacheEntryManager,
@@ -204,6 +204,7 @@ class DualKeyCacheImpl<FK, SK, V, T extends ICacheEntry<SK, V>>
     if (evictCacheEntry == null) {
       return 0;
     }
+    cacheStats.recordEviction();
 
     final ICacheEntryGroup<FK, SK, V, T> belongedGroup = evictCacheEntry.getBelongedGroup();
     evictCacheEntry.setBelongedGroup(null);
@@ -0,0 +1,429 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.dualkeycache.impl;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * This class implements the cache entry manager with W-TinyLFU policy.
+ *
+ * <p>The entries are kept in three LRU queues. New entries enter the small window queue, and the
+ * overflow of the window is moved to the probation queue of the main space. An entry accessed
+ * again in the probation queue is promoted to the protected queue, whose overflow is demoted to the
+ * oldest end of the probation queue. So the newest entry of the probation queue is always the one
+ * lately moved from the window. When evicting, it is compared with the oldest entry of the
+ * probation queue by the access frequency estimated with {@link FrequencySketch}, and the less
+ * frequent one is evicted. So the entries touched only once by a scan cannot flush the frequently
+ * accessed entries.
+ *
+ * <p>The accesses are recorded into striped lossy buffers without locking, and replayed to the
+ * queues in batches by the thread holding the lock. An access may be dropped if its buffer is
+ * full, which only makes the policy slightly less accurate.
+ *
+ * @param <FK> The first key of cache value.
+ * @param <SK> The second key of cache value.
+ * @param <V> The cache value.
+ */
+class TinyLFUCacheEntryManager<FK, SK, V>
+    implements ICacheEntryManager<FK, SK, V, TinyLFUCacheEntryManager.TinyLFUCacheEntry<SK, V>> {
+
+  private static final int READ_BUFFER_NUM =
+      Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) << 1;
+  private static final int WINDOW_PERCENTAGE = 1;
+  private static final int PROTECTED_PERCENTAGE = 80;
+
+  private static final byte UNLINKED = 0;
+  private static final byte WINDOW = 1;
+  private static final byte PROBATION = 2;
+  private static final byte PROTECTED = 3;
+
+  private final ReentrantLock evictionLock = new ReentrantLock();
+
+  @SuppressWarnings("unchecked")
+  private final ReadBuffer<SK, V>[] readBuffers = new ReadBuffer[READ_BUFFER_NUM];
+
+  // The queues and the sketch are guarded by the evictionLock
+  private final AccessOrderQueue<SK, V> windowQueue = new AccessOrderQueue<>();
+  private final AccessOrderQueue<SK, V> probationQueue = new AccessOrderQueue<>();
+  private final AccessOrderQueue<SK, V> protectedQueue = new AccessOrderQueue<>();
+  private final FrequencySketch frequencySketch = new FrequencySketch();
+
+  TinyLFUCacheEntryManager() {
+    for (int i = 0; i < READ_BUFFER_NUM; i++) {
+      readBuffers[i] = new ReadBuffer<>();
+    }
+  }
+
+  @Override
+  public TinyLFUCacheEntry<SK, V> createCacheEntry(
+      final SK secondKey,
+      final V value,
+      final ICacheEntryGroup<FK, SK, V, TinyLFUCacheEntry<SK, V>> cacheEntryGroup) {
+    return new TinyLFUCacheEntry<>(secondKey, value, cacheEntryGroup);
+  }
+
+  @Override
+  public void access(final TinyLFUCacheEntry<SK, V> cacheEntry) {
+    final ReadBuffer<SK, V> readBuffer =
+        readBuffers[(int) Thread.currentThread().getId() & (READ_BUFFER_NUM - 1)];
+    if (!readBuffer.offer(cacheEntry) && evictionLock.tryLock()) {
+      try {
+        drainReadBuffers();
+      } finally {
+        evictionLock.unlock();
+      }
+    }
+  }
+
+  @Override
+  public void put(final TinyLFUCacheEntry<SK, V> cacheEntry) {
+    evictionLock.lock();
+    try {
+      frequencySketch.increment(cacheEntry.keyHash);
+      windowQueue.addFirst(cacheEntry, WINDOW);
+
+      final long entriesCount = entriesCount();
+      frequencySketch.ensureCapacity(entriesCount);
+      final long maxWindowSize = Math.max(1, entriesCount * WINDOW_PERCENTAGE / 100);
+      while (windowQueue.size > maxWindowSize) {
+        final TinyLFUCacheEntry<SK, V> candidate = windowQueue.last();
+        windowQueue.remove(candidate);
+        probationQueue.addFirst(candidate, PROBATION);
+      }
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public boolean invalidate(final TinyLFUCacheEntry<SK, V> cacheEntry) {
+    if (cacheEntry.isInvalidated.getAndSet(true)) {
+      return false;
+    }
+
+    evictionLock.lock();
+    try {
+      unlink(cacheEntry);
+    } finally {
+      evictionLock.unlock();
+    }
+    return true;
+  }
+
+  @Override
+  public TinyLFUCacheEntry<SK, V> evict() {
+    evictionLock.lock();
+    try {
+      drainReadBuffers();
+      TinyLFUCacheEntry<SK, V> victim;
+      while ((victim = selectVictim()) != null) {
+        unlink(victim);
+        // An entry being invalidated concurrently is removed by the invalidating thread
+        if (victim.isInvalidated.compareAndSet(false, true)) {
+          return victim;
+        }
+      }
+      return null;
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  @Override
+  public void cleanUp() {
+    evictionLock.lock();
+    try {
+      for (final ReadBuffer<SK, V> readBuffer : readBuffers) {
+        readBuffer.drainTo(this, false);
+      }
+      windowQueue.clear();
+      probationQueue.clear();
+      protectedQueue.clear();
+      frequencySketch.clear();
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  private long entriesCount() {
+    return windowQueue.size + probationQueue.size + protectedQueue.size;
+  }
+
+  private TinyLFUCacheEntry<SK, V> selectVictim() {
+    if (probationQueue.size == 0) {
+      return protectedQueue.size > 0 ? protectedQueue.last() : windowQueue.last();
+    }
+    final TinyLFUCacheEntry<SK, V> victim = probationQueue.last();
+    final TinyLFUCacheEntry<SK, V> candidate = probationQueue.first();
+    // The newly admitted candidate has to be more popular than the victim to stay in the cache
+    return frequencySketch.frequency(candidate.keyHash) > frequencySketch.frequency(victim.keyHash)
+        ? victim
+        : candidate;
+  }
+
+  private void drainReadBuffers() {
+    for (final ReadBuffer<SK, V> readBuffer : readBuffers) {
+      readBuffer.drainTo(this, true);
+    }
+  }
+
+  private void onAccess(final TinyLFUCacheEntry<SK, V> cacheEntry) {
+    if (cacheEntry.queueType == UNLINKED) {
+      return;
+    }
+    frequencySketch.increment(cacheEntry.keyHash);
+    switch (cacheEntry.queueType) {
+      case WINDOW:
+        windowQueue.moveToFirst(cacheEntry);
+        break;
+      case PROBATION:
+        probationQueue.remove(cacheEntry);
+        protectedQueue.addFirst(cacheEntry, PROTECTED);
+        final long maxProtectedSize =
+            (probationQueue.size + protectedQueue.size) * PROTECTED_PERCENTAGE / 100;
+        while (protectedQueue.size > maxProtectedSize) {
+          final TinyLFUCacheEntry<SK, V> demoted = protectedQueue.last();
+          protectedQueue.remove(demoted);
+          probationQueue.addLast(demoted, PROBATION);
+        }
+        break;
+      case PROTECTED:
+        protectedQueue.moveToFirst(cacheEntry);
+        break;
+      default:
+        break;
+    }
+  }
+
+  private void unlink(final TinyLFUCacheEntry<SK, V> cacheEntry) {
+    switch (cacheEntry.queueType) {
+      case WINDOW:
+        windowQueue.remove(cacheEntry);
+        break;
+      case PROBATION:
+        probationQueue.remove(cacheEntry);
+        break;
+      case PROTECTED:
+        protectedQueue.remove(cacheEntry);
+        break;
+      default:
+        break;
+    }
+  }
+
+  static class TinyLFUCacheEntry<SK, V> implements ICacheEntry<SK, V> {
+
+    private final SK secondKey;
+
+    @SuppressWarnings("java:S3077")
+    private volatile ICacheEntryGroup cacheEntryGroup;
+
+    private V value;
+
+    // The hash of the keys, which is kept after the entry leaves its group
+    private final int keyHash;
+
+    // Guarded by the evictionLock
+    private byte queueType = UNLINKED;
+    private TinyLFUCacheEntry<SK, V> pre;
+    private TinyLFUCacheEntry<SK, V> next;
+
+    private final AtomicBoolean isInvalidated = new AtomicBoolean(false);
+
+    private TinyLFUCacheEntry(
+        final SK secondKey, final V value, final ICacheEntryGroup cacheEntryGroup) {
+      this.secondKey = secondKey;
+      this.value = value;
+      this.cacheEntryGroup = cacheEntryGroup;
+      this.keyHash =
+          cacheEntryGroup == null
+              ? 0
+              : cacheEntryGroup.getFirstKey().hashCode() * 31 + secondKey.hashCode();
+    }
+
+    @Override
+    public SK getSecondKey() {
+      return secondKey;
+    }
+
+    @Override
+    public V getValue() {
+      return value;
+    }
+
+    @Override
+    public ICacheEntryGroup getBelongedGroup() {
+      return cacheEntryGroup;
+    }
+
+    @Override
+    public void setBelongedGroup(final ICacheEntryGroup belongedGroup) {
+      this.cacheEntryGroup = belongedGroup;
+    }
+
+    @Override
+    public void replaceValue(final V newValue) {
+      this.value = newValue;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      final TinyLFUCacheEntry<?, ?> that = (TinyLFUCacheEntry<?, ?>) o;
+      return Objects.equals(secondKey, that.secondKey)
+          && Objects.equals(cacheEntryGroup, that.cacheEntryGroup);
+    }
+
+    @Override
+    public int hashCode() {
+      return keyHash;
+    }
+  }
+
+  private static class AccessOrderQueue<SK, V> {
+
+    // head.next is the most recently used entry
+    private final TinyLFUCacheEntry<SK, V> head = new TinyLFUCacheEntry<>(null, null, null);
+    private final TinyLFUCacheEntry<SK, V> tail = new TinyLFUCacheEntry<>(null, null, null);
+    private long size = 0;
+
+    private AccessOrderQueue() {
+      head.next = tail;
+      tail.pre = head;
+    }
+
+    private TinyLFUCacheEntry<SK, V> first() {
+      return size == 0 ? null : head.next;
+    }
+
+    private TinyLFUCacheEntry<SK, V> last() {
+      return size == 0 ? null : tail.pre;
+    }
+
+    private void addFirst(final TinyLFUCacheEntry<SK, V> cacheEntry, final byte queueType) {
+      cacheEntry.queueType = queueType;
+      cacheEntry.next = head.next;
+      cacheEntry.pre = head;
+      head.next.pre = cacheEntry;
+      head.next = cacheEntry;
+      size++;
+    }
+
+    private void addLast(final TinyLFUCacheEntry<SK, V> cacheEntry, final byte queueType) {
+      cacheEntry.queueType = queueType;
+      cacheEntry.pre = tail.pre;
+      cacheEntry.next = tail;
+      tail.pre.next = cacheEntry;
+      tail.pre = cacheEntry;
+      size++;
+    }
+
+    private void remove(final TinyLFUCacheEntry<SK, V> cacheEntry) {
+      cacheEntry.pre.next = cacheEntry.next;
+      cacheEntry.next.pre = cacheEntry.pre;
+      cacheEntry.next = null;
+      cacheEntry.pre = null;
+      cacheEntry.queueType = UNLINKED;
+      size--;
+    }
+
+    private void moveToFirst(final TinyLFUCacheEntry<SK, V> cacheEntry) {
+      final byte queueType = cacheEntry.queueType;
+      remove(cacheEntry);
+      addFirst(cacheEntry, queueType);
+    }
+
+    private void clear() {
+      TinyLFUCacheEntry<SK, V> cacheEntry = head.next;
+      while (cacheEntry != tail) {
+        final TinyLFUCacheEntry<SK, V> nextEntry = cacheEntry.next;
+        cacheEntry.pre = null;
+        cacheEntry.next = null;
+        cacheEntry.queueType = UNLINKED;
+        cacheEntry = nextEntry;
+      }
+      head.next = tail;
+      tail.pre = head;
+      size = 0;
+    }
+  }
+
+  /**
+   * A bounded ring buffer with multiple producers and a single consumer. An offer fails instead of
+   * waiting when the buffer is full or contended.
+   */
+  private static class ReadBuffer<SK, V> {
+
+    private static final int BUFFER_SIZE = 64;
+    private static final int BUFFER_MASK = BUFFER_SIZE - 1;
+
+    private final AtomicReferenceArray<TinyLFUCacheEntry<SK, V>> buffer =
+        new AtomicReferenceArray<>(BUFFER_SIZE);
+    private final AtomicLong writeCounter = new AtomicLong(0);
+
+    // Only updated by the consumer holding the evictionLock
+    private volatile long readCounter = 0;
+
+    /**
+     * @return false if the buffer is full and shall be drained
+     */
+    private boolean offer(final TinyLFUCacheEntry<SK, V> cacheEntry) {
+      final long head = readCounter;
+      final long tail = writeCounter.get();
+      final long size = tail - head;
+      if (size >= BUFFER_SIZE) {
+        return false;
+      }
+      if (writeCounter.compareAndSet(tail, tail + 1)) {
+        buffer.lazySet((int) (tail & BUFFER_MASK), cacheEntry);
+        return size + 1 < BUFFER_SIZE;
+      }
+      // Lossy, the access is dropped under contention
+      return true;
+    }
+
+    private void drainTo(final TinyLFUCacheEntryManager<?, SK, V> manager, final boolean replay) {
+      long head = readCounter;
+      final long tail = writeCounter.get();
+      for (; head < tail; head++) {
+        final int index = (int) (head & BUFFER_MASK);
+        final TinyLFUCacheEntry<SK, V> cacheEntry = buffer.get(index);
+        if (cacheEntry == null) {
+          // The producer has not published the entry yet
+          break;
+        }
+        buffer.lazySet(index, null);
+        if (replay) {
+          manager.onAccess(cacheEntry);
+        }
+      }
+      readCounter = head;
+    }
+  }
+}
@@ -58,6 +58,7 @@ import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.GroupByTimePa
 import org.apache.iotdb.db.queryengine.plan.statement.StatementType;
 import org.apache.iotdb.db.queryengine.plan.statement.component.Ordering;
 import org.apache.iotdb.db.queryengine.plan.statement.crud.QueryStatement;
+import org.apache.iotdb.db.queryengine.transformation.dag.udf.UDAFInformationInferrer;
 import org.apache.iotdb.db.schemaengine.schemaregion.utils.MetaUtils;
 import org.apache.iotdb.db.utils.SchemaUtils;
 
@@ -73,6 +74,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static com.google.common.base.Preconditions.checkState;
 import static org.apache.iotdb.calc.utils.constant.SqlConstant.COUNT_TIME;
@@ -104,29 +106,34 @@ public class AggregationPushDown implements PlanOptimizer {
     boolean isAlignByDevice = queryStatement.isAlignByDevice();
     if (isAlignByDevice) {
       if (analysis.allDevicesInOneTemplate()) {
-        return cannotUseStatisticsForTemplate(analysis.getAggregationExpressions());
+        return cannotUseStatisticsForTemplate(analysis.getAggregationExpressions(), analysis);
       }
 
       // check any of the devices
       IDeviceID device = analysis.getDeviceList().get(0).getIDeviceIDAsFullDevice();
       return cannotUseStatistics(
           analysis.getDeviceToAggregationExpressions().get(device),
-          analysis.getDeviceToSourceTransformExpressions().get(device));
+          analysis.getDeviceToSourceTransformExpressions().get(device),
+          analysis);
     } else {
       return cannotUseStatistics(
-          analysis.getAggregationExpressions(), analysis.getSourceTransformExpressions());
+          analysis.getAggregationExpressions(), analysis.getSourceTransformExpressions(), analysis);
     }
   }
 
   private boolean cannotUseStatistics(
-      Set<Expression> aggregationExpressions, Set<Expression> sourceTransformExpressions) {
+      Set<Expression> aggregationExpressions,
+      Set<Expression> sourceTransformExpressions,
+      Analysis analysis) {
 
     for (Expression expression : aggregationExpressions) {
       if (expression instanceof FunctionExpression) {
         FunctionExpression functionExpression = (FunctionExpression) expression;
-        // Disable statistics optimization of UDAF for now
         if (functionExpression.isExternalAggregationFunctionExpression()) {
-          return true;
+          if (udafCannotUseStatistics(functionExpression, analysis)) {
+            return true;
+          }
+          continue;
         }
 
         if (COUNT_TIME.equalsIgnoreCase(functionExpression.getFunctionName())) {
@@ -158,14 +165,17 @@ public class AggregationPushDown implements PlanOptimizer {
     return false;
   }
 
-  private boolean cannotUseStatisticsForTemplate(Set<Expression> aggregationExpressions) {
+  private boolean cannotUseStatisticsForTemplate(
+      Set<Expression> aggregationExpressions, Analysis analysis) {
 
     for (Expression expression : aggregationExpressions) {
       if (expression instanceof FunctionExpression) {
         FunctionExpression functionExpression = (FunctionExpression) expression;
-        // Disable statistics optimization of UDAF for now
         if (functionExpression.isExternalAggregationFunctionExpression()) {
-          return true;
+          if (udafCannotUseStatistics(functionExpression, analysis)) {
+            return true;
+          }
+          continue;
         }
 
         // in template align by device query, device must be aligned
@@ -184,6 +194,19 @@ public class AggregationPushDown implements PlanOptimizer {
     return false;
   }
 
+  // UDAF is pushed down only if it consumes the statistics of its input series
+  private boolean udafCannotUseStatistics(
+      FunctionExpression functionExpression, Analysis analysis) {
+    List<Expression> inputExpressions = functionExpression.getExpressions();
+    return !new UDAFInformationInferrer(functionExpression.getFunctionName())
+        .canUseStatistics(
+            inputExpressions.stream()
+                .map(Expression::getExpressionString)
+                .collect(Collectors.toList()),
+            inputExpressions.stream().map(analysis::getType).collect(Collectors.toList()),
+            functionExpression.getFunctionAttributes());
+  }
+
   private static class Rewriter implements PlanVisitor<PlanNode, RewriterContext> {
 
     @Override
@@ -3480,6 +3480,27 @@ public class ASTVisitor extends IoTDBSqlParserBaseVisitor<Statement> {
             functionExpression.getExpressions().size(),
             1);
         return;
+      case SqlConstant.APPROX_COUNT_DISTINCT:
+        checkFunctionExpressionInputSize(
+            functionExpression.getExpressionString(),
+            functionExpression.getExpressions().size(),
+            1);
+        checkApproxCountDistinctAttributes(functionExpression.getFunctionAttributes());
+        return;
+      case SqlConstant.APPROX_MOST_FREQUENT:
+        checkFunctionExpressionInputSize(
+            functionExpression.getExpressionString(),
+            functionExpression.getExpressions().size(),
+            1);
+        checkApproxMostFrequentAttributes(functionExpression.getFunctionAttributes());
+        return;
+      case SqlConstant.APPROX_PERCENTILE:
+        checkFunctionExpressionInputSize(
+            functionExpression.getExpressionString(),
+            functionExpression.getExpressions().size(),
+            1);
+        checkApproxPercentileAttributes(functionExpression.getFunctionAttributes());
+        return;
       case SqlConstant.COUNT_IF:
       case SqlConstant.MAX_BY:
       case SqlConstant.MIN_BY:
@@ -3500,6 +3521,60 @@ public class ASTVisitor extends IoTDBSqlParserBaseVisitor<Statement> {
     }
   }
 
+  private void checkApproxCountDistinctAttributes(Map<String, String> attributes) {
+    // The range of the max standard error is checked by the HyperLogLog
+    String maxStandardError = attributes.get(SqlConstant.APPROX_MAX_STANDARD_ERROR);
+    if (maxStandardError == null) {
+      return;
+    }
+    try {
+      Double.parseDouble(maxStandardError);
+    } catch (NumberFormatException e) {
+      throw new SemanticException(
+          String.format(
+              DataNodeQueryMessages.APPROX_COUNT_DISTINCT_INVALID_MAX_STANDARD_ERROR,
+              maxStandardError));
+    }
+  }
+
+  private void checkApproxMostFrequentAttributes(Map<String, String> attributes) {
+    String k = attributes.get(SqlConstant.APPROX_MOST_FREQUENT_K);
+    String capacity = attributes.get(SqlConstant.APPROX_MOST_FREQUENT_CAPACITY);
+    if (parseIntAttribute(k) <= 0 || parseIntAttribute(capacity) <= 0) {
+      throw new SemanticException(
+          String.format(
+              DataNodeQueryMessages.APPROX_MOST_FREQUENT_INVALID_ATTRIBUTES, k, capacity));
+    }
+  }
+
+  /** Return -1 if the attribute is absent or not an integer. */
+  private static int parseIntAttribute(String value) {
+    if (value == null) {
+      return -1;
+    }
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      return -1;
+    }
+  }
+
+  private void checkApproxPercentileAttributes(Map<String, String> attributes) {
+    String percentage = attributes.get(SqlConstant.APPROX_PERCENTILE_PERCENTAGE);
+    if (percentage != null) {
+      try {
+        double value = Double.parseDouble(percentage);
+        if (value >= 0 && value <= 1) {
+          return;
+        }
+      } catch (NumberFormatException e) {
+        // fall through to report the invalid percentage
+      }
+    }
+    throw new SemanticException(
+        String.format(DataNodeQueryMessages.APPROX_PERCENTILE_INVALID_PERCENTAGE, percentage));
+  }
+
   private void checkBuiltInScalarFunctionInput(FunctionExpression functionExpression) {
     BuiltInScalarFunctionHelperFactory.createHelper(functionExpression.getFunctionName())
         .checkBuiltInScalarFunctionInputSize(functionExpression);
@@ -38,6 +38,9 @@ import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContex
 import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceStateMachine;
 import org.apache.iotdb.db.queryengine.metric.QueryRelatedResourceMetricSet;
 import org.apache.iotdb.db.queryengine.plan.analyze.TypeProvider;
+import org.apache.iotdb.db.queryengine.plan.planner.exceptions.MemoryAdmissionRequiredException;
+import org.apache.iotdb.db.queryengine.plan.planner.memory.MemoryAdmissionQueue;
+import org.apache.iotdb.db.queryengine.plan.planner.memory.MemoryReservation;
 import org.apache.iotdb.db.queryengine.plan.planner.memory.PipelineMemoryEstimator;
 import org.apache.iotdb.db.queryengine.plan.relational.metadata.Metadata;
 import org.apache.iotdb.db.queryengine.plan.relational.metadata.TableMetadataImpl;
@@ -54,6 +57,9 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.function.LongFunction;
 
 import static org.apache.iotdb.commons.queryengine.common.SqlDialect.TREE;
 
@@ -66,6 +72,7 @@ public class LocalExecutionPlanner {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(LocalExecutionPlanner.class);
   private static final IMemoryBlock OPERATORS_MEMORY_BLOCK;
+  private static final MemoryAdmissionQueue OPERATORS_MEMORY_ADMISSION_QUEUE;
   private static final long MIN_REST_MEMORY_FOR_QUERY_AFTER_LOAD;
 
   public final Metadata metadata = new TableMetadataImpl();
@@ -78,6 +85,7 @@ public class LocalExecutionPlanner {
         MEMORY_CONFIG
             .getOperatorsMemoryManager()
             .exactAllocate("Operators", MemoryBlockType.DYNAMIC);
+    OPERATORS_MEMORY_ADMISSION_QUEUE = new MemoryAdmissionQueue(OPERATORS_MEMORY_BLOCK);
     MIN_REST_MEMORY_FOR_QUERY_AFTER_LOAD =
         (long)
             ((OPERATORS_MEMORY_BLOCK.getTotalMemorySizeInBytes())
@@ -100,7 +108,8 @@ public class LocalExecutionPlanner {
       PlanNode plan,
       TypeProvider types,
       FragmentInstanceContext instanceContext,
-      DataNodeQueryContext dataNodeQueryContext)
+      DataNodeQueryContext dataNodeQueryContext,
+      MemoryReservation reservation)
       throws MemoryNotEnoughException {
     if (Objects.isNull(plan)) {
       throw new IoTDBRuntimeException(
@@ -118,28 +127,35 @@ public class LocalExecutionPlanner {
     context.invalidateParentPlanNodeIdToMemoryEstimator();
 
     // check whether current free memory is enough to execute current query
-    long estimatedMemorySize = checkMemory(memoryEstimator, instanceContext.getStateMachine());
+    return checkMemoryAndFinish(
+        memoryEstimator,
+        instanceContext,
+        reservation,
+        estimatedMemorySize -> {
+          instanceContext.setEstimatedMemorySize(estimatedMemorySize);
 
-    context.addPipelineDriverFactory(root, context.getDriverContext(), estimatedMemorySize);
+          context.addPipelineDriverFactory(root, context.getDriverContext(), estimatedMemorySize);
 
-    instanceContext.setSourcePaths(collectSourcePaths(context));
-    instanceContext.setDevicePathsToContext(collectDevicePathsToContext(context));
-    instanceContext.setQueryDataSourceType(
-        getQueryDataSourceType((DataDriverContext) context.getDriverContext()));
+          instanceContext.setSourcePaths(collectSourcePaths(context));
+          instanceContext.setDevicePathsToContext(collectDevicePathsToContext(context));
+          instanceContext.setQueryDataSourceType(
+              getQueryDataSourceType((DataDriverContext) context.getDriverContext()));
 
-    context.getTimePartitions().ifPresent(instanceContext::setTimePartitions);
+          context.getTimePartitions().ifPresent(instanceContext::setTimePartitions);
 
-    // set maxBytes one SourceHandle can reserve after visiting the whole tree
-    context.setMaxBytesOneHandleCanReserve();
+          // set maxBytes one SourceHandle can reserve after visiting the whole tree
+          context.setMaxBytesOneHandleCanReserve();
 
-    return context.getPipelineDriverFactories();
+          return context.getPipelineDriverFactories();
+        });
   }
 
   public List<PipelineDriverFactory> plan(
       PlanNode plan,
       TypeProvider types,
       FragmentInstanceContext instanceContext,
-      ISchemaRegion schemaRegion)
+      ISchemaRegion schemaRegion,
+      MemoryReservation reservation)
       throws MemoryNotEnoughException {
     if (Objects.isNull(plan)) {
       throw new IoTDBRuntimeException(
@@ -157,14 +173,20 @@ public class LocalExecutionPlanner {
     context.invalidateParentPlanNodeIdToMemoryEstimator();
 
     // check whether current free memory is enough to execute current query
-    checkMemory(memoryEstimator, instanceContext.getStateMachine());
+    return checkMemoryAndFinish(
+        memoryEstimator,
+        instanceContext,
+        reservation,
+        estimatedMemorySize -> {
+          instanceContext.setEstimatedMemorySize(estimatedMemorySize);
 
-    context.addPipelineDriverFactory(root, context.getDriverContext(), 0);
+          context.addPipelineDriverFactory(root, context.getDriverContext(), 0);
 
-    // set maxBytes one SourceHandle can reserve after visiting the whole tree
-    context.setMaxBytesOneHandleCanReserve();
+          // set maxBytes one SourceHandle can reserve after visiting the whole tree
+          context.setMaxBytesOneHandleCanReserve();
 
-    return context.getPipelineDriverFactories();
+          return context.getPipelineDriverFactories();
+        });
   }
 
   private Operator generateOperator(
@@ -192,8 +214,30 @@ public class LocalExecutionPlanner {
     return root;
   }
 
+  /**
+   * Check the memory and finish the planning with the memory estimated. If the instance should wait
+   * for the memory, the operators generated are kept in the {@link
+   * MemoryAdmissionRequiredException} thrown, so that the planning can be resumed after the wait.
+   */
+  private List<PipelineDriverFactory> checkMemoryAndFinish(
+      PipelineMemoryEstimator memoryEstimator,
+      FragmentInstanceContext instanceContext,
+      MemoryReservation reservation,
+      LongFunction<List<PipelineDriverFactory>> finisher) {
+    long estimatedMemorySize =
+        checkMemory(
+            memoryEstimator,
+            instanceContext,
+            reservation,
+            reserved -> checkMemoryAndFinish(memoryEstimator, instanceContext, reserved, finisher));
+    return finisher.apply(estimatedMemorySize);
+  }
+
   private long checkMemory(
-      final PipelineMemoryEstimator memoryEstimator, FragmentInstanceStateMachine stateMachine)
+      final PipelineMemoryEstimator memoryEstimator,
+      FragmentInstanceContext instanceContext,
+      MemoryReservation reservation,
+      Function<MemoryReservation, List<PipelineDriverFactory>> resumption)
       throws MemoryNotEnoughException {
 
     // if it is disabled, just return
@@ -206,13 +250,19 @@ public class LocalExecutionPlanner {
 
     QueryRelatedResourceMetricSet.getInstance().updateEstimatedMemory(estimatedMemorySize);
 
-    if (OPERATORS_MEMORY_BLOCK.allocate(estimatedMemorySize)) {
+    if (allocateOperatorsMemory(estimatedMemorySize, reservation)) {
       if (LOGGER.isDebugEnabled()) {
         LOGGER.debug(
             "[ConsumeMemory] consume: {}, current remaining memory: {}",
             estimatedMemorySize,
             OPERATORS_MEMORY_BLOCK.getFreeMemoryInBytes());
       }
+    } else if (!reservation.isAdmissionWaited()
+        && getMemoryAdmissionWaitTimeInMs(instanceContext.getDeadlineInMs()) > 0
+        && estimatedMemorySize <= OPERATORS_MEMORY_BLOCK.getTotalMemorySizeInBytes()) {
+      // Wait for the memory outside the map of the fragment instances, see
+      // computeIfAbsentAfterMemoryAdmission
+      throw new MemoryAdmissionRequiredException(estimatedMemorySize, resumption);
     } else {
       throw new MemoryNotEnoughException(
           String.format(
@@ -221,12 +271,13 @@ public class LocalExecutionPlanner {
                   + "estimated memory usage for current fragment instance is %dB",
               OPERATORS_MEMORY_BLOCK.getFreeMemoryInBytes(), estimatedMemorySize));
     }
+    FragmentInstanceStateMachine stateMachine = instanceContext.getStateMachine();
     stateMachine.addStateChangeListener(
         newState -> {
           if (newState.isDone()) {
             try (SetThreadName fragmentInstanceName =
                 new SetThreadName(stateMachine.getFragmentInstanceId().getFullId())) {
-              OPERATORS_MEMORY_BLOCK.release(estimatedMemorySize);
+              OPERATORS_MEMORY_ADMISSION_QUEUE.release(estimatedMemorySize);
               if (LOGGER.isDebugEnabled()) {
                 LOGGER.debug(
                     "[ReleaseMemory] release: {}, current remaining memory: {}",
@@ -239,6 +290,50 @@ public class LocalExecutionPlanner {
     return estimatedMemorySize;
   }
 
+  /**
+   * Take the memory from the reservation if it is enough, otherwise allocate the memory at once
+   * without waiting.
+   */
+  private boolean allocateOperatorsMemory(
+      long estimatedMemorySize, MemoryReservation reservation) {
+    long reservedMemorySize = reservation.take();
+    if (reservedMemorySize >= estimatedMemorySize) {
+      if (reservedMemorySize > estimatedMemorySize) {
+        OPERATORS_MEMORY_ADMISSION_QUEUE.release(reservedMemorySize - estimatedMemorySize);
+      }
+      return true;
+    }
+    if (reservedMemorySize > 0) {
+      OPERATORS_MEMORY_ADMISSION_QUEUE.release(reservedMemorySize);
+    }
+    return OPERATORS_MEMORY_ADMISSION_QUEUE.allocate(estimatedMemorySize, 0);
+  }
+
+  /**
+   * Create the execution of a fragment instance in the map if absent. If planning the instance
+   * finds the operators memory not enough, the instance waits in line for the memory outside the
+   * map and is planned again with the memory reserved, see {@link
+   * MemoryAdmissionQueue#computeIfAbsent}.
+   */
+  public <K, V> V computeIfAbsentAfterMemoryAdmission(
+      ConcurrentMap<K, V> map,
+      K key,
+      long deadlineInMs,
+      Function<MemoryReservation, V> creator) {
+    return OPERATORS_MEMORY_ADMISSION_QUEUE.computeIfAbsent(
+        map, key, getMemoryAdmissionWaitTimeInMs(deadlineInMs), creator);
+  }
+
+  /**
+   * How long the fragment instance waits in line for the memory released by the running ones when
+   * the memory is not enough, which is no longer than the instance can run.
+   */
+  private static long getMemoryAdmissionWaitTimeInMs(long deadlineInMs) {
+    return Math.min(
+        IoTDBDescriptor.getInstance().getConfig().getQueryMemoryAdmissionWaitTimeInMs(),
+        deadlineInMs - System.currentTimeMillis());
+  }
+
   private QueryDataSourceType getQueryDataSourceType(DataDriverContext dataDriverContext) {
     return dataDriverContext.getQueryDataSourceType().orElse(QueryDataSourceType.SERIES_SCAN);
   }
@@ -327,7 +422,7 @@ public class LocalExecutionPlanner {
       throw new IllegalArgumentException(
           "Bytes to release to free memory for operators should be larger than 0");
     }
-    OPERATORS_MEMORY_BLOCK.release(memoryInBytes);
+    OPERATORS_MEMORY_ADMISSION_QUEUE.release(memoryInBytes);
   }
 
   public long getAllocateMemoryForOperators() {
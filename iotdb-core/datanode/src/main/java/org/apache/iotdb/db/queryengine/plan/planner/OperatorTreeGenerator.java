@@ -61,6 +61,7 @@ import org.apache.iotdb.db.queryengine.common.FragmentInstanceId;
 import org.apache.iotdb.db.queryengine.common.TimeseriesContext;
 import org.apache.iotdb.db.queryengine.execution.aggregation.AccumulatorFactory;
 import org.apache.iotdb.db.queryengine.execution.aggregation.TreeAggregator;
+import org.apache.iotdb.db.queryengine.execution.aggregation.UDAFAccumulator;
 import org.apache.iotdb.db.queryengine.execution.aggregation.slidingwindow.SlidingWindowAggregatorFactory;
 import org.apache.iotdb.db.queryengine.execution.aggregation.timerangeiterator.ITimeRangeIterator;
 import org.apache.iotdb.db.queryengine.execution.driver.DataDriverContext;
@@ -602,20 +603,25 @@ public class OperatorTreeGenerator implements PlanVisitor<Operator, LocalExecuti
     boolean ascending = node.getScanOrder() == ASC;
     List<AggregationDescriptor> aggregationDescriptors =
         AggregationNode.getDeduplicatedDescriptors(node.getAggregationDescriptorList());
+    TSDataType seriesDataType = node.getSeriesPath().getSeriesType();
     List<TreeAggregator> aggregators = new ArrayList<>();
-    aggregationDescriptors.forEach(
-        o ->
-            aggregators.add(
-                new TreeAggregator(
-                    AccumulatorFactory.createAccumulator(
-                        o.getAggregationFuncName(),
-                        o.getAggregationType(),
-                        Collections.singletonList(node.getSeriesPath().getSeriesType()),
-                        o.getInputExpressions(),
-                        o.getInputAttributes(),
-                        ascending,
-                        o.getStep().isInputRaw()),
-                    o.getStep())));
+    boolean canUseStatistics = true;
+    for (AggregationDescriptor o : aggregationDescriptors) {
+      Accumulator accumulator =
+          AccumulatorFactory.createAccumulator(
+              o.getAggregationFuncName(),
+              o.getAggregationType(),
+              Collections.singletonList(seriesDataType),
+              o.getInputExpressions(),
+              o.getInputAttributes(),
+              ascending,
+              o.getStep().isInputRaw());
+      if (!judgeCanUseStatistics(o.getAggregationType(), seriesDataType)
+          || !judgeCanUseStatistics(accumulator)) {
+        canUseStatistics = false;
+      }
+      aggregators.add(new TreeAggregator(accumulator, o.getStep()));
+    }
 
     GroupByTimeParameter groupByTimeParameter = node.getGroupByTimeParameter();
     ITimeRangeIterator timeRangeIterator =
@@ -647,10 +653,6 @@ public class OperatorTreeGenerator implements PlanVisitor<Operator, LocalExecuti
                 context.getNextOperatorId(),
                 node.getPlanNodeId(),
                 SeriesAggregationScanOperator.class.getSimpleName());
-    boolean canUseStatistics =
-        !TSDataType.BLOB.equals(node.getSeriesPath().getSeriesType())
-            || (aggregationDescriptors.stream()
-                .allMatch(o -> judgeCanUseStatistics(o.getAggregationType(), TSDataType.BLOB)));
     SeriesAggregationScanOperator aggregateScanOperator =
         new SeriesAggregationScanOperator(
             node.getPlanNodeId(),
@@ -729,19 +731,22 @@ public class OperatorTreeGenerator implements PlanVisitor<Operator, LocalExecuti
                 .getMeasurement();
         int seriesIndex = alignedPath.getMeasurementList().indexOf(inputSeries);
         TSDataType seriesDataType = alignedPath.getSchemaList().get(seriesIndex).getType();
-        if (!judgeCanUseStatistics(descriptor.getAggregationType(), seriesDataType)) {
+        Accumulator accumulator =
+            AccumulatorFactory.createAccumulator(
+                descriptor.getAggregationFuncName(),
+                descriptor.getAggregationType(),
+                Collections.singletonList(seriesDataType),
+                descriptor.getInputExpressions(),
+                descriptor.getInputAttributes(),
+                ascending,
+                descriptor.getStep().isInputRaw());
+        if (!judgeCanUseStatistics(descriptor.getAggregationType(), seriesDataType)
+            || !judgeCanUseStatistics(accumulator)) {
           canUseStatistics = false;
         }
         aggregators.add(
             new TreeAggregator(
-                AccumulatorFactory.createAccumulator(
-                    descriptor.getAggregationFuncName(),
-                    descriptor.getAggregationType(),
-                    Collections.singletonList(seriesDataType),
-                    descriptor.getInputExpressions(),
-                    descriptor.getInputAttributes(),
-                    ascending,
-                    descriptor.getStep().isInputRaw()),
+                accumulator,
                 descriptor.getStep(),
                 Collections.singletonList(
                     new InputLocation[] {new InputLocation(0, seriesIndex)})));
@@ -820,6 +825,12 @@ public class OperatorTreeGenerator implements PlanVisitor<Operator, LocalExecuti
             && !TAggregationType.FIRST_VALUE.equals(aggregationType));
   }
 
+  // UDAF consumes statistics only if it declares them and they are available for its input
+  private boolean judgeCanUseStatistics(final Accumulator accumulator) {
+    return !(accumulator instanceof UDAFAccumulator)
+        || ((UDAFAccumulator) accumulator).canUseStatistics();
+  }
+
   private SeriesScanOptions.Builder getSeriesScanOptionsBuilder(LocalExecutionPlanContext context) {
     SeriesScanOptions.Builder scanOptionsBuilder = new SeriesScanOptions.Builder();
 
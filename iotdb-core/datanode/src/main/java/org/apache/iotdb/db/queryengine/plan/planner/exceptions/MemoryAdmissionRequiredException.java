@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.planner.exceptions;
+
+import org.apache.iotdb.calc.exception.MemoryNotEnoughException;
+import org.apache.iotdb.db.queryengine.plan.planner.PipelineDriverFactory;
+import org.apache.iotdb.db.queryengine.plan.planner.memory.MemoryReservation;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * During planning phase of a fragment instance, if the operators memory is not enough and the
+ * instance could wait for it, this exception will be thrown before waiting, so that the instance
+ * waits outside the map of the fragment instances. The planning is then resumed with the memory
+ * reserved, without generating the operators again.
+ */
+public class MemoryAdmissionRequiredException extends MemoryNotEnoughException {
+
+  private final long estimatedMemorySize;
+
+  private final transient Function<MemoryReservation, List<PipelineDriverFactory>> resumption;
+
+  public MemoryAdmissionRequiredException(
+      long estimatedMemorySize,
+      Function<MemoryReservation, List<PipelineDriverFactory>> resumption) {
+    super(
+        String.format(
+            "Fragment instance needs to wait for %dB operators memory", estimatedMemorySize));
+    this.estimatedMemorySize = estimatedMemorySize;
+    this.resumption = resumption;
+  }
+
+  public long getEstimatedMemorySize() {
+    return estimatedMemorySize;
+  }
+
+  /** Resume the planning with the memory reserved, and get the driver factories planned. */
+  public List<PipelineDriverFactory> resume(MemoryReservation reservation) {
+    return resumption.apply(reservation);
+  }
+}
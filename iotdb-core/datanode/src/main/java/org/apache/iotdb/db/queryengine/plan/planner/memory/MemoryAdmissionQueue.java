@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.planner.memory;
+
+import org.apache.iotdb.commons.memory.IMemoryBlock;
+import org.apache.iotdb.db.queryengine.plan.planner.exceptions.MemoryAdmissionRequiredException;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Admits the fragment instances to the operators memory. When the memory is not enough, the
+ * fragment instances wait in arrival order and are woken up once the memory is released, so that a
+ * big fragment instance is not starved by the small ones arriving after it.
+ */
+@ThreadSafe
+public class MemoryAdmissionQueue {
+
+  private final IMemoryBlock memoryBlock;
+
+  // The fragment instances waiting for the memory, in arrival order
+  private final Deque<Object> waiters = new ArrayDeque<>();
+
+  public MemoryAdmissionQueue(IMemoryBlock memoryBlock) {
+    this.memoryBlock = memoryBlock;
+  }
+
+  /**
+   * Allocate the memory at once if no fragment instance is waiting, otherwise wait in line until
+   * the memory released is enough.
+   *
+   * @param maxWaitTimeInMs the longest time to wait, not waiting if it is <= 0
+   * @return false if the memory is still not enough when the wait times out or is interrupted
+   */
+  public synchronized boolean allocate(long sizeInBytes, long maxWaitTimeInMs) {
+    if (waiters.isEmpty() && memoryBlock.allocate(sizeInBytes)) {
+      return true;
+    }
+    if (maxWaitTimeInMs <= 0 || sizeInBytes > memoryBlock.getTotalMemorySizeInBytes()) {
+      return false;
+    }
+
+    final Object waiter = new Object();
+    waiters.addLast(waiter);
+    final long startTime = System.currentTimeMillis();
+    try {
+      while (waiters.peekFirst() != waiter || !memoryBlock.allocate(sizeInBytes)) {
+        final long remainingTimeInMs = maxWaitTimeInMs - (System.currentTimeMillis() - startTime);
+        if (remainingTimeInMs <= 0) {
+          return false;
+        }
+        this.wait(remainingTimeInMs);
+      }
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } finally {
+      waiters.remove(waiter);
+      // The next one in line may be admitted with the memory left, or once this one gives up
+      this.notifyAll();
+    }
+  }
+
+  /** Release the memory, and wake up the fragment instances waiting for it. */
+  public synchronized void release(long sizeInBytes) {
+    memoryBlock.release(sizeInBytes);
+    if (!waiters.isEmpty()) {
+      this.notifyAll();
+    }
+  }
+
+  /**
+   * Wait in line for the memory like {@link #allocate(long, long)}, and hand it over as a
+   * reservation, which reserves nothing if the wait times out.
+   */
+  public MemoryReservation reserve(long sizeInBytes, long maxWaitTimeInMs) {
+    return new MemoryReservation(
+        this, allocate(sizeInBytes, maxWaitTimeInMs) ? sizeInBytes : 0, true);
+  }
+
+  /**
+   * Create the value of the key in the map if absent. The creator is first called with {@link
+   * MemoryReservation#NONE}, and may throw {@link MemoryAdmissionRequiredException} to ask for the
+   * memory. The memory is then waited for outside the map, since waiting inside {@link
+   * ConcurrentMap#computeIfAbsent} would hold the lock of the bin of the key, and the creator is
+   * called again with the memory reserved to resume the creation. The memory not taken by the
+   * creator is released.
+   *
+   * @param maxWaitTimeInMs the longest time to wait, not waiting if it is <= 0
+   * @return null if the creator returns null
+   */
+  public <K, V> V computeIfAbsent(
+      ConcurrentMap<K, V> map,
+      K key,
+      long maxWaitTimeInMs,
+      Function<MemoryReservation, V> creator) {
+    final long[] memoryToWaitFor = {0};
+    final V value =
+        map.computeIfAbsent(
+            key,
+            k -> {
+              try {
+                return creator.apply(MemoryReservation.NONE);
+              } catch (MemoryAdmissionRequiredException e) {
+                memoryToWaitFor[0] = e.getEstimatedMemorySize();
+                return null;
+              }
+            });
+    if (value != null || memoryToWaitFor[0] <= 0) {
+      return value;
+    }
+
+    final MemoryReservation reservation = reserve(memoryToWaitFor[0], maxWaitTimeInMs);
+    try {
+      return map.computeIfAbsent(key, k -> creator.apply(reservation));
+    } finally {
+      reservation.release();
+    }
+  }
+
+  public synchronized int getWaitingNum() {
+    return waiters.size();
+  }
+}
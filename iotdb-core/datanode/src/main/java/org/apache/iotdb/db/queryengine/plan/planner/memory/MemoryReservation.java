@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.planner.memory;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The operators memory granted to a fragment instance by the {@link MemoryAdmissionQueue} before
+ * the instance is planned. Planning takes the memory it needs from the reservation, and the rest
+ * is released back to the queue.
+ */
+@ThreadSafe
+public class MemoryReservation {
+
+  /** Reserves nothing, and the instance has not waited for the memory yet. */
+  public static final MemoryReservation NONE = new MemoryReservation(null, 0, false);
+
+  private final MemoryAdmissionQueue queue;
+
+  private long sizeInBytes;
+
+  // Whether the instance has already waited in line, so that it should not wait again
+  private final boolean admissionWaited;
+
+  MemoryReservation(MemoryAdmissionQueue queue, long sizeInBytes, boolean admissionWaited) {
+    this.queue = queue;
+    this.sizeInBytes = sizeInBytes;
+    this.admissionWaited = admissionWaited;
+  }
+
+  public boolean isAdmissionWaited() {
+    return admissionWaited;
+  }
+
+  public synchronized long getSizeInBytes() {
+    return sizeInBytes;
+  }
+
+  /** Take all the memory reserved, which is then owned by the caller. */
+  public synchronized long take() {
+    final long taken = sizeInBytes;
+    sizeInBytes = 0;
+    return taken;
+  }
+
+  /** Release the memory not taken back to the queue. */
+  public void release() {
+    final long remaining = take();
+    if (remaining > 0) {
+      queue.release(remaining);
+    }
+  }
+}
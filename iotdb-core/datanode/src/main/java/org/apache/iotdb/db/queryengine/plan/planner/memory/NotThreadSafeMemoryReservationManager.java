@@ -115,4 +115,9 @@ public class NotThreadSafeMemoryReservationManager implements MemoryReservationM
     reservedBytesInTotal += bytesAlreadyReserved;
     reserveMemoryCumulatively(bytesToBeReserved);
   }
+
+  @Override
+  public long getReservedMemorySize() {
+    return reservedBytesInTotal;
+  }
 }
@@ -61,4 +61,9 @@ public class ThreadSafeMemoryReservationManager extends NotThreadSafeMemoryReser
       final long bytesToBeReserved, final long bytesAlreadyReserved) {
     super.reserveMemoryVirtually(bytesToBeReserved, bytesAlreadyReserved);
   }
+
+  @Override
+  public synchronized long getReservedMemorySize() {
+    return super.getReservedMemorySize();
+  }
 }
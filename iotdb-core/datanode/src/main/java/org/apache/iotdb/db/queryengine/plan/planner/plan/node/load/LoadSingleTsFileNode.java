@@ -96,29 +96,30 @@ public class LoadSingleTsFileNode extends WritePlanNode {
       return true;
     }
 
-    List<Pair<IDeviceID, TTimePartitionSlot>> slotList = new ArrayList<>();
-    resource
-        .getDevices()
-        .forEach(
-            o -> {
-              // iterating the index, must present
-              slotList.add(
-                  new Pair<>(
-                      o, TimePartitionUtils.getTimePartitionSlot(resource.getStartTime(o).get())));
-              slotList.add(
-                  new Pair<>(
-                      o, TimePartitionUtils.getTimePartitionSlot(resource.getEndTime(o).get())));
-            });
+    final List<Pair<IDeviceID, TTimePartitionSlot>> slotList = new ArrayList<>();
+    TTimePartitionSlot timePartitionSlot = null;
+    for (final IDeviceID device : resource.getDevices()) {
+      // iterating the index, must present
+      final TTimePartitionSlot startSlot =
+          TimePartitionUtils.getTimePartitionSlot(resource.getStartTime(device).get());
+      final TTimePartitionSlot endSlot =
+          TimePartitionUtils.getTimePartitionSlot(resource.getEndTime(device).get());
+      if (timePartitionSlot == null) {
+        timePartitionSlot = startSlot;
+      }
+      // A TsFile spanning several time partitions has to be split
+      if (!timePartitionSlot.equals(startSlot) || !timePartitionSlot.equals(endSlot)) {
+        needDecodeTsFile = true;
+        return true;
+      }
+      slotList.add(new Pair<>(device, startSlot));
+    }
 
     if (slotList.isEmpty()) {
       throw new IllegalStateException(
           String.format("Devices in TsFile %s is empty, this should not happen here.", tsFile));
-    } else if (slotList.stream()
-        .anyMatch(slotPair -> !slotPair.getRight().equals(slotList.get(0).right))) {
-      needDecodeTsFile = true;
-    } else {
-      needDecodeTsFile = !isDispatchedToLocal(new HashSet<>(partitionFetcher.apply(slotList)));
     }
+    needDecodeTsFile = !isDispatchedToLocal(new HashSet<>(partitionFetcher.apply(slotList)));
 
     return needDecodeTsFile;
   }
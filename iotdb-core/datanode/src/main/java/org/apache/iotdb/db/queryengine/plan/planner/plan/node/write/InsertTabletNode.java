@@ -1026,7 +1026,7 @@ public class InsertTabletNode extends InsertNode implements WALEntryValue {
         for (int j = start; j < end; j++) {
           if (binaryValues[j] != null && binaryValues[j].getValues() != null) {
             buffer.putInt(binaryValues[j].getLength());
-            buffer.put(binaryValues[j].getValues());
+            buffer.put(binaryValues[j].getValues(), 0, binaryValues[j].getLength());
           } else {
             buffer.putInt(0);
           }
@@ -211,6 +211,15 @@ public class AggregationDescriptor {
         case MIN_BY:
           outputAggregationNames.add(addPartialSuffix(SqlConstant.MIN_BY));
           break;
+        case APPROX_COUNT_DISTINCT:
+          outputAggregationNames.add(addPartialSuffix(SqlConstant.APPROX_COUNT_DISTINCT));
+          break;
+        case APPROX_MOST_FREQUENT:
+          outputAggregationNames.add(addPartialSuffix(SqlConstant.APPROX_MOST_FREQUENT));
+          break;
+        case APPROX_PERCENTILE:
+          outputAggregationNames.add(addPartialSuffix(SqlConstant.APPROX_PERCENTILE));
+          break;
         case UDAF:
           outputAggregationNames.add(addPartialSuffix(aggregationFuncName));
           break;
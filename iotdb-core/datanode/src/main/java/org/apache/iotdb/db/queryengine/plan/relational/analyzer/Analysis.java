@@ -275,7 +275,9 @@ public class Analysis implements IAnalysis {
       return;
     }
     //  the database of table has been judged to be 'information_schema' in outer
-    needSetHighestPriority = InformationSchema.QUERIES.equals(tableName.getObjectName());
+    needSetHighestPriority =
+        InformationSchema.QUERIES.equals(tableName.getObjectName())
+            || InformationSchema.QUERY_RESOURCES.equals(tableName.getObjectName());
   }
 
   public Map<NodeRef<Parameter>, Expression> getParameters() {
@@ -548,6 +548,10 @@ public class TableDeviceSchemaCache {
     return dualKeyCache.stats().requestCount();
   }
 
+  long getEvictionCount() {
+    return dualKeyCache.stats().evictionCount();
+  }
+
   public long getMemoryUsage() {
     return dualKeyCache.stats().memoryUsage();
   }
@@ -60,6 +60,15 @@ public class TableDeviceSchemaCacheMetrics implements IMetricSet {
         DataNodeMemoryConfig.SCHEMA_CACHE,
         Tag.TYPE.toString(),
         "all");
+    metricService.createAutoGauge(
+        Metric.CACHE.toString(),
+        MetricLevel.IMPORTANT,
+        tableDeviceSchemaCache,
+        TableDeviceSchemaCache::getEvictionCount,
+        Tag.NAME.toString(),
+        DataNodeMemoryConfig.SCHEMA_CACHE,
+        Tag.TYPE.toString(),
+        "evict");
     metricService.createAutoGauge(
         Metric.MEM.toString(),
         MetricLevel.IMPORTANT,
@@ -97,6 +106,13 @@ public class TableDeviceSchemaCacheMetrics implements IMetricSet {
         DataNodeMemoryConfig.SCHEMA_CACHE,
         Tag.TYPE.toString(),
         "all");
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.CACHE.toString(),
+        Tag.NAME.toString(),
+        DataNodeMemoryConfig.SCHEMA_CACHE,
+        Tag.TYPE.toString(),
+        "evict");
     metricService.remove(
         MetricType.AUTO_GAUGE,
         Metric.MEM.toString(),
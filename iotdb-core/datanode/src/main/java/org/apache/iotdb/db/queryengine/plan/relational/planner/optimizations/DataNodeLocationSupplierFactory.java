@@ -123,6 +123,7 @@ public class DataNodeLocationSupplierFactory {
         case InformationSchema.CONNECTIONS:
         case InformationSchema.CURRENT_QUERIES:
         case InformationSchema.QUERIES_COSTS_HISTOGRAM:
+        case InformationSchema.QUERY_RESOURCES:
           return getReadableDataNodeLocations();
         case InformationSchema.DATABASES:
         case InformationSchema.TABLES:
@@ -369,6 +369,9 @@ public class LogicalOptimizeFactory {
         // redo columnPrune and inlineProjections after pushPredicateIntoTableScan
         columnPruningOptimizer,
         inlineProjectionLimitFiltersOptimizer,
+        // DeviceEntries are fetched in pushPredicateIntoTableScan, which are needed to estimate the
+        // row counts of the join children
+        new ReorderCrossJoins(),
         new IterativeOptimizer(plannerContext, ruleStats, limitPushdownRules),
         new PushLimitOffsetIntoTableScan(),
         new IterativeOptimizer(
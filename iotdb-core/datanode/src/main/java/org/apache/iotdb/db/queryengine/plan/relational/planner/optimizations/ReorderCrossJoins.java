@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.relational.planner.optimizations;
+
+import org.apache.iotdb.commons.queryengine.plan.planner.plan.node.PlanNode;
+import org.apache.iotdb.commons.queryengine.plan.relational.planner.Assignments;
+import org.apache.iotdb.commons.queryengine.plan.relational.planner.Symbol;
+import org.apache.iotdb.commons.queryengine.plan.relational.planner.node.JoinNode;
+import org.apache.iotdb.commons.queryengine.plan.relational.planner.node.ProjectNode;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.queryengine.common.QueryId;
+import org.apache.iotdb.db.queryengine.plan.relational.planner.SimplePlanRewriter;
+import org.apache.iotdb.db.queryengine.plan.relational.statistics.RowCountEstimator;
+import org.apache.iotdb.db.queryengine.plan.relational.statistics.TableStatistics;
+
+import com.google.common.collect.ImmutableSet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <b>Optimization phase:</b> Logical plan planning.
+ *
+ * <p>Reorder the children of the cross joins by the row counts estimated with {@link
+ * TableStatistics}. A cross join is executed by nested loop, which materializes its right child
+ * and streams its left child. So the largest child is put on the left, and the other children are
+ * joined in ascending order of their row counts to keep the intermediate results small. The plan
+ * is kept if any row count is unknown or the new order is not cheaper.
+ *
+ * <p>Equi joins are not reordered, since they are executed as merge joins over sorted children.
+ */
+public class ReorderCrossJoins implements PlanOptimizer {
+
+  private final TableStatistics tableStatistics;
+
+  public ReorderCrossJoins() {
+    this(TableStatistics.getInstance());
+  }
+
+  public ReorderCrossJoins(TableStatistics tableStatistics) {
+    this.tableStatistics = requireNonNull(tableStatistics, "tableStatistics is null");
+  }
+
+  @Override
+  public PlanNode optimize(PlanNode plan, Context context) {
+    if (!IoTDBDescriptor.getInstance().getConfig().isEnableJoinReorder()
+        || !context.getAnalysis().hasJoinNode()) {
+      return plan;
+    }
+    return SimplePlanRewriter.rewriteWith(
+        new Rewriter(context.idAllocator(), new RowCountEstimator(tableStatistics)), plan);
+  }
+
+  private static class Rewriter extends SimplePlanRewriter<Void> {
+
+    private final QueryId queryId;
+    private final RowCountEstimator rowCountEstimator;
+
+    private Rewriter(QueryId queryId, RowCountEstimator rowCountEstimator) {
+      this.queryId = queryId;
+      this.rowCountEstimator = rowCountEstimator;
+    }
+
+    @Override
+    public PlanNode visitJoin(JoinNode node, RewriteContext<Void> context) {
+      if (!node.isCrossJoin()) {
+        return context.defaultRewrite(node);
+      }
+
+      List<PlanNode> sources = new ArrayList<>();
+      flattenCrossJoins(node, sources);
+      List<Double> rowCounts = new ArrayList<>(sources.size());
+      for (PlanNode source : sources) {
+        OptionalDouble rowCount = rowCountEstimator.estimate(source);
+        if (!rowCount.isPresent()) {
+          return context.defaultRewrite(node);
+        }
+        rowCounts.add(rowCount.getAsDouble());
+      }
+
+      List<Integer> order = chooseJoinOrder(rowCounts);
+      if (estimateCost(order, rowCounts) >= estimateCost(originalOrder(sources), rowCounts)) {
+        return context.defaultRewrite(node);
+      }
+
+      Set<Symbol> outputSymbols = ImmutableSet.copyOf(node.getOutputSymbols());
+      PlanNode result = context.rewrite(sources.get(order.get(0)));
+      for (int i = 1; i < order.size(); i++) {
+        PlanNode right = context.rewrite(sources.get(order.get(i)));
+        result =
+            new JoinNode(
+                i == order.size() - 1 ? node.getPlanNodeId() : queryId.genPlanNodeId(),
+                JoinNode.JoinType.INNER,
+                result,
+                right,
+                Collections.emptyList(),
+                Optional.empty(),
+                filterSymbols(result.getOutputSymbols(), outputSymbols),
+                filterSymbols(right.getOutputSymbols(), outputSymbols),
+                Optional.empty(),
+                node.isSpillable());
+      }
+
+      if (!node.getOutputSymbols().equals(result.getOutputSymbols())) {
+        result =
+            new ProjectNode(
+                queryId.genPlanNodeId(), result, Assignments.identity(node.getOutputSymbols()));
+      }
+      return result;
+    }
+
+    private static void flattenCrossJoins(PlanNode node, List<PlanNode> sources) {
+      if (node instanceof JoinNode && ((JoinNode) node).isCrossJoin()) {
+        flattenCrossJoins(((JoinNode) node).getLeftChild(), sources);
+        flattenCrossJoins(((JoinNode) node).getRightChild(), sources);
+      } else {
+        sources.add(node);
+      }
+    }
+
+    private static List<Symbol> filterSymbols(List<Symbol> symbols, Set<Symbol> outputSymbols) {
+      return symbols.stream().filter(outputSymbols::contains).collect(Collectors.toList());
+    }
+  }
+
+  private static List<Integer> originalOrder(List<PlanNode> sources) {
+    List<Integer> order = new ArrayList<>(sources.size());
+    for (int i = 0; i < sources.size(); i++) {
+      order.add(i);
+    }
+    return order;
+  }
+
+  /** The largest source is streamed, and the others are materialized from the smallest. */
+  static List<Integer> chooseJoinOrder(List<Double> rowCounts) {
+    List<Integer> order = new ArrayList<>(rowCounts.size());
+    for (int i = 0; i < rowCounts.size(); i++) {
+      order.add(i);
+    }
+    order.sort(Comparator.comparingDouble(rowCounts::get));
+    order.add(0, order.remove(order.size() - 1));
+    return order;
+  }
+
+  /**
+   * The cost of a left-deep cross join tree is the rows materialized for the right children plus
+   * the rows of the intermediate results.
+   */
+  static double estimateCost(List<Integer> order, List<Double> rowCounts) {
+    double cost = 0;
+    double intermediateRowCount = rowCounts.get(order.get(0));
+    for (int i = 1; i < order.size(); i++) {
+      double rowCount = rowCounts.get(order.get(i));
+      intermediateRowCount *= rowCount;
+      cost += rowCount + intermediateRowCount;
+    }
+    return cost;
+  }
+}
@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.relational.sql.parser;
+
+import org.apache.iotdb.commons.service.metric.MetricService;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.queryengine.metric.QueryParseTreeCacheMetrics;
+import org.apache.iotdb.db.relational.grammar.sql.RelationalSqlLexer;
+import org.apache.iotdb.db.relational.grammar.sql.RelationalSqlParser;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.antlr.v4.runtime.CharStream;
+import org.antlr.v4.runtime.CommonToken;
+import org.antlr.v4.runtime.CommonTokenFactory;
+import org.antlr.v4.runtime.ParserRuleContext;
+import org.antlr.v4.runtime.Token;
+import org.antlr.v4.runtime.TokenFactory;
+import org.antlr.v4.runtime.TokenSource;
+import org.antlr.v4.runtime.misc.Pair;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Cache the ANTLR parse trees of table model queries by their shape, i.e. the tokens with literals
+ * left out, so that queries only differing in literals (e.g. the ones from prepared statements of
+ * clients) share the same parse tree. The grammar has no semantic predicates, hence the parse tree
+ * only depends on the token types.
+ *
+ * <p>The parse trees are only read by the {@link AstBuilder}, so each query still gets its own AST
+ * and nothing analyzed or planned is shared among queries. While the AST of a query is built from a
+ * cached parse tree, the tokens of the parse tree take the text and position of the tokens of that
+ * query, see {@link #bindTokens}.
+ *
+ * <p>The cache is disabled by default, see query_parse_tree_cache_max_size.
+ */
+public class QueryParseTreeCache {
+
+  // Long SQLs are seldom repeated, and their parse trees are expensive to keep
+  private static final int MAX_CACHED_SQL_LENGTH = 8192;
+
+  private static final Set<Integer> LITERAL_TOKEN_TYPES =
+      new HashSet<>(
+          Arrays.asList(
+              RelationalSqlLexer.STRING,
+              RelationalSqlLexer.UNICODE_STRING,
+              RelationalSqlLexer.BINARY_LITERAL,
+              RelationalSqlLexer.INTEGER_VALUE,
+              RelationalSqlLexer.DECIMAL_VALUE,
+              RelationalSqlLexer.DOUBLE_VALUE,
+              RelationalSqlLexer.DATETIME_VALUE));
+
+  // The tokens of the query whose AST is being built by the current thread from a cached parse tree
+  private static final ThreadLocal<BoundTokens> BOUND_TOKENS = new ThreadLocal<>();
+
+  /** The token factory of the lexers whose parse trees may be cached. */
+  public static final TokenFactory<CommonToken> TOKEN_FACTORY = new BindableTokenFactory();
+
+  // Null if the cache is disabled
+  private final Cache<String, RelationalSqlParser.SingleStatementContext> cache;
+
+  private QueryParseTreeCache() {
+    int maxSize = IoTDBDescriptor.getInstance().getConfig().getQueryParseTreeCacheMaxSize();
+    if (maxSize > 0) {
+      cache = Caffeine.newBuilder().maximumSize(maxSize).recordStats().build();
+      MetricService.getInstance().addMetricSet(new QueryParseTreeCacheMetrics(this));
+    } else {
+      cache = null;
+    }
+  }
+
+  public static QueryParseTreeCache getInstance() {
+    return QueryParseTreeCacheHolder.INSTANCE;
+  }
+
+  public boolean isCacheable(String sql) {
+    return cache != null && sql.length() <= MAX_CACHED_SQL_LENGTH;
+  }
+
+  /**
+   * Get the cache key of the tokens lexed by a lexer using {@link #TOKEN_FACTORY}. Literals only
+   * contribute their types, while the other tokens also contribute their text. Tokens of hidden
+   * channels are kept as well, so that the tokens of queries with the same key are aligned.
+   */
+  public static String getKey(List<Token> tokens) {
+    StringBuilder key = new StringBuilder();
+    for (Token token : tokens) {
+      key.append(token.getType());
+      if (token.getChannel() == Token.DEFAULT_CHANNEL
+          && !LITERAL_TOKEN_TYPES.contains(token.getType())) {
+        String text = token.getText();
+        key.append(':').append(text.length()).append(':').append(text);
+      }
+      key.append(' ');
+    }
+    return key.toString();
+  }
+
+  public RelationalSqlParser.SingleStatementContext get(String key) {
+    return cache == null ? null : cache.getIfPresent(key);
+  }
+
+  /** Only queries are cached, other statements are seldom repeated. */
+  public void putIfQuery(String key, RelationalSqlParser.SingleStatementContext tree) {
+    if (cache == null || tree.statement() == null || tree.statement().queryStatement() == null) {
+      return;
+    }
+    cache.put(key, tree);
+  }
+
+  /**
+   * Build with a cached parse tree whose tokens take the text and position of the given tokens,
+   * which must have the same key as the tokens of the parse tree. Only the tokens of that parse
+   * tree are bound, so the tokens of other parse trees used while building, e.g. the ones parsed
+   * by the builder itself, keep their own text.
+   */
+  public static <T> T bindTokens(
+      ParserRuleContext cachedTree, List<Token> tokens, Supplier<T> builder) {
+    BoundTokens previous = BOUND_TOKENS.get();
+    BOUND_TOKENS.set(new BoundTokens(cachedTree.getStart().getTokenSource(), tokens));
+    try {
+      return builder.get();
+    } finally {
+      if (previous == null) {
+        BOUND_TOKENS.remove();
+      } else {
+        BOUND_TOKENS.set(previous);
+      }
+    }
+  }
+
+  public long getHitCount() {
+    return cache == null ? 0 : cache.stats().hitCount();
+  }
+
+  public long getRequestCount() {
+    return cache == null ? 0 : cache.stats().requestCount();
+  }
+
+  private static class BoundTokens {
+
+    // The lexer of the cached parse tree, identifying the tokens to bind
+    private final TokenSource tokenSource;
+    private final List<Token> tokens;
+
+    private BoundTokens(TokenSource tokenSource, List<Token> tokens) {
+      this.tokenSource = tokenSource;
+      this.tokens = tokens;
+    }
+  }
+
+  private static class BindableTokenFactory extends CommonTokenFactory {
+
+    @Override
+    public CommonToken create(
+        Pair<TokenSource, CharStream> source,
+        int type,
+        String text,
+        int channel,
+        int start,
+        int stop,
+        int line,
+        int charPositionInLine) {
+      CommonToken token = new BindableToken(source, type, channel, start, stop);
+      token.setLine(line);
+      token.setCharPositionInLine(charPositionInLine);
+      if (text != null) {
+        token.setText(text);
+      }
+      return token;
+    }
+
+    @Override
+    public CommonToken create(int type, String text) {
+      return new BindableToken(type, text);
+    }
+  }
+
+  /** A token delegating to the token at the same index of the bound tokens, if any. */
+  private static class BindableToken extends CommonToken {
+
+    private BindableToken(
+        Pair<TokenSource, CharStream> source, int type, int channel, int start, int stop) {
+      super(source, type, channel, start, stop);
+    }
+
+    private BindableToken(int type, String text) {
+      super(type, text);
+    }
+
+    private Token getBoundToken() {
+      BoundTokens boundTokens = BOUND_TOKENS.get();
+      if (boundTokens == null || boundTokens.tokenSource != getTokenSource()) {
+        return this;
+      }
+      int index = getTokenIndex();
+      return index < 0 || index >= boundTokens.tokens.size() ? this : boundTokens.tokens.get(index);
+    }
+
+    @Override
+    public String getText() {
+      Token token = getBoundToken();
+      return token == this ? super.getText() : token.getText();
+    }
+
+    @Override
+    public int getLine() {
+      Token token = getBoundToken();
+      return token == this ? super.getLine() : token.getLine();
+    }
+
+    @Override
+    public int getCharPositionInLine() {
+      Token token = getBoundToken();
+      return token == this ? super.getCharPositionInLine() : token.getCharPositionInLine();
+    }
+  }
+
+  private static class QueryParseTreeCacheHolder {
+
+    private static final QueryParseTreeCache INSTANCE = new QueryParseTreeCache();
+
+    private QueryParseTreeCacheHolder() {}
+  }
+}
@@ -62,6 +62,8 @@ public class SqlParser {
 
   private static final PerformanceOverviewMetrics PERFORMANCE_OVERVIEW_METRICS =
       PerformanceOverviewMetrics.getInstance();
+  private static final QueryParseTreeCache QUERY_PARSE_TREE_CACHE =
+      QueryParseTreeCache.getInstance();
 
   private static final ANTLRErrorListener LEXER_ERROR_LISTENER =
       new BaseErrorListener() {
@@ -104,20 +106,12 @@ public class SqlParser {
   }
 
   public Statement createStatement(String sql, ZoneId zoneId, IClientSession clientSession) {
-    return (Statement)
-        invokeParser("statement", sql, RelationalSqlParser::singleStatement, zoneId, clientSession);
+    return invokeStatementParser(sql, Optional.empty(), zoneId, clientSession);
   }
 
   public Statement createStatement(
       String sql, NodeLocation location, ZoneId zoneId, IClientSession clientSession) {
-    return (Statement)
-        invokeParser(
-            "statement",
-            sql,
-            Optional.ofNullable(location),
-            RelationalSqlParser::singleStatement,
-            zoneId,
-            clientSession);
+    return invokeStatementParser(sql, Optional.ofNullable(location), zoneId, clientSession);
   }
 
   public Expression createExpression(String expression, ZoneId zoneId) {
@@ -131,13 +125,29 @@ public class SqlParser {
         invokeParser("type", expression, RelationalSqlParser::standaloneType, zoneId, null);
   }
 
+  private Statement invokeStatementParser(
+      String sql,
+      Optional<NodeLocation> location,
+      ZoneId zoneId,
+      IClientSession clientSession) {
+    return (Statement)
+        invokeParser(
+            "statement",
+            sql,
+            location,
+            RelationalSqlParser::singleStatement,
+            zoneId,
+            clientSession,
+            initializer == DEFAULT_PARSER_INITIALIZER && QUERY_PARSE_TREE_CACHE.isCacheable(sql));
+  }
+
   private Node invokeParser(
       String name,
       String sql,
       Function<RelationalSqlParser, ParserRuleContext> parseFunction,
       ZoneId zoneId,
       IClientSession clientSession) {
-    return invokeParser(name, sql, Optional.empty(), parseFunction, zoneId, clientSession);
+    return invokeParser(name, sql, Optional.empty(), parseFunction, zoneId, clientSession, false);
   }
 
   private Node invokeParser(
@@ -146,11 +156,16 @@ public class SqlParser {
       Optional<NodeLocation> location,
       Function<RelationalSqlParser, ParserRuleContext> parseFunction,
       ZoneId zoneId,
-      IClientSession clientSession) {
+      IClientSession clientSession,
+      boolean useQueryParseTreeCache) {
     long startTime = System.nanoTime();
     try {
       RelationalSqlLexer lexer =
           new RelationalSqlLexer(new CaseInsensitiveStream(CharStreams.fromString(sql)));
+      if (useQueryParseTreeCache) {
+        // The tokens of cached parse trees take the literals of the query being built
+        lexer.setTokenFactory(QueryParseTreeCache.TOKEN_FACTORY);
+      }
       CommonTokenStream tokenStream = new CommonTokenStream(lexer);
       RelationalSqlParser parser = new RelationalSqlParser(tokenStream);
       initializer.accept(lexer, parser);
@@ -176,19 +191,34 @@ public class SqlParser {
       parser.removeErrorListeners();
       parser.addErrorListener(PARSER_ERROR_HANDLER);
 
-      ParserRuleContext tree;
+      ParserRuleContext tree = null;
+      String cacheKey = null;
+      boolean isCachedTree = false;
       try {
-        try {
-          // first, try parsing with potentially faster SLL mode
-          parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
-          tree = parseFunction.apply(parser);
-        } catch (ParsingException ex) {
-          // if we fail, parse with LL mode
-          tokenStream.seek(0); // rewind input stream
-          parser.reset();
-
-          parser.getInterpreter().setPredictionMode(PredictionMode.LL);
-          tree = parseFunction.apply(parser);
+        if (useQueryParseTreeCache) {
+          // Queries differing only in literals share the same parse tree
+          tokenStream.fill();
+          cacheKey = QueryParseTreeCache.getKey(tokenStream.getTokens());
+          tree = QUERY_PARSE_TREE_CACHE.get(cacheKey);
+          isCachedTree = tree != null;
+        }
+        if (tree == null) {
+          try {
+            // first, try parsing with potentially faster SLL mode
+            parser.getInterpreter().setPredictionMode(PredictionMode.SLL);
+            tree = parseFunction.apply(parser);
+          } catch (ParsingException ex) {
+            // if we fail, parse with LL mode
+            tokenStream.seek(0); // rewind input stream
+            parser.reset();
+
+            parser.getInterpreter().setPredictionMode(PredictionMode.LL);
+            tree = parseFunction.apply(parser);
+          }
+          if (cacheKey != null) {
+            QUERY_PARSE_TREE_CACHE.putIfQuery(
+                cacheKey, (RelationalSqlParser.SingleStatementContext) tree);
+          }
         }
       } catch (ParsingException e) {
         location.ifPresent(
@@ -204,7 +234,14 @@ public class SqlParser {
         throw e;
       }
 
-      return new AstBuilder(location.orElse(null), zoneId, clientSession).visit(tree);
+      AstBuilder astBuilder = new AstBuilder(location.orElse(null), zoneId, clientSession);
+      if (!isCachedTree) {
+        return astBuilder.visit(tree);
+      }
+      // Repeated query, only the AST needs to be built with the literals of this query
+      ParserRuleContext cachedTree = tree;
+      return QueryParseTreeCache.bindTokens(
+          cachedTree, tokenStream.getTokens(), () -> astBuilder.visit(cachedTree));
     } catch (StackOverflowError e) {
       throw new ParsingException(
           name + DataNodeQueryMessages.IS_TOO_LARGE_STACK_OVERFLOW_WHILE_PARSING);
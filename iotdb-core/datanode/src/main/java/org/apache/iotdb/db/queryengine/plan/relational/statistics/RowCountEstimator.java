@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.relational.statistics;
+
+import org.apache.iotdb.commons.queryengine.plan.planner.plan.node.PlanNode;
+import org.apache.iotdb.commons.queryengine.plan.relational.planner.node.AggregationNode;
+import org.apache.iotdb.commons.queryengine.plan.relational.planner.node.EnforceSingleRowNode;
+import org.apache.iotdb.commons.queryengine.plan.relational.planner.node.FilterNode;
+import org.apache.iotdb.commons.queryengine.plan.relational.planner.node.JoinNode;
+import org.apache.iotdb.commons.queryengine.plan.relational.planner.node.LimitNode;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.node.PlanVisitor;
+import org.apache.iotdb.db.queryengine.plan.relational.planner.node.AggregationTableScanNode;
+import org.apache.iotdb.db.queryengine.plan.relational.planner.node.DeviceTableScanNode;
+
+import java.util.OptionalDouble;
+
+/**
+ * Estimate the output row count of a logical plan with {@link TableStatistics}. Empty is returned
+ * if the row count of any table scan below is unknown.
+ */
+public class RowCountEstimator implements PlanVisitor<OptionalDouble, Void> {
+
+  // Selectivity of a predicate, since there are no column statistics to estimate it
+  private static final double DEFAULT_PREDICATE_SELECTIVITY = 0.5;
+
+  private final TableStatistics tableStatistics;
+
+  public RowCountEstimator(TableStatistics tableStatistics) {
+    this.tableStatistics = tableStatistics;
+  }
+
+  public OptionalDouble estimate(PlanNode node) {
+    return node.accept(this, null);
+  }
+
+  @Override
+  public OptionalDouble visitPlan(PlanNode node, Void context) {
+    // Other nodes with only one child don't change the row count much
+    return node.getChildren().size() == 1
+        ? node.getChildren().get(0).accept(this, context)
+        : OptionalDouble.empty();
+  }
+
+  @Override
+  public OptionalDouble visitDeviceTableScan(DeviceTableScanNode node, Void context) {
+    OptionalDouble averageDeviceRowCount =
+        tableStatistics.getAverageDeviceRowCount(
+            node.getQualifiedObjectName().getDatabaseName(),
+            node.getQualifiedObjectName().getObjectName());
+    if (!averageDeviceRowCount.isPresent()) {
+      return OptionalDouble.empty();
+    }
+    double rowCount = averageDeviceRowCount.getAsDouble() * node.getDeviceEntries().size();
+    if (node.getPushDownPredicate() != null) {
+      rowCount *= DEFAULT_PREDICATE_SELECTIVITY;
+    }
+    if (node.getPushDownLimit() > 0) {
+      rowCount = Math.min(rowCount, node.getPushDownLimit());
+    }
+    return OptionalDouble.of(rowCount);
+  }
+
+  @Override
+  public OptionalDouble visitAggregationTableScan(AggregationTableScanNode node, Void context) {
+    return OptionalDouble.empty();
+  }
+
+  @Override
+  public OptionalDouble visitFilter(FilterNode node, Void context) {
+    OptionalDouble rowCount = node.getChild().accept(this, context);
+    return rowCount.isPresent()
+        ? OptionalDouble.of(rowCount.getAsDouble() * DEFAULT_PREDICATE_SELECTIVITY)
+        : rowCount;
+  }
+
+  @Override
+  public OptionalDouble visitLimit(LimitNode node, Void context) {
+    OptionalDouble rowCount = node.getChild().accept(this, context);
+    return rowCount.isPresent()
+        ? OptionalDouble.of(Math.min(rowCount.getAsDouble(), node.getCount()))
+        : OptionalDouble.of(node.getCount());
+  }
+
+  @Override
+  public OptionalDouble visitEnforceSingleRow(EnforceSingleRowNode node, Void context) {
+    return OptionalDouble.of(1);
+  }
+
+  @Override
+  public OptionalDouble visitAggregation(AggregationNode node, Void context) {
+    if (node.hasSingleGlobalAggregation()) {
+      return OptionalDouble.of(1);
+    }
+    // The row count of the child is the upper bound without the NDV of the grouping keys
+    return node.getChild().accept(this, context);
+  }
+
+  @Override
+  public OptionalDouble visitJoin(JoinNode node, Void context) {
+    OptionalDouble leftRowCount = node.getLeftChild().accept(this, context);
+    OptionalDouble rightRowCount = node.getRightChild().accept(this, context);
+    if (!leftRowCount.isPresent() || !rightRowCount.isPresent()) {
+      return OptionalDouble.empty();
+    }
+    // Equi joins are mostly joins on time, so take the larger side as the estimation
+    return node.isCrossJoin()
+        ? OptionalDouble.of(leftRowCount.getAsDouble() * rightRowCount.getAsDouble())
+        : OptionalDouble.of(Math.max(leftRowCount.getAsDouble(), rightRowCount.getAsDouble()));
+  }
+}
@@ -0,0 +1,414 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.relational.statistics;
+
+import org.apache.iotdb.calc.execution.operator.source.relational.aggregation.approximate.HyperLogLog;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.concurrent.threadpool.ScheduledExecutorUtil;
+import org.apache.iotdb.commons.utils.CommonDateTimeUtils;
+import org.apache.iotdb.commons.utils.TestOnly;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.DataNodeTTLCache;
+import org.apache.iotdb.db.storageengine.StorageEngine;
+import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
+import org.apache.iotdb.db.storageengine.dataregion.modification.ModEntry;
+import org.apache.iotdb.db.storageengine.dataregion.read.control.FileReaderManager;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileID;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ITimeIndex;
+
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.file.metadata.TimeseriesMetadata;
+import org.apache.tsfile.file.metadata.statistics.Statistics;
+import org.apache.tsfile.read.TsFileDeviceIterator;
+import org.apache.tsfile.read.TsFileSequenceReader;
+import org.apache.tsfile.utils.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row counts and device counts of the table model tables, recomputed periodically from the metadata
+ * of the sealed TsFiles of the local DataRegions. The rows deleted by the mods files and the rows
+ * expired by the TTL are left out proportionally to the time ranges they cover, and the data that
+ * has not been flushed yet is not counted. They are only used to compare the sizes of the tables
+ * in a query, so the statistics of the local DataRegions are taken as a sample of the whole table.
+ */
+public class TableStatistics {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TableStatistics.class);
+
+  // 256 registers, about 1KB for each table
+  private static final double DEVICE_NDV_STANDARD_ERROR = 0.065;
+
+  // Measurement id of the time column of the aligned devices
+  private static final String TIME_COLUMN_ID = "";
+
+  // Statistics of the sealed TsFiles, reused by the following refreshes until the file is removed
+  // or its mods change. Only accessed by the refreshing thread.
+  private final Map<TsFileID, TsFileTableStatistics> tsFileStatisticsCache = new HashMap<>();
+
+  // database -> table -> average row count of the devices
+  private volatile Map<String, Map<String, Double>> databaseTableStatisticsMap =
+      new ConcurrentHashMap<>();
+
+  private ScheduledExecutorService refreshExecutor;
+
+  private TableStatistics() {}
+
+  public static TableStatistics getInstance() {
+    return TableStatisticsHolder.INSTANCE;
+  }
+
+  public synchronized void start() {
+    IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+    // Only the join reorder uses the statistics
+    if (refreshExecutor != null || !config.isEnableJoinReorder()) {
+      return;
+    }
+    long intervalInMs = config.getTableStatisticsRefreshIntervalInMs();
+    refreshExecutor =
+        IoTDBThreadPoolFactory.newSingleThreadScheduledExecutor(
+            ThreadName.TABLE_STATISTICS_REFRESH.getName());
+    ScheduledExecutorUtil.safelyScheduleWithFixedDelay(
+        refreshExecutor, this::refresh, intervalInMs, intervalInMs, TimeUnit.MILLISECONDS);
+  }
+
+  public synchronized void stop() {
+    if (refreshExecutor == null) {
+      return;
+    }
+    refreshExecutor.shutdownNow();
+    refreshExecutor = null;
+  }
+
+  private void refresh() {
+    refresh(StorageEngine.getInstance().getAllDataRegions());
+  }
+
+  synchronized void refresh(List<DataRegion> dataRegions) {
+    Map<String, Map<String, TableStatisticsEntry>> entries = new HashMap<>();
+    Set<TsFileID> liveTsFiles = new HashSet<>();
+    for (DataRegion dataRegion : dataRegions) {
+      if (!dataRegion.isTableModel()) {
+        continue;
+      }
+      Map<String, TableStatisticsEntry> tableEntries =
+          entries.computeIfAbsent(dataRegion.getDatabaseName(), k -> new HashMap<>());
+      for (boolean sequence : new boolean[] {true, false}) {
+        for (TsFileResource resource : dataRegion.getTsFileManager().getTsFileList(sequence)) {
+          TsFileTableStatistics tsFileStatistics = getTsFileStatistics(resource);
+          if (tsFileStatistics != null) {
+            liveTsFiles.add(resource.getTsFileID());
+            addTsFile(dataRegion.getDatabaseName(), tableEntries, resource, tsFileStatistics);
+          }
+        }
+      }
+    }
+    tsFileStatisticsCache.keySet().retainAll(liveTsFiles);
+
+    Map<String, Map<String, Double>> newStatisticsMap = new ConcurrentHashMap<>();
+    entries.forEach(
+        (database, tableEntries) -> {
+          Map<String, Double> tableStatisticsMap = new ConcurrentHashMap<>();
+          tableEntries.forEach(
+              (table, entry) ->
+                  entry
+                      .getAverageDeviceRowCount()
+                      .ifPresent(average -> tableStatisticsMap.put(table, average)));
+          newStatisticsMap.put(database, tableStatisticsMap);
+        });
+    databaseTableStatisticsMap = newStatisticsMap;
+  }
+
+  private TsFileTableStatistics getTsFileStatistics(TsFileResource resource) {
+    if (!resource.isClosed() || resource.isDeleted()) {
+      return null;
+    }
+    long modSize = resource.getTotalModSizeInByte();
+    TsFileTableStatistics statistics = tsFileStatisticsCache.get(resource.getTsFileID());
+    if (statistics != null && statistics.modSize == modSize) {
+      return statistics;
+    }
+    // Hold a read reference like queries do, so that the TsFile is not removed while being read
+    FileReaderManager.getInstance().increaseFileReaderReference(resource, true);
+    try {
+      // The TsFile may have been removed by a compaction or a deletion meanwhile
+      if (resource.isDeleted()) {
+        return null;
+      }
+      statistics = readTsFileStatistics(resource, modSize);
+    } catch (Exception e) {
+      LOGGER.warn("Failed to read the table statistics of {}", resource.getTsFilePath(), e);
+      return null;
+    } finally {
+      FileReaderManager.getInstance().decreaseFileReaderReference(resource, true);
+    }
+    tsFileStatisticsCache.put(resource.getTsFileID(), statistics);
+    return statistics;
+  }
+
+  private TsFileTableStatistics readTsFileStatistics(TsFileResource resource, long modSize)
+      throws IOException {
+    Collection<ModEntry> modEntries = resource.getAllModEntries();
+    TsFileTableStatistics statistics = new TsFileTableStatistics(modSize);
+    // The reader is shared with the queries and closed by the FileReaderManager
+    TsFileSequenceReader reader =
+        FileReaderManager.getInstance().get(resource.getTsFilePath(), resource.getTsFileID(), true);
+    TsFileDeviceIterator deviceIterator = reader.getAllDevicesIteratorWithIsAligned();
+    List<TimeseriesMetadata> timeColumnMetadata = new ArrayList<>(1);
+    while (deviceIterator.hasNext()) {
+      Pair<IDeviceID, Boolean> deviceIsAligned = deviceIterator.next();
+      if (!Boolean.TRUE.equals(deviceIsAligned.getRight())) {
+        continue;
+      }
+      timeColumnMetadata.clear();
+      reader.readITimeseriesMetadata(
+          timeColumnMetadata,
+          deviceIterator.getFirstMeasurementNodeOfCurrentDevice(),
+          TIME_COLUMN_ID);
+      if (timeColumnMetadata.isEmpty()) {
+        continue;
+      }
+      IDeviceID deviceID = deviceIsAligned.getLeft();
+      Statistics<?> timeStatistics = timeColumnMetadata.get(0).getStatistics();
+      double rowCount =
+          timeStatistics.getCount()
+              * getRemainingRatio(
+                  deviceID,
+                  timeStatistics.getStartTime(),
+                  timeStatistics.getEndTime(),
+                  modEntries);
+      statistics.addDevice(
+          deviceID.getTableName(),
+          rowCount,
+          timeStatistics.getStartTime(),
+          timeStatistics.getEndTime());
+    }
+    return statistics;
+  }
+
+  private void addTsFile(
+      String database,
+      Map<String, TableStatisticsEntry> tableEntries,
+      TsFileResource resource,
+      TsFileTableStatistics tsFileStatistics) {
+    Set<String> unexpiredTables = new HashSet<>();
+    for (String table : tsFileStatistics.tableStatisticsMap.keySet()) {
+      if (tableEntries
+          .computeIfAbsent(table, k -> new TableStatisticsEntry(getTTLLowerBound(database, table)))
+          .add(tsFileStatistics, table)) {
+        unexpiredTables.add(table);
+      }
+    }
+    // The devices are only counted across the TsFiles when they are held in memory already
+    if (!unexpiredTables.isEmpty()
+        && resource.getTimeIndexType() == ITimeIndex.ARRAY_DEVICE_TIME_INDEX_TYPE) {
+      for (IDeviceID deviceID : resource.getDevices()) {
+        if (unexpiredTables.contains(deviceID.getTableName())) {
+          tableEntries.get(deviceID.getTableName()).addDevice(deviceID);
+        }
+      }
+    }
+  }
+
+  private static long getTTLLowerBound(String database, String table) {
+    long ttl = DataNodeTTLCache.getInstance().getTTLForTable(database, table);
+    return ttl == Long.MAX_VALUE ? Long.MIN_VALUE : CommonDateTimeUtils.currentTime() - ttl;
+  }
+
+  /**
+   * @return the ratio of the rows of the device in [startTime, endTime] which are not deleted by
+   *     the mod entries, assuming that the rows are evenly distributed in the time range
+   */
+  static double getRemainingRatio(
+      IDeviceID deviceID, long startTime, long endTime, Collection<ModEntry> modEntries) {
+    List<long[]> deletedRanges = new ArrayList<>();
+    for (ModEntry modEntry : modEntries) {
+      if (modEntry.getStartTime() > endTime
+          || modEntry.getEndTime() < startTime
+          || !modEntry.affectsAll(deviceID)) {
+        continue;
+      }
+      deletedRanges.add(
+          new long[] {
+            Math.max(startTime, modEntry.getStartTime()), Math.min(endTime, modEntry.getEndTime())
+          });
+    }
+    if (deletedRanges.isEmpty()) {
+      return 1;
+    }
+    deletedRanges.sort((a, b) -> Long.compare(a[0], b[0]));
+    double deletedLength = 0;
+    long[] current = deletedRanges.get(0);
+    for (int i = 1; i < deletedRanges.size(); i++) {
+      long[] range = deletedRanges.get(i);
+      if (range[0] <= current[1]) {
+        current[1] = Math.max(current[1], range[1]);
+      } else {
+        deletedLength += getLength(current[0], current[1]);
+        current = range;
+      }
+    }
+    deletedLength += getLength(current[0], current[1]);
+    return Math.max(0, 1 - deletedLength / getLength(startTime, endTime));
+  }
+
+  /**
+   * @return the ratio of the rows in [startTime, endTime] which are not expired, assuming that the
+   *     rows are evenly distributed in the time range
+   */
+  static double getUnexpiredRatio(long startTime, long endTime, long ttlLowerBound) {
+    if (startTime >= ttlLowerBound) {
+      return 1;
+    }
+    if (endTime < ttlLowerBound) {
+      return 0;
+    }
+    return getLength(ttlLowerBound, endTime) / getLength(startTime, endTime);
+  }
+
+  private static double getLength(long startTime, long endTime) {
+    return (double) endTime - startTime + 1;
+  }
+
+  /**
+   * @return the estimated average row count of the devices in the table, or empty if no sealed
+   *     TsFile of the table has been found
+   */
+  public OptionalDouble getAverageDeviceRowCount(String database, String table) {
+    Map<String, Double> tableStatisticsMap = databaseTableStatisticsMap.get(database);
+    Double average = tableStatisticsMap == null ? null : tableStatisticsMap.get(table);
+    return average == null ? OptionalDouble.empty() : OptionalDouble.of(average);
+  }
+
+  public void invalidate(String database) {
+    databaseTableStatisticsMap.remove(database);
+  }
+
+  public void invalidate(String database, String table) {
+    Map<String, Double> tableStatisticsMap = databaseTableStatisticsMap.get(database);
+    if (tableStatisticsMap != null) {
+      tableStatisticsMap.remove(table);
+    }
+  }
+
+  @TestOnly
+  public void setAverageDeviceRowCount(String database, String table, double average) {
+    databaseTableStatisticsMap
+        .computeIfAbsent(database, k -> new ConcurrentHashMap<>())
+        .put(table, average);
+  }
+
+  /** Statistics of the tables in a sealed TsFile. */
+  static class TsFileTableStatistics {
+
+    private final long modSize;
+    private final Map<String, TsFileTableStatisticsEntry> tableStatisticsMap = new HashMap<>();
+
+    TsFileTableStatistics(long modSize) {
+      this.modSize = modSize;
+    }
+
+    void addDevice(String table, double rowCount, long startTime, long endTime) {
+      tableStatisticsMap
+          .computeIfAbsent(table, k -> new TsFileTableStatisticsEntry())
+          .addDevice(rowCount, startTime, endTime);
+    }
+  }
+
+  private static class TsFileTableStatisticsEntry {
+
+    private double rowCount = 0;
+    private long startTime = Long.MAX_VALUE;
+    private long endTime = Long.MIN_VALUE;
+    private int deviceCount = 0;
+
+    private void addDevice(double rowCount, long startTime, long endTime) {
+      this.rowCount += rowCount;
+      this.startTime = Math.min(this.startTime, startTime);
+      this.endTime = Math.max(this.endTime, endTime);
+      deviceCount++;
+    }
+  }
+
+  static class TableStatisticsEntry {
+
+    private final long ttlLowerBound;
+    private double rowCount = 0;
+    // Lower bound of the device count when the devices of some TsFiles are not in memory
+    private long maxTsFileDeviceCount = 0;
+    private final HyperLogLog deviceNdv = new HyperLogLog(DEVICE_NDV_STANDARD_ERROR);
+
+    TableStatisticsEntry(long ttlLowerBound) {
+      this.ttlLowerBound = ttlLowerBound;
+    }
+
+    /**
+     * @return false if the table is not in the TsFile or all of its rows in the TsFile are expired
+     */
+    boolean add(TsFileTableStatistics tsFileStatistics, String table) {
+      TsFileTableStatisticsEntry entry = tsFileStatistics.tableStatisticsMap.get(table);
+      if (entry == null) {
+        return false;
+      }
+      double unexpiredRatio = getUnexpiredRatio(entry.startTime, entry.endTime, ttlLowerBound);
+      if (unexpiredRatio <= 0) {
+        return false;
+      }
+      rowCount += entry.rowCount * unexpiredRatio;
+      maxTsFileDeviceCount = Math.max(maxTsFileDeviceCount, entry.deviceCount);
+      return true;
+    }
+
+    void addDevice(IDeviceID deviceID) {
+      deviceNdv.add(deviceID.hashCode());
+    }
+
+    OptionalDouble getAverageDeviceRowCount() {
+      if (maxTsFileDeviceCount == 0) {
+        return OptionalDouble.empty();
+      }
+      long deviceCount = Math.max(maxTsFileDeviceCount, deviceNdv.cardinality());
+      return OptionalDouble.of(rowCount / deviceCount);
+    }
+  }
+
+  private static class TableStatisticsHolder {
+
+    private static final TableStatistics INSTANCE = new TableStatistics();
+
+    private TableStatisticsHolder() {}
+  }
+}
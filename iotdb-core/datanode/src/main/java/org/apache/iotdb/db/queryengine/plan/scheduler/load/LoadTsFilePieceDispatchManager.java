@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.scheduler.load;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.db.i18n.DataNodeQueryMessages;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Dispatches the pieces of a TsFile in the background, so that the pieces of different regions are
+ * dispatched in parallel while the TsFile goes on being split. The pieces of one region are
+ * dispatched in order, and at most maxParallelism pieces are dispatched at the same time.
+ *
+ * <p>It is not thread-safe, and is supposed to be called by the thread splitting the TsFile only.
+ */
+class LoadTsFilePieceDispatchManager {
+
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(LoadTsFilePieceDispatchManager.class);
+
+  private final Executor executor;
+  private final int maxParallelism;
+
+  // The piece being dispatched of each region, so that the pieces of a region are in order
+  private final Map<TConsensusGroupId, CompletableFuture<Boolean>> regionId2DispatchFuture =
+      new HashMap<>();
+
+  LoadTsFilePieceDispatchManager(Executor executor, int maxParallelism) {
+    this.executor = executor;
+    this.maxParallelism = maxParallelism;
+  }
+
+  /**
+   * Dispatch a piece in the background after the last piece of its region, waiting for a piece to
+   * be done if maxParallelism pieces are being dispatched.
+   *
+   * @param dispatchTask dispatches the piece, and returns whether the piece is dispatched
+   * @param onFinish called once the piece is done, or is given up because an earlier piece failed
+   * @return false if any piece waited for failed, then the piece is not dispatched
+   */
+  boolean dispatch(TConsensusGroupId regionId, BooleanSupplier dispatchTask, Runnable onFinish) {
+    boolean isSuccess = waitForDispatch(regionId2DispatchFuture.remove(regionId));
+    while (isSuccess && regionId2DispatchFuture.size() >= maxParallelism) {
+      isSuccess = waitForAnyDispatch();
+    }
+    if (!isSuccess) {
+      onFinish.run();
+      return false;
+    }
+
+    regionId2DispatchFuture.put(
+        regionId,
+        CompletableFuture.supplyAsync(
+            () -> {
+              try {
+                return dispatchTask.getAsBoolean();
+              } finally {
+                onFinish.run();
+              }
+            },
+            executor));
+    return true;
+  }
+
+  /**
+   * Wait for all the pieces being dispatched.
+   *
+   * @return false if any piece failed
+   */
+  boolean waitForAllDispatches() {
+    boolean isAllSuccess = true;
+    for (CompletableFuture<Boolean> dispatchFuture : regionId2DispatchFuture.values()) {
+      isAllSuccess = waitForDispatch(dispatchFuture) && isAllSuccess;
+    }
+    regionId2DispatchFuture.clear();
+    return isAllSuccess;
+  }
+
+  int getDispatchingNum() {
+    return regionId2DispatchFuture.size();
+  }
+
+  private boolean waitForDispatch(CompletableFuture<Boolean> dispatchFuture) {
+    if (dispatchFuture == null) {
+      return true;
+    }
+    try {
+      return dispatchFuture.get();
+    } catch (InterruptedException | ExecutionException e) {
+      if (e instanceof InterruptedException) {
+        Thread.currentThread().interrupt();
+      }
+      LOGGER.warn(DataNodeQueryMessages.INTERRUPT_OR_EXECUTION_ERROR, e);
+      return false;
+    }
+  }
+
+  private boolean waitForAnyDispatch() {
+    try {
+      CompletableFuture.anyOf(regionId2DispatchFuture.values().toArray(new CompletableFuture[0]))
+          .get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOGGER.warn(DataNodeQueryMessages.INTERRUPT_OR_EXECUTION_ERROR, e);
+      return false;
+    } catch (ExecutionException e) {
+      // The failure is reported when the done dispatches are collected below
+    }
+
+    boolean isSuccess = true;
+    final Iterator<CompletableFuture<Boolean>> iterator =
+        regionId2DispatchFuture.values().iterator();
+    while (iterator.hasNext()) {
+      final CompletableFuture<Boolean> dispatchFuture = iterator.next();
+      if (dispatchFuture.isDone()) {
+        iterator.remove();
+        isSuccess = waitForDispatch(dispatchFuture) && isSuccess;
+      }
+    }
+    return isSuccess;
+  }
+}
@@ -26,6 +26,8 @@ import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.common.rpc.thrift.TTimePartitionSlot;
 import org.apache.iotdb.commons.client.IClientManager;
 import org.apache.iotdb.commons.client.sync.SyncDataNodeInternalServiceClient;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
 import org.apache.iotdb.commons.conf.CommonDescriptor;
 import org.apache.iotdb.commons.consensus.ConsensusGroupId;
 import org.apache.iotdb.commons.consensus.DataRegionId;
@@ -106,6 +108,7 @@ import java.util.UUID;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -132,6 +135,14 @@ public class LoadTsFileScheduler implements IScheduler {
   private static final int TRANSMIT_LIMIT =
       CommonDescriptor.getInstance().getConfig().getTTimePartitionSlotTransmitLimit();
 
+  private static final int MAX_DISPATCH_PARALLELISM = CONFIG.getLoadTsFileMaxDispatchParallelism();
+
+  // Dispatches the pieces of the TsFiles, while the TsFiles go on being split. It is shared by all
+  // the loads, so the pieces dispatched at the same time are bounded on the whole node.
+  private static final ExecutorService PIECE_DISPATCH_EXECUTOR =
+      IoTDBThreadPoolFactory.newFixedThreadPool(
+          MAX_DISPATCH_PARALLELISM, ThreadName.LOAD_TSFILE_PIECE_DISPATCHER.getName());
+
   private static final Set<String> LOADING_FILE_SET = new HashSet<>();
 
   private final MPPQueryContext queryContext;
@@ -160,7 +171,7 @@ public class LoadTsFileScheduler implements IScheduler {
     this.fragmentId = distributedQueryPlan.getRootSubPlan().getPlanFragment().getId();
     this.dispatcher = new LoadTsFileDispatcherImpl(internalServiceClientManager, isGeneratedByPipe);
     this.partitionFetcher = new DataPartitionBatchFetcher(partitionFetcher);
-    this.allReplicaSets = new HashSet<>();
+    this.allReplicaSets = ConcurrentHashMap.newKeySet();
     this.isGeneratedByPipe = isGeneratedByPipe;
     this.timePartitionSlotToProgressIndex = new HashMap<>();
     this.block = LoadTsFileMemoryManager.getInstance().allocateDataCacheMemoryBlock();
@@ -340,6 +351,15 @@ public class LoadTsFileScheduler implements IScheduler {
 
   private boolean dispatchOnePieceNode(
       LoadTsFilePieceNode pieceNode, TRegionReplicaSet replicaSet) {
+    return dispatchPieceInstance(createPieceInstance(pieceNode, replicaSet), pieceNode, replicaSet);
+  }
+
+  /**
+   * Create the instance of the piece, which should be called by the thread splitting the TsFile
+   * since generating the instance id is not thread-safe.
+   */
+  private FragmentInstance createPieceInstance(
+      LoadTsFilePieceNode pieceNode, TRegionReplicaSet replicaSet) {
     allReplicaSets.add(replicaSet);
     FragmentInstance instance =
         new FragmentInstance(
@@ -352,6 +372,11 @@ public class LoadTsFileScheduler implements IScheduler {
             queryContext.isDebug(),
             queryContext.isVerbose());
     instance.setExecutorAndHost(new StorageExecutor(replicaSet));
+    return instance;
+  }
+
+  private boolean dispatchPieceInstance(
+      FragmentInstance instance, LoadTsFilePieceNode pieceNode, TRegionReplicaSet replicaSet) {
     Future<FragInstanceDispatchResult> dispatchResultFuture =
         dispatcher.dispatch(null, Collections.singletonList(instance));
 
@@ -694,6 +719,7 @@ public class LoadTsFileScheduler implements IScheduler {
         regionId2ReplicaSetAndNode;
     private final List<ChunkData> nonDirectionalChunkData;
     private final LoadTsFileDataCacheMemoryBlock block;
+    private final LoadTsFilePieceDispatchManager dispatchManager;
 
     public TsFileDataManager(
         LoadTsFileScheduler scheduler,
@@ -705,6 +731,8 @@ public class LoadTsFileScheduler implements IScheduler {
       this.regionId2ReplicaSetAndNode = new HashMap<>();
       this.nonDirectionalChunkData = new ArrayList<>();
       this.block = block;
+      this.dispatchManager =
+          new LoadTsFilePieceDispatchManager(PIECE_DISPATCH_EXECUTOR, MAX_DISPATCH_PARALLELISM);
     }
 
     private boolean addOrSendTsFileData(TsFileData tsFileData) throws LoadFileException {
@@ -749,7 +777,6 @@ public class LoadTsFileScheduler implements IScheduler {
           if (pieceNode.getDataSize() == 0) { // total data size has been reduced to 0
             break;
           }
-          final boolean isDispatchSuccess = scheduler.dispatchOnePieceNode(pieceNode, replicaSet);
 
           regionId2ReplicaSetAndNode.replace(
               sortedRegionId,
@@ -761,9 +788,8 @@ public class LoadTsFileScheduler implements IScheduler {
                           .getTsFileResource()
                           .getTsFile()))); // can not just remove, because of deletion
           dataSize -= pieceNode.getDataSize();
-          block.reduceMemoryUsage(pieceNode.getDataSize());
 
-          if (!isDispatchSuccess) {
+          if (!dispatchPieceNodeAsync(sortedRegionId, replicaSet, pieceNode)) {
             // Currently there is no retry, so return directly
             return false;
           }
@@ -772,11 +798,35 @@ public class LoadTsFileScheduler implements IScheduler {
             break;
           }
         }
+
+        // The memory of the pieces is released only after they are dispatched
+        if (!block.hasEnoughMemory()) {
+          return waitForAllDispatches();
+        }
       }
 
       return true;
     }
 
+    /**
+     * Dispatch the piece in the background after the last piece of its region. The memory of the
+     * piece is released once it is dispatched.
+     *
+     * @return false if any piece waited for is failed to be dispatched
+     */
+    private boolean dispatchPieceNodeAsync(
+        TConsensusGroupId regionId, TRegionReplicaSet replicaSet, LoadTsFilePieceNode pieceNode) {
+      final FragmentInstance instance = scheduler.createPieceInstance(pieceNode, replicaSet);
+      return dispatchManager.dispatch(
+          regionId,
+          () -> scheduler.dispatchPieceInstance(instance, pieceNode, replicaSet),
+          () -> block.reduceMemoryUsage(pieceNode.getDataSize()));
+    }
+
+    private boolean waitForAllDispatches() {
+      return dispatchManager.waitForAllDispatches();
+    }
+
     private void routeChunkData() throws LoadFileException {
       if (nonDirectionalChunkData.isEmpty()) {
         return;
@@ -831,21 +881,25 @@ public class LoadTsFileScheduler implements IScheduler {
       boolean isAllSuccess = true;
       for (Map.Entry<TConsensusGroupId, Pair<TRegionReplicaSet, LoadTsFilePieceNode>> entry :
           regionId2ReplicaSetAndNode.entrySet()) {
-        block.reduceMemoryUsage(entry.getValue().getRight().getDataSize());
-        if (isAllSuccess
-            && !scheduler.dispatchOnePieceNode(
-                entry.getValue().getRight(), entry.getValue().getLeft())) {
-          LOGGER.warn(
-              "Dispatch piece node {} of TsFile {} error.",
-              entry.getValue(),
-              singleTsFileNode.getTsFileResource().getTsFile());
+        if (!isAllSuccess) {
+          block.reduceMemoryUsage(entry.getValue().getRight().getDataSize());
+        } else if (!dispatchPieceNodeAsync(
+            entry.getKey(), entry.getValue().getLeft(), entry.getValue().getRight())) {
           isAllSuccess = false;
         }
       }
+      isAllSuccess = waitForAllDispatches() && isAllSuccess;
+      if (!isAllSuccess) {
+        LOGGER.warn(
+            "Dispatch piece nodes of TsFile {} error.",
+            singleTsFileNode.getTsFileResource().getTsFile());
+      }
       return isAllSuccess;
     }
 
     private void clear() {
+      // The second phase must not start before all the dispatched pieces are done
+      waitForAllDispatches();
       regionId2ReplicaSetAndNode.clear();
     }
   }
@@ -24,6 +24,7 @@ import org.apache.iotdb.commons.exception.SemanticException;
 import org.apache.iotdb.commons.queryengine.plan.udf.UDFManagementService;
 import org.apache.iotdb.commons.udf.utils.UDFDataTypeTransformer;
 import org.apache.iotdb.db.i18n.DataNodeQueryMessages;
+import org.apache.iotdb.db.queryengine.execution.aggregation.UDAFStatistics;
 import org.apache.iotdb.udf.api.UDAF;
 import org.apache.iotdb.udf.api.customizer.config.UDAFConfigurations;
 import org.apache.iotdb.udf.api.customizer.parameter.UDFParameterValidator;
@@ -62,6 +63,28 @@ public class UDAFInformationInferrer {
     }
   }
 
+  /**
+   * Whether the UDAF consumes the statistics of its input series, so that the aggregation can be
+   * pushed down into the scan.
+   */
+  public boolean canUseStatistics(
+      List<String> childExpressions,
+      List<TSDataType> childExpressionDataTypes,
+      Map<String, String> attributes) {
+    if (childExpressionDataTypes.size() != 1) {
+      return false;
+    }
+    try {
+      return UDAFStatistics.isAvailable(
+          reflectAndGetConfigurations(childExpressions, childExpressionDataTypes, attributes)
+              .getConsumedStatistics(),
+          childExpressionDataTypes.get(0));
+    } catch (Exception e) {
+      // The errors are reported when inferring the output type
+      return false;
+    }
+  }
+
   private UDAFConfigurations reflectAndGetConfigurations(
       List<String> childExpressions,
       List<TSDataType> childExpressionDataTypes,
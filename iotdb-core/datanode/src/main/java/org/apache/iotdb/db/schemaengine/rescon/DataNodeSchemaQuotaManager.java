@@ -62,12 +62,14 @@ public class DataNodeSchemaQuotaManager {
     }
   }
 
-  private void checkDeviceLevel() throws SchemaQuotaExceededException {
+  private void checkDeviceLevel(final int acquireDeviceNumber)
+      throws SchemaQuotaExceededException {
     if (deviceLimit) {
-      if (deviceRemain.get() <= 0) {
+      // A batch may create many devices at once, so all of them must fit into the remain
+      if (deviceRemain.get() < acquireDeviceNumber) {
         throw new SchemaQuotaExceededException(ClusterSchemaQuotaLevel.DEVICE);
       } else {
-        deviceRemain.addAndGet(-1L);
+        deviceRemain.addAndGet(-acquireDeviceNumber);
       }
     }
   }
@@ -75,7 +77,7 @@ public class DataNodeSchemaQuotaManager {
   public void check(final long acquireMeasurementNumber, final int acquireDeviceNumber)
       throws SchemaQuotaExceededException {
     if (acquireDeviceNumber > 0) {
-      checkDeviceLevel();
+      checkDeviceLevel(acquireDeviceNumber);
     }
     // if pass device check, check measurement level
     try {
@@ -83,7 +85,7 @@ public class DataNodeSchemaQuotaManager {
     } catch (final SchemaQuotaExceededException e) {
       // if measurement level check failed, roll back device remain
       if (acquireDeviceNumber > 0) {
-        deviceRemain.addAndGet(1L);
+        deviceRemain.addAndGet(acquireDeviceNumber);
       }
       throw e;
     }
@@ -49,6 +49,7 @@ import org.apache.iotdb.db.schemaengine.schemaregion.read.resp.info.INodeSchemaI
 import org.apache.iotdb.db.schemaengine.schemaregion.read.resp.info.ITimeSeriesSchemaInfo;
 import org.apache.iotdb.db.schemaengine.schemaregion.read.resp.reader.ISchemaReader;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IActivateTemplateInClusterPlan;
+import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IBatchCreateTimeSeriesPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.ICreateAlignedTimeSeriesPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.ICreateTimeSeriesPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IDeactivateTemplatePlan;
@@ -138,6 +139,18 @@ public interface ISchemaRegion {
    */
   void createAlignedTimeSeries(final ICreateAlignedTimeSeriesPlan plan) throws MetadataException;
 
+  /**
+   * Create a batch of non-aligned timeseries in path order. The created ones are written into one
+   * log record, and the failed ones are skipped.
+   *
+   * @param plan a plan describes how to create the timeseries, which only keeps the created ones
+   *     after execution
+   * @return the exceptions of the failed timeseries, keyed by their indexes in the original plan
+   * @throws MetadataException if no timeseries can be created in this region
+   */
+  Map<Integer, MetadataException> createTimeSeriesInBatch(final IBatchCreateTimeSeriesPlan plan)
+      throws MetadataException;
+
   /**
    * Check whether measurement exists.
    *
@@ -166,6 +179,15 @@ public interface ISchemaRegion {
   void checkSchemaQuota(final PartialPath devicePath, final int timeSeriesNum)
       throws SchemaQuotaExceededException;
 
+  /**
+   * Check whether the time series of the devices can be created, which acquires the quota once.
+   *
+   * @param deviceTimeSeriesNumMap the number of time series to create for each device
+   * @throws SchemaQuotaExceededException if the number of time series or devices exceeds the limit
+   */
+  void checkSchemaQuota(final Map<PartialPath, Integer> deviceTimeSeriesNumMap)
+      throws SchemaQuotaExceededException;
+
   /**
    * Check whether table device can be created.
    *
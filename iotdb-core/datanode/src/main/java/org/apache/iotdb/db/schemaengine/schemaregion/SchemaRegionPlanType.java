@@ -45,6 +45,8 @@ public enum SchemaRegionPlanType {
 
   // endregion
 
+  BATCH_CREATE_TIMESERIES((byte) 81),
+
   PRE_DEACTIVATE_TEMPLATE((byte) 0),
   ROLLBACK_PRE_DEACTIVATE_TEMPLATE((byte) 1),
   DEACTIVATE_TEMPLATE((byte) 2),
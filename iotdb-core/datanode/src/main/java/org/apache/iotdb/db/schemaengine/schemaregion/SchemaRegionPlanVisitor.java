@@ -31,6 +31,7 @@ import org.apache.iotdb.db.queryengine.plan.relational.planner.node.schema.Table
 import org.apache.iotdb.db.queryengine.plan.relational.planner.node.schema.TableNodeLocationAddNode;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IActivateTemplateInClusterPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IAutoCreateDeviceMNodePlan;
+import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IBatchCreateTimeSeriesPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IChangeAliasPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IChangeTagOffsetPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.ICreateAlignedTimeSeriesPlan;
@@ -79,6 +80,11 @@ public abstract class SchemaRegionPlanVisitor<R, C> {
     return visitSchemaRegionPlan(createTimeSeriesPlan, context);
   }
 
+  public R visitBatchCreateTimeSeries(
+      final IBatchCreateTimeSeriesPlan batchCreateTimeSeriesPlan, final C context) {
+    return visitSchemaRegionPlan(batchCreateTimeSeriesPlan, context);
+  }
+
   public R visitDeleteTimeSeries(
       final IDeleteTimeSeriesPlan deleteTimeSeriesPlan, final C context) {
     return visitSchemaRegionPlan(deleteTimeSeriesPlan, context);
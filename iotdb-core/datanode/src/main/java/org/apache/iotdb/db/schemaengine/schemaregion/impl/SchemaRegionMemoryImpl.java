@@ -107,6 +107,7 @@ import org.apache.iotdb.db.schemaengine.schemaregion.tag.TagManager;
 import org.apache.iotdb.db.schemaengine.schemaregion.utils.filter.FilterContainsVisitor;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IActivateTemplateInClusterPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IAutoCreateDeviceMNodePlan;
+import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IBatchCreateTimeSeriesPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IChangeAliasPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IChangeTagOffsetPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.ICreateAlignedTimeSeriesPlan;
@@ -147,6 +148,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -675,14 +677,73 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
   }
 
   @Override
-  @SuppressWarnings("squid:S3776") // Suppress high Cognitive Complexity warning
-  public void createTimeSeries(final ICreateTimeSeriesPlan plan, long offset)
+  public void createTimeSeries(final ICreateTimeSeriesPlan plan, final long offset)
       throws MetadataException {
     if (!regionStatistics.isAllowToCreateNewSeries()) {
       throw new SeriesOverflowException(
           regionStatistics.getGlobalMemoryUsage(), regionStatistics.getGlobalSeriesNumber());
     }
 
+    if (createTimeSeriesWithoutLog(plan, offset) && !isRecovering) {
+      writeToMLog(plan);
+    }
+  }
+
+  @Override
+  public Map<Integer, MetadataException> createTimeSeriesInBatch(
+      final IBatchCreateTimeSeriesPlan plan) throws MetadataException {
+    if (!regionStatistics.isAllowToCreateNewSeries()) {
+      throw new SeriesOverflowException(
+          regionStatistics.getGlobalMemoryUsage(), regionStatistics.getGlobalSeriesNumber());
+    }
+
+    final List<ICreateTimeSeriesPlan> createTimeSeriesPlans = plan.getCreateTimeSeriesPlans();
+    // Create the series in path order, so that the series of the same device are created together
+    final Integer[] indexes = new Integer[createTimeSeriesPlans.size()];
+    for (int i = 0; i < indexes.length; i++) {
+      indexes[i] = i;
+    }
+    Arrays.sort(
+        indexes, Comparator.comparing((Integer i) -> createTimeSeriesPlans.get(i).getPath()));
+
+    final Map<Integer, MetadataException> failingExceptionMap = new HashMap<>();
+    final List<ICreateTimeSeriesPlan> createdPlans = new ArrayList<>(indexes.length);
+    for (final int index : indexes) {
+      final ICreateTimeSeriesPlan createTimeSeriesPlan = createTimeSeriesPlans.get(index);
+      // The memory may run out in the middle of a large batch, so check it for each series
+      if (!regionStatistics.isAllowToCreateNewSeries()) {
+        failingExceptionMap.put(
+            index,
+            new SeriesOverflowException(
+                regionStatistics.getGlobalMemoryUsage(),
+                regionStatistics.getGlobalSeriesNumber()));
+        continue;
+      }
+      try {
+        if (createTimeSeriesWithoutLog(createTimeSeriesPlan, -1)) {
+          createdPlans.add(createTimeSeriesPlan);
+        }
+      } catch (final MetadataException e) {
+        failingExceptionMap.put(index, e);
+      }
+    }
+
+    // The created series are logged in one record
+    plan.setCreateTimeSeriesPlans(createdPlans);
+    if (!createdPlans.isEmpty() && !isRecovering) {
+      writeToMLog(plan);
+    }
+    return failingExceptionMap;
+  }
+
+  /**
+   * Create the time series in MTree and the tag file without writing the mlog.
+   *
+   * @return true if the time series is created, false if it has been merged into an existing one
+   */
+  @SuppressWarnings("squid:S3776") // Suppress high Cognitive Complexity warning
+  private boolean createTimeSeriesWithoutLog(final ICreateTimeSeriesPlan plan, long offset)
+      throws MetadataException {
     final IMeasurementMNode<IMemMNode> leafMNode;
 
     try {
@@ -712,7 +773,7 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
         // Write an upsert plan directly
         upsertAliasAndTagsAndAttributes(
             plan.getAlias(), plan.getTags(), plan.getAttributes(), path);
-        return;
+        return false;
       }
 
       // Update statistics and schemaDataTypeNumMap
@@ -728,7 +789,6 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
         tagManager.addIndex(plan.getTags(), leafMNode);
       }
 
-      // Write log
       if (!isRecovering) {
         // Either tags or attributes is not empty
         if ((plan.getTags() != null && !plan.getTags().isEmpty())
@@ -736,12 +796,11 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
           offset = tagManager.writeTagFile(plan.getTags(), plan.getAttributes());
         }
         plan.setTagOffset(offset);
-        writeToMLog(plan);
       }
       if (offset != -1) {
         leafMNode.setOffset(offset);
       }
-
+      return true;
     } catch (IOException e) {
       throw new MetadataException(e);
     }
@@ -897,6 +956,20 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
     }
   }
 
+  @Override
+  public void checkSchemaQuota(final Map<PartialPath, Integer> deviceTimeSeriesNumMap)
+      throws SchemaQuotaExceededException {
+    long timeSeriesNum = 0;
+    int notExistDeviceNum = 0;
+    for (final Map.Entry<PartialPath, Integer> entry : deviceTimeSeriesNumMap.entrySet()) {
+      timeSeriesNum += entry.getValue();
+      if (!mTree.checkDeviceNodeExists(entry.getKey())) {
+        notExistDeviceNum++;
+      }
+    }
+    schemaQuotaManager.check(timeSeriesNum, notExistDeviceNum);
+  }
+
   @Override
   public void checkSchemaQuota(final String tableName, final List<Object[]> deviceIdList)
       throws SchemaQuotaExceededException {
@@ -1836,6 +1909,27 @@ public class SchemaRegionMemoryImpl implements ISchemaRegion {
       }
     }
 
+    @Override
+    public RecoverOperationResult visitBatchCreateTimeSeries(
+        final IBatchCreateTimeSeriesPlan batchCreateTimeSeriesPlan,
+        final SchemaRegionMemoryImpl context) {
+      // Replay all the series of the batch, and report the failed ones together
+      MetadataException failure = null;
+      for (final ICreateTimeSeriesPlan createTimeSeriesPlan :
+          batchCreateTimeSeriesPlan.getCreateTimeSeriesPlans()) {
+        try {
+          createTimeSeries(createTimeSeriesPlan, createTimeSeriesPlan.getTagOffset());
+        } catch (final MetadataException e) {
+          if (failure == null) {
+            failure = e;
+          } else {
+            failure.addSuppressed(e);
+          }
+        }
+      }
+      return failure == null ? RecoverOperationResult.SUCCESS : new RecoverOperationResult(failure);
+    }
+
     @Override
     public RecoverOperationResult visitCreateAlignedTimeSeries(
         final ICreateAlignedTimeSeriesPlan createAlignedTimeSeriesPlan,
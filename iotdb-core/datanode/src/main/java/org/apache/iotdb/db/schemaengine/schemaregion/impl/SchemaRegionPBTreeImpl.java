@@ -85,6 +85,7 @@ import org.apache.iotdb.db.schemaengine.schemaregion.tag.TagManager;
 import org.apache.iotdb.db.schemaengine.schemaregion.utils.filter.FilterContainsVisitor;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IActivateTemplateInClusterPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IAutoCreateDeviceMNodePlan;
+import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IBatchCreateTimeSeriesPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IChangeAliasPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IChangeTagOffsetPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.ICreateAlignedTimeSeriesPlan;
@@ -116,6 +117,7 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -617,6 +619,28 @@ public class SchemaRegionPBTreeImpl implements ISchemaRegion {
     }
   }
 
+  /**
+   * The series are created and logged one by one, since the nodes of PBTree may be evicted and
+   * flushed between the creations.
+   */
+  @Override
+  public Map<Integer, MetadataException> createTimeSeriesInBatch(
+      final IBatchCreateTimeSeriesPlan plan) throws MetadataException {
+    final List<ICreateTimeSeriesPlan> createTimeSeriesPlans = plan.getCreateTimeSeriesPlans();
+    final Map<Integer, MetadataException> failingExceptionMap = new HashMap<>();
+    final List<ICreateTimeSeriesPlan> createdPlans = new ArrayList<>(createTimeSeriesPlans.size());
+    for (int i = 0; i < createTimeSeriesPlans.size(); i++) {
+      try {
+        createTimeSeries(createTimeSeriesPlans.get(i), -1);
+        createdPlans.add(createTimeSeriesPlans.get(i));
+      } catch (final MetadataException e) {
+        failingExceptionMap.put(i, e);
+      }
+    }
+    plan.setCreateTimeSeriesPlans(createdPlans);
+    return failingExceptionMap;
+  }
+
   @Override
   @SuppressWarnings("squid:S3776") // Suppress high Cognitive Complexity warning
   public void createTimeSeries(final ICreateTimeSeriesPlan plan, long offset)
@@ -874,6 +898,20 @@ public class SchemaRegionPBTreeImpl implements ISchemaRegion {
     }
   }
 
+  @Override
+  public void checkSchemaQuota(final Map<PartialPath, Integer> deviceTimeSeriesNumMap)
+      throws SchemaQuotaExceededException {
+    long timeSeriesNum = 0;
+    int notExistDeviceNum = 0;
+    for (final Map.Entry<PartialPath, Integer> entry : deviceTimeSeriesNumMap.entrySet()) {
+      timeSeriesNum += entry.getValue();
+      if (!mtree.checkDeviceNodeExists(entry.getKey())) {
+        notExistDeviceNum++;
+      }
+    }
+    schemaQuotaManager.check(timeSeriesNum, notExistDeviceNum);
+  }
+
   @Override
   public void checkSchemaQuota(final String tableName, final List<Object[]> deviceIdList) {
     throw new UnsupportedOperationException(DataNodeSchemaMessages.TABLE_MODEL_NOT_SUPPORT_PBTREE);
@@ -1625,6 +1663,26 @@ public class SchemaRegionPBTreeImpl implements ISchemaRegion {
       }
     }
 
+    @Override
+    public RecoverOperationResult visitBatchCreateTimeSeries(
+        IBatchCreateTimeSeriesPlan batchCreateTimeSeriesPlan, SchemaRegionPBTreeImpl context) {
+      // Replay all the series of the batch, and report the failed ones together
+      MetadataException failure = null;
+      for (ICreateTimeSeriesPlan createTimeSeriesPlan :
+          batchCreateTimeSeriesPlan.getCreateTimeSeriesPlans()) {
+        try {
+          recoverTimeSeries(createTimeSeriesPlan, createTimeSeriesPlan.getTagOffset());
+        } catch (MetadataException e) {
+          if (failure == null) {
+            failure = e;
+          } else {
+            failure.addSuppressed(e);
+          }
+        }
+      }
+      return failure == null ? RecoverOperationResult.SUCCESS : new RecoverOperationResult(failure);
+    }
+
     @Override
     public RecoverOperationResult visitCreateAlignedTimeSeries(
         ICreateAlignedTimeSeriesPlan createAlignedTimeSeriesPlan, SchemaRegionPBTreeImpl context) {
@@ -42,6 +42,7 @@ import org.apache.iotdb.db.schemaengine.schemaregion.SchemaRegionPlanVisitor;
 import org.apache.iotdb.db.schemaengine.schemaregion.logfile.IDeserializer;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IActivateTemplateInClusterPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IAutoCreateDeviceMNodePlan;
+import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IBatchCreateTimeSeriesPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IChangeAliasPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IChangeTagOffsetPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.ICreateAlignedTimeSeriesPlan;
@@ -281,6 +282,24 @@ public class SchemaRegionPlanDeserializer implements IDeserializer<ISchemaRegion
       return createTimeSeriesPlan;
     }
 
+    @Override
+    public ISchemaRegionPlan visitBatchCreateTimeSeries(
+        final IBatchCreateTimeSeriesPlan batchCreateTimeSeriesPlan, final ByteBuffer buffer) {
+      final int size = buffer.getInt();
+      final List<ICreateTimeSeriesPlan> createTimeSeriesPlans = new ArrayList<>(size);
+      for (int i = 0; i < size; i++) {
+        createTimeSeriesPlans.add(
+            (ICreateTimeSeriesPlan)
+                visitCreateTimeSeries(
+                    (ICreateTimeSeriesPlan)
+                        SchemaRegionWritePlanFactory.getEmptyPlan(
+                            SchemaRegionPlanType.CREATE_TIMESERIES),
+                    buffer));
+      }
+      batchCreateTimeSeriesPlan.setCreateTimeSeriesPlans(createTimeSeriesPlans);
+      return batchCreateTimeSeriesPlan;
+    }
+
     @Override
     public ISchemaRegionPlan visitDeleteTimeSeries(
         final IDeleteTimeSeriesPlan deleteTimeSeriesPlan, final ByteBuffer buffer) {
@@ -38,6 +38,7 @@ import org.apache.iotdb.db.schemaengine.schemaregion.SchemaRegionPlanVisitor;
 import org.apache.iotdb.db.schemaengine.schemaregion.logfile.ISerializer;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IActivateTemplateInClusterPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IAutoCreateDeviceMNodePlan;
+import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IBatchCreateTimeSeriesPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IChangeAliasPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IChangeTagOffsetPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.ICreateAlignedTimeSeriesPlan;
@@ -323,6 +324,27 @@ public class SchemaRegionPlanSerializer implements ISerializer<ISchemaRegionPlan
       }
     }
 
+    @Override
+    public SchemaRegionPlanSerializationResult visitBatchCreateTimeSeries(
+        final IBatchCreateTimeSeriesPlan batchCreateTimeSeriesPlan,
+        final DataOutputStream dataOutputStream) {
+      try {
+        final List<ICreateTimeSeriesPlan> createTimeSeriesPlans =
+            batchCreateTimeSeriesPlan.getCreateTimeSeriesPlans();
+        dataOutputStream.writeInt(createTimeSeriesPlans.size());
+        for (final ICreateTimeSeriesPlan createTimeSeriesPlan : createTimeSeriesPlans) {
+          final SchemaRegionPlanSerializationResult result =
+              visitCreateTimeSeries(createTimeSeriesPlan, dataOutputStream);
+          if (result.isFailed()) {
+            return result;
+          }
+        }
+        return SchemaRegionPlanSerializationResult.SUCCESS;
+      } catch (final IOException e) {
+        return new SchemaRegionPlanSerializationResult(e);
+      }
+    }
+
     @Override
     public SchemaRegionPlanSerializationResult visitDeleteTimeSeries(
         final IDeleteTimeSeriesPlan deleteTimeSeriesPlan, final DataOutputStream dataOutputStream) {
@@ -27,6 +27,7 @@ import org.apache.iotdb.db.schemaengine.schemaregion.SchemaRegionPlanVisitor;
 import org.apache.iotdb.db.schemaengine.schemaregion.logfile.ISerializer;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IActivateTemplateInClusterPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IAutoCreateDeviceMNodePlan;
+import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IBatchCreateTimeSeriesPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IChangeAliasPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.IChangeTagOffsetPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.ICreateAlignedTimeSeriesPlan;
@@ -166,6 +167,22 @@ public class SchemaRegionPlanTxtSerializer implements ISerializer<ISchemaRegionP
       return null;
     }
 
+    @Override
+    public Void visitBatchCreateTimeSeries(
+        IBatchCreateTimeSeriesPlan batchCreateTimeSeriesPlan, StringBuilder stringBuilder) {
+      stringBuilder.append(batchCreateTimeSeriesPlan.getCreateTimeSeriesPlans().size());
+      // Each time series in the batch takes one line
+      for (ICreateTimeSeriesPlan createTimeSeriesPlan :
+          batchCreateTimeSeriesPlan.getCreateTimeSeriesPlans()) {
+        stringBuilder
+            .append(LINE_SEPARATOR)
+            .append(createTimeSeriesPlan.getPlanType().name())
+            .append(FIELD_SEPARATOR);
+        visitCreateTimeSeries(createTimeSeriesPlan, stringBuilder);
+      }
+      return null;
+    }
+
     @Override
     public Void visitCreateTimeSeries(
         ICreateTimeSeriesPlan createTimeSeriesPlan, StringBuilder stringBuilder) {
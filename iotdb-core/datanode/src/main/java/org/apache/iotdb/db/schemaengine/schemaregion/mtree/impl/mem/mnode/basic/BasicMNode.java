@@ -31,7 +31,10 @@ import org.apache.iotdb.commons.schema.node.visitor.MNodeVisitor;
 import org.apache.iotdb.db.i18n.DataNodeSchemaMessages;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.IMemMNode;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.container.MemMNodeContainer;
-import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.info.BasicMNodeInfo;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.estimator.MNodeSizeEstimator;
+
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -44,8 +47,12 @@ public class BasicMNode implements IMemMNode {
 
   private static final long serialVersionUID = -770028375899514063L;
 
+  // The measurement names are repeated across the devices, while the other node names are mostly
+  // distinct, so only the measurement names are interned
+  private static final Interner<String> MEASUREMENT_NAME_INTERNER = Interners.newWeakInterner();
+
   private IMemMNode parent;
-  private final BasicMNodeInfo basicMNodeInfo;
+  private String name;
 
   /** Cached count of measurements in this node's subtree, rebuilt on restart. */
   private long subtreeMeasurementCount = 0L;
@@ -59,7 +66,7 @@ public class BasicMNode implements IMemMNode {
   /** Constructor of MNode. */
   public BasicMNode(IMemMNode parent, String name) {
     this.parent = parent;
-    this.basicMNodeInfo = new BasicMNodeInfo(name);
+    this.name = name;
   }
 
   @Override
@@ -69,12 +76,16 @@ public class BasicMNode implements IMemMNode {
 
   @Override
   public String getName() {
-    return basicMNodeInfo.getName();
+    return name;
   }
 
   @Override
   public void setName(String name) {
-    basicMNodeInfo.setName(name);
+    this.name = name;
+  }
+
+  public static String internMeasurementName(String name) {
+    return name == null ? null : MEASUREMENT_NAME_INTERNER.intern(name);
   }
 
   @Override
@@ -254,23 +265,29 @@ public class BasicMNode implements IMemMNode {
    *   <li>object header, 8B
    *   <li>node attributes
    *       <ol>
-   *         <li>basicMNodeInfo reference, 8B
+   *         <li>name reference, 8B
    *         <li>parent reference, 8B
    *         <li>fullPath reference, 8B
    *         <li>subtreeMeasurementCount, 8B
    *         <li>hasDeviceDescendant, 1B
    *       </ol>
-   *   <li>MapEntry in parent
-   *       <ol>
-   *         <li>key reference, 8B
-   *         <li>value reference, 8B
-   *         <li>entry size, see ConcurrentHashMap.Node, 28
-   *       </ol>
+   *   <li>slots in the children container of parent, see {@link
+   *       MNodeSizeEstimator#getChildSlotSize()}
+   *   <li>name, name length and name hash code, 4 + 4 = 8B, and 2B for each char. The name may be
+   *       shared with other nodes after interned, but it's still counted here to be conservative.
    * </ol>
    */
   @Override
   public int estimateSize() {
-    return 8 + 8 + 8 + 8 + 8 + 1 + 8 + 8 + 28 + basicMNodeInfo.estimateSize();
+    return 8
+        + 8
+        + 8
+        + 8
+        + 8
+        + 1
+        + MNodeSizeEstimator.getChildSlotSize()
+        + 8
+        + 2 * (name == null ? 0 : name.length());
   }
 
   @Override
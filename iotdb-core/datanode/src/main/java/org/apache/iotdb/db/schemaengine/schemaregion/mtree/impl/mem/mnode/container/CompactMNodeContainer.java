@@ -0,0 +1,361 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.container;
+
+import org.apache.iotdb.commons.schema.node.utils.IMNodeContainer;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.IMemMNode;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.basic.BasicMNode;
+
+import javax.validation.constraints.NotNull;
+
+import java.util.AbstractCollection;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * The children container of the memory mode MTree. The children are stored in an open-addressing
+ * table keyed by their names, so there is no entry object or boxed key for each child, which the
+ * ConcurrentHashMap based {@link MemMNodeContainer} takes. The key of a child must be its name, and
+ * the null name is supported.
+ *
+ * <p>Reads and iterations are lock-free and weakly consistent, while updates, including the
+ * compound ones like {@link #computeIfAbsent}, are synchronized.
+ */
+public class CompactMNodeContainer extends AbstractMap<String, IMemMNode>
+    implements IMNodeContainer<IMemMNode> {
+
+  private static final int INITIAL_CAPACITY = 2;
+
+  // Marks a slot whose child has been removed, so that the probing of other children goes on
+  private static final IMemMNode REMOVED = new BasicMNode(null, "");
+
+  @SuppressWarnings("squid:S3077")
+  private volatile AtomicReferenceArray<IMemMNode> table =
+      new AtomicReferenceArray<>(INITIAL_CAPACITY);
+
+  private volatile int size = 0;
+
+  // Number of the slots holding a child or REMOVED, guarded by this
+  private int usedSlots = 0;
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(final Object key) {
+    return get(key) != null;
+  }
+
+  @Override
+  public IMemMNode get(final Object key) {
+    final AtomicReferenceArray<IMemMNode> currentTable = table;
+    final int mask = currentTable.length() - 1;
+    int index = indexOf(key, mask);
+    for (int probes = 0; probes <= mask; probes++) {
+      final IMemMNode node = currentTable.get(index);
+      if (node == null) {
+        return null;
+      }
+      if (node != REMOVED && Objects.equals(node.getName(), key)) {
+        return node;
+      }
+      index = (index + 1) & mask;
+    }
+    return null;
+  }
+
+  @Override
+  public synchronized IMemMNode put(final String key, final IMemMNode value) {
+    final int index = find(key);
+    if (index >= 0) {
+      return table.getAndSet(index, value);
+    }
+    insert(key, value);
+    return null;
+  }
+
+  @Override
+  public synchronized IMemMNode putIfAbsent(final String key, final IMemMNode value) {
+    final int index = find(key);
+    if (index >= 0) {
+      return table.get(index);
+    }
+    insert(key, value);
+    return null;
+  }
+
+  // The default compound updates are built on get, put and remove, so running them with the lock
+  // held makes them atomic
+
+  @Override
+  public IMemMNode computeIfAbsent(
+      final String key, final Function<? super String, ? extends IMemMNode> mappingFunction) {
+    final IMemMNode node = get(key);
+    if (node != null) {
+      return node;
+    }
+    synchronized (this) {
+      return super.computeIfAbsent(key, mappingFunction);
+    }
+  }
+
+  @Override
+  public synchronized IMemMNode computeIfPresent(
+      final String key,
+      final BiFunction<? super String, ? super IMemMNode, ? extends IMemMNode> remappingFunction) {
+    return super.computeIfPresent(key, remappingFunction);
+  }
+
+  @Override
+  public synchronized IMemMNode compute(
+      final String key,
+      final BiFunction<? super String, ? super IMemMNode, ? extends IMemMNode> remappingFunction) {
+    return super.compute(key, remappingFunction);
+  }
+
+  @Override
+  public synchronized IMemMNode merge(
+      final String key,
+      final IMemMNode value,
+      final BiFunction<? super IMemMNode, ? super IMemMNode, ? extends IMemMNode>
+          remappingFunction) {
+    return super.merge(key, value, remappingFunction);
+  }
+
+  @Override
+  public synchronized IMemMNode replace(final String key, final IMemMNode value) {
+    return super.replace(key, value);
+  }
+
+  @Override
+  public synchronized boolean replace(
+      final String key, final IMemMNode oldValue, final IMemMNode newValue) {
+    return super.replace(key, oldValue, newValue);
+  }
+
+  @Override
+  public synchronized IMemMNode remove(final Object key) {
+    final int index = find(key);
+    if (index < 0) {
+      return null;
+    }
+    final IMemMNode removed = table.getAndSet(index, REMOVED);
+    size--;
+    return removed;
+  }
+
+  @Override
+  public synchronized boolean remove(final Object key, final Object value) {
+    final int index = find(key);
+    if (index < 0 || table.get(index) != value) {
+      return false;
+    }
+    table.set(index, REMOVED);
+    size--;
+    return true;
+  }
+
+  @Override
+  public synchronized void clear() {
+    table = new AtomicReferenceArray<>(INITIAL_CAPACITY);
+    usedSlots = 0;
+    size = 0;
+  }
+
+  @Override
+  @NotNull
+  public Collection<IMemMNode> values() {
+    return new AbstractCollection<IMemMNode>() {
+      @Override
+      public Iterator<IMemMNode> iterator() {
+        return new ChildIterator();
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  @Override
+  @NotNull
+  public Set<Map.Entry<String, IMemMNode>> entrySet() {
+    return new AbstractSet<Map.Entry<String, IMemMNode>>() {
+      @Override
+      public Iterator<Map.Entry<String, IMemMNode>> iterator() {
+        final ChildIterator iterator = new ChildIterator();
+        return new Iterator<Map.Entry<String, IMemMNode>>() {
+          @Override
+          public boolean hasNext() {
+            return iterator.hasNext();
+          }
+
+          @Override
+          public Map.Entry<String, IMemMNode> next() {
+            final IMemMNode node = iterator.next();
+            return new SimpleImmutableEntry<>(node.getName(), node);
+          }
+
+          @Override
+          public void remove() {
+            iterator.remove();
+          }
+        };
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  /** Return the slot of the child with the key, or -1 if absent. Called with the lock held. */
+  private int find(final Object key) {
+    final int mask = table.length() - 1;
+    int index = indexOf(key, mask);
+    for (int probes = 0; probes <= mask; probes++) {
+      final IMemMNode node = table.get(index);
+      if (node == null) {
+        return -1;
+      }
+      if (node != REMOVED && Objects.equals(node.getName(), key)) {
+        return index;
+      }
+      index = (index + 1) & mask;
+    }
+    return -1;
+  }
+
+  /** Insert a child absent in the table. Called with the lock held. */
+  private void insert(final String key, final IMemMNode value) {
+    // Keep the load factor no more than 3/4, so that there is always a null slot ending the probes
+    if ((usedSlots + 1) * 4 > table.length() * 3) {
+      rehash(size + 1);
+    }
+    final int mask = table.length() - 1;
+    int index = indexOf(key, mask);
+    IMemMNode node;
+    while ((node = table.get(index)) != null && node != REMOVED) {
+      index = (index + 1) & mask;
+    }
+    if (node == null) {
+      usedSlots++;
+    }
+    table.set(index, value);
+    size++;
+  }
+
+  /** Build a new table without the removed slots, then publish it to the readers. */
+  private void rehash(final int expectedSize) {
+    int capacity = INITIAL_CAPACITY;
+    while (expectedSize * 4 > capacity * 3) {
+      capacity <<= 1;
+    }
+    final AtomicReferenceArray<IMemMNode> oldTable = table;
+    final AtomicReferenceArray<IMemMNode> newTable = new AtomicReferenceArray<>(capacity);
+    final int mask = capacity - 1;
+    int count = 0;
+    for (int i = 0; i < oldTable.length(); i++) {
+      final IMemMNode node = oldTable.get(i);
+      if (node == null || node == REMOVED) {
+        continue;
+      }
+      int index = indexOf(node.getName(), mask);
+      while (newTable.get(index) != null) {
+        index = (index + 1) & mask;
+      }
+      newTable.set(index, node);
+      count++;
+    }
+    usedSlots = count;
+    table = newTable;
+  }
+
+  private static int indexOf(final Object key, final int mask) {
+    final int hash = key == null ? 0 : key.hashCode();
+    return (hash ^ (hash >>> 16)) & mask;
+  }
+
+  /** Iterate the children in the table at the creation of the iterator. */
+  private class ChildIterator implements Iterator<IMemMNode> {
+
+    private final AtomicReferenceArray<IMemMNode> iteratedTable = table;
+    private int nextIndex = 0;
+    private IMemMNode next;
+    private IMemMNode last;
+
+    private ChildIterator() {
+      advance();
+    }
+
+    private void advance() {
+      next = null;
+      while (nextIndex < iteratedTable.length()) {
+        final IMemMNode node = iteratedTable.get(nextIndex++);
+        if (node != null && node != REMOVED) {
+          next = node;
+          return;
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return next != null;
+    }
+
+    @Override
+    public IMemMNode next() {
+      if (next == null) {
+        throw new NoSuchElementException();
+      }
+      last = next;
+      advance();
+      return last;
+    }
+
+    @Override
+    public void remove() {
+      if (last == null) {
+        throw new IllegalStateException();
+      }
+      CompactMNodeContainer.this.remove(last.getName(), last);
+      last = null;
+    }
+  }
+}
@@ -22,7 +22,27 @@ package org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.estim
 public class MNodeSizeEstimator {
   private static int ALIAS_BASE_SIZE = 52;
 
+  /**
+   * The CompactMNodeContainer object and its table, 8 + 8 + 4 + 4 for the container and 8 + 8 + 16
+   * for the AtomicReferenceArray and the array header.
+   */
+  private static final int CHILDREN_CONTAINER_BASE_SIZE = 56;
+
+  /**
+   * The slots taken by one child in the CompactMNodeContainer. The load factor of the table is
+   * between 3/8 and 3/4, so there are about two 8B slots for each child.
+   */
+  private static final int CHILD_SLOT_SIZE = 16;
+
   public static int getAliasBaseSize() {
     return ALIAS_BASE_SIZE;
   }
+
+  public static int getChildrenContainerBaseSize() {
+    return CHILDREN_CONTAINER_BASE_SIZE;
+  }
+
+  public static int getChildSlotSize() {
+    return CHILD_SLOT_SIZE;
+  }
 }
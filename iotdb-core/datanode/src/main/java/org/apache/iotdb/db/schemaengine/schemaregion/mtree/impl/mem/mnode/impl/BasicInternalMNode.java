@@ -28,7 +28,9 @@ import org.apache.iotdb.commons.schema.node.utils.IMNodeContainer;
 import org.apache.iotdb.db.i18n.DataNodeSchemaMessages;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.IMemMNode;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.basic.BasicMNode;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.container.CompactMNodeContainer;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.container.MemMNodeContainer;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.estimator.MNodeSizeEstimator;
 
 /**
  * This class is the implementation of Metadata Node. One MNode instance represents one node in the
@@ -39,7 +41,7 @@ public class BasicInternalMNode extends BasicMNode implements IInternalMNode<IMe
   /**
    * Suppress warnings reason: volatile for double synchronized check.
    *
-   * <p>This will be a ConcurrentHashMap instance
+   * <p>This will be a CompactMNodeContainer instance
    */
   @SuppressWarnings("squid:S3077")
   private transient volatile IMNodeContainer<IMemMNode> children = null;
@@ -92,7 +94,7 @@ public class BasicInternalMNode extends BasicMNode implements IInternalMNode<IMe
       // double check, children is volatile
       synchronized (this) {
         if (children == null) {
-          children = new MemMNodeContainer();
+          children = new CompactMNodeContainer();
         }
       }
     }
@@ -122,7 +124,7 @@ public class BasicInternalMNode extends BasicMNode implements IInternalMNode<IMe
       // double check, children is volatile
       synchronized (this) {
         if (children == null) {
-          children = new MemMNodeContainer();
+          children = new CompactMNodeContainer();
         }
       }
     }
@@ -154,10 +156,14 @@ public class BasicInternalMNode extends BasicMNode implements IInternalMNode<IMe
     this.children = children;
   }
 
-  /** MNodeContainer reference and basic occupation, 8 + 80B. DeviceInfo reference and size. */
+  /** MNodeContainer reference and basic occupation. DeviceInfo reference and size. */
   @Override
   public int estimateSize() {
-    return 8 + 80 + super.estimateSize() + 8 + (deviceInfo == null ? 0 : deviceInfo.estimateSize());
+    return 8
+        + MNodeSizeEstimator.getChildrenContainerBaseSize()
+        + super.estimateSize()
+        + 8
+        + (deviceInfo == null ? 0 : deviceInfo.estimateSize());
   }
 
   @Override
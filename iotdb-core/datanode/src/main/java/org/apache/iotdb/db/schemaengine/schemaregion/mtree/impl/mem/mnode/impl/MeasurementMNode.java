@@ -34,7 +34,8 @@ public class MeasurementMNode extends AbstractMeasurementMNode<IMemMNode, BasicM
   public MeasurementMNode(
       IDeviceMNode<IMemMNode> parent, String name, IMeasurementSchema schema, String alias) {
     super(
-        new BasicMNode(parent == null ? null : parent.getAsMNode(), name),
+        new BasicMNode(
+            parent == null ? null : parent.getAsMNode(), BasicMNode.internMeasurementName(name)),
         new MeasurementInfo(schema, alias));
   }
 
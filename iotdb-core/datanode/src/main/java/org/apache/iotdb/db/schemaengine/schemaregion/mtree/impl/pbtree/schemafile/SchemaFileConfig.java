@@ -40,6 +40,13 @@ public class SchemaFileConfig {
   public static final int SCHEMA_FILE_LOG_SIZE =
       IoTDBDescriptor.getInstance().getConfig().getPBTreeLogSize();
 
+  // whether pages are read through memory-mapped segments of the pbtree file
+  public static final boolean ENABLE_MMAP =
+      IoTDBDescriptor.getInstance().getConfig().isEnablePBTreeMmap();
+
+  // number of pages within one memory-mapped segment, 16 MiB in total
+  public static final int MAPPED_SEGMENT_PAGE_NUM = 1024;
+
   // marks to note the state of pbtree file log
   public static final byte SF_PREPARE_MARK = (byte) 0xfe;
   public static final byte SF_COMMIT_MARK = (byte) 0xff;
@@ -525,6 +525,9 @@ public class BTreePageManager extends PageManager {
 
       long actualSegAddr = page.getAsSegmentedPage().getNextSegAddress(segId);
       Queue<ICachedMNode> initChildren = page.getAsSegmentedPage().getChildren(segId);
+      if (actualSegAddr >= 0) {
+        prefetchPage(getPageIndex(actualSegAddr));
+      }
 
       return new Iterator<ICachedMNode>() {
         long nextSeg = actualSegAddr;
@@ -546,6 +549,10 @@ public class BTreePageManager extends PageManager {
               nPage = getPageInstance(getPageIndex(nextSeg), cxt);
               children = nPage.getAsSegmentedPage().getChildren(getSegIndex(nextSeg));
               nextSeg = nPage.getAsSegmentedPage().getNextSegAddress(getSegIndex(nextSeg));
+              if (nextSeg >= 0) {
+                // the sibling is likely to be read after the children of this page
+                prefetchPage(getPageIndex(nextSeg));
+              }
               // children iteration need not pin page, consistency is guaranteed by upper layer
               if (!hasThisPage) {
                 cxt.referredPages.remove(nPage.getPageIndex());
@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.pbtree.schemafile.pagemgr;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.IoTThreadFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.db.i18n.DataNodeSchemaMessages;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.pbtree.schemafile.SchemaFileConfig;
+import org.apache.iotdb.db.utils.MmapUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.pbtree.schemafile.SchemaFile.getPageAddress;
+
+/**
+ * Loads pages through read-only memory-mapped segments of the pbtree file, so that a page resident
+ * in the OS page cache is copied into the heap without a system call. Writes still go through the
+ * file channel, whose content is shared with the mappings by the OS page cache.
+ *
+ * <p>Only the segments entirely covered by the file are mapped, since accessing a mapping beyond
+ * the end of the file crashes the process. The pages beyond them are read by the channel.
+ *
+ * <p>The segments are unmapped explicitly by {@link #clear()} before the file is closed or deleted,
+ * because an open mapping keeps the file from being deleted on some platforms. Accessing a segment
+ * after it is unmapped also crashes the process, hence the accesses hold the read lock.
+ */
+class MappedPageLoader {
+
+  private static final Logger logger = LoggerFactory.getLogger(MappedPageLoader.class);
+
+  private static final int SEGMENT_PAGE_NUM = SchemaFileConfig.MAPPED_SEGMENT_PAGE_NUM;
+  private static final long SEGMENT_LENGTH = (long) SEGMENT_PAGE_NUM * SchemaFileConfig.PAGE_LENGTH;
+
+  // Touching one byte of each OS page is enough to fault the whole page in
+  private static final int OS_PAGE_SIZE = 4096;
+  private static final int MAX_PENDING_PREFETCH_NUM = 1024;
+
+  // Prefetching is best effort, the tasks are dropped if the queue is full
+  private static final ExecutorService PREFETCH_EXECUTOR =
+      IoTDBThreadPoolFactory.newThreadPool(
+          0,
+          1,
+          60L,
+          TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(MAX_PENDING_PREFETCH_NUM),
+          new IoTThreadFactory(ThreadName.PBTREE_PAGE_PREFETCH.getName()),
+          ThreadName.PBTREE_PAGE_PREFETCH.getName());
+
+  // Keeps the prefetching reads from being optimized away
+  @SuppressWarnings("unused")
+  private static volatile byte prefetchSink;
+
+  private final Map<Integer, MappedByteBuffer> mappedSegments = new ConcurrentHashMap<>();
+
+  // Guards the segments from being unmapped while they are accessed
+  private final ReadWriteLock unmapLock = new ReentrantReadWriteLock();
+
+  /**
+   * Copy the page into the buffer if its segment can be mapped.
+   *
+   * @return false if the page is not covered by a mapped segment
+   */
+  boolean load(FileChannel channel, ByteBuffer dst, int pageIndex) throws IOException {
+    unmapLock.readLock().lock();
+    try {
+      MappedByteBuffer segment = getOrMapSegment(channel, pageIndex);
+      if (segment == null) {
+        return false;
+      }
+      ByteBuffer src = segment.duplicate();
+      int offset = getOffsetInSegment(pageIndex);
+      src.position(offset);
+      src.limit(offset + SchemaFileConfig.PAGE_LENGTH);
+      dst.clear();
+      dst.put(src);
+      return true;
+    } finally {
+      unmapLock.readLock().unlock();
+    }
+  }
+
+  /** Fault the page into the OS page cache asynchronously, if its segment has been mapped. */
+  void prefetch(int pageIndex) {
+    int segmentIndex = pageIndex / SEGMENT_PAGE_NUM;
+    if (!mappedSegments.containsKey(segmentIndex)) {
+      return;
+    }
+    int offset = getOffsetInSegment(pageIndex);
+    try {
+      PREFETCH_EXECUTOR.execute(
+          () -> {
+            unmapLock.readLock().lock();
+            try {
+              // The segment may have been unmapped since the task was submitted
+              MappedByteBuffer segment = mappedSegments.get(segmentIndex);
+              if (segment == null) {
+                return;
+              }
+              byte sink = 0;
+              for (int i = 0; i < SchemaFileConfig.PAGE_LENGTH; i += OS_PAGE_SIZE) {
+                sink ^= segment.get(offset + i);
+              }
+              prefetchSink = sink;
+            } finally {
+              unmapLock.readLock().unlock();
+            }
+          });
+    } catch (RejectedExecutionException e) {
+      logger.debug(DataNodeSchemaMessages.SKIP_PREFETCHING_PAGE, pageIndex);
+    }
+  }
+
+  /** Unmap all the segments, which must be done before the file is closed or deleted. */
+  void clear() {
+    unmapLock.writeLock().lock();
+    try {
+      for (MappedByteBuffer segment : mappedSegments.values()) {
+        MmapUtil.clean(segment);
+      }
+      mappedSegments.clear();
+    } finally {
+      unmapLock.writeLock().unlock();
+    }
+  }
+
+  int getMappedSegmentNum() {
+    return mappedSegments.size();
+  }
+
+  private MappedByteBuffer getOrMapSegment(FileChannel channel, int pageIndex)
+      throws IOException {
+    int segmentIndex = pageIndex / SEGMENT_PAGE_NUM;
+    MappedByteBuffer segment = mappedSegments.get(segmentIndex);
+    if (segment != null) {
+      return segment;
+    }
+    long segmentAddress = getPageAddress(segmentIndex * SEGMENT_PAGE_NUM);
+    if (segmentAddress + SEGMENT_LENGTH > channel.size()) {
+      return null;
+    }
+    segment = channel.map(FileChannel.MapMode.READ_ONLY, segmentAddress, SEGMENT_LENGTH);
+    MappedByteBuffer existing = mappedSegments.putIfAbsent(segmentIndex, segment);
+    return existing == null ? segment : existing;
+  }
+
+  private static int getOffsetInSegment(int pageIndex) {
+    return (pageIndex % SEGMENT_PAGE_NUM) * SchemaFileConfig.PAGE_LENGTH;
+  }
+}
@@ -42,6 +42,8 @@ public class PageIOChannel {
   private FileChannel readChannel;
   private final AtomicInteger logCounter;
   private SchemaFileLogWriter logWriter;
+  // null if pages are not read through memory mapping
+  private final MappedPageLoader mappedPageLoader;
 
   // flush strategy is dependent on consensus protocol, only check protocol on init
   protected FlushPageStrategy flushDirtyPagesStrategy;
@@ -52,6 +54,7 @@ public class PageIOChannel {
     this.channel = channel;
     this.pmtFile = pmtFile;
     this.readChannel = FileChannel.open(pmtFile.toPath(), StandardOpenOption.READ);
+    this.mappedPageLoader = SchemaFileConfig.ENABLE_MMAP ? new MappedPageLoader() : null;
     if (flushWithLogging) {
       // without RATIS, utilize physical logging for integrity
       int pageAcc = (int) recoverFromLog(logPath) / SchemaFileConfig.PAGE_LENGTH;
@@ -80,6 +83,17 @@ public class PageIOChannel {
     }
   }
 
+  /**
+   * Unmap the segments and close the read channel, which must be done before the file is closed or
+   * deleted. The read channel is reopened on the next load.
+   */
+  public void releaseReadResources() throws IOException {
+    if (mappedPageLoader != null) {
+      mappedPageLoader.clear();
+    }
+    readChannel.close();
+  }
+
   /** Load bytes from log, deserialize and flush directly into channel, return current length */
   private long recoverFromLog(String logPath) throws IOException, MetadataException {
     SchemaFileLogReader reader = new SchemaFileLogReader(logPath);
@@ -107,9 +121,19 @@ public class PageIOChannel {
     if (!readChannel.isOpen()) {
       readChannel = FileChannel.open(pmtFile.toPath(), StandardOpenOption.READ);
     }
+    if (mappedPageLoader != null && mappedPageLoader.load(readChannel, dst, pageIndex)) {
+      return;
+    }
     readChannel.read(dst, getPageAddress(pageIndex));
   }
 
+  /** Hint that the page will be loaded soon, which only takes effect with memory mapping. */
+  public void prefetch(int pageIndex) {
+    if (mappedPageLoader != null) {
+      mappedPageLoader.prefetch(pageIndex);
+    }
+  }
+
   // region Flush Strategy
   @FunctionalInterface
   interface FlushPageStrategy {
@@ -524,6 +524,7 @@ public abstract class PageManager implements IPageManager {
   @Override
   public void close() throws IOException {
     pageIOChannel.closeLogWriter();
+    pageIOChannel.releaseReadResources();
   }
 
   // endregion
@@ -567,6 +568,13 @@ public abstract class PageManager implements IPageManager {
     }
   }
 
+  /** Prefetch the page from disk asynchronously if it is not cached by the page pool. */
+  protected void prefetchPage(int pageIdx) {
+    if (pageIdx <= lastPageIndex.get() && !pagePool.contains(pageIdx)) {
+      pageIOChannel.prefetch(pageIdx);
+    }
+  }
+
   private long preAllocateSegment(short size, SchemaPageContext cxt)
       throws IOException, MetadataException {
     ISegmentedPage page = getMinApplSegmentedPageInMem(size, cxt);
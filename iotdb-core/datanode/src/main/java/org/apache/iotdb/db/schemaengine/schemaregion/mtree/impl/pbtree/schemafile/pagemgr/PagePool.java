@@ -106,6 +106,11 @@ public class PagePool {
     return pageInstCache.get(index);
   }
 
+  /** Check the existence without refreshing the recency of the page. */
+  public boolean contains(int index) {
+    return pageInstCache.containsKey(index);
+  }
+
   public ISchemaPage getNearestFitPage(short expectedSize) {
     return pageIndexBuckets.getNearestFitPage(expectedSize, true);
   }
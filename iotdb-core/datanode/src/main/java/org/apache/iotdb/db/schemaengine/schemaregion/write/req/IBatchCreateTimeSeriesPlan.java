@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.schemaengine.schemaregion.write.req;
+
+import org.apache.iotdb.db.schemaengine.schemaregion.ISchemaRegionPlan;
+import org.apache.iotdb.db.schemaengine.schemaregion.SchemaRegionPlanType;
+import org.apache.iotdb.db.schemaengine.schemaregion.SchemaRegionPlanVisitor;
+
+import java.util.List;
+
+/** Create a batch of non-aligned time series, which are written into one log record. */
+public interface IBatchCreateTimeSeriesPlan extends ISchemaRegionPlan {
+
+  @Override
+  default SchemaRegionPlanType getPlanType() {
+    return SchemaRegionPlanType.BATCH_CREATE_TIMESERIES;
+  }
+
+  @Override
+  default <R, C> R accept(SchemaRegionPlanVisitor<R, C> visitor, C context) {
+    return visitor.visitBatchCreateTimeSeries(this, context);
+  }
+
+  List<ICreateTimeSeriesPlan> getCreateTimeSeriesPlans();
+
+  void setCreateTimeSeriesPlans(List<ICreateTimeSeriesPlan> createTimeSeriesPlans);
+}
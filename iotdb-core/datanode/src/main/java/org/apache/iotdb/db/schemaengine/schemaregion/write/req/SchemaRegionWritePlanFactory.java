@@ -37,6 +37,7 @@ import org.apache.iotdb.db.schemaengine.schemaregion.ISchemaRegionPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.SchemaRegionPlanType;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.impl.ActivateTemplateInClusterPlanImpl;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.impl.AutoCreateDeviceMNodePlanImpl;
+import org.apache.iotdb.db.schemaengine.schemaregion.write.req.impl.BatchCreateTimeSeriesPlanImpl;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.impl.ChangeAliasPlanImpl;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.impl.ChangeTagOffsetPlanImpl;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.impl.CreateAlignedTimeSeriesPlanImpl;
@@ -83,6 +84,8 @@ public class SchemaRegionWritePlanFactory {
         return new AutoCreateDeviceMNodePlanImpl();
       case CREATE_ALIGNED_TIMESERIES:
         return new CreateAlignedTimeSeriesPlanImpl();
+      case BATCH_CREATE_TIMESERIES:
+        return new BatchCreateTimeSeriesPlanImpl();
       case ACTIVATE_TEMPLATE_IN_CLUSTER:
         return new ActivateTemplateInClusterPlanImpl();
       case PRE_DELETE_TIMESERIES_IN_CLUSTER:
@@ -178,6 +181,11 @@ public class SchemaRegionWritePlanFactory {
         attributesList);
   }
 
+  public static IBatchCreateTimeSeriesPlan getBatchCreateTimeSeriesPlan(
+      final List<ICreateTimeSeriesPlan> createTimeSeriesPlans) {
+    return new BatchCreateTimeSeriesPlanImpl(createTimeSeriesPlans);
+  }
+
   public static IDeleteTimeSeriesPlan getDeleteTimeSeriesPlan(final List<PartialPath> pathList) {
     return new DeleteTimeSeriesPlanImpl(pathList);
   }
@@ -98,6 +98,7 @@ import org.apache.iotdb.db.queryengine.plan.planner.LogicalPlanVisitor;
 import org.apache.iotdb.db.queryengine.plan.planner.distribution.DistributionPlanContext;
 import org.apache.iotdb.db.queryengine.plan.planner.distribution.SourceRewriter;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.LogicalQueryPlan;
+import org.apache.iotdb.db.queryengine.plan.relational.statistics.TableStatistics;
 import org.apache.iotdb.db.schemaengine.SchemaEngine;
 import org.apache.iotdb.db.schemaengine.schemaregion.attribute.update.GeneralRegionAttributeSecurityService;
 import org.apache.iotdb.db.schemaengine.table.DataNodeTableCache;
@@ -881,6 +882,7 @@ public class DataNode extends ServerCommandLine implements DataNodeMBean {
     logger.info(DataNodeMiscMessages.WAIT_DATABASES_READY, (endTime - startTime));
     // Must init after SchemaEngine and StorageEngine prepared well
     DataNodeRegionManager.getInstance().init();
+    TableStatistics.getInstance().start();
 
     // Start region migrate service
     registerManager.register(RegionMigrateService.getInstance());
@@ -1340,6 +1342,7 @@ public class DataNode extends ServerCommandLine implements DataNodeMBean {
     stopTriggerRelatedServices();
     registerManager.deregisterAll();
     TableDiskUsageIndex.getInstance().close();
+    TableStatistics.getInstance().stop();
     ExternalServiceManagementService.getInstance().stopRunningServices();
     JMXService.deregisterMBean(mbeanName);
     MetricService.getInstance().stop();
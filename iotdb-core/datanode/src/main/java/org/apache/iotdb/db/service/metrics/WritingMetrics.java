@@ -44,7 +44,9 @@ import org.apache.iotdb.metrics.utils.MetricType;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class WritingMetrics implements IMetricSet {
   private static final WritingMetrics INSTANCE = new WritingMetrics();
@@ -462,6 +464,16 @@ public class WritingMetrics implements IMetricSet {
 
   private Histogram avgPointHistogram = DoNothingMetricManager.DO_NOTHING_HISTOGRAM;
 
+  // The metrics tagged by the wal node or the data region are resolved once and cached, so that
+  // recording them does not look up the metric manager. The caches are dropped when the metrics are
+  // bound or unbound, since the metric manager may have been changed.
+  private final Map<String, WALNodeInfoHistograms> walNodeInfoHistogramsMap =
+      new ConcurrentHashMap<>();
+  private final Map<DataRegionId, FlushingMemTableStatusHistograms>
+      flushingMemTableStatusHistogramsMap = new ConcurrentHashMap<>();
+  private final Map<String, Counter> activeMemTableCounterMap = new ConcurrentHashMap<>();
+  private volatile Counter activeTimePartitionCounter;
+
   private AutoGauge tableDiskUsageCacheBlockedRequestNumGauge =
       DoNothingMetricManager.DO_NOTHING_AUTO_GAUGE;
 
@@ -564,23 +576,18 @@ public class WritingMetrics implements IMetricSet {
   }
 
   public void createWALNodeInfoMetrics(String walNodeId) {
-    Arrays.asList(
-            EFFECTIVE_RATIO_INFO,
-            OLDEST_MEM_TABLE_RAM_WHEN_CAUSE_SNAPSHOT,
-            OLDEST_MEM_TABLE_RAM_WHEN_CAUSE_FLUSH)
-        .forEach(
-            name ->
-                MetricService.getInstance()
-                    .getOrCreateHistogram(
-                        Metric.WAL_NODE_INFO.toString(),
-                        MetricLevel.IMPORTANT,
-                        Tag.NAME.toString(),
-                        name,
-                        Tag.TYPE.toString(),
-                        walNodeId));
+    walNodeInfoHistogramsMap.put(walNodeId, new WALNodeInfoHistograms(walNodeId));
+  }
+
+  private WALNodeInfoHistograms getWALNodeInfoHistograms(String walNodeId) {
+    WALNodeInfoHistograms histograms = walNodeInfoHistogramsMap.get(walNodeId);
+    return histograms != null
+        ? histograms
+        : walNodeInfoHistogramsMap.computeIfAbsent(walNodeId, WALNodeInfoHistograms::new);
   }
 
   public void removeWALNodeInfoMetrics(String walNodeId) {
+    walNodeInfoHistogramsMap.remove(walNodeId);
     Arrays.asList(
             EFFECTIVE_RATIO_INFO,
             OLDEST_MEM_TABLE_RAM_WHEN_CAUSE_SNAPSHOT,
@@ -598,17 +605,8 @@ public class WritingMetrics implements IMetricSet {
   }
 
   public void createFlushingMemTableStatusMetrics(DataRegionId dataRegionId) {
-    Arrays.asList(MEM_TABLE_SIZE, SERIES_NUM, POINTS_NUM, COMPRESSION_RATIO, FLUSH_TSFILE_SIZE)
-        .forEach(
-            name ->
-                MetricService.getInstance()
-                    .getOrCreateHistogram(
-                        Metric.FLUSHING_MEM_TABLE_STATUS.toString(),
-                        MetricLevel.IMPORTANT,
-                        Tag.NAME.toString(),
-                        name,
-                        Tag.REGION.toString(),
-                        dataRegionId.toString()));
+    flushingMemTableStatusHistogramsMap.put(
+        dataRegionId, new FlushingMemTableStatusHistograms(dataRegionId));
     avgPointHistogram =
         MetricService.getInstance()
             .getOrCreateHistogram(
@@ -620,6 +618,16 @@ public class WritingMetrics implements IMetricSet {
                 dataRegionId.toString());
   }
 
+  private FlushingMemTableStatusHistograms getFlushingMemTableStatusHistograms(
+      DataRegionId dataRegionId) {
+    FlushingMemTableStatusHistograms histograms =
+        flushingMemTableStatusHistogramsMap.get(dataRegionId);
+    return histograms != null
+        ? histograms
+        : flushingMemTableStatusHistogramsMap.computeIfAbsent(
+            dataRegionId, FlushingMemTableStatusHistograms::new);
+  }
+
   public Counter createWalFlushMemTableCounterMetrics() {
     return MetricService.getInstance()
         .getOrCreateCounter(
@@ -665,8 +673,8 @@ public class WritingMetrics implements IMetricSet {
             dataRegionId.toString());
   }
 
-  public void createActiveTimePartitionCounterMetrics() {
-    MetricService.getInstance()
+  public Counter createActiveTimePartitionCounterMetrics() {
+    return MetricService.getInstance()
         .getOrCreateCounter(Metric.ACTIVE_TIME_PARTITION_COUNT.toString(), MetricLevel.IMPORTANT);
   }
 
@@ -721,6 +729,7 @@ public class WritingMetrics implements IMetricSet {
   }
 
   public void removeFlushingMemTableStatusMetrics(DataRegionId dataRegionId) {
+    flushingMemTableStatusHistogramsMap.remove(dataRegionId);
     Arrays.asList(
             MEM_TABLE_SIZE,
             SERIES_NUM,
@@ -742,52 +751,22 @@ public class WritingMetrics implements IMetricSet {
   }
 
   public void recordWALNodeEffectiveInfoRatio(String walNodeId, double ratio) {
-    MetricService.getInstance()
-        .histogram(
-            (long) (ratio * 100),
-            Metric.WAL_NODE_INFO.toString(),
-            MetricLevel.IMPORTANT,
-            Tag.NAME.toString(),
-            EFFECTIVE_RATIO_INFO,
-            Tag.TYPE.toString(),
-            walNodeId);
+    getWALNodeInfoHistograms(walNodeId).effectiveRatioInfo.update((long) (ratio * 100));
   }
 
   public void recordMemTableRamWhenCauseSnapshot(String walNodeId, long ram) {
-    MetricService.getInstance()
-        .histogram(
-            ram,
-            Metric.WAL_NODE_INFO.toString(),
-            MetricLevel.IMPORTANT,
-            Tag.NAME.toString(),
-            OLDEST_MEM_TABLE_RAM_WHEN_CAUSE_SNAPSHOT,
-            Tag.TYPE.toString(),
-            walNodeId);
+    getWALNodeInfoHistograms(walNodeId).memTableRamWhenCauseSnapshot.update(ram);
   }
 
   public void recordMemTableRamWhenCauseFlush(String walNodeId, long ram) {
-    MetricService.getInstance()
-        .histogram(
-            ram,
-            Metric.WAL_NODE_INFO.toString(),
-            MetricLevel.IMPORTANT,
-            Tag.NAME.toString(),
-            OLDEST_MEM_TABLE_RAM_WHEN_CAUSE_FLUSH,
-            Tag.TYPE.toString(),
-            walNodeId);
+    getWALNodeInfoHistograms(walNodeId).memTableRamWhenCauseFlush.update(ram);
   }
 
   public void recordTsFileCompressionRatioOfFlushingMemTable(
       String dataRegionId, double compressionRatio) {
-    MetricService.getInstance()
-        .histogram(
-            (long) (compressionRatio * 100),
-            Metric.FLUSHING_MEM_TABLE_STATUS.toString(),
-            MetricLevel.IMPORTANT,
-            Tag.NAME.toString(),
-            COMPRESSION_RATIO,
-            Tag.REGION.toString(),
-            new DataRegionId(Integer.parseInt(dataRegionId)).toString());
+    getFlushingMemTableStatusHistograms(new DataRegionId(Integer.parseInt(dataRegionId)))
+        .compressionRatio
+        .update((long) (compressionRatio * 100));
   }
 
   public void recordFlushingMemTableStatus(
@@ -797,33 +776,11 @@ public class WritingMetrics implements IMetricSet {
       return;
     }
 
-    MetricService.getInstance()
-        .histogram(
-            memSize,
-            Metric.FLUSHING_MEM_TABLE_STATUS.toString(),
-            MetricLevel.IMPORTANT,
-            Tag.NAME.toString(),
-            MEM_TABLE_SIZE,
-            Tag.REGION.toString(),
-            dataRegionId.toString());
-    MetricService.getInstance()
-        .histogram(
-            seriesNum,
-            Metric.FLUSHING_MEM_TABLE_STATUS.toString(),
-            MetricLevel.IMPORTANT,
-            Tag.NAME.toString(),
-            SERIES_NUM,
-            Tag.REGION.toString(),
-            dataRegionId.toString());
-    MetricService.getInstance()
-        .histogram(
-            totalPointsNum,
-            Metric.FLUSHING_MEM_TABLE_STATUS.toString(),
-            MetricLevel.IMPORTANT,
-            Tag.NAME.toString(),
-            POINTS_NUM,
-            Tag.REGION.toString(),
-            dataRegionId.toString());
+    FlushingMemTableStatusHistograms histograms =
+        getFlushingMemTableStatusHistograms(dataRegionId);
+    histograms.memTableSize.update(memSize);
+    histograms.seriesNum.update(seriesNum);
+    histograms.pointsNum.update(totalPointsNum);
     avgPointHistogram.update(avgSeriesNum);
   }
 
@@ -832,15 +789,7 @@ public class WritingMetrics implements IMetricSet {
     if (dataRegionId == null) {
       return;
     }
-    MetricService.getInstance()
-        .histogram(
-            size,
-            Metric.FLUSHING_MEM_TABLE_STATUS.toString(),
-            MetricLevel.IMPORTANT,
-            Tag.NAME.toString(),
-            FLUSH_TSFILE_SIZE,
-            Tag.REGION.toString(),
-            dataRegionId.toString());
+    getFlushingMemTableStatusHistograms(dataRegionId).flushTsFileSize.update(size);
   }
 
   private DataRegionId getDataRegionIdFromStorageGroupStr(String storageGroup) {
@@ -987,24 +936,36 @@ public class WritingMetrics implements IMetricSet {
   }
 
   public void recordActiveMemTableCount(String dataRegionId, int number) {
-    MetricService.getInstance()
-        .count(
-            number,
-            Metric.ACTIVE_MEMTABLE_COUNT.toString(),
-            MetricLevel.IMPORTANT,
-            Tag.REGION.toString(),
-            dataRegionId);
+    Counter counter = activeMemTableCounterMap.get(dataRegionId);
+    if (counter == null) {
+      counter =
+          activeMemTableCounterMap.computeIfAbsent(
+              dataRegionId,
+              id ->
+                  MetricService.getInstance()
+                      .getOrCreateCounter(
+                          Metric.ACTIVE_MEMTABLE_COUNT.toString(),
+                          MetricLevel.IMPORTANT,
+                          Tag.REGION.toString(),
+                          id));
+    }
+    counter.inc(number);
   }
 
   public void recordActiveTimePartitionCount(int number) {
-    MetricService.getInstance()
-        .count(number, Metric.ACTIVE_TIME_PARTITION_COUNT.toString(), MetricLevel.IMPORTANT);
+    Counter counter = activeTimePartitionCounter;
+    if (counter == null) {
+      counter = createActiveTimePartitionCounterMetrics();
+      activeTimePartitionCounter = counter;
+    }
+    counter.inc(number);
   }
 
   // endregion
 
   @Override
   public void bindTo(AbstractMetricService metricService) {
+    clearCachedMetrics();
     bindFlushMetrics(metricService);
     bindFlushSubTaskMetrics(metricService);
     bindWALMetrics(metricService);
@@ -1019,6 +980,14 @@ public class WritingMetrics implements IMetricSet {
     unbindWALMetrics(metricService);
     unbindWALCostMetrics(metricService);
     unbindDataRegionMetrics();
+    clearCachedMetrics();
+  }
+
+  private void clearCachedMetrics() {
+    walNodeInfoHistogramsMap.clear();
+    flushingMemTableStatusHistogramsMap.clear();
+    activeMemTableCounterMap.clear();
+    activeTimePartitionCounter = null;
   }
 
   public static WritingMetrics getInstance() {
@@ -1028,4 +997,48 @@ public class WritingMetrics implements IMetricSet {
   public Histogram getAvgPointHistogram() {
     return avgPointHistogram;
   }
+
+  private static Histogram getOrCreateHistogram(String metric, String... tags) {
+    return MetricService.getInstance().getOrCreateHistogram(metric, MetricLevel.IMPORTANT, tags);
+  }
+
+  private static class WALNodeInfoHistograms {
+    private final Histogram effectiveRatioInfo;
+    private final Histogram memTableRamWhenCauseSnapshot;
+    private final Histogram memTableRamWhenCauseFlush;
+
+    private WALNodeInfoHistograms(String walNodeId) {
+      String metric = Metric.WAL_NODE_INFO.toString();
+      String name = Tag.NAME.toString();
+      String type = Tag.TYPE.toString();
+      effectiveRatioInfo =
+          getOrCreateHistogram(metric, name, EFFECTIVE_RATIO_INFO, type, walNodeId);
+      memTableRamWhenCauseSnapshot =
+          getOrCreateHistogram(
+              metric, name, OLDEST_MEM_TABLE_RAM_WHEN_CAUSE_SNAPSHOT, type, walNodeId);
+      memTableRamWhenCauseFlush =
+          getOrCreateHistogram(
+              metric, name, OLDEST_MEM_TABLE_RAM_WHEN_CAUSE_FLUSH, type, walNodeId);
+    }
+  }
+
+  private static class FlushingMemTableStatusHistograms {
+    private final Histogram memTableSize;
+    private final Histogram seriesNum;
+    private final Histogram pointsNum;
+    private final Histogram compressionRatio;
+    private final Histogram flushTsFileSize;
+
+    private FlushingMemTableStatusHistograms(DataRegionId dataRegionId) {
+      String metric = Metric.FLUSHING_MEM_TABLE_STATUS.toString();
+      String name = Tag.NAME.toString();
+      String region = Tag.REGION.toString();
+      String regionId = dataRegionId.toString();
+      memTableSize = getOrCreateHistogram(metric, name, MEM_TABLE_SIZE, region, regionId);
+      seriesNum = getOrCreateHistogram(metric, name, SERIES_NUM, region, regionId);
+      pointsNum = getOrCreateHistogram(metric, name, POINTS_NUM, region, regionId);
+      compressionRatio = getOrCreateHistogram(metric, name, COMPRESSION_RATIO, region, regionId);
+      flushTsFileSize = getOrCreateHistogram(metric, name, FLUSH_TSFILE_SIZE, region, regionId);
+    }
+  }
 }
@@ -197,6 +197,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -4330,7 +4331,7 @@ public class DataRegion implements IDataRegionForQuery {
       } else {
         RetryUtils.retryOnException(
             () -> {
-              Files.copy(tsFileToLoad.toPath(), targetFile.toPath());
+              linkOrCopyTsFile(tsFileToLoad, targetFile);
               return null;
             });
       }
@@ -4389,6 +4390,34 @@ public class DataRegion implements IDataRegionForQuery {
     return true;
   }
 
+  /**
+   * Hardlink the TsFile to load into the data dir when the origin file is kept, so that its data is
+   * not copied. TsFiles are immutable once sealed, so sharing the data with the origin file is
+   * safe. Copy it instead if they are not on the same file store. A target left by a former attempt
+   * is removed first unless it is already linked to the origin file.
+   */
+  private static void linkOrCopyTsFile(final File tsFileToLoad, final File targetFile)
+      throws IOException {
+    final Path originPath = tsFileToLoad.toPath();
+    final Path targetPath = targetFile.toPath();
+    if (Files.exists(targetPath)) {
+      if (Files.isSameFile(originPath, targetPath)) {
+        return;
+      }
+      Files.delete(targetPath);
+    }
+    try {
+      Files.createLink(targetPath, originPath);
+    } catch (final UnsupportedOperationException | IOException e) {
+      logger.warn(
+          "Failed to hardlink tsfile {} to {}, will copy it instead. Because {}",
+          tsFileToLoad.getAbsolutePath(),
+          targetFile.getAbsolutePath(),
+          e.getMessage());
+      Files.copy(originPath, targetPath, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+
   private void loadModFile(
       File tsFileToLoad, File targetTsFile, boolean deleteOriginFile, TsFileResource tsFileResource)
       throws LoadFileException {
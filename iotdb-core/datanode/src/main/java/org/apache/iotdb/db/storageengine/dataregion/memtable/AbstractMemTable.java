@@ -160,12 +160,12 @@ public abstract class AbstractMemTable implements IMemTable {
    */
   private IWritableMemChunkGroup createMemChunkGroupIfNotExistAndGet(
       IDeviceID deviceId, List<IMeasurementSchema> schemaList) {
-    IWritableMemChunkGroup memChunkGroup =
-        memTableMap.computeIfAbsent(
-            deviceId,
-            k ->
-                new WritableMemChunkGroup(
-                    EncryptDBUtils.getSecondEncryptParamFromDatabase(database)));
+    IWritableMemChunkGroup memChunkGroup = memTableMap.get(deviceId);
+    if (memChunkGroup == null) {
+      memChunkGroup =
+          new WritableMemChunkGroup(EncryptDBUtils.getSecondEncryptParamFromDatabase(database));
+      memTableMap.put(DeviceIDFactory.getInstance().intern(deviceId), memChunkGroup);
+    }
     for (IMeasurementSchema schema : schemaList) {
       if (schema != null && !memChunkGroup.contains(schema.getMeasurementName())) {
         seriesNumber++;
@@ -176,15 +176,15 @@ public abstract class AbstractMemTable implements IMemTable {
 
   private IWritableMemChunkGroup createAlignedMemChunkGroupIfNotExistAndGet(
       IDeviceID deviceId, List<IMeasurementSchema> schemaList) {
-    IWritableMemChunkGroup memChunkGroup =
-        memTableMap.computeIfAbsent(
-            deviceId,
-            k -> {
-              seriesNumber += schemaList.size();
-              return new AlignedWritableMemChunkGroup(
-                  schemaList.stream().filter(Objects::nonNull).collect(Collectors.toList()),
-                  k.isTableModel());
-            });
+    IWritableMemChunkGroup memChunkGroup = memTableMap.get(deviceId);
+    if (memChunkGroup == null) {
+      seriesNumber += schemaList.size();
+      memChunkGroup =
+          new AlignedWritableMemChunkGroup(
+              schemaList.stream().filter(Objects::nonNull).collect(Collectors.toList()),
+              deviceId.isTableModel());
+      memTableMap.put(DeviceIDFactory.getInstance().intern(deviceId), memChunkGroup);
+    }
     for (IMeasurementSchema schema : schemaList) {
       if (schema != null && !memChunkGroup.contains(schema.getMeasurementName())) {
         seriesNumber++;
@@ -22,6 +22,8 @@ package org.apache.iotdb.db.storageengine.dataregion.memtable;
 import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.db.i18n.StorageEngineMessages;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import org.apache.tsfile.file.metadata.IDeviceID;
 
 import java.util.ArrayList;
@@ -55,6 +57,9 @@ public class DeviceIDFactory {
 
   // endregion
 
+  // Device ids retained by memtables and TsFile time indexes, shared by all the regions
+  private final Interner<IDeviceID> deviceIDInterner = Interners.newWeakInterner();
+
   /**
    * get device id by full path
    *
@@ -65,6 +70,18 @@ public class DeviceIDFactory {
     return devicePath.getIDeviceID();
   }
 
+  /**
+   * Get the canonical instance of the device id, so that the long-lived structures of the same
+   * device share one instance instead of holding a copy per write or per file. The instance is
+   * released once no structure refers to it.
+   *
+   * @param deviceID device id to be retained
+   * @return the canonical instance equal to the given device id
+   */
+  public IDeviceID intern(final IDeviceID deviceID) {
+    return deviceIDInterner.intern(deviceID);
+  }
+
   public static List<IDeviceID> convertRawDeviceIDs2PartitionKeys(
       final String tableName, final List<Object[]> deviceIdList) {
     final List<IDeviceID> tmpPartitionKeyList = new ArrayList<>();
@@ -25,6 +25,7 @@ import org.apache.iotdb.commons.utils.CommonDateTimeUtils;
 import org.apache.iotdb.commons.utils.TimePartitionUtils;
 import org.apache.iotdb.db.exception.load.PartitionViolationException;
 import org.apache.iotdb.db.i18n.StorageEngineMessages;
+import org.apache.iotdb.db.storageengine.dataregion.memtable.DeviceIDFactory;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 
 import com.google.common.util.concurrent.RateLimiter;
@@ -132,7 +133,7 @@ public class ArrayDeviceTimeIndex implements ITimeIndex {
     for (int i = 0; i < deviceNum; i++) {
       IDeviceID deviceID = deserializer.deserializeFrom(inputStream);
       int index = ReadWriteIOUtils.readInt(inputStream);
-      deviceToIndex.put(deviceID, index);
+      deviceToIndex.put(DeviceIDFactory.getInstance().intern(deviceID), index);
     }
     return this;
   }
@@ -153,7 +154,7 @@ public class ArrayDeviceTimeIndex implements ITimeIndex {
     for (int i = 0; i < deviceNum; i++) {
       IDeviceID deviceID = Deserializer.DEFAULT_DESERIALIZER.deserializeFrom(buffer);
       int index = buffer.getInt();
-      deviceToIndex.put(deviceID, index);
+      deviceToIndex.put(DeviceIDFactory.getInstance().intern(deviceID), index);
     }
     return this;
   }
@@ -252,7 +253,7 @@ public class ArrayDeviceTimeIndex implements ITimeIndex {
         startTimes = enLargeArray(startTimes, Long.MAX_VALUE);
         endTimes = enLargeArray(endTimes, Long.MIN_VALUE);
       }
-      deviceToIndex.put(deviceId, index);
+      deviceToIndex.put(DeviceIDFactory.getInstance().intern(deviceId), index);
     }
     return index;
   }
@@ -418,10 +418,15 @@ public class WALBuffer extends AbstractWALBuffer {
 
     @Override
     public void put(byte[] src) {
-      int offset = 0;
+      put(src, 0, src.length);
+    }
+
+    @Override
+    public void put(byte[] src, int offset, int length) {
+      int end = offset + length;
       while (true) {
         int leftCapacity = workingBuffer.remaining();
-        int needCapacity = src.length - offset;
+        int needCapacity = end - offset;
         if (leftCapacity >= needCapacity) {
           workingBuffer.put(src, offset, needCapacity);
           break;
@@ -85,7 +85,8 @@ public class WALWriteUtils {
    */
   public static int write(Binary n, IWALByteBufferView buffer) {
     buffer.putInt(n.getLength());
-    buffer.put(n.getValues());
+    // The array of a pooled binary may be longer than its length
+    buffer.put(n.getValues(), 0, n.getLength());
     return INT_LEN + n.getLength();
   }
 
@@ -89,8 +89,13 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -178,7 +183,7 @@ public class LoadTsFileManager {
 
         final CleanupTask cleanupTask = cleanupTaskQueue.peek();
         if (cleanupTask.scheduledTime <= System.currentTimeMillis()) {
-          if (cleanupTask.isLoadTaskRunning) {
+          if (cleanupTask.runningLoadTaskNum.get() > 0) {
             cleanupTaskQueue.poll();
             cleanupTask.resetScheduledTime();
             cleanupTaskQueue.add(cleanupTask);
@@ -423,23 +428,30 @@ public class LoadTsFileManager {
     }
   }
 
-  private static class TsFileWriterManager {
+  static class TsFileWriterManager {
 
     private final File taskDir;
-    private Map<DataPartitionInfo, TsFileIOWriter> dataPartition2Writer;
-    private Map<DataPartitionInfo, TsFileResource> dataPartition2Resource;
-    private Map<DataPartitionInfo, IDeviceID> dataPartition2LastDevice;
-    private Map<DataPartitionInfo, ModificationFile> dataPartition2ModificationFile;
-    private Map<IDeviceID, Set<DataPartitionInfo>> device2Partition;
-    private boolean isClosed;
-
-    private TsFileWriterManager(File taskDir) {
+    private final Map<DataPartitionInfo, TsFileIOWriter> dataPartition2Writer;
+    private final Map<DataPartitionInfo, TsFileResource> dataPartition2Resource;
+    private final Map<DataPartitionInfo, IDeviceID> dataPartition2LastDevice;
+    private final Map<DataPartitionInfo, ModificationFile> dataPartition2ModificationFile;
+    private final Map<DataRegion, Map<IDeviceID, Set<DataPartitionInfo>>> region2Device2Partition;
+    // The pieces of different data regions may be written concurrently by the scheduler. The writes
+    // of all the regions share the read lock, and the writes of each region are serialized by the
+    // lock of the region. close() takes the write lock, so that it waits for the writes in progress
+    // and the later writes find the manager closed.
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private final Map<DataRegion, Lock> region2Lock;
+    private volatile boolean isClosed;
+
+    TsFileWriterManager(File taskDir) {
       this.taskDir = taskDir;
-      this.dataPartition2Writer = new HashMap<>();
-      this.dataPartition2Resource = new HashMap<>();
-      this.dataPartition2LastDevice = new HashMap<>();
-      this.dataPartition2ModificationFile = new HashMap<>();
-      device2Partition = new HashMap<>();
+      this.dataPartition2Writer = new ConcurrentHashMap<>();
+      this.dataPartition2Resource = new ConcurrentHashMap<>();
+      this.dataPartition2LastDevice = new ConcurrentHashMap<>();
+      this.dataPartition2ModificationFile = new ConcurrentHashMap<>();
+      this.region2Device2Partition = new ConcurrentHashMap<>();
+      this.region2Lock = new ConcurrentHashMap<>();
       this.isClosed = false;
 
       clearDir(taskDir);
@@ -459,8 +471,28 @@ public class LoadTsFileManager {
      * should be guaranteed to be written to the same new file. Otherwise, for detached
      * BatchedAlignedChunkData, it may result in no data for the time column in the new file.
      */
+    void write(DataPartitionInfo partitionInfo, ChunkData chunkData)
+        throws IOException, PageException {
+      closeLock.readLock().lock();
+      try {
+        final Lock regionLock = getRegionLock(partitionInfo.getDataRegion());
+        regionLock.lock();
+        try {
+          writeInRegion(partitionInfo, chunkData);
+        } finally {
+          regionLock.unlock();
+        }
+      } finally {
+        closeLock.readLock().unlock();
+      }
+    }
+
+    private Lock getRegionLock(DataRegion dataRegion) {
+      return region2Lock.computeIfAbsent(dataRegion, r -> new ReentrantLock());
+    }
+
     @SuppressWarnings("squid:S3824")
-    private void write(DataPartitionInfo partitionInfo, ChunkData chunkData)
+    private void writeInRegion(DataPartitionInfo partitionInfo, ChunkData chunkData)
         throws IOException, PageException {
       if (isClosed) {
         throw new IOException(String.format(MESSAGE_WRITER_MANAGER_HAS_BEEN_CLOSED, taskDir));
@@ -493,15 +525,17 @@ public class LoadTsFileManager {
                               });
                     }));
 
-        // When a new writer is added, we need to reduce the metadata size limit of all existing
-        // writers for memory control
-        for (final TsFileIOWriter existingWriter : dataPartition2Writer.values()) {
-          existingWriter.setMaxMetadataSize(chunkMetadataMaxSizeForEachWriter);
-        }
         dataPartition2Writer.put(partitionInfo, writer);
         dataPartition2Resource.put(partitionInfo, resource);
       }
       TsFileIOWriter writer = dataPartition2Writer.get(partitionInfo);
+      // When new writers are added, the metadata size limit of the existing writers is reduced for
+      // memory control. Each writer is only updated by its own writes, since the writers of other
+      // regions are guarded by other locks. So the limit is approximate: a writer keeps its former
+      // larger limit until its next write, and the sum of the limits may exceed the budget for
+      // that long.
+      writer.setMaxMetadataSize(
+          CONFIG.getLoadChunkMetadataMemorySizeInBytes() / dataPartition2Writer.size());
 
       // Table model needs to register TableSchema
       final String tableName =
@@ -523,6 +557,10 @@ public class LoadTsFileManager {
 
       IDeviceID device = chunkData.getDevice();
       IDeviceID lastDevice = dataPartition2LastDevice.get(partitionInfo);
+      // The pieces of a region are written in order, so the devices are switched per region
+      final Map<IDeviceID, Set<DataPartitionInfo>> device2Partition =
+          region2Device2Partition.computeIfAbsent(
+              partitionInfo.getDataRegion(), r -> new HashMap<>());
 
       if (!Objects.equals(device, lastDevice)) {
         if (lastDevice != null && device2Partition.containsKey(lastDevice)) {
@@ -552,7 +590,22 @@ public class LoadTsFileManager {
       chunkData.writeToFileWriter(writer);
     }
 
-    private void writeDeletion(DataRegion dataRegion, DeletionData deletionData)
+    void writeDeletion(DataRegion dataRegion, DeletionData deletionData) throws IOException {
+      closeLock.readLock().lock();
+      try {
+        final Lock regionLock = getRegionLock(dataRegion);
+        regionLock.lock();
+        try {
+          writeDeletionInRegion(dataRegion, deletionData);
+        } finally {
+          regionLock.unlock();
+        }
+      } finally {
+        closeLock.readLock().unlock();
+      }
+    }
+
+    private void writeDeletionInRegion(DataRegion dataRegion, DeletionData deletionData)
         throws IOException {
       if (isClosed) {
         throw new IOException(String.format(MESSAGE_WRITER_MANAGER_HAS_BEEN_CLOSED, taskDir));
@@ -715,51 +768,54 @@ public class LoadTsFileManager {
           .sum();
     }
 
-    private void close() {
-      if (isClosed) {
-        return;
+    void close() {
+      // Wait for the writes in progress, and the later writes find the manager closed
+      closeLock.writeLock().lock();
+      try {
+        if (isClosed) {
+          return;
+        }
+        isClosed = true;
+      } finally {
+        closeLock.writeLock().unlock();
       }
-      if (dataPartition2Writer != null) {
-        for (Map.Entry<DataPartitionInfo, TsFileIOWriter> entry : dataPartition2Writer.entrySet()) {
-          try {
-            final TsFileIOWriter writer = entry.getValue();
-            if (writer.canWrite()) {
-              writer.close();
-            }
-            final Path writerPath = writer.getFile().toPath();
-            if (Files.exists(writerPath)) {
-              RetryUtils.retryOnException(
-                  () -> {
-                    Files.delete(writerPath);
-                    return null;
-                  });
-            }
-          } catch (IOException e) {
-            LOGGER.warn(
-                StorageEngineMessages.CLOSE_TSFILE_IO_WRITER_ERROR,
-                entry.getValue().getFile().getPath(),
-                e);
+      for (Map.Entry<DataPartitionInfo, TsFileIOWriter> entry : dataPartition2Writer.entrySet()) {
+        try {
+          final TsFileIOWriter writer = entry.getValue();
+          if (writer.canWrite()) {
+            writer.close();
+          }
+          final Path writerPath = writer.getFile().toPath();
+          if (Files.exists(writerPath)) {
+            RetryUtils.retryOnException(
+                () -> {
+                  Files.delete(writerPath);
+                  return null;
+                });
           }
+        } catch (IOException e) {
+          LOGGER.warn(
+              StorageEngineMessages.CLOSE_TSFILE_IO_WRITER_ERROR,
+              entry.getValue().getFile().getPath(),
+              e);
         }
       }
-      if (dataPartition2ModificationFile != null) {
-        for (Map.Entry<DataPartitionInfo, ModificationFile> entry :
-            dataPartition2ModificationFile.entrySet()) {
-          try {
-            final ModificationFile modificationFile = entry.getValue();
-            modificationFile.close();
-            final Path modificationFilePath = modificationFile.getFile().toPath();
-            if (Files.exists(modificationFilePath)) {
-              RetryUtils.retryOnException(
-                  () -> {
-                    Files.delete(modificationFilePath);
-                    return null;
-                  });
-            }
-          } catch (IOException e) {
-            LOGGER.warn(
-                StorageEngineMessages.CLOSE_MODIFICATION_FILE_ERROR, entry.getValue().getFile(), e);
+      for (Map.Entry<DataPartitionInfo, ModificationFile> entry :
+          dataPartition2ModificationFile.entrySet()) {
+        try {
+          final ModificationFile modificationFile = entry.getValue();
+          modificationFile.close();
+          final Path modificationFilePath = modificationFile.getFile().toPath();
+          if (Files.exists(modificationFilePath)) {
+            RetryUtils.retryOnException(
+                () -> {
+                  Files.delete(modificationFilePath);
+                  return null;
+                });
           }
+        } catch (IOException e) {
+          LOGGER.warn(
+              StorageEngineMessages.CLOSE_MODIFICATION_FILE_ERROR, entry.getValue().getFile(), e);
         }
       }
       try {
@@ -773,12 +829,11 @@ public class LoadTsFileManager {
       } catch (IOException e) {
         LOGGER.warn(MESSAGE_DELETE_FAIL, taskDir.getPath(), e);
       }
-      dataPartition2Writer = null;
-      dataPartition2Resource = null;
-      dataPartition2LastDevice = null;
-      dataPartition2ModificationFile = null;
-      device2Partition = null;
-      isClosed = true;
+      dataPartition2Writer.clear();
+      dataPartition2Resource.clear();
+      dataPartition2LastDevice.clear();
+      dataPartition2ModificationFile.clear();
+      region2Device2Partition.clear();
     }
   }
 
@@ -789,7 +844,8 @@ public class LoadTsFileManager {
     private final long delayInMs;
     private long scheduledTime;
 
-    private volatile boolean isLoadTaskRunning = false;
+    // The pieces of different data regions may be written concurrently
+    private final AtomicInteger runningLoadTaskNum = new AtomicInteger(0);
     private volatile boolean isCanceled = false;
 
     private CleanupTask(String uuid, long delayInMs) {
@@ -799,12 +855,12 @@ public class LoadTsFileManager {
     }
 
     public void markLoadTaskRunning() {
-      isLoadTaskRunning = true;
+      runningLoadTaskNum.incrementAndGet();
       rescheduleCleanupTask(this);
     }
 
     public void markLoadTaskNotRunning() {
-      isLoadTaskRunning = false;
+      runningLoadTaskNum.decrementAndGet();
       rescheduleCleanupTask(this);
     }
 
@@ -836,12 +892,12 @@ public class LoadTsFileManager {
     }
   }
 
-  private static class DataPartitionInfo {
+  static class DataPartitionInfo {
 
     private final DataRegion dataRegion;
     private final TTimePartitionSlot timePartitionSlot;
 
-    private DataPartitionInfo(DataRegion dataRegion, TTimePartitionSlot timePartitionSlot) {
+    DataPartitionInfo(DataRegion dataRegion, TTimePartitionSlot timePartitionSlot) {
       this.dataRegion = dataRegion;
       this.timePartitionSlot = timePartitionSlot;
     }
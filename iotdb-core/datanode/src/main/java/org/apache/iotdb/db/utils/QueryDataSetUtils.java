@@ -233,7 +233,8 @@ public class QueryDataSetUtils {
                 bitmaps[k] = (bitmaps[k] << 1) | FLAG;
                 Binary binary = column.getBinary(i);
                 dataOutputStream.writeInt(binary.getLength());
-                dataOutputStream.write(binary.getValues());
+                // The array of a pooled binary may be longer than its length
+                dataOutputStream.write(binary.getValues(), 0, binary.getLength());
               }
               if (rowCount != 0 && rowCount % 8 == 0) {
                 dataBitmapOutputStream.writeByte(bitmaps[k]);
@@ -466,7 +467,7 @@ public class QueryDataSetUtils {
         bitmaps[columnIndex] = (bitmaps[columnIndex] << 1) | FLAG;
         Binary binary = column.getBinary(i);
         dataOutputStream.writeInt(binary.getLength());
-        dataOutputStream.write(binary.getValues());
+        dataOutputStream.write(binary.getValues(), 0, binary.getLength());
       }
       if (rowCount != 0 && rowCount % 8 == 0) {
         dataBitmapOutputStream.writeByte(bitmaps[columnIndex]);
@@ -550,9 +551,8 @@ public class QueryDataSetUtils {
 
   public static long[] readTimesFromBuffer(ByteBuffer buffer, int size) {
     long[] times = new long[size];
-    for (int i = 0; i < size; i++) {
-      times[i] = buffer.getLong();
-    }
+    buffer.asLongBuffer().get(times);
+    buffer.position(buffer.position() + size * Long.BYTES);
     return times;
   }
 
@@ -622,40 +622,39 @@ public class QueryDataSetUtils {
     for (int i = 0; i < columns; i++) {
       switch (types[i]) {
         case BOOLEAN:
+          byte[] boolBytes = new byte[size];
+          buffer.get(boolBytes);
           boolean[] boolValues = new boolean[size];
           for (int index = 0; index < size; index++) {
-            boolValues[index] = BytesUtils.byteToBool(buffer.get());
+            boolValues[index] = BytesUtils.byteToBool(boolBytes[index]);
           }
           values[i] = boolValues;
           break;
         case INT32:
         case DATE:
+          // The typed views copy the whole column in bulk and keep the byte order of the buffer
           int[] intValues = new int[size];
-          for (int index = 0; index < size; index++) {
-            intValues[index] = buffer.getInt();
-          }
+          buffer.asIntBuffer().get(intValues);
+          buffer.position(buffer.position() + size * Integer.BYTES);
           values[i] = intValues;
           break;
         case INT64:
         case TIMESTAMP:
           long[] longValues = new long[size];
-          for (int index = 0; index < size; index++) {
-            longValues[index] = buffer.getLong();
-          }
+          buffer.asLongBuffer().get(longValues);
+          buffer.position(buffer.position() + size * Long.BYTES);
           values[i] = longValues;
           break;
         case FLOAT:
           float[] floatValues = new float[size];
-          for (int index = 0; index < size; index++) {
-            floatValues[index] = buffer.getFloat();
-          }
+          buffer.asFloatBuffer().get(floatValues);
+          buffer.position(buffer.position() + size * Float.BYTES);
           values[i] = floatValues;
           break;
         case DOUBLE:
           double[] doubleValues = new double[size];
-          for (int index = 0; index < size; index++) {
-            doubleValues[index] = buffer.getDouble();
-          }
+          buffer.asDoubleBuffer().get(doubleValues);
+          buffer.position(buffer.position() + size * Double.BYTES);
           values[i] = doubleValues;
           break;
         case TEXT:
@@ -127,6 +127,7 @@ public class SchemaUtils {
       case SqlConstant.COUNT:
       case SqlConstant.TIME_DURATION:
       case SqlConstant.COUNT_TIME:
+      case SqlConstant.APPROX_COUNT_DISTINCT:
         return TSDataType.INT64;
       case SqlConstant.AVG:
       case SqlConstant.SUM:
@@ -144,6 +145,8 @@ public class SchemaUtils {
       case SqlConstant.SKEWNESS:
       case SqlConstant.KURTOSIS:
         return TSDataType.DOUBLE;
+      case SqlConstant.APPROX_MOST_FREQUENT:
+        return TSDataType.TEXT;
       // Partial aggregation names
       case SqlConstant.STDDEV + "_partial":
       case SqlConstant.STDDEV_POP + "_partial":
@@ -160,6 +163,9 @@ public class SchemaUtils {
       case SqlConstant.KURTOSIS + "_partial":
       case SqlConstant.MAX_BY + "_partial":
       case SqlConstant.MIN_BY + "_partial":
+      case SqlConstant.APPROX_COUNT_DISTINCT + "_partial":
+      case SqlConstant.APPROX_MOST_FREQUENT + "_partial":
+      case SqlConstant.APPROX_PERCENTILE + "_partial":
         return TSDataType.TEXT;
       case SqlConstant.LAST_VALUE:
       case SqlConstant.FIRST_VALUE:
@@ -239,6 +245,12 @@ public class SchemaUtils {
         return SqlConstant.SKEWNESS;
       case KURTOSIS:
         return SqlConstant.KURTOSIS;
+      case APPROX_COUNT_DISTINCT:
+        return SqlConstant.APPROX_COUNT_DISTINCT;
+      case APPROX_MOST_FREQUENT:
+        return SqlConstant.APPROX_MOST_FREQUENT;
+      case APPROX_PERCENTILE:
+        return SqlConstant.APPROX_PERCENTILE;
       default:
         return null;
     }
@@ -281,6 +293,9 @@ public class SchemaUtils {
       case REGR_INTERCEPT:
       case SKEWNESS:
       case KURTOSIS:
+      case APPROX_COUNT_DISTINCT:
+      case APPROX_MOST_FREQUENT:
+      case APPROX_PERCENTILE:
       case UDAF:
         return true;
       default:
@@ -334,6 +349,12 @@ public class SchemaUtils {
         return Collections.singletonList(addPartialSuffix(SqlConstant.MAX_BY));
       case MIN_BY:
         return Collections.singletonList(addPartialSuffix(SqlConstant.MIN_BY));
+      case APPROX_COUNT_DISTINCT:
+        return Collections.singletonList(addPartialSuffix(SqlConstant.APPROX_COUNT_DISTINCT));
+      case APPROX_MOST_FREQUENT:
+        return Collections.singletonList(addPartialSuffix(SqlConstant.APPROX_MOST_FREQUENT));
+      case APPROX_PERCENTILE:
+        return Collections.singletonList(addPartialSuffix(SqlConstant.APPROX_PERCENTILE));
       case AVG:
         return Arrays.asList(SqlConstant.COUNT, SqlConstant.SUM);
       case TIME_DURATION:
@@ -137,6 +137,7 @@ public class TypeInferenceUtils {
       case SqlConstant.COUNT_TIME:
       case SqlConstant.COUNT_IF:
       case SqlConstant.TIME_DURATION:
+      case SqlConstant.APPROX_COUNT_DISTINCT:
         return TSDataType.INT64;
       case SqlConstant.MIN_VALUE:
       case SqlConstant.LAST_VALUE:
@@ -146,6 +147,7 @@ public class TypeInferenceUtils {
       case SqlConstant.MODE:
       case SqlConstant.MAX_BY:
       case SqlConstant.MIN_BY:
+      case SqlConstant.APPROX_PERCENTILE:
         return dataType;
       case SqlConstant.AVG:
       case SqlConstant.SUM:
@@ -163,6 +165,8 @@ public class TypeInferenceUtils {
       case SqlConstant.SKEWNESS:
       case SqlConstant.KURTOSIS:
         return TSDataType.DOUBLE;
+      case SqlConstant.APPROX_MOST_FREQUENT:
+        return TSDataType.TEXT;
       default:
         throw new IllegalArgumentException(
             DataNodeMiscMessages.INVALID_AGGREGATION_FUNCTION + aggregationFunctionName);
@@ -209,6 +213,13 @@ public class TypeInferenceUtils {
         throw new SemanticException(
             "Aggregate functions [SKEWNESS, KURTOSIS] only support "
                 + "numeric data types [INT32, INT64, FLOAT, DOUBLE, TIMESTAMP]");
+      case SqlConstant.APPROX_PERCENTILE:
+        if (dataType.isNumeric() || TSDataType.TIMESTAMP.equals(dataType)) {
+          return;
+        }
+        throw new SemanticException(
+            "Aggregate function [APPROX_PERCENTILE] only supports "
+                + "numeric data types [INT32, INT64, FLOAT, DOUBLE, TIMESTAMP]");
       // For the two-argument aggregation functions CORR, COVAR_POP, COVAR_SAMP,
       // REGR_SLOPE, and REGR_INTERCEPT, type validation is performed in
       // verifyIsAggregationDataTypeMatchedForBothInputs.
@@ -227,6 +238,8 @@ public class TypeInferenceUtils {
       case SqlConstant.MODE:
       case SqlConstant.MAX_BY:
       case SqlConstant.MIN_BY:
+      case SqlConstant.APPROX_COUNT_DISTINCT:
+      case SqlConstant.APPROX_MOST_FREQUENT:
         return;
       case SqlConstant.COUNT_IF:
         if (dataType != TSDataType.BOOLEAN) {
@@ -305,6 +318,9 @@ public class TypeInferenceUtils {
       case SqlConstant.KURTOSIS:
       case SqlConstant.MAX_BY:
       case SqlConstant.MIN_BY:
+      case SqlConstant.APPROX_COUNT_DISTINCT:
+      case SqlConstant.APPROX_MOST_FREQUENT:
+      case SqlConstant.APPROX_PERCENTILE:
         return;
       case SqlConstant.COUNT_IF:
         Expression keepExpression = inputExpressions.get(1);
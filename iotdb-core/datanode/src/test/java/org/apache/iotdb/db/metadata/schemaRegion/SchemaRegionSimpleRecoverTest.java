@@ -19,6 +19,7 @@
 
 package org.apache.iotdb.db.metadata.schemaRegion;
 
+import org.apache.iotdb.commons.exception.MetadataException;
 import org.apache.iotdb.commons.path.MeasurementPath;
 import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.commons.queryengine.common.SessionInfo;
@@ -34,10 +35,12 @@ import org.apache.iotdb.commons.schema.table.column.TagColumnSchema;
 import org.apache.iotdb.commons.schema.template.Template;
 import org.apache.iotdb.consensus.ConsensusFactory;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.exception.metadata.MeasurementAlreadyExistException;
 import org.apache.iotdb.db.queryengine.common.schematree.ClusterSchemaTree;
 import org.apache.iotdb.db.queryengine.plan.relational.planner.node.schema.TableDeviceAttributeUpdateNode;
 import org.apache.iotdb.db.queryengine.plan.relational.sql.ast.UpdateAssignment;
 import org.apache.iotdb.db.schemaengine.schemaregion.ISchemaRegion;
+import org.apache.iotdb.db.schemaengine.schemaregion.impl.SchemaRegionMemoryImpl;
 import org.apache.iotdb.db.schemaengine.schemaregion.read.resp.info.IDeviceSchemaInfo;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.ICreateAlignedTimeSeriesPlan;
 import org.apache.iotdb.db.schemaengine.schemaregion.write.req.ICreateTimeSeriesPlan;
@@ -68,6 +71,7 @@ import java.util.Map;
 import static org.apache.iotdb.commons.schema.SchemaConstant.ALL_MATCH_SCOPE;
 import static org.apache.iotdb.db.metadata.schemaRegion.SchemaRegionTestUtil.checkSingleTimeSeries;
 import static org.apache.iotdb.db.metadata.schemaRegion.SchemaRegionTestUtil.createTableDevice;
+import static org.apache.iotdb.db.metadata.schemaRegion.SchemaRegionTestUtil.getAllTimeSeriesCount;
 
 public class SchemaRegionSimpleRecoverTest extends AbstractSchemaRegionTest {
 
@@ -256,6 +260,90 @@ public class SchemaRegionSimpleRecoverTest extends AbstractSchemaRegionTest {
         resultAttrMap);
   }
 
+  @Test
+  public void testRecoverAfterCreateTimeSeriesInBatch() throws Exception {
+    ISchemaRegion schemaRegion = getSchemaRegion("root.sg", 0);
+    schemaRegion.createTimeSeries(
+        SchemaRegionWritePlanFactory.getCreateTimeSeriesPlan(
+            new MeasurementPath("root.sg.d1.s1"),
+            TSDataType.INT32,
+            TSEncoding.PLAIN,
+            CompressionType.SNAPPY,
+            null,
+            null,
+            null,
+            null),
+        -1);
+
+    final Map<String, String> tagMap = Collections.singletonMap("tagK", "tagV");
+    final Map<String, String> attrMap = Collections.singletonMap("attrK", "attrV");
+    final List<ICreateTimeSeriesPlan> plans = new ArrayList<>();
+    for (final String path : Arrays.asList("root.sg.d2.s1", "root.sg.d1.s1", "root.sg.d1.s2")) {
+      plans.add(
+          SchemaRegionWritePlanFactory.getCreateTimeSeriesPlan(
+              new MeasurementPath(path),
+              TSDataType.INT64,
+              TSEncoding.PLAIN,
+              CompressionType.SNAPPY,
+              null,
+              tagMap,
+              attrMap,
+              null));
+    }
+    final Map<Integer, MetadataException> failingExceptionMap =
+        schemaRegion.createTimeSeriesInBatch(
+            SchemaRegionWritePlanFactory.getBatchCreateTimeSeriesPlan(plans));
+    Assert.assertEquals(Collections.singleton(1), failingExceptionMap.keySet());
+    Assert.assertTrue(failingExceptionMap.get(1) instanceof MeasurementAlreadyExistException);
+
+    simulateRestart();
+    schemaRegion = getSchemaRegion("root.sg", 0);
+
+    for (final String path : Arrays.asList("root.sg.d2.s1", "root.sg.d1.s2")) {
+      checkSingleTimeSeries(
+          schemaRegion,
+          new PartialPath(path),
+          false,
+          TSDataType.INT64,
+          TSEncoding.PLAIN,
+          CompressionType.SNAPPY,
+          null,
+          tagMap,
+          attrMap);
+    }
+  }
+
+  @Test
+  public void testRecoverBatchWithFailedTimeSeries() throws Exception {
+    if (!testParams.getTestModeName().equals("MemoryMode")) {
+      return;
+    }
+    ISchemaRegion schemaRegion = getSchemaRegion("root.sg", 0);
+    final List<ICreateTimeSeriesPlan> plans = new ArrayList<>();
+    for (final String path : Arrays.asList("root.sg.d1.s1", "root.sg.d1.s2", "root.sg.d2.s1")) {
+      plans.add(
+          SchemaRegionWritePlanFactory.getCreateTimeSeriesPlan(
+              new MeasurementPath(path),
+              TSDataType.INT64,
+              TSEncoding.PLAIN,
+              CompressionType.SNAPPY,
+              null,
+              null,
+              null,
+              null));
+    }
+    schemaRegion.createTimeSeries(plans.get(0), -1);
+    // The first series of the logged batch fails in recovery since it exists already
+    ((SchemaRegionMemoryImpl) schemaRegion)
+        .writeToMLog(SchemaRegionWritePlanFactory.getBatchCreateTimeSeriesPlan(plans));
+
+    simulateRestart();
+    schemaRegion = getSchemaRegion("root.sg", 0);
+
+    Assert.assertEquals(
+        3, getAllTimeSeriesCount(schemaRegion, new PartialPath("root.sg.**"), null, false));
+  }
+
   @Test
   public void testRecoverAfterCreateAndUpdateDevice() throws Exception {
     if (!testParams.getTestModeName().equals("MemoryMode")) {
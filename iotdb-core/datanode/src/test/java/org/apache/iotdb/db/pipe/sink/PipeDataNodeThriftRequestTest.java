@@ -697,6 +697,31 @@ public class PipeDataNodeThriftRequestTest {
     Assert.assertArrayEquals(req.getFilePiece(), deserializeReq.getFilePiece());
   }
 
+  @Test
+  public void testPipeTransferFilePieceReqZeroCopyLayout() throws IOException {
+    final byte[] body = "testPipeTransferFilePieceReqZeroCopyLayout".getBytes();
+    final String fileName = "1.tsfile";
+
+    // The air gap sink streams the piece after a header built from an empty piece
+    final byte[] header =
+        PipeTransferTsFilePieceReq.toTPipeTransferBytes(fileName, 10, new byte[0]);
+    ByteBuffer.wrap(header).putInt(header.length - Integer.BYTES, body.length);
+    final byte[] streamed = new byte[header.length + body.length];
+    System.arraycopy(header, 0, streamed, 0, header.length);
+    System.arraycopy(body, 0, streamed, header.length, body.length);
+    Assert.assertArrayEquals(
+        PipeTransferTsFilePieceReq.toTPipeTransferBytes(fileName, 10, body), streamed);
+
+    final PipeTransferTsFilePieceReq deserializeReq =
+        PipeTransferTsFilePieceReq.fromTPipeTransferReq(
+            PipeTransferTsFilePieceReq.toTPipeTransferReq(fileName, 10, body));
+    final ByteBuffer filePieceBuffer = deserializeReq.getFilePieceBuffer();
+    final byte[] filePiece = new byte[filePieceBuffer.remaining()];
+    filePieceBuffer.get(filePiece);
+    Assert.assertArrayEquals(body, filePiece);
+    Assert.assertArrayEquals(body, deserializeReq.getFilePiece());
+  }
+
   @Test
   public void testPipeTransferFilePieceWithModReq() throws IOException {
     final byte[] body = "testPipeTransferFilePieceWithModReq".getBytes();
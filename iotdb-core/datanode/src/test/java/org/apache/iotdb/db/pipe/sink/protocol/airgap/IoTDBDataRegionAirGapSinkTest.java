@@ -19,18 +19,23 @@
 
 package org.apache.iotdb.db.pipe.sink.protocol.airgap;
 
+import org.apache.iotdb.commons.conf.CommonConfig;
+import org.apache.iotdb.commons.conf.CommonDescriptor;
 import org.apache.iotdb.commons.pipe.agent.plugin.builtin.BuiltinPipePlugin;
 import org.apache.iotdb.commons.pipe.config.constant.PipeSinkConstant;
 import org.apache.iotdb.commons.pipe.config.plugin.configuraion.PipeTaskRuntimeConfiguration;
 import org.apache.iotdb.commons.pipe.config.plugin.env.PipeTaskSinkRuntimeEnvironment;
+import org.apache.iotdb.commons.pipe.sink.payload.airgap.AirGapOneByteResponse;
 import org.apache.iotdb.commons.pipe.sink.payload.thrift.request.PipeRequestType;
 import org.apache.iotdb.db.pipe.event.common.heartbeat.PipeHeartbeatEvent;
 import org.apache.iotdb.db.pipe.event.common.tablet.PipeRawTabletInsertionEvent;
 import org.apache.iotdb.db.pipe.sink.payload.evolvable.request.PipeTransferTabletBatchReqV2;
+import org.apache.iotdb.db.pipe.sink.payload.evolvable.request.PipeTransferTsFilePieceReq;
 import org.apache.iotdb.pipe.api.customizer.parameter.PipeParameterValidator;
 import org.apache.iotdb.pipe.api.customizer.parameter.PipeParameters;
 import org.apache.iotdb.service.rpc.thrift.TPipeTransferReq;
 
+import org.apache.tsfile.common.conf.TSFileConfig;
 import org.apache.tsfile.enums.TSDataType;
 import org.apache.tsfile.utils.ReadWriteIOUtils;
 import org.apache.tsfile.write.record.Tablet;
@@ -39,12 +44,17 @@ import org.apache.tsfile.write.schema.MeasurementSchema;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.zip.CRC32;
 
 public class IoTDBDataRegionAirGapSinkTest {
 
@@ -95,8 +105,15 @@ public class IoTDBDataRegionAirGapSinkTest {
       for (final byte[] requestBytes : sink.sentRequests) {
         requestTypes.add(toTPipeTransferReq(requestBytes).type);
       }
+      final List<Short> streamedRequestTypes = new ArrayList<>();
+      for (final byte[] requestBytes : sink.streamedRequests()) {
+        streamedRequestTypes.add(toTPipeTransferReq(requestBytes).type);
+      }
 
-      Assert.assertTrue(requestTypes.contains(PipeRequestType.TRANSFER_TS_FILE_PIECE.getType()));
+      // File pieces are read into their frames directly, other requests are sent as bytes
+      Assert.assertTrue(
+          streamedRequestTypes.contains(PipeRequestType.TRANSFER_TS_FILE_PIECE.getType()));
+      Assert.assertFalse(requestTypes.contains(PipeRequestType.TRANSFER_TS_FILE_PIECE.getType()));
       Assert.assertTrue(
           requestTypes.contains(PipeRequestType.TRANSFER_TS_FILE_SEAL_WITH_MOD.getType()));
       Assert.assertFalse(requestTypes.contains(PipeRequestType.TRANSFER_TABLET_RAW_V2.getType()));
@@ -104,6 +121,79 @@ public class IoTDBDataRegionAirGapSinkTest {
     }
   }
 
+  @Test
+  public void testTransferTsFilePiecesInPlaceOverAirGap() throws Exception {
+    final CommonConfig commonConfig = CommonDescriptor.getInstance().getConfig();
+    final int readFileBufferSize = commonConfig.getPipeSinkReadFileBufferSize();
+    commonConfig.setPipeSinkReadFileBufferSize(64);
+    try (final RecordingIoTDBDataRegionAirGapSink sink = new RecordingIoTDBDataRegionAirGapSink()) {
+      final PipeParameters parameters = buildParameters(true);
+      sink.validate(new PipeParameterValidator(parameters));
+      sink.customize(
+          parameters,
+          new PipeTaskRuntimeConfiguration(new PipeTaskSinkRuntimeEnvironment("pipe", 1L, 1)));
+      sink.prepareSocket();
+
+      sink.transfer(createPipeRawTabletInsertionEvent("pipe", 1L, 1L));
+
+      Thread.sleep(300L);
+      sink.transfer(new PipeHeartbeatEvent(-1, false));
+
+      // The pieces must be contiguous and carry the whole file
+      final ByteArrayOutputStream fileBytes = new ByteArrayOutputStream();
+      int pieceCount = 0;
+      for (final byte[] requestBytes : sink.streamedRequests()) {
+        final TPipeTransferReq req = toTPipeTransferReq(requestBytes);
+        if (req.type != PipeRequestType.TRANSFER_TS_FILE_PIECE.getType()) {
+          continue;
+        }
+        final PipeTransferTsFilePieceReq pieceReq =
+            PipeTransferTsFilePieceReq.fromTPipeTransferReq(req);
+        Assert.assertEquals(fileBytes.size(), pieceReq.getStartWritingOffset());
+        Assert.assertTrue(pieceReq.getFilePiece().length <= 64);
+        fileBytes.write(pieceReq.getFilePiece());
+        ++pieceCount;
+      }
+
+      Assert.assertTrue(pieceCount > 1);
+      Assert.assertTrue(
+          new String(fileBytes.toByteArray(), StandardCharsets.UTF_8)
+              .startsWith(TSFileConfig.MAGIC_STRING));
+    } finally {
+      commonConfig.setPipeSinkReadFileBufferSize(readFileBufferSize);
+    }
+  }
+
+  @Test
+  public void testTransferCompressedTsFilePiecesOverAirGap() throws Exception {
+    try (final RecordingIoTDBDataRegionAirGapSink sink = new RecordingIoTDBDataRegionAirGapSink()) {
+      final PipeParameters parameters = buildParameters(true);
+      parameters
+          .getAttribute()
+          .put(
+              PipeSinkConstant.CONNECTOR_COMPRESSOR_KEY,
+              PipeSinkConstant.CONNECTOR_COMPRESSOR_SNAPPY);
+      sink.validate(new PipeParameterValidator(parameters));
+      sink.customize(
+          parameters,
+          new PipeTaskRuntimeConfiguration(new PipeTaskSinkRuntimeEnvironment("pipe", 1L, 1)));
+      sink.prepareSocket();
+
+      sink.transfer(createPipeRawTabletInsertionEvent("pipe", 1L, 1L));
+
+      Thread.sleep(300L);
+      sink.transfer(new PipeHeartbeatEvent(-1, false));
+
+      // Compressed file pieces can not be read into their frames directly
+      Assert.assertTrue(sink.streamedRequests().isEmpty());
+      Assert.assertFalse(sink.sentRequests.isEmpty());
+      for (final byte[] requestBytes : sink.sentRequests) {
+        Assert.assertEquals(
+            PipeRequestType.TRANSFER_COMPRESSED.getType(), toTPipeTransferReq(requestBytes).type);
+      }
+    }
+  }
+
   private PipeParameters buildParameters(final boolean useTsFileBatch) {
     final Map<String, String> attributes = new HashMap<>();
     attributes.put(
@@ -152,9 +242,29 @@ public class IoTDBDataRegionAirGapSinkTest {
   private static class RecordingIoTDBDataRegionAirGapSink extends IoTDBDataRegionAirGapSink {
 
     private final List<byte[]> sentRequests = new ArrayList<>();
+    private final TestingAirGapSocket socket = new TestingAirGapSocket();
 
     private void prepareSocket() {
-      sockets.set(0, new TestingAirGapSocket());
+      sockets.set(0, socket);
+    }
+
+    /** Parse the frames written to the socket directly, bypassing {@link #sendBytes}. */
+    private List<byte[]> streamedRequests() {
+      final List<byte[]> requests = new ArrayList<>();
+      final ByteBuffer buffer = ByteBuffer.wrap(socket.outputStream.toByteArray());
+      while (buffer.hasRemaining()) {
+        final int length = buffer.getInt();
+        Assert.assertEquals(length, buffer.getInt());
+        final long checksum = buffer.getLong();
+        final byte[] request = new byte[length - Long.BYTES];
+        buffer.get(request);
+
+        final CRC32 crc32 = new CRC32();
+        crc32.update(request, 0, request.length);
+        Assert.assertEquals(crc32.getValue(), checksum);
+        requests.add(request);
+      }
+      return requests;
     }
 
     @Override
@@ -170,6 +280,8 @@ public class IoTDBDataRegionAirGapSinkTest {
 
     private static class TestingAirGapSocket extends AirGapSocket {
 
+      private final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
       private TestingAirGapSocket() {
         super("127.0.0.1", 6668);
       }
@@ -178,6 +290,26 @@ public class IoTDBDataRegionAirGapSinkTest {
       public synchronized void setSoTimeout(final int timeout) {
         // No-op for unit test.
       }
+
+      @Override
+      public boolean isConnected() {
+        return true;
+      }
+
+      @Override
+      public OutputStream getOutputStream() {
+        return outputStream;
+      }
+
+      @Override
+      public InputStream getInputStream() {
+        return new InputStream() {
+          @Override
+          public int read() {
+            return AirGapOneByteResponse.OK[0];
+          }
+        };
+      }
     }
   }
 }
@@ -21,6 +21,7 @@ package org.apache.iotdb.db.pipe.source.dataregion.historical;
 
 import org.apache.iotdb.commons.consensus.index.impl.MinimumProgressIndex;
 import org.apache.iotdb.commons.pipe.agent.task.meta.PipeTaskMeta;
+import org.apache.iotdb.commons.pipe.config.PipeConfig;
 import org.apache.iotdb.commons.pipe.config.constant.PipeSourceConstant;
 import org.apache.iotdb.commons.pipe.config.plugin.configuraion.PipeTaskRuntimeConfiguration;
 import org.apache.iotdb.commons.pipe.config.plugin.env.PipeTaskSourceRuntimeEnvironment;
@@ -33,6 +34,13 @@ import org.apache.iotdb.pipe.api.customizer.parameter.PipeParameterValidator;
 import org.apache.iotdb.pipe.api.customizer.parameter.PipeParameters;
 import org.apache.iotdb.pipe.api.event.Event;
 
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.tsfile.write.TsFileWriter;
+import org.apache.tsfile.write.record.TSRecord;
+import org.apache.tsfile.write.record.datapoint.IntDataPoint;
+import org.apache.tsfile.write.schema.MeasurementSchema;
+import org.apache.tsfile.write.schema.Schema;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -46,6 +54,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class PipeHistoricalDataRegionTsFileAndDeletionSourceTest {
@@ -173,6 +182,138 @@ public class PipeHistoricalDataRegionTsFileAndDeletionSourceTest {
     }
   }
 
+  @Test
+  public void testPrefetchWindowSuppliesEachTsFileOnce() throws Exception {
+    final TestablePipeHistoricalDataRegionTsFileAndDeletionSource source =
+        new TestablePipeHistoricalDataRegionTsFileAndDeletionSource();
+    final Event expectedEvent = new Event() {};
+    final File tempDir = Files.createTempDirectory("pipeHistoricalPrefetch").toFile();
+
+    try {
+      final TsFileResource firstResource = createTsFileResource(tempDir, "first.tsfile");
+      final TsFileResource skippedResource = createTsFileResource(tempDir, "skip.tsfile");
+      final TsFileResource thirdResource = createTsFileResource(tempDir, "third.tsfile");
+      final TsFileResource fourthResource = createTsFileResource(tempDir, "fourth.tsfile");
+      final List<TsFileResource> resources =
+          Arrays.asList(firstResource, skippedResource, thirdResource, fourthResource);
+
+      source.setSkippedTsFilePaths(skippedResource.getTsFilePath());
+      source.setSuppliedEvent(expectedEvent);
+      setPrivateField(source, "hasBeenStarted", true);
+      setPrivateField(source, "prefetchWindow", 2);
+      setPrivateField(source, "pendingQueue", new ArrayDeque<PersistentResource>(resources));
+      @SuppressWarnings("unchecked")
+      final Map<TsFileResource, Set<String>> filteredResources =
+          (Map<TsFileResource, Set<String>>)
+              getPrivateField(source, "filteredTsFileResources2TableNames");
+      resources.forEach(resource -> filteredResources.put(resource, null));
+
+      // The head is read by the consumer, only the next two files are prefetched
+      Assert.assertSame(expectedEvent, source.supply());
+      Assert.assertEquals(
+          Arrays.asList(skippedResource.getTsFilePath(), thirdResource.getTsFilePath()),
+          source.getPrefetchedTsFiles());
+
+      // The prefetched file still goes through the skipping check
+      Assert.assertTrue(source.supply() instanceof ProgressReportEvent);
+      Assert.assertEquals(
+          Arrays.asList(skippedResource.getTsFilePath()), source.getConsumedSkippedTsFilePaths());
+
+      Assert.assertSame(expectedEvent, source.supply());
+      Assert.assertSame(expectedEvent, source.supply());
+      Assert.assertEquals(0, source.getPendingQueueSize());
+
+      Assert.assertEquals(
+          Arrays.asList(
+              firstResource.getTsFilePath(),
+              thirdResource.getTsFilePath(),
+              fourthResource.getTsFilePath()),
+          source.getSuppliedTsFiles());
+      Assert.assertEquals(
+          Arrays.asList(
+              skippedResource.getTsFilePath(),
+              thirdResource.getTsFilePath(),
+              fourthResource.getTsFilePath()),
+          source.getPrefetchedTsFiles());
+    } finally {
+      FileUtils.deleteFileOrDirectory(tempDir);
+    }
+  }
+
+  @Test
+  public void testPrefetcherReadsOnlyExtractedChunks() throws Exception {
+    final File tempDir = Files.createTempDirectory("pipeHistoricalPrefetch").toFile();
+    try {
+      final File file = new File(tempDir, "prefetch.tsfile");
+      final Schema schema = new Schema();
+      schema.extendTemplate(
+          "template", new MeasurementSchema("s1", TSDataType.INT32, TSEncoding.PLAIN));
+      final TsFileWriter writer = new TsFileWriter(file, schema);
+      writer.registerDevice("root.sg.d1", "template");
+      writer.registerDevice("root.sg.d2", "template");
+      for (int i = 0; i < 10; i++) {
+        final TSRecord record = new TSRecord("root.sg." + (i % 2 == 0 ? "d1" : "d2"), i);
+        record.addTuple(new IntDataPoint("s1", i));
+        writer.writeRecord(record);
+        // One chunk group for each record
+        writer.flush();
+      }
+      writer.close();
+
+      final PipeHistoricalTsFilePrefetcher prefetcher =
+          PipeHistoricalTsFilePrefetcher.getInstance();
+      final long allChunks =
+          prefetcher.readChunks(
+              file, (device, measurement) -> true, Long.MIN_VALUE, Long.MAX_VALUE, () -> false);
+      Assert.assertTrue(allChunks > 0);
+      Assert.assertTrue(allChunks < file.length());
+
+      // Only the chunks of the matched device
+      final long oneDeviceChunks =
+          prefetcher.readChunks(
+              file,
+              (device, measurement) -> device.toString().equals("root.sg.d1"),
+              Long.MIN_VALUE,
+              Long.MAX_VALUE,
+              () -> false);
+      Assert.assertTrue(oneDeviceChunks > 0);
+      Assert.assertTrue(oneDeviceChunks < allChunks);
+
+      // Only the chunks in the time range
+      final long timeRangeChunks =
+          prefetcher.readChunks(file, (device, measurement) -> true, 0, 3, () -> false);
+      Assert.assertTrue(timeRangeChunks > 0);
+      Assert.assertTrue(timeRangeChunks < allChunks);
+      Assert.assertEquals(
+          0, prefetcher.readChunks(file, (device, measurement) -> true, 100, 200, () -> false));
+
+      // Nothing is read once cancelled
+      Assert.assertEquals(
+          0,
+          prefetcher.readChunks(
+              file, (device, measurement) -> true, Long.MIN_VALUE, Long.MAX_VALUE, () -> true));
+    } finally {
+      FileUtils.deleteFileOrDirectory(tempDir);
+    }
+  }
+
+  @Test
+  public void testPrefetcherBudget() {
+    final PipeHistoricalTsFilePrefetcher prefetcher = PipeHistoricalTsFilePrefetcher.getInstance();
+    final long budget = PipeConfig.getInstance().getPipeHistoricalTsFilePrefetchMaxSizeInBytes();
+
+    // A TsFile larger than the budget is prefetched if it is the only one
+    Assert.assertTrue(prefetcher.tryReserve(budget + 1));
+    Assert.assertFalse(prefetcher.tryReserve(1));
+    prefetcher.release(budget + 1);
+
+    Assert.assertTrue(prefetcher.tryReserve(budget / 2));
+    Assert.assertTrue(prefetcher.tryReserve(budget / 2));
+    Assert.assertFalse(prefetcher.tryReserve(budget / 2));
+    prefetcher.release(budget / 2);
+    prefetcher.release(budget / 2);
+  }
+
   @Test
   public void testReplicateIndexShouldBeStableBeforeResourceConsumed() throws Exception {
     final TestablePipeHistoricalDataRegionTsFileAndDeletionSource source =
@@ -228,6 +369,7 @@ public class PipeHistoricalDataRegionTsFileAndDeletionSourceTest {
     private final Set<String> skippedTsFilePaths = new HashSet<>();
     private final List<String> consumedSkippedTsFilePaths = new ArrayList<>();
     private final List<String> suppliedTsFiles = new ArrayList<>();
+    private final List<String> prefetchedTsFiles = new ArrayList<>();
     private Event suppliedEvent;
     private RuntimeException exceptionToThrow;
     private int remainingFailureCount;
@@ -245,6 +387,10 @@ public class PipeHistoricalDataRegionTsFileAndDeletionSourceTest {
       return suppliedTsFiles;
     }
 
+    private List<String> getPrefetchedTsFiles() {
+      return prefetchedTsFiles;
+    }
+
     @Override
     public int getPendingQueueSize() {
       try {
@@ -277,6 +423,11 @@ public class PipeHistoricalDataRegionTsFileAndDeletionSourceTest {
       return true;
     }
 
+    @Override
+    protected void prefetchTsFile(final TsFileResource resource) {
+      prefetchedTsFiles.add(resource.getTsFilePath());
+    }
+
     @Override
     protected Event supplyTsFileEvent(final TsFileResource resource) {
       suppliedTsFiles.add(resource.getTsFilePath());
@@ -20,10 +20,12 @@
 package org.apache.iotdb.db.queryengine.execution.aggregation;
 
 import org.apache.iotdb.calc.execution.aggregation.Accumulator;
+import org.apache.iotdb.calc.utils.constant.SqlConstant;
 import org.apache.iotdb.common.rpc.thrift.TAggregationType;
 
 import org.apache.tsfile.block.column.Column;
 import org.apache.tsfile.block.column.ColumnBuilder;
+import org.apache.tsfile.common.conf.TSFileConfig;
 import org.apache.tsfile.enums.TSDataType;
 import org.apache.tsfile.file.metadata.statistics.Statistics;
 import org.apache.tsfile.file.metadata.statistics.TimeStatistics;
@@ -43,7 +45,9 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class AccumulatorTest {
 
@@ -943,4 +947,139 @@ public class AccumulatorTest {
     minByAccumulator.outputFinal(finalResult);
     Assert.assertEquals(0, finalResult.build().getInt(0));
   }
+
+  @Test
+  public void approxCountDistinctAccumulatorTest() {
+    Accumulator regionAccumulator =
+        AccumulatorFactory.createBuiltinAccumulator(
+            TAggregationType.APPROX_COUNT_DISTINCT,
+            Collections.singletonList(TSDataType.INT32),
+            Collections.emptyList(),
+            Collections.emptyMap(),
+            true);
+    Assert.assertEquals(TSDataType.TEXT, regionAccumulator.getIntermediateType()[0]);
+    Assert.assertEquals(TSDataType.INT64, regionAccumulator.getFinalType());
+    // check returning null partial result and zero count when no data
+    ColumnBuilder[] intermediateResult = new ColumnBuilder[1];
+    intermediateResult[0] = new BinaryColumnBuilder(null, 1);
+    regionAccumulator.outputIntermediate(intermediateResult);
+    Assert.assertTrue(intermediateResult[0].build().isNull(0));
+    ColumnBuilder finalResult = new LongColumnBuilder(null, 1);
+    regionAccumulator.outputFinal(finalResult);
+    Assert.assertEquals(0, finalResult.build().getLong(0));
+
+    // merge the sketches of two regions holding the same values
+    Accumulator rootAccumulator =
+        AccumulatorFactory.createBuiltinAccumulator(
+            TAggregationType.APPROX_COUNT_DISTINCT,
+            Collections.singletonList(TSDataType.INT32),
+            Collections.emptyList(),
+            Collections.emptyMap(),
+            true);
+    for (int i = 0; i < 2; i++) {
+      regionAccumulator.reset();
+      regionAccumulator.addInput(getTimeAndValueColumn(1), null);
+      intermediateResult[0] = new BinaryColumnBuilder(null, 1);
+      regionAccumulator.outputIntermediate(intermediateResult);
+      rootAccumulator.addIntermediate(new Column[] {intermediateResult[0].build()});
+    }
+    finalResult = new LongColumnBuilder(null, 1);
+    rootAccumulator.outputFinal(finalResult);
+    Assert.assertEquals(100, finalResult.build().getLong(0), 5);
+  }
+
+  @Test
+  public void approxPercentileAccumulatorTest() {
+    Accumulator regionAccumulator =
+        AccumulatorFactory.createBuiltinAccumulator(
+            TAggregationType.APPROX_PERCENTILE,
+            Collections.singletonList(TSDataType.DOUBLE),
+            Collections.emptyList(),
+            Collections.singletonMap(SqlConstant.APPROX_PERCENTILE_PERCENTAGE, "0.5"),
+            true);
+    Assert.assertEquals(TSDataType.TEXT, regionAccumulator.getIntermediateType()[0]);
+    Assert.assertEquals(TSDataType.DOUBLE, regionAccumulator.getFinalType());
+    // check returning null when no data
+    ColumnBuilder[] intermediateResult = new ColumnBuilder[1];
+    intermediateResult[0] = new BinaryColumnBuilder(null, 1);
+    regionAccumulator.outputIntermediate(intermediateResult);
+    Assert.assertTrue(intermediateResult[0].build().isNull(0));
+    ColumnBuilder finalResult = new DoubleColumnBuilder(null, 1);
+    regionAccumulator.outputFinal(finalResult);
+    Assert.assertTrue(finalResult.build().isNull(0));
+
+    regionAccumulator.addInput(getTimeAndValueColumn(0), null);
+    Assert.assertFalse(regionAccumulator.hasFinalResult());
+    intermediateResult[0] = new BinaryColumnBuilder(null, 1);
+    regionAccumulator.outputIntermediate(intermediateResult);
+
+    // merge the digests of two time slices
+    Accumulator rootAccumulator =
+        AccumulatorFactory.createBuiltinAccumulator(
+            TAggregationType.APPROX_PERCENTILE,
+            Collections.singletonList(TSDataType.DOUBLE),
+            Collections.emptyList(),
+            Collections.singletonMap(SqlConstant.APPROX_PERCENTILE_PERCENTAGE, "0.5"),
+            true);
+    rootAccumulator.addIntermediate(new Column[] {intermediateResult[0].build()});
+    rootAccumulator.addIntermediate(new Column[] {intermediateResult[0].build()});
+    finalResult = new DoubleColumnBuilder(null, 1);
+    rootAccumulator.outputFinal(finalResult);
+    Assert.assertEquals(49.5, finalResult.build().getDouble(0), 1);
+  }
+
+  @Test
+  public void approxMostFrequentAccumulatorTest() {
+    Map<String, String> attributes = new HashMap<>();
+    attributes.put(SqlConstant.APPROX_MOST_FREQUENT_K, "3");
+    attributes.put(SqlConstant.APPROX_MOST_FREQUENT_CAPACITY, "20");
+    Accumulator regionAccumulator =
+        AccumulatorFactory.createBuiltinAccumulator(
+            TAggregationType.APPROX_MOST_FREQUENT,
+            Collections.singletonList(TSDataType.INT64),
+            Collections.emptyList(),
+            attributes,
+            true);
+    Assert.assertEquals(TSDataType.TEXT, regionAccumulator.getIntermediateType()[0]);
+    Assert.assertEquals(TSDataType.TEXT, regionAccumulator.getFinalType());
+    // check returning null when no data
+    ColumnBuilder[] intermediateResult = new ColumnBuilder[1];
+    intermediateResult[0] = new BinaryColumnBuilder(null, 1);
+    regionAccumulator.outputIntermediate(intermediateResult);
+    Assert.assertTrue(intermediateResult[0].build().isNull(0));
+    ColumnBuilder finalResult = new BinaryColumnBuilder(null, 1);
+    regionAccumulator.outputFinal(finalResult);
+    Assert.assertTrue(finalResult.build().isNull(0));
+
+    // value v appears v times
+    TimeColumnBuilder timeColumnBuilder = new TimeColumnBuilder(null, 55);
+    ColumnBuilder valueColumnBuilder = new LongColumnBuilder(null, 55);
+    long time = 0;
+    for (int value = 1; value <= 10; value++) {
+      for (int i = 0; i < value; i++) {
+        timeColumnBuilder.writeLong(time++);
+        valueColumnBuilder.writeLong(value);
+      }
+    }
+    regionAccumulator.addInput(
+        new Column[] {timeColumnBuilder.build(), valueColumnBuilder.build()}, null);
+    intermediateResult[0] = new BinaryColumnBuilder(null, 1);
+    regionAccumulator.outputIntermediate(intermediateResult);
+
+    // merge the sketches of two regions holding the same values
+    Accumulator rootAccumulator =
+        AccumulatorFactory.createBuiltinAccumulator(
+            TAggregationType.APPROX_MOST_FREQUENT,
+            Collections.singletonList(TSDataType.INT64),
+            Collections.emptyList(),
+            attributes,
+            true);
+    rootAccumulator.addIntermediate(new Column[] {intermediateResult[0].build()});
+    rootAccumulator.addIntermediate(new Column[] {intermediateResult[0].build()});
+    finalResult = new BinaryColumnBuilder(null, 1);
+    rootAccumulator.outputFinal(finalResult);
+    Assert.assertEquals(
+        "{\"10\":20,\"9\":18,\"8\":16}",
+        finalResult.build().getBinary(0).getStringValue(TSFileConfig.STRING_CHARSET));
+  }
 }
@@ -26,13 +26,16 @@ import org.apache.iotdb.commons.exception.IllegalPathException;
 import org.apache.iotdb.commons.exception.MetadataException;
 import org.apache.iotdb.commons.path.NonAlignedFullPath;
 import org.apache.iotdb.commons.path.PartialPath;
+import org.apache.iotdb.commons.queryengine.plan.planner.plan.node.PlanNodeId;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.queryengine.common.FragmentInstanceId;
 import org.apache.iotdb.db.queryengine.common.PlanFragmentId;
 import org.apache.iotdb.db.queryengine.exception.CpuNotEnoughException;
+import org.apache.iotdb.db.queryengine.execution.driver.DriverContext;
 import org.apache.iotdb.db.queryengine.execution.driver.IDriver;
 import org.apache.iotdb.db.queryengine.execution.exchange.MPPDataExchangeManager;
 import org.apache.iotdb.db.queryengine.execution.exchange.sink.ISink;
+import org.apache.iotdb.db.queryengine.execution.operator.OperatorContext;
 import org.apache.iotdb.db.queryengine.execution.schedule.IDriverScheduler;
 import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
 import org.apache.iotdb.db.storageengine.dataregion.memtable.DeviceIDFactory;
@@ -256,6 +259,58 @@ public class FragmentInstanceExecutionTest {
     }
   }
 
+  @Test
+  public void testResourceUsage() throws InterruptedException {
+    ExecutorService instanceNotificationExecutor =
+        IoTDBThreadPoolFactory.newFixedThreadPool(1, "test-instance-notification");
+    try {
+      FragmentInstanceId instanceId =
+          new FragmentInstanceId(new PlanFragmentId(MOCK_QUERY_ID, 3), "3");
+      FragmentInstanceContext fragmentInstanceContext =
+          createFragmentInstanceContext(
+              instanceId,
+              new FragmentInstanceStateMachine(instanceId, instanceNotificationExecutor));
+
+      // the CPU time of every driver is summed up in the FI
+      DriverContext driverContext1 = new DriverContext(fragmentInstanceContext, 0);
+      DriverContext driverContext2 = new DriverContext(fragmentInstanceContext, 1);
+      driverContext1.recordCpuTime(100);
+      driverContext1.recordCpuTime(50);
+      driverContext2.recordCpuTime(30);
+      assertEquals(150, driverContext1.getCpuTimeInNanos());
+      assertEquals(30, driverContext2.getCpuTimeInNanos());
+      assertEquals(180, fragmentInstanceContext.getCpuTimeInNanos());
+
+      OperatorContext operatorContext =
+          new OperatorContext(0, new PlanNodeId("0"), "SortOperator", driverContext1);
+      operatorContext.recordSpilledBytes(1024);
+      operatorContext.recordSpilledBytes(512);
+      assertEquals(1536, fragmentInstanceContext.getSpilledBytes());
+
+      // the memory estimated at planning is added to the memory reserved while running
+      fragmentInstanceContext.setEstimatedMemorySize(2048);
+      assertEquals(2048, fragmentInstanceContext.getReservedMemorySize());
+      fragmentInstanceContext.getMemoryReservationContext().reserveMemoryVirtually(0, 100);
+      assertEquals(2148, fragmentInstanceContext.getReservedMemorySize());
+
+      QueryStatistics statistics = fragmentInstanceContext.getQueryStatistics();
+      statistics.getLoadBloomFilterActualIOSize().addAndGet(1);
+      statistics.getLoadTimeSeriesMetadataActualIOSize().addAndGet(10);
+      statistics.getLoadChunkActualIOSize().addAndGet(100);
+      statistics.getLoadBloomFilterFromCacheCount().addAndGet(2);
+      statistics.getLoadTimeSeriesMetadataFromCacheCount().addAndGet(20);
+      statistics.getLoadChunkFromCacheCount().addAndGet(200);
+      statistics.getLoadBloomFilterFromDiskCount().addAndGet(3);
+      statistics.getLoadTimeSeriesMetadataFromDiskCount().addAndGet(30);
+      statistics.getLoadChunkFromDiskCount().addAndGet(300);
+      assertEquals(111, statistics.getTotalActualIOSize());
+      assertEquals(222, statistics.getTotalLoadFromCacheCount());
+      assertEquals(333, statistics.getTotalLoadFromDiskCount());
+    } finally {
+      shutdownAndAwaitTermination(instanceNotificationExecutor);
+    }
+  }
+
   private FragmentInstanceExecution createFragmentInstanceExecution(int id, Executor executor)
       throws CpuNotEnoughException {
     IDriverScheduler scheduler = Mockito.mock(IDriverScheduler.class);
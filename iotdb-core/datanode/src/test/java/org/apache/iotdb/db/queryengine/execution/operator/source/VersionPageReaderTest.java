@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.operator.source;
+
+import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
+import org.apache.iotdb.db.storageengine.dataregion.read.reader.chunk.MemPageReader;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.tsfile.read.filter.basic.Filter;
+import org.apache.tsfile.read.filter.factory.TimeFilterApi;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class VersionPageReaderTest {
+
+  private static final TsBlock tsBlock;
+
+  static {
+    TsBlockBuilder tsBlockBuilder = new TsBlockBuilder(Collections.singletonList(TSDataType.INT32));
+    for (int i = 0; i < 100; i++) {
+      tsBlockBuilder.getTimeColumnBuilder().writeLong(i);
+      tsBlockBuilder.getValueColumnBuilders()[0].writeInt(i);
+      tsBlockBuilder.declarePosition();
+    }
+    tsBlock = tsBlockBuilder.build();
+  }
+
+  @Test
+  public void testDecodedSize() throws IOException {
+    QueryContext context = new QueryContext(false, false);
+    assertEquals(100, readPage(context, null).getPositionCount());
+    long decodedSize = context.getQueryStatistics().getPageReadersDecodedSize().get();
+    assertEquals(tsBlock.getSizeInBytes(), decodedSize);
+
+    // the rows dropped by the filter have been decoded as well
+    context = new QueryContext(false, false);
+    assertEquals(50, readPage(context, TimeFilterApi.gtEq(50)).getPositionCount());
+    assertEquals(decodedSize, context.getQueryStatistics().getPageReadersDecodedSize().get());
+
+    context = new QueryContext(false, false);
+    assertEquals(0, readPage(context, TimeFilterApi.gtEq(100)).getPositionCount());
+    assertTrue(context.getQueryStatistics().getPageReadersDecodedSize().get() > 0);
+  }
+
+  @Test
+  public void testFilteredRowsOfVerboseQuery() throws IOException {
+    QueryContext context = new QueryContext(false, true);
+    readPage(context, TimeFilterApi.gtEq(30));
+    assertEquals(30, context.getQueryStatistics().getRowScanFilteredRows().get());
+
+    context = new QueryContext(false, false);
+    readPage(context, TimeFilterApi.gtEq(30));
+    assertEquals(0, context.getQueryStatistics().getRowScanFilteredRows().get());
+  }
+
+  private static TsBlock readPage(QueryContext context, Filter filter) throws IOException {
+    MemPageReader pageReader =
+        new MemPageReader(() -> tsBlock, 0, TSDataType.INT32, "s1", null, filter);
+    SeriesScanUtil.VersionPageReader versionPageReader =
+        new SeriesScanUtil.VersionPageReader(context, 0, 0, 0, pageReader, true);
+    return versionPageReader.getAllSatisfiedPageData(true);
+  }
+}
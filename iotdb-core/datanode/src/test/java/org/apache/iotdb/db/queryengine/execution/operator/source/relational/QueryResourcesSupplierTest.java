@@ -0,0 +1,159 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.operator.source.relational;
+
+import org.apache.iotdb.commons.audit.UserEntity;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.exception.auth.AccessDeniedException;
+import org.apache.iotdb.commons.schema.table.InformationSchema;
+import org.apache.iotdb.commons.schema.table.column.TsTableColumnSchema;
+import org.apache.iotdb.db.auth.AuthorityChecker;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.queryengine.common.FragmentInstanceId;
+import org.apache.iotdb.db.queryengine.common.PlanFragmentId;
+import org.apache.iotdb.db.queryengine.common.QueryId;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContext;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceExecution;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceState;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceStateMachine;
+import org.apache.iotdb.db.queryengine.execution.operator.source.relational.InformationSchemaContentSupplierFactory.IInformationSchemaContentSupplier;
+import org.apache.iotdb.db.queryengine.execution.operator.source.relational.InformationSchemaContentSupplierFactory.QueryResourcesSupplier;
+import org.apache.iotdb.db.queryengine.plan.relational.security.AccessControl;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Collectors;
+
+import static org.apache.iotdb.db.queryengine.common.QueryId.MOCK_QUERY_ID;
+import static org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceContext.createFragmentInstanceContext;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class QueryResourcesSupplierTest {
+
+  private static final List<TSDataType> DATA_TYPES =
+      InformationSchema.getSchemaTables()
+          .get(InformationSchema.QUERY_RESOURCES)
+          .getColumnList()
+          .stream()
+          .map(TsTableColumnSchema::getDataType)
+          .collect(Collectors.toList());
+
+  private final ExecutorService instanceNotificationExecutor =
+      IoTDBThreadPoolFactory.newFixedThreadPool(1, "test-instance-notification");
+
+  private AccessControl oldAccessControl;
+
+  @BeforeClass
+  public static void setUpClass() {
+    IoTDBDescriptor.getInstance().getConfig().setDataNodeId(1);
+  }
+
+  @Before
+  public void setUp() {
+    oldAccessControl = AuthorityChecker.getAccessControl();
+    AccessControl accessControl = Mockito.mock(AccessControl.class);
+    Mockito.doThrow(new AccessDeniedException("No privilege"))
+        .when(accessControl)
+        .checkUserGlobalSysPrivilege(Mockito.argThat(user -> !"root".equals(user.getUsername())));
+    AuthorityChecker.setAccessControl(accessControl);
+  }
+
+  @After
+  public void tearDown() {
+    AuthorityChecker.setAccessControl(oldAccessControl);
+    instanceNotificationExecutor.shutdownNow();
+  }
+
+  @Test
+  public void testQueryResources() {
+    FragmentInstanceExecution execution = mockExecution(0);
+    FragmentInstanceContext context = execution.getFragmentInstanceContext();
+    context.addCpuTime(1_500_000_000L);
+    context.addSpilledBytes(300);
+    context.setEstimatedMemorySize(400);
+    context.getQueryStatistics().getLoadChunkActualIOSize().addAndGet(100);
+    context.getQueryStatistics().getLoadChunkFromCacheCount().addAndGet(2);
+    context.getQueryStatistics().getLoadChunkFromDiskCount().addAndGet(3);
+    context.getQueryStatistics().getPageReadersDecodedSize().addAndGet(200);
+
+    TsBlock tsBlock = scan("root", Arrays.asList(execution, mockExecution(1)));
+    assertEquals(2, tsBlock.getPositionCount());
+    assertEquals(MOCK_QUERY_ID.getId(), tsBlock.getColumn(0).getBinary(0).toString());
+    assertEquals("0", tsBlock.getColumn(1).getBinary(0).toString());
+    assertEquals(QueryId.getDataNodeId(), tsBlock.getColumn(2).getInt(0));
+    assertEquals(
+        FragmentInstanceState.RUNNING.toString(), tsBlock.getColumn(3).getBinary(0).toString());
+    assertEquals(1.5f, tsBlock.getColumn(4).getFloat(0), 0);
+    assertEquals(100, tsBlock.getColumn(5).getLong(0));
+    assertEquals(2, tsBlock.getColumn(6).getLong(0));
+    assertEquals(3, tsBlock.getColumn(7).getLong(0));
+    assertEquals(200, tsBlock.getColumn(8).getLong(0));
+    assertEquals(400, tsBlock.getColumn(9).getLong(0));
+    assertEquals(300, tsBlock.getColumn(10).getLong(0));
+
+    // nothing has been accounted to the other FI yet
+    assertEquals("1", tsBlock.getColumn(1).getBinary(1).toString());
+    assertEquals(0, tsBlock.getColumn(4).getFloat(1), 0);
+    for (int i = 5; i < DATA_TYPES.size(); i++) {
+      assertEquals(0, tsBlock.getColumn(i).getLong(1));
+    }
+  }
+
+  @Test
+  public void testOnlyOwnQueriesWithoutPrivilege() {
+    // the FIs created for the tests belong to the user "test"
+    List<FragmentInstanceExecution> executions = Arrays.asList(mockExecution(0));
+    assertEquals(1, scan("test", executions).getPositionCount());
+
+    IInformationSchemaContentSupplier supplier =
+        new QueryResourcesSupplier(DATA_TYPES, new UserEntity(1, "other", ""), executions);
+    assertFalse(supplier.hasNext());
+  }
+
+  private TsBlock scan(String userName, List<FragmentInstanceExecution> executions) {
+    IInformationSchemaContentSupplier supplier =
+        new QueryResourcesSupplier(DATA_TYPES, new UserEntity(0, userName, ""), executions);
+    TsBlock tsBlock = supplier.next();
+    assertFalse(supplier.hasNext());
+    return tsBlock;
+  }
+
+  private FragmentInstanceExecution mockExecution(int id) {
+    FragmentInstanceId instanceId =
+        new FragmentInstanceId(new PlanFragmentId(MOCK_QUERY_ID, id), String.valueOf(id));
+    FragmentInstanceContext context =
+        createFragmentInstanceContext(
+            instanceId, new FragmentInstanceStateMachine(instanceId, instanceNotificationExecutor));
+    FragmentInstanceExecution execution = Mockito.mock(FragmentInstanceExecution.class);
+    Mockito.when(execution.getFragmentInstanceContext()).thenReturn(context);
+    Mockito.when(execution.getInstanceState()).thenReturn(FragmentInstanceState.RUNNING);
+    return execution;
+  }
+}
@@ -27,6 +27,7 @@ import org.apache.iotdb.db.queryengine.execution.driver.IDriver;
 import org.apache.iotdb.db.queryengine.execution.schedule.DriverScheduler;
 import org.apache.iotdb.db.queryengine.execution.schedule.queue.multilevelqueue.DriverTaskHandle;
 import org.apache.iotdb.db.queryengine.execution.schedule.queue.multilevelqueue.MultilevelPriorityQueue;
+import org.apache.iotdb.db.queryengine.execution.schedule.queue.multilevelqueue.ResourceGroup;
 import org.apache.iotdb.db.queryengine.execution.schedule.task.DriverTask;
 import org.apache.iotdb.db.queryengine.execution.schedule.task.DriverTaskId;
 import org.apache.iotdb.db.queryengine.execution.schedule.task.DriverTaskStatus;
@@ -38,6 +39,7 @@ import org.mockito.Mockito;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.OptionalInt;
+import java.util.concurrent.TimeUnit;
 
 public class MultilevelPriorityQueueTest {
   @Test
@@ -178,6 +180,121 @@ public class MultilevelPriorityQueueTest {
     }
   }
 
+  @Test
+  public void testResourceGroupRunningTaskLimit() throws InterruptedException {
+    MultilevelPriorityQueue queue = new MultilevelPriorityQueue(2, 1000, new DriverTask());
+    ResourceGroup limitedGroup = new ResourceGroup("limited", 1, 1);
+    ResourceGroup otherGroup = new ResourceGroup("other", 1, 0);
+    DriverTask l1 = mockDriverTask(queue, limitedGroup, 1);
+    DriverTask l2 = mockDriverTask(queue, limitedGroup, 2);
+    queue.push(l1);
+    queue.push(l2);
+    Assert.assertSame(l1, queue.poll());
+    Assert.assertEquals(1, limitedGroup.getRunningTaskNum());
+
+    // The limited group can not run another task, so the task of the other group goes first
+    DriverTask o1 = mockDriverTask(queue, otherGroup, 3);
+    queue.push(o1);
+    Assert.assertSame(o1, queue.poll());
+    queue.releaseRunningTask(o1);
+
+    List<DriverTask> res = new ArrayList<>();
+    Thread t1 =
+        new Thread(
+            () -> {
+              try {
+                res.add(queue.poll());
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            });
+    t1.start();
+    Thread.sleep(100);
+    Assert.assertEquals(Thread.State.WAITING, t1.getState());
+    Assert.assertEquals(1, queue.size());
+    queue.releaseRunningTask(l1);
+    t1.join(1000);
+    Assert.assertEquals(Thread.State.TERMINATED, t1.getState());
+    Assert.assertEquals(1, res.size());
+    Assert.assertSame(l2, res.get(0));
+    Assert.assertEquals(0, limitedGroup.getReadyTaskNum());
+    Assert.assertEquals(1, limitedGroup.getRunningTaskNum());
+  }
+
+  @Test
+  public void testResourceGroupWeightedShare() throws InterruptedException {
+    MultilevelPriorityQueue queue = new MultilevelPriorityQueue(2, 1000, new DriverTask());
+    ResourceGroup lightGroup = new ResourceGroup("light", 1, 0);
+    ResourceGroup heavyGroup = new ResourceGroup("heavy", 3, 0);
+    DriverTaskHandle lightHandle =
+        new DriverTaskHandle(1, queue, OptionalInt.of(Integer.MAX_VALUE), lightGroup);
+    DriverTaskHandle heavyHandle =
+        new DriverTaskHandle(2, queue, OptionalInt.of(Integer.MAX_VALUE), heavyGroup);
+    for (int i = 0; i < 4; i++) {
+      queue.push(mockDriverTask(lightHandle, i));
+      queue.push(mockDriverTask(heavyHandle, 4 + i));
+    }
+
+    // Every task runs for the same time and then is ready again
+    int lightPolledNum = 0;
+    for (int i = 0; i < 400; i++) {
+      DriverTask task = queue.poll();
+      DriverTaskHandle handle = task.getResourceGroup() == lightGroup ? lightHandle : heavyHandle;
+      handle.addScheduledTimeInNanos(TimeUnit.MILLISECONDS.toNanos(1));
+      queue.releaseRunningTask(task);
+      queue.push(task);
+      if (handle == lightHandle) {
+        lightPolledNum++;
+      }
+    }
+    Assert.assertEquals(100, lightPolledNum, 1);
+    Assert.assertEquals(
+        3 * lightGroup.getScheduledTimeInNanos(),
+        heavyGroup.getScheduledTimeInNanos(),
+        TimeUnit.MILLISECONDS.toNanos(3));
+  }
+
+  @Test
+  public void testResourceGroupChosenBeforeLevel() throws InterruptedException {
+    MultilevelPriorityQueue queue = new MultilevelPriorityQueue(2, 1000, new DriverTask());
+    ResourceGroup busyGroup = new ResourceGroup("busy", 1, 0);
+    ResourceGroup idleGroup = new ResourceGroup("idle", 1, 0);
+
+    // The busy group has run for a long time, but its new task is in the level 0
+    new DriverTaskHandle(1, queue, OptionalInt.of(Integer.MAX_VALUE), busyGroup)
+        .addScheduledTimeInNanos(TimeUnit.SECONDS.toNanos(30));
+    DriverTask busyTask =
+        mockDriverTask(
+            new DriverTaskHandle(2, queue, OptionalInt.of(Integer.MAX_VALUE), busyGroup), 1);
+    DriverTaskHandle idleHandle =
+        new DriverTaskHandle(3, queue, OptionalInt.of(Integer.MAX_VALUE), idleGroup);
+    idleHandle.addScheduledTimeInNanos(TimeUnit.SECONDS.toNanos(2));
+    DriverTask idleTask = mockDriverTask(idleHandle, 2);
+    idleTask.updatePriority();
+    Assert.assertEquals(1, idleTask.getPriority().getLevel());
+
+    queue.push(busyTask);
+    queue.push(idleTask);
+    Assert.assertSame(idleTask, queue.poll());
+    Assert.assertSame(busyTask, queue.poll());
+  }
+
+  private DriverTask mockDriverTask(
+      MultilevelPriorityQueue queue, ResourceGroup group, int pipelineId) {
+    return mockDriverTask(
+        new DriverTaskHandle(1, queue, OptionalInt.of(Integer.MAX_VALUE), group), pipelineId);
+  }
+
+  private DriverTask mockDriverTask(DriverTaskHandle driverTaskHandle, int pipelineId) {
+    IDriver mockDriver = Mockito.mock(IDriver.class);
+    DriverTaskId driverTaskId =
+        new DriverTaskId(
+            new FragmentInstanceId(new PlanFragmentId(new QueryId("test"), 0), "inst-0"),
+            pipelineId);
+    Mockito.when(mockDriver.getDriverTaskId()).thenReturn(driverTaskId);
+    return new DriverTask(mockDriver, 100L, DriverTaskStatus.READY, driverTaskHandle, 0, false);
+  }
+
   private DriverTask mockDriverTask(DriverTaskId driverTaskID, boolean isHighestPriority) {
     DriverScheduler manager = DriverScheduler.getInstance();
     IDriver mockDriver = Mockito.mock(IDriver.class);
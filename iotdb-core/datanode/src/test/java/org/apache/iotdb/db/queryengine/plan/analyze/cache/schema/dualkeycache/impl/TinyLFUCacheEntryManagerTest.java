@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.dualkeycache.impl;
+
+import org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.dualkeycache.impl.TinyLFUCacheEntryManager.TinyLFUCacheEntry;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class TinyLFUCacheEntryManagerTest {
+
+  private static final int CAPACITY = 100;
+
+  private final TinyLFUCacheEntryManager<String, String, Integer> manager =
+      new TinyLFUCacheEntryManager<>();
+  private final CacheEntryGroupImpl<String, String, Integer, TinyLFUCacheEntry<String, Integer>>
+      group =
+          new CacheEntryGroupImpl<>(
+              "root.db", new CacheSizeComputerImpl<>(k -> 0, k -> 0, v -> 0));
+
+  private int entriesCount = 0;
+
+  @Test
+  public void testScanResistance() {
+    final Set<String> hotKeys = new HashSet<>();
+    final List<TinyLFUCacheEntry<String, Integer>> hotEntries = new ArrayList<>();
+    for (int i = 0; i < CAPACITY / 2; i++) {
+      hotKeys.add("hot" + i);
+      hotEntries.add(put("hot" + i));
+    }
+    for (int round = 0; round < 5; round++) {
+      hotEntries.forEach(manager::access);
+    }
+
+    // A scan touches each entry only once and shall not flush the hot entries
+    for (int i = 0; i < CAPACITY * 10; i++) {
+      put("scan" + i);
+      while (entriesCount > CAPACITY) {
+        final TinyLFUCacheEntry<String, Integer> victim = manager.evict();
+        Assert.assertNotNull(victim);
+        Assert.assertFalse(hotKeys.contains(victim.getSecondKey()));
+        entriesCount--;
+      }
+    }
+  }
+
+  @Test
+  public void testInvalidate() {
+    final TinyLFUCacheEntry<String, Integer> first = put("first");
+    final TinyLFUCacheEntry<String, Integer> second = put("second");
+    manager.access(first);
+
+    Assert.assertTrue(manager.invalidate(first));
+    Assert.assertFalse(manager.invalidate(first));
+
+    Assert.assertSame(second, manager.evict());
+    Assert.assertFalse(manager.invalidate(second));
+    Assert.assertNull(manager.evict());
+  }
+
+  private TinyLFUCacheEntry<String, Integer> put(final String key) {
+    final TinyLFUCacheEntry<String, Integer> entry = manager.createCacheEntry(key, 0, group);
+    manager.put(entry);
+    entriesCount++;
+    return entry;
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.planner.memory;
+
+import org.apache.iotdb.commons.memory.IMemoryBlock;
+import org.apache.iotdb.commons.memory.MemoryBlockType;
+import org.apache.iotdb.commons.memory.MemoryManager;
+import org.apache.iotdb.db.queryengine.plan.planner.exceptions.MemoryAdmissionRequiredException;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class MemoryAdmissionQueueTest {
+
+  private static final long WAIT_TIME_IN_MS = TimeUnit.SECONDS.toMillis(10);
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+  private IMemoryBlock memoryBlock;
+  private MemoryAdmissionQueue queue;
+
+  @Before
+  public void setUp() {
+    memoryBlock = new MemoryManager(100).exactAllocate("Operators", MemoryBlockType.DYNAMIC);
+    queue = new MemoryAdmissionQueue(memoryBlock);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testAllocateWithoutWaiting() {
+    Assert.assertTrue(queue.allocate(60, 0));
+    Assert.assertFalse(queue.allocate(60, 0));
+    // More than the whole memory is never admitted
+    Assert.assertFalse(queue.allocate(200, WAIT_TIME_IN_MS));
+    Assert.assertEquals(40, memoryBlock.getFreeMemoryInBytes());
+    Assert.assertEquals(0, queue.getWaitingNum());
+  }
+
+  @Test
+  public void testWaitForRelease() throws Exception {
+    Assert.assertTrue(queue.allocate(80, 0));
+    CompletableFuture<Boolean> waiting = allocateAsync(50, WAIT_TIME_IN_MS);
+    waitForWaitingNum(1);
+
+    queue.release(80);
+    Assert.assertTrue(waiting.get(10, TimeUnit.SECONDS));
+    Assert.assertEquals(50, memoryBlock.getFreeMemoryInBytes());
+    Assert.assertEquals(0, queue.getWaitingNum());
+  }
+
+  @Test
+  public void testAdmitInArrivalOrder() throws Exception {
+    Assert.assertTrue(queue.allocate(100, 0));
+    CompletableFuture<Boolean> big = allocateAsync(80, WAIT_TIME_IN_MS);
+    waitForWaitingNum(1);
+    CompletableFuture<Boolean> small = allocateAsync(10, WAIT_TIME_IN_MS);
+    waitForWaitingNum(2);
+
+    // The small one fits, but it is behind the big one
+    queue.release(20);
+    Assert.assertFalse(queue.allocate(10, 0));
+    Thread.sleep(100);
+    Assert.assertFalse(big.isDone());
+    Assert.assertFalse(small.isDone());
+    Assert.assertEquals(20, memoryBlock.getFreeMemoryInBytes());
+
+    queue.release(80);
+    Assert.assertTrue(big.get(10, TimeUnit.SECONDS));
+    Assert.assertTrue(small.get(10, TimeUnit.SECONDS));
+    Assert.assertEquals(10, memoryBlock.getFreeMemoryInBytes());
+  }
+
+  @Test
+  public void testWaitTimeout() throws Exception {
+    Assert.assertTrue(queue.allocate(100, 0));
+    CompletableFuture<Boolean> big = allocateAsync(80, 200);
+    waitForWaitingNum(1);
+    CompletableFuture<Boolean> small = allocateAsync(10, WAIT_TIME_IN_MS);
+    waitForWaitingNum(2);
+    queue.release(20);
+
+    // The small one is admitted once the big one gives up
+    Assert.assertFalse(big.get(10, TimeUnit.SECONDS));
+    Assert.assertTrue(small.get(10, TimeUnit.SECONDS));
+    Assert.assertEquals(10, memoryBlock.getFreeMemoryInBytes());
+    Assert.assertEquals(0, queue.getWaitingNum());
+  }
+
+  @Test
+  public void testComputeIfAbsentWaitsOutsideMap() throws Exception {
+    ConcurrentMap<CollidingKey, String> map = new ConcurrentHashMap<>();
+    Assert.assertTrue(queue.allocate(100, 0));
+
+    CompletableFuture<String> waiting =
+        CompletableFuture.supplyAsync(
+            () ->
+                queue.computeIfAbsent(
+                    map,
+                    new CollidingKey(1),
+                    WAIT_TIME_IN_MS,
+                    reservation -> {
+                      if (!reservation.isAdmissionWaited()) {
+                        throw new MemoryAdmissionRequiredException(
+                            80, reserved -> Collections.emptyList());
+                      }
+                      Assert.assertEquals(80, reservation.getSizeInBytes());
+                      // Only a part of the memory is taken, the rest should be released
+                      reservation.take();
+                      queue.release(30);
+                      return "waited";
+                    }),
+            executor);
+    waitForWaitingNum(1);
+
+    // The key is in the same bin as the waiting one, which should not be locked
+    CompletableFuture<String> colliding =
+        CompletableFuture.supplyAsync(
+            () ->
+                queue.computeIfAbsent(
+                    map, new CollidingKey(2), WAIT_TIME_IN_MS, reservation -> "colliding"),
+            executor);
+    Assert.assertEquals("colliding", colliding.get(10, TimeUnit.SECONDS));
+    Assert.assertFalse(waiting.isDone());
+
+    queue.release(100);
+    Assert.assertEquals("waited", waiting.get(10, TimeUnit.SECONDS));
+    Assert.assertEquals("waited", map.get(new CollidingKey(1)));
+    Assert.assertEquals(50, memoryBlock.getFreeMemoryInBytes());
+  }
+
+  @Test
+  public void testComputeIfAbsentReleasesMemoryNotTaken() throws Exception {
+    ConcurrentMap<CollidingKey, String> map = new ConcurrentHashMap<>();
+    Assert.assertTrue(queue.allocate(40, 0));
+
+    CompletableFuture<String> waiting =
+        CompletableFuture.supplyAsync(
+            () ->
+                queue.computeIfAbsent(
+                    map,
+                    new CollidingKey(1),
+                    WAIT_TIME_IN_MS,
+                    reservation -> {
+                      if (!reservation.isAdmissionWaited()) {
+                        throw new MemoryAdmissionRequiredException(
+                            80, reserved -> Collections.emptyList());
+                      }
+                      // The instance fails without taking the memory
+                      return null;
+                    }),
+            executor);
+    waitForWaitingNum(1);
+
+    queue.release(40);
+    Assert.assertNull(waiting.get(10, TimeUnit.SECONDS));
+    Assert.assertTrue(map.isEmpty());
+    Assert.assertEquals(100, memoryBlock.getFreeMemoryInBytes());
+  }
+
+  private CompletableFuture<Boolean> allocateAsync(long sizeInBytes, long maxWaitTimeInMs) {
+    return CompletableFuture.supplyAsync(
+        () -> queue.allocate(sizeInBytes, maxWaitTimeInMs), executor);
+  }
+
+  private void waitForWaitingNum(int waitingNum) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + WAIT_TIME_IN_MS;
+    while (queue.getWaitingNum() < waitingNum && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    Assert.assertEquals(waitingNum, queue.getWaitingNum());
+  }
+
+  /** Keys with the same hash code, which are put into the same bin of a ConcurrentHashMap. */
+  private static class CollidingKey {
+
+    private final int id;
+
+    private CollidingKey(int id) {
+      this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof CollidingKey && ((CollidingKey) o).id == id;
+    }
+
+    @Override
+    public int hashCode() {
+      return 0;
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.relational.planner.optimizations;
+
+import org.apache.iotdb.db.queryengine.plan.relational.statistics.TableStatistics;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReorderCrossJoinsTest {
+
+  private static final String DATABASE = "reorder_cross_joins_test";
+
+  @After
+  public void tearDown() {
+    TableStatistics.getInstance().invalidate(DATABASE);
+  }
+
+  @Test
+  public void testTableStatistics() {
+    TableStatistics tableStatistics = TableStatistics.getInstance();
+    assertFalse(tableStatistics.getAverageDeviceRowCount(DATABASE, "table1").isPresent());
+
+    tableStatistics.setAverageDeviceRowCount(DATABASE, "table1", 150);
+
+    assertEquals(
+        150, tableStatistics.getAverageDeviceRowCount(DATABASE, "table1").getAsDouble(), 0);
+    assertFalse(tableStatistics.getAverageDeviceRowCount(DATABASE, "table2").isPresent());
+
+    tableStatistics.invalidate(DATABASE, "table1");
+    assertFalse(tableStatistics.getAverageDeviceRowCount(DATABASE, "table1").isPresent());
+  }
+
+  @Test
+  public void testChooseJoinOrder() {
+    List<Double> rowCounts = ImmutableList.of(10d, 1000d, 1d, 100d);
+    List<Integer> order = ReorderCrossJoins.chooseJoinOrder(rowCounts);
+
+    // The largest child is streamed, and the smallest one is materialized first
+    assertEquals(ImmutableList.of(1, 2, 0, 3), order);
+    assertTrue(
+        ReorderCrossJoins.estimateCost(order, rowCounts)
+            < ReorderCrossJoins.estimateCost(ImmutableList.of(0, 1, 2, 3), rowCounts));
+  }
+
+  @Test
+  public void testBuildSide() {
+    // The smaller child of a cross join should be on the right to be materialized
+    List<Double> rowCounts = ImmutableList.of(10d, 1000d);
+    assertEquals(ImmutableList.of(1, 0), ReorderCrossJoins.chooseJoinOrder(rowCounts));
+    assertEquals(
+        ReorderCrossJoins.estimateCost(ImmutableList.of(0, 1), rowCounts),
+        ReorderCrossJoins.estimateCost(ImmutableList.of(1, 0), rowCounts) + 990,
+        0);
+  }
+}
@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.relational.sql.parser;
+
+import org.apache.iotdb.commons.queryengine.plan.relational.sql.ast.Node;
+import org.apache.iotdb.commons.queryengine.plan.relational.sql.ast.Query;
+import org.apache.iotdb.commons.queryengine.plan.relational.sql.ast.Statement;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.protocol.session.IClientSession;
+import org.apache.iotdb.db.protocol.session.InternalClientSession;
+import org.apache.iotdb.db.queryengine.plan.relational.sql.util.DataNodeSqlFormatter;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+public class QueryParseTreeCacheTest {
+
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
+  private static int originalQueryParseTreeCacheMaxSize;
+
+  private SqlParser sqlParser;
+  private IClientSession clientSession;
+
+  @BeforeClass
+  public static void setUpClass() {
+    // The cache is disabled by default, and is created with the size when first used
+    originalQueryParseTreeCacheMaxSize = CONFIG.getQueryParseTreeCacheMaxSize();
+    CONFIG.setQueryParseTreeCacheMaxSize(1000);
+  }
+
+  @AfterClass
+  public static void tearDownClass() {
+    CONFIG.setQueryParseTreeCacheMaxSize(originalQueryParseTreeCacheMaxSize);
+  }
+
+  @Before
+  public void setUp() {
+    sqlParser = new SqlParser();
+    clientSession = new InternalClientSession("testClient");
+  }
+
+  @Test
+  public void testRepeatedQuery() {
+    final String sql =
+        "select time, s1 from table1 where device_id = 'd1' and time > 100 order by time";
+    final QueryParseTreeCache cache = QueryParseTreeCache.getInstance();
+
+    final Statement first = sqlParser.createStatement(sql, ZoneId.systemDefault(), clientSession);
+    final long hitCount = cache.getHitCount();
+    final Statement second = sqlParser.createStatement(sql, ZoneId.systemDefault(), clientSession);
+
+    assertTrue(second instanceof Query);
+    assertEquals(hitCount + 1, cache.getHitCount());
+    // Each query gets its own AST built from the cached parse tree
+    assertNotSame(first, second);
+    assertEquals(
+        DataNodeSqlFormatter.formatDataNodeSql(first),
+        DataNodeSqlFormatter.formatDataNodeSql(second));
+  }
+
+  @Test
+  public void testParameterizedQuery() {
+    final QueryParseTreeCache cache = QueryParseTreeCache.getInstance();
+    final String template =
+        "select time, s1 from table1 where device_id = %s and time > %s and s2 = %s"
+            + " order by time limit %s";
+
+    sqlParser.createStatement(
+        String.format(template, "'d1'", "100", "1.5", "10"), ZoneId.systemDefault(), clientSession);
+    final long hitCount = cache.getHitCount();
+    // Only the literals differ, and the lengths of them shift the positions of following tokens
+    final String sql = String.format(template, "'device_2'", "20000", "3.25", "200");
+    final Statement statement =
+        sqlParser.createStatement(sql, ZoneId.systemDefault(), clientSession);
+
+    assertEquals(hitCount + 1, cache.getHitCount());
+    // The AST built from the cached parse tree takes the literals and positions of this query
+    final Statement expected =
+        new SqlParser((lexer, parser) -> {})
+            .createStatement(sql, ZoneId.systemDefault(), clientSession);
+    assertEquals(
+        DataNodeSqlFormatter.formatDataNodeSql(expected),
+        DataNodeSqlFormatter.formatDataNodeSql(statement));
+    assertSameLocations(expected, statement);
+  }
+
+  @Test
+  public void testDifferentLiteralTypesNotShared() {
+    final QueryParseTreeCache cache = QueryParseTreeCache.getInstance();
+
+    sqlParser.createStatement(
+        "select s1 from table2 where s1 > 1", ZoneId.systemDefault(), clientSession);
+    final long hitCount = cache.getHitCount();
+    final Statement statement =
+        sqlParser.createStatement(
+            "select s1 from table2 where s1 > 'a'", ZoneId.systemDefault(), clientSession);
+
+    assertEquals(hitCount, cache.getHitCount());
+    assertTrue(DataNodeSqlFormatter.formatDataNodeSql(statement).contains("'a'"));
+  }
+
+  @Test
+  public void testConcurrentQueriesWithDifferentLiterals() throws Exception {
+    final String template = "select time, s1 from table3 where device_id = '%s' and time > %d";
+    sqlParser.createStatement(
+        String.format(template, "d0", 0), ZoneId.systemDefault(), clientSession);
+
+    final int threadCount = 2;
+    final int queryCount = 500;
+    final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+    final CountDownLatch startLatch = new CountDownLatch(1);
+    try {
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int t = 1; t <= threadCount; t++) {
+        final String deviceId = "device_of_thread_" + t;
+        final String otherDeviceId = "device_of_thread_" + (threadCount + 1 - t);
+        final int thread = t;
+        futures.add(
+            executor.submit(
+                () -> {
+                  startLatch.await();
+                  for (int i = 0; i < queryCount; i++) {
+                    final long time = thread * 1_000_000L + i;
+                    final String sql = String.format(template, deviceId, time);
+                    final String formatted =
+                        DataNodeSqlFormatter.formatDataNodeSql(
+                            sqlParser.createStatement(sql, ZoneId.systemDefault(), clientSession));
+                    // Each query gets its own literals, never the ones of the other thread
+                    assertTrue(formatted, formatted.contains("'" + deviceId + "'"));
+                    assertTrue(formatted, formatted.contains(String.valueOf(time)));
+                    assertFalse(formatted, formatted.contains("'" + otherDeviceId + "'"));
+                    assertFalse(formatted, formatted.contains("'d0'"));
+                  }
+                  return null;
+                }));
+      }
+      final long hitCount = QueryParseTreeCache.getInstance().getHitCount();
+      startLatch.countDown();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+      assertTrue(QueryParseTreeCache.getInstance().getHitCount() > hitCount);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testNonQueryNotCached() {
+    final QueryParseTreeCache cache = QueryParseTreeCache.getInstance();
+
+    sqlParser.createStatement("count databases", ZoneId.systemDefault(), clientSession);
+    final long hitCount = cache.getHitCount();
+    sqlParser.createStatement("count databases", ZoneId.systemDefault(), clientSession);
+
+    assertEquals(hitCount, cache.getHitCount());
+  }
+
+  private static void assertSameLocations(final Node expected, final Node actual) {
+    assertEquals(expected.getLocation(), actual.getLocation());
+    final List<? extends Node> expectedChildren = expected.getChildren();
+    final List<? extends Node> actualChildren = actual.getChildren();
+    assertEquals(expectedChildren.size(), actualChildren.size());
+    for (int i = 0; i < expectedChildren.size(); i++) {
+      assertSameLocations(expectedChildren.get(i), actualChildren.get(i));
+    }
+  }
+}
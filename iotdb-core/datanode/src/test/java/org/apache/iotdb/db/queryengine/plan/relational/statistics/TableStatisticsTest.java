@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.relational.statistics;
+
+import org.apache.iotdb.commons.utils.FileUtils;
+import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.tablemodel.CompactionTableModelTestFileWriter;
+import org.apache.iotdb.db.storageengine.dataregion.modification.DeletionPredicate;
+import org.apache.iotdb.db.storageengine.dataregion.modification.IDPredicate.NOP;
+import org.apache.iotdb.db.storageengine.dataregion.modification.ModEntry;
+import org.apache.iotdb.db.storageengine.dataregion.modification.TableDeletionEntry;
+import org.apache.iotdb.db.storageengine.dataregion.read.control.FileReaderManager;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileManager;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResourceStatus;
+
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.file.metadata.enums.CompressionType;
+import org.apache.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.tsfile.read.common.TimeRange;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class TableStatisticsTest {
+
+  private static final String DATABASE = "table_statistics_test";
+
+  private static final File TEST_DIR = new File("target", "table-statistics-test");
+
+  @After
+  public void tearDown() {
+    TableStatistics.getInstance().refresh(Collections.emptyList());
+    FileUtils.deleteFileOrDirectory(TEST_DIR);
+  }
+
+  @Test
+  public void testRemainingRatio() {
+    IDeviceID d1 = IDeviceID.Factory.DEFAULT_FACTORY.create(new String[] {"t1", "d1"});
+    List<ModEntry> modEntries =
+        Arrays.asList(
+            new TableDeletionEntry(new DeletionPredicate("t1", new NOP()), new TimeRange(0, 24)),
+            new TableDeletionEntry(new DeletionPredicate("t1", new NOP()), new TimeRange(10, 49)),
+            // Deleting some of the columns keeps the rows
+            new TableDeletionEntry(
+                new DeletionPredicate("t1", new NOP(), Collections.singletonList("s1")),
+                new TimeRange(50, 99)),
+            new TableDeletionEntry(new DeletionPredicate("t2", new NOP()), new TimeRange(0, 99)));
+
+    assertEquals(1, TableStatistics.getRemainingRatio(d1, 0, 99, Collections.emptyList()), 0);
+    assertEquals(0.5, TableStatistics.getRemainingRatio(d1, 0, 99, modEntries), 0);
+    assertEquals(0, TableStatistics.getRemainingRatio(d1, 0, 49, modEntries), 0);
+    assertEquals(1, TableStatistics.getRemainingRatio(d1, 50, 99, modEntries), 0);
+  }
+
+  @Test
+  public void testUnexpiredRatio() {
+    assertEquals(1, TableStatistics.getUnexpiredRatio(0, 99, Long.MIN_VALUE), 0);
+    assertEquals(0.25, TableStatistics.getUnexpiredRatio(0, 99, 75), 0);
+    assertEquals(0, TableStatistics.getUnexpiredRatio(0, 99, 100), 0);
+  }
+
+  @Test
+  public void testTableStatisticsEntry() {
+    TableStatistics.TsFileTableStatistics tsFile1 = new TableStatistics.TsFileTableStatistics(0);
+    tsFile1.addDevice("t1", 100, 0, 99);
+    tsFile1.addDevice("t1", 50, 0, 49);
+    TableStatistics.TsFileTableStatistics tsFile2 = new TableStatistics.TsFileTableStatistics(0);
+    tsFile2.addDevice("t1", 100, 100, 199);
+
+    TableStatistics.TableStatisticsEntry entry = new TableStatistics.TableStatisticsEntry(150);
+    assertFalse(entry.getAverageDeviceRowCount().isPresent());
+    // All the rows of the first TsFile are expired
+    assertFalse(entry.add(tsFile1, "t1"));
+    assertFalse(entry.add(tsFile2, "t2"));
+    assertFalse(entry.getAverageDeviceRowCount().isPresent());
+
+    assertTrue(entry.add(tsFile2, "t1"));
+    assertEquals(50, entry.getAverageDeviceRowCount().getAsDouble(), 0);
+  }
+
+  @Test
+  public void testRefresh() throws IOException {
+    TsFileResource resource = createTsFile();
+    DataRegion dataRegion = mockDataRegion(resource);
+    TableStatistics tableStatistics = TableStatistics.getInstance();
+    assertFalse(tableStatistics.getAverageDeviceRowCount(DATABASE, "t1").isPresent());
+
+    tableStatistics.refresh(Collections.singletonList(dataRegion));
+    assertEquals(75, tableStatistics.getAverageDeviceRowCount(DATABASE, "t1").getAsDouble(), 0);
+    assertFalse(tableStatistics.getAverageDeviceRowCount(DATABASE, "t2").isPresent());
+    // The TsFile is read through the shared reader, which is closed once no longer referenced
+    assertFalse(FileReaderManager.getInstance().contains(resource, true));
+
+    // The deleted rows are left out once the mods file changes
+    resource
+        .getModFileForWrite()
+        .write(
+            new TableDeletionEntry(new DeletionPredicate("t1", new NOP()), new TimeRange(0, 49)));
+    resource.getModFileForWrite().close();
+    tableStatistics.refresh(Collections.singletonList(dataRegion));
+    assertEquals(25, tableStatistics.getAverageDeviceRowCount(DATABASE, "t1").getAsDouble(), 0);
+
+    tableStatistics.invalidate(DATABASE, "t1");
+    assertFalse(tableStatistics.getAverageDeviceRowCount(DATABASE, "t1").isPresent());
+
+    // The removed TsFiles are not counted any more
+    tableStatistics.refresh(Collections.singletonList(dataRegion));
+    assertTrue(tableStatistics.getAverageDeviceRowCount(DATABASE, "t1").isPresent());
+    tableStatistics.refresh(Collections.singletonList(mockDataRegion()));
+    assertFalse(tableStatistics.getAverageDeviceRowCount(DATABASE, "t1").isPresent());
+  }
+
+  private TsFileResource createTsFile() throws IOException {
+    File tsFile =
+        new File(
+            TEST_DIR,
+            String.join(File.separator, "sequence", DATABASE, "1", "0", "1-1-0-0.tsfile"));
+    tsFile.getParentFile().mkdirs();
+    TsFileResource resource = new TsFileResource(tsFile);
+    try (CompactionTableModelTestFileWriter writer =
+        new CompactionTableModelTestFileWriter(resource)) {
+      writer.registerTableSchema("t1", Collections.singletonList("id1"));
+      writer.startChunkGroup("t1", Collections.singletonList("d1"));
+      writer.generateSimpleAlignedSeriesToCurrentDevice(
+          Arrays.asList("s1", "s2"),
+          new TimeRange[] {new TimeRange(0, 99)},
+          TSEncoding.PLAIN,
+          CompressionType.LZ4);
+      writer.endChunkGroup();
+      writer.startChunkGroup("t1", Collections.singletonList("d2"));
+      writer.generateSimpleAlignedSeriesToCurrentDevice(
+          Collections.singletonList("s1"),
+          new TimeRange[] {new TimeRange(0, 49)},
+          TSEncoding.PLAIN,
+          CompressionType.LZ4);
+      writer.endChunkGroup();
+      writer.endFile();
+    }
+    resource.setStatusForTest(TsFileResourceStatus.NORMAL);
+    return resource;
+  }
+
+  private static DataRegion mockDataRegion(TsFileResource... resources) {
+    TsFileManager tsFileManager = Mockito.mock(TsFileManager.class);
+    Mockito.when(tsFileManager.getTsFileList(true)).thenReturn(Arrays.asList(resources));
+    Mockito.when(tsFileManager.getTsFileList(false)).thenReturn(Collections.emptyList());
+    DataRegion dataRegion = Mockito.mock(DataRegion.class);
+    Mockito.when(dataRegion.isTableModel()).thenReturn(true);
+    Mockito.when(dataRegion.getDatabaseName()).thenReturn(DATABASE);
+    Mockito.when(dataRegion.getTsFileManager()).thenReturn(tsFileManager);
+    return dataRegion;
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.scheduler.load;
+
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupId;
+import org.apache.iotdb.common.rpc.thrift.TConsensusGroupType;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LoadTsFilePieceDispatchManagerTest {
+
+  private static final TConsensusGroupId REGION_1 =
+      new TConsensusGroupId(TConsensusGroupType.DataRegion, 1);
+  private static final TConsensusGroupId REGION_2 =
+      new TConsensusGroupId(TConsensusGroupType.DataRegion, 2);
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  @After
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void testDispatchRegionsInParallel() throws InterruptedException {
+    final LoadTsFilePieceDispatchManager manager = new LoadTsFilePieceDispatchManager(executor, 2);
+    final CountDownLatch started = new CountDownLatch(2);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicInteger finished = new AtomicInteger();
+
+    Assert.assertTrue(
+        manager.dispatch(
+            REGION_1, () -> awaitRelease(started, release), finished::incrementAndGet));
+    Assert.assertTrue(
+        manager.dispatch(
+            REGION_2, () -> awaitRelease(started, release), finished::incrementAndGet));
+
+    // Both the pieces are being dispatched at the same time
+    Assert.assertTrue(started.await(10, TimeUnit.SECONDS));
+    Assert.assertEquals(2, manager.getDispatchingNum());
+
+    release.countDown();
+    Assert.assertTrue(manager.waitForAllDispatches());
+    Assert.assertEquals(2, finished.get());
+    Assert.assertEquals(0, manager.getDispatchingNum());
+  }
+
+  @Test
+  public void testDispatchInOrderInRegion() {
+    final LoadTsFilePieceDispatchManager manager = new LoadTsFilePieceDispatchManager(executor, 2);
+    final List<Integer> dispatched = Collections.synchronizedList(new ArrayList<>());
+
+    for (int i = 0; i < 3; i++) {
+      final int piece = i;
+      Assert.assertTrue(
+          manager.dispatch(
+              REGION_1,
+              () -> {
+                sleep(50);
+                return dispatched.add(piece);
+              },
+              () -> {}));
+      // The next piece of the region waits for this one
+      Assert.assertEquals(1, manager.getDispatchingNum());
+    }
+
+    Assert.assertTrue(manager.waitForAllDispatches());
+    Assert.assertEquals(Arrays.asList(0, 1, 2), dispatched);
+  }
+
+  @Test
+  public void testMaxParallelism() {
+    final LoadTsFilePieceDispatchManager manager = new LoadTsFilePieceDispatchManager(executor, 1);
+    final AtomicBoolean isFirstDone = new AtomicBoolean(false);
+    final AtomicBoolean isFirstDoneBeforeSecond = new AtomicBoolean(false);
+
+    Assert.assertTrue(
+        manager.dispatch(
+            REGION_1,
+            () -> {
+              sleep(100);
+              isFirstDone.set(true);
+              return true;
+            },
+            () -> {}));
+    Assert.assertTrue(
+        manager.dispatch(
+            REGION_2,
+            () -> {
+              isFirstDoneBeforeSecond.set(isFirstDone.get());
+              return true;
+            },
+            () -> {}));
+    Assert.assertEquals(1, manager.getDispatchingNum());
+
+    Assert.assertTrue(manager.waitForAllDispatches());
+    Assert.assertTrue(isFirstDoneBeforeSecond.get());
+  }
+
+  @Test
+  public void testDispatchAfterFailure() {
+    final LoadTsFilePieceDispatchManager manager = new LoadTsFilePieceDispatchManager(executor, 2);
+    final AtomicInteger finished = new AtomicInteger();
+    final AtomicBoolean isDispatched = new AtomicBoolean(false);
+
+    Assert.assertTrue(manager.dispatch(REGION_1, () -> false, finished::incrementAndGet));
+    // The piece is given up, but its memory is still released
+    Assert.assertFalse(
+        manager.dispatch(
+            REGION_1,
+            () -> {
+              isDispatched.set(true);
+              return true;
+            },
+            finished::incrementAndGet));
+    Assert.assertFalse(isDispatched.get());
+    Assert.assertEquals(2, finished.get());
+    Assert.assertEquals(0, manager.getDispatchingNum());
+  }
+
+  @Test
+  public void testWaitForAllAfterFailure() {
+    final LoadTsFilePieceDispatchManager manager = new LoadTsFilePieceDispatchManager(executor, 3);
+    final AtomicInteger finished = new AtomicInteger();
+
+    Assert.assertTrue(manager.dispatch(REGION_1, () -> true, finished::incrementAndGet));
+    Assert.assertTrue(
+        manager.dispatch(
+            REGION_2,
+            () -> {
+              throw new IllegalStateException("test");
+            },
+            finished::incrementAndGet));
+
+    Assert.assertFalse(manager.waitForAllDispatches());
+    Assert.assertEquals(2, finished.get());
+    Assert.assertEquals(0, manager.getDispatchingNum());
+  }
+
+  @Test
+  public void testWaitForAllDispatches() {
+    final LoadTsFilePieceDispatchManager manager = new LoadTsFilePieceDispatchManager(executor, 2);
+    final AtomicInteger dispatched = new AtomicInteger();
+
+    for (int i = 0; i < 10; i++) {
+      Assert.assertTrue(
+          manager.dispatch(
+              i % 2 == 0 ? REGION_1 : REGION_2,
+              () -> {
+                sleep(10);
+                dispatched.incrementAndGet();
+                return true;
+              },
+              () -> {}));
+      Assert.assertTrue(manager.getDispatchingNum() <= 2);
+    }
+
+    Assert.assertTrue(manager.waitForAllDispatches());
+    Assert.assertEquals(10, dispatched.get());
+  }
+
+  private static boolean awaitRelease(CountDownLatch started, CountDownLatch release) {
+    started.countDown();
+    try {
+      return release.await(10, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    }
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
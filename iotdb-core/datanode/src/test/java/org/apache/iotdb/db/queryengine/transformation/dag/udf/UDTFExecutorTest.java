@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.transformation.dag.udf;
+
+import org.apache.iotdb.calc.transformation.dag.udf.UDTFExecutor;
+import org.apache.iotdb.calc.transformation.datastructure.tv.ElasticSerializableTVList;
+import org.apache.iotdb.udf.api.UDTF;
+import org.apache.iotdb.udf.api.access.Row;
+import org.apache.iotdb.udf.api.collector.PointCollector;
+import org.apache.iotdb.udf.api.customizer.config.UDTFConfigurations;
+import org.apache.iotdb.udf.api.customizer.parameter.UDFParameters;
+
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.block.column.ColumnBuilder;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.common.block.column.DoubleColumnBuilder;
+import org.apache.tsfile.read.common.block.column.IntColumnBuilder;
+import org.apache.tsfile.read.common.block.column.TimeColumnBuilder;
+import org.junit.Test;
+
+import java.time.ZoneId;
+
+import static org.junit.Assert.assertEquals;
+
+public class UDTFExecutorTest {
+
+  private static final int ROW_COUNT = 10;
+
+  @Test
+  public void testBatchAndRowTransform() throws Exception {
+    TestUDTFExecutor rowExecutor = new TestUDTFExecutor(new RowSumUDTF());
+    TestUDTFExecutor batchExecutor = new TestUDTFExecutor(new BatchSumUDTF());
+
+    for (int start = 0; start < ROW_COUNT * 3; start += ROW_COUNT) {
+      Column[] columns = generateColumns(start);
+      Column[] rowOutput = execute(rowExecutor, columns);
+      Column[] batchOutput = execute(batchExecutor, columns);
+
+      assertEquals(rowOutput[1].getPositionCount(), batchOutput[1].getPositionCount());
+      for (int i = 0; i < rowOutput[1].getPositionCount(); i++) {
+        assertEquals(rowOutput[1].getLong(i), batchOutput[1].getLong(i));
+        assertEquals(rowOutput[0].isNull(i), batchOutput[0].isNull(i));
+        if (!rowOutput[0].isNull(i)) {
+          assertEquals(rowOutput[0].getDouble(i), batchOutput[0].getDouble(i), 0);
+        }
+      }
+    }
+    assertEquals(rowExecutor.getOutputStorage().size(), batchExecutor.getOutputStorage().size());
+  }
+
+  private static Column[] execute(UDTFExecutor executor, Column[] columns) throws Exception {
+    executor.execute(
+        columns,
+        new TimeColumnBuilder(null, ROW_COUNT),
+        new DoubleColumnBuilder(null, ROW_COUNT));
+    return executor.getCurrentBlock();
+  }
+
+  /**
+   * An INT32 column, a DOUBLE column and the time column. The INT32 values of odd rows are null,
+   * and all the values of every fourth row are null.
+   */
+  private static Column[] generateColumns(int start) {
+    IntColumnBuilder intBuilder = new IntColumnBuilder(null, ROW_COUNT);
+    DoubleColumnBuilder doubleBuilder = new DoubleColumnBuilder(null, ROW_COUNT);
+    TimeColumnBuilder timeBuilder = new TimeColumnBuilder(null, ROW_COUNT);
+    for (int i = start; i < start + ROW_COUNT; i++) {
+      timeBuilder.writeLong(i);
+      if (i % 4 == 0) {
+        intBuilder.appendNull();
+        doubleBuilder.appendNull();
+        continue;
+      }
+      if (i % 2 != 0) {
+        intBuilder.appendNull();
+      } else {
+        intBuilder.writeInt(i);
+      }
+      doubleBuilder.writeDouble(i % 3 - 0.5);
+    }
+    return new Column[] {intBuilder.build(), doubleBuilder.build(), timeBuilder.build()};
+  }
+
+  private static class TestUDTFExecutor extends UDTFExecutor {
+
+    private TestUDTFExecutor(UDTF udtf) {
+      super("test", ZoneId.systemDefault());
+      this.udtf = udtf;
+      this.outputStorage = ElasticSerializableTVList.construct(TSDataType.DOUBLE, "test", 1, 1);
+    }
+  }
+
+  /** Output the sum of the non-null values of a row, if the sum is not negative. */
+  private static class RowSumUDTF implements UDTF {
+
+    @Override
+    public void beforeStart(UDFParameters parameters, UDTFConfigurations configurations) {
+      // do nothing
+    }
+
+    @Override
+    public void transform(Row row, PointCollector collector) throws Exception {
+      double sum = 0;
+      if (!row.isNull(0)) {
+        sum += row.getInt(0);
+      }
+      if (!row.isNull(1)) {
+        sum += row.getDouble(1);
+      }
+      if (sum >= 0) {
+        collector.putDouble(row.getTime(), sum);
+      }
+    }
+  }
+
+  /** The same as {@link RowSumUDTF}, which outputs null for the rows of null values only. */
+  private static class BatchSumUDTF implements UDTF {
+
+    @Override
+    public void beforeStart(UDFParameters parameters, UDTFConfigurations configurations) {
+      // do nothing
+    }
+
+    @Override
+    public void transform(Column[] columns, ColumnBuilder timesBuilder, ColumnBuilder valuesBuilder)
+        throws Exception {
+      Column times = columns[2];
+      for (int i = 0; i < times.getPositionCount(); i++) {
+        if (columns[0].isNull(i) && columns[1].isNull(i)) {
+          timesBuilder.writeLong(times.getLong(i));
+          valuesBuilder.appendNull();
+          continue;
+        }
+        double sum = 0;
+        if (!columns[0].isNull(i)) {
+          sum += columns[0].getInt(i);
+        }
+        if (!columns[1].isNull(i)) {
+          sum += columns[1].getDouble(i);
+        }
+        if (sum >= 0) {
+          timesBuilder.writeLong(times.getLong(i));
+          valuesBuilder.writeDouble(sum);
+        }
+      }
+    }
+  }
+}
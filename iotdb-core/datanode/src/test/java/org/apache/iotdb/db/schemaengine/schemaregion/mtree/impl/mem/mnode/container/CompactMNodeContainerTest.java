@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.container;
+
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.IMemMNode;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.basic.BasicMNode;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.impl.BasicInternalMNode;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CompactMNodeContainerTest {
+
+  @Test
+  public void testPutGetRemove() {
+    final CompactMNodeContainer container = new CompactMNodeContainer();
+    for (int i = 0; i < 1000; i++) {
+      final String name = "s" + i;
+      Assert.assertNull(container.putIfAbsent(name, new BasicInternalMNode(null, name)));
+    }
+    Assert.assertEquals(1000, container.size());
+
+    final IMemMNode existing = container.get("s10");
+    Assert.assertSame(existing, container.putIfAbsent("s10", new BasicInternalMNode(null, "s10")));
+
+    for (int i = 0; i < 1000; i += 2) {
+      Assert.assertEquals("s" + i, container.remove("s" + i).getName());
+    }
+    Assert.assertEquals(500, container.size());
+    for (int i = 0; i < 1000; i++) {
+      Assert.assertEquals(i % 2 == 1, container.containsKey("s" + i));
+    }
+
+    // Reuse the removed slots
+    for (int i = 0; i < 1000; i += 2) {
+      container.put("s" + i, new BasicInternalMNode(null, "s" + i));
+    }
+    Assert.assertEquals(1000, container.size());
+    final Set<String> names = new HashSet<>();
+    for (final IMemMNode node : container.values()) {
+      Assert.assertTrue(names.add(node.getName()));
+    }
+    Assert.assertEquals(1000, names.size());
+  }
+
+  @Test
+  public void testNullName() {
+    final CompactMNodeContainer container = new CompactMNodeContainer();
+    final IMemMNode node = new BasicInternalMNode(null, null);
+    container.put(null, node);
+    Assert.assertSame(node, container.get(null));
+    Assert.assertTrue(container.keySet().contains(null));
+    Assert.assertSame(node, container.remove(null));
+    Assert.assertTrue(container.isEmpty());
+  }
+
+  @Test
+  public void testIteratorRemove() {
+    final CompactMNodeContainer container = new CompactMNodeContainer();
+    for (int i = 0; i < 10; i++) {
+      container.put("d" + i, new BasicInternalMNode(null, "d" + i));
+    }
+    final Iterator<IMemMNode> iterator = container.values().iterator();
+    while (iterator.hasNext()) {
+      if (!iterator.next().getName().equals("d3")) {
+        iterator.remove();
+      }
+    }
+    Assert.assertEquals(1, container.size());
+    Assert.assertNotNull(container.get("d3"));
+  }
+
+  @Test
+  public void testConcurrentComputeIfAbsent() throws Exception {
+    final CompactMNodeContainer container = new CompactMNodeContainer();
+    final int threadNum = 8;
+    final AtomicInteger createdCount = new AtomicInteger();
+    final CyclicBarrier barrier = new CyclicBarrier(threadNum);
+    final ExecutorService executor = Executors.newFixedThreadPool(threadNum);
+    try {
+      final List<Future<List<IMemMNode>>> futures = new ArrayList<>();
+      for (int i = 0; i < threadNum; i++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  barrier.await();
+                  final List<IMemMNode> nodes = new ArrayList<>();
+                  for (int j = 0; j < 100; j++) {
+                    nodes.add(
+                        container.computeIfAbsent(
+                            "d" + j,
+                            name -> {
+                              createdCount.incrementAndGet();
+                              return new BasicInternalMNode(null, name);
+                            }));
+                  }
+                  return nodes;
+                }));
+      }
+      final List<IMemMNode> expected = futures.get(0).get();
+      for (final Future<List<IMemMNode>> future : futures) {
+        final List<IMemMNode> nodes = future.get();
+        for (int j = 0; j < 100; j++) {
+          Assert.assertSame(expected.get(j), nodes.get(j));
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    Assert.assertEquals(100, createdCount.get());
+    Assert.assertEquals(100, container.size());
+  }
+
+  @Test
+  public void testInternMeasurementName() {
+    final IMemMNode device1 = new BasicInternalMNode(null, new String("d1".toCharArray()));
+    final IMemMNode device2 = new BasicInternalMNode(null, new String("d1".toCharArray()));
+    // Device names are mostly distinct, so they are not interned
+    Assert.assertNotSame(device1.getName(), device2.getName());
+    Assert.assertSame(
+        BasicMNode.internMeasurementName(new String("s1".toCharArray())),
+        BasicMNode.internMeasurementName(new String("s1".toCharArray())));
+  }
+}
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.pbtree.schemafile.pagemgr;
+
+import org.apache.iotdb.commons.utils.FileUtils;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.pbtree.schemafile.SchemaFile;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.pbtree.schemafile.SchemaFileConfig;
+import org.apache.iotdb.db.utils.constant.TestConstant;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+public class MappedPageLoaderTest {
+
+  private static final File TEST_FILE =
+      new File(TestConstant.BASE_OUTPUT_PATH.concat("mappedPageLoaderTest.pst"));
+
+  // one mapped segment and some pages of the next segment
+  private static final int PAGE_NUM = SchemaFileConfig.MAPPED_SEGMENT_PAGE_NUM + 10;
+
+  @Before
+  public void setUp() throws IOException {
+    TEST_FILE.getParentFile().mkdirs();
+    try (FileChannel channel =
+        FileChannel.open(
+            TEST_FILE.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+      ByteBuffer page = ByteBuffer.allocate(SchemaFileConfig.PAGE_LENGTH);
+      for (int i = 0; i < PAGE_NUM; i++) {
+        page.clear();
+        page.putInt(0, i);
+        page.putInt(SchemaFileConfig.PAGE_LENGTH - 4, -i);
+        channel.write(page, SchemaFile.getPageAddress(i));
+      }
+    }
+  }
+
+  @After
+  public void tearDown() {
+    FileUtils.deleteFileOrDirectory(TEST_FILE);
+  }
+
+  @Test
+  public void testLoadPages() throws IOException {
+    MappedPageLoader loader = new MappedPageLoader();
+    ByteBuffer buffer = ByteBuffer.allocate(SchemaFileConfig.PAGE_LENGTH);
+    try (FileChannel channel = FileChannel.open(TEST_FILE.toPath(), StandardOpenOption.READ)) {
+      for (int i = 0; i < SchemaFileConfig.MAPPED_SEGMENT_PAGE_NUM; i += 101) {
+        Assert.assertTrue(loader.load(channel, buffer, i));
+        Assert.assertEquals(i, buffer.getInt(0));
+        Assert.assertEquals(-i, buffer.getInt(SchemaFileConfig.PAGE_LENGTH - 4));
+        loader.prefetch(i + 1);
+      }
+
+      // the last segment is not entirely covered by the file
+      Assert.assertFalse(loader.load(channel, buffer, PAGE_NUM - 1));
+    } finally {
+      loader.clear();
+    }
+  }
+
+  @Test
+  public void testClearUnmapsSegments() throws IOException {
+    MappedPageLoader loader = new MappedPageLoader();
+    ByteBuffer buffer = ByteBuffer.allocate(SchemaFileConfig.PAGE_LENGTH);
+    try (FileChannel channel = FileChannel.open(TEST_FILE.toPath(), StandardOpenOption.READ)) {
+      Assert.assertTrue(loader.load(channel, buffer, 1));
+      loader.prefetch(2);
+      Assert.assertEquals(1, loader.getMappedSegmentNum());
+
+      loader.clear();
+      Assert.assertEquals(0, loader.getMappedSegmentNum());
+
+      // the segment is mapped again once a page of it is loaded
+      Assert.assertTrue(loader.load(channel, buffer, 2));
+      Assert.assertEquals(2, buffer.getInt(0));
+      loader.clear();
+    }
+    // no mapping is left to keep the file from being deleted
+    Assert.assertTrue(TEST_FILE.delete());
+  }
+}
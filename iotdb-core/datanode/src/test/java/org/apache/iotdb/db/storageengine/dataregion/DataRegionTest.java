@@ -41,6 +41,7 @@ import org.apache.iotdb.db.exception.DataRegionException;
 import org.apache.iotdb.db.exception.TsFileProcessorException;
 import org.apache.iotdb.db.exception.WriteProcessException;
 import org.apache.iotdb.db.exception.WriteProcessRejectException;
+import org.apache.iotdb.db.exception.load.LoadFileException;
 import org.apache.iotdb.db.queryengine.common.QueryId;
 import org.apache.iotdb.db.queryengine.execution.fragment.QueryContext;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.DeleteDataNode;
@@ -104,10 +105,12 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Future;
@@ -1868,6 +1871,54 @@ public class DataRegionTest {
         dataRegion.getWorkSequenceTsFileProcessors().contains(tsFileResource.getProcessor()));
   }
 
+  @Test
+  public void testLoadTsFileKeepingOrDeletingOriginFile()
+      throws WriteProcessException, IOException, LoadFileException {
+    for (int j = 1; j <= 10; j++) {
+      TSRecord record = new TSRecord(deviceId, j);
+      record.addTuple(DataPoint.getDataPoint(TSDataType.INT32, measurementId, String.valueOf(j)));
+      dataRegion.insert(buildInsertRowNodeByTSRecord(record));
+    }
+    dataRegion.syncCloseAllWorkingTsFileProcessors();
+    final File sealedTsFile = dataRegion.getSequenceFileList().get(0).getTsFile();
+    final File loadDir = new File(TestConstant.OUTPUT_DATA_DIR, "load");
+
+    // The origin file kept is hardlinked to the loaded TsFile
+    final File keptTsFile = copyTsFileToLoad(sealedTsFile, new File(loadDir, "1-1-0-0.tsfile"));
+    dataRegion.loadNewTsFile(getResourceToLoad(keptTsFile), false, false, false, Optional.empty());
+    Assert.assertTrue(keptTsFile.exists());
+    Assert.assertEquals(1, dataRegion.getUnSequenceFileList().size());
+    final File loadedTsFile = dataRegion.getUnSequenceFileList().get(0).getTsFile();
+    Assert.assertTrue(Files.isSameFile(keptTsFile.toPath(), loadedTsFile.toPath()));
+
+    // The origin file is removed once loaded
+    final File deletedTsFile = copyTsFileToLoad(sealedTsFile, new File(loadDir, "2-2-0-0.tsfile"));
+    dataRegion.loadNewTsFile(
+        getResourceToLoad(deletedTsFile), true, false, false, Optional.empty());
+    Assert.assertFalse(deletedTsFile.exists());
+    Assert.assertFalse(new File(deletedTsFile.getPath() + TsFileResource.RESOURCE_SUFFIX).exists());
+    Assert.assertEquals(2, dataRegion.getUnSequenceFileList().size());
+    for (TsFileResource resource : dataRegion.getUnSequenceFileList()) {
+      Assert.assertEquals(sealedTsFile.length(), resource.getTsFile().length());
+    }
+  }
+
+  private static File copyTsFileToLoad(File sealedTsFile, File tsFileToLoad) throws IOException {
+    tsFileToLoad.getParentFile().mkdirs();
+    Files.copy(sealedTsFile.toPath(), tsFileToLoad.toPath());
+    Files.copy(
+        new File(sealedTsFile.getPath() + TsFileResource.RESOURCE_SUFFIX).toPath(),
+        new File(tsFileToLoad.getPath() + TsFileResource.RESOURCE_SUFFIX).toPath());
+    return tsFileToLoad;
+  }
+
+  private static TsFileResource getResourceToLoad(File tsFileToLoad) throws IOException {
+    final TsFileResource resource = new TsFileResource(tsFileToLoad);
+    resource.deserialize();
+    resource.setStatusForTest(TsFileResourceStatus.NORMAL);
+    return resource;
+  }
+
   public static class DummyDataRegion extends DataRegion {
 
     public DummyDataRegion(String systemInfoDir, String storageGroupName)
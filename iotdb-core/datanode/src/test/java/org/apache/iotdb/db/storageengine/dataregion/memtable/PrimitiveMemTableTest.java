@@ -316,6 +316,22 @@ public class PrimitiveMemTableTest {
     }
   }
 
+  @Test
+  public void testDeviceIDSharedAcrossMemTables() {
+    List<IMeasurementSchema> measurementSchemas =
+        Collections.singletonList(new MeasurementSchema("s1", TSDataType.INT32));
+    PrimitiveMemTable memTable1 = new PrimitiveMemTable("root.test", "0");
+    PrimitiveMemTable memTable2 = new PrimitiveMemTable("root.test", "1");
+    memTable1.writeAlignedRow(
+        new StringArrayDeviceID("root.test.d1"), measurementSchemas, 1, new Object[] {1});
+    memTable2.writeAlignedRow(
+        new StringArrayDeviceID("root.test.d1"), measurementSchemas, 1, new Object[] {1});
+
+    IDeviceID deviceID1 = memTable1.getMemTableMap().keySet().iterator().next();
+    IDeviceID deviceID2 = memTable2.getMemTableMap().keySet().iterator().next();
+    Assert.assertSame(deviceID1, deviceID2);
+  }
+
   @Test
   public void memSeriesToStringTest() throws IOException {
     TSDataType dataType = TSDataType.INT32;
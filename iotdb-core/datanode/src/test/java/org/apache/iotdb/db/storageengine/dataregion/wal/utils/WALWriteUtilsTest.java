@@ -0,0 +1,48 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.wal.utils;
+
+import org.apache.tsfile.utils.PooledBinary;
+import org.apache.tsfile.utils.ReadWriteIOUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+
+public class WALWriteUtilsTest {
+
+  @Test
+  public void testWritePooledBinary() {
+    // The pooled array is longer than the value
+    byte[] array = new byte[16];
+    array[0] = 'a';
+    array[1] = 'b';
+    array[2] = 'c';
+    PooledBinary binary = new PooledBinary(array, 3, -1);
+
+    ByteBuffer buffer = ByteBuffer.allocate(32);
+    int size = WALWriteUtils.write(binary, new WALByteBufferForTest(buffer));
+    Assert.assertEquals(Integer.BYTES + 3, size);
+    Assert.assertEquals(size, buffer.position());
+
+    buffer.flip();
+    Assert.assertEquals("abc", ReadWriteIOUtils.readBinary(buffer).toString());
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.load;
+
+import org.apache.iotdb.common.rpc.thrift.TTimePartitionSlot;
+import org.apache.iotdb.commons.utils.FileUtils;
+import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
+import org.apache.iotdb.db.storageengine.load.splitter.ChunkData;
+
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.write.writer.TsFileIOWriter;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TsFileWriterManagerTest {
+
+  private static final File TASK_DIR = new File("target", "tsfile-writer-manager-test");
+
+  @After
+  public void tearDown() {
+    FileUtils.deleteFileOrDirectory(TASK_DIR);
+  }
+
+  @Test
+  public void testCloseRacingWritesOfTwoRegions() throws Exception {
+    final LoadTsFileManager.TsFileWriterManager writerManager =
+        new LoadTsFileManager.TsFileWriterManager(TASK_DIR);
+    final AtomicInteger writesInProgress = new AtomicInteger();
+    final AtomicBoolean closed = new AtomicBoolean();
+    final AtomicBoolean writtenAfterClosed = new AtomicBoolean();
+    final AtomicInteger writeCount = new AtomicInteger();
+
+    final int regionNum = 2;
+    final ExecutorService executor = Executors.newFixedThreadPool(regionNum);
+    final CountDownLatch writesStarted = new CountDownLatch(regionNum);
+    try {
+      final List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < regionNum; i++) {
+        final DataRegion dataRegion = mockDataRegion(i);
+        final ChunkData chunkData =
+            mockChunkData(i, writesInProgress, closed, writtenAfterClosed, writeCount);
+        final LoadTsFileManager.DataPartitionInfo partitionInfo =
+            new LoadTsFileManager.DataPartitionInfo(dataRegion, chunkData.getTimePartitionSlot());
+        futures.add(
+            executor.submit(
+                () -> {
+                  writerManager.write(partitionInfo, chunkData);
+                  writesStarted.countDown();
+                  // Keep writing until the manager is closed
+                  try {
+                    while (true) {
+                      writerManager.write(partitionInfo, chunkData);
+                    }
+                  } catch (IOException e) {
+                    Assert.assertTrue(e.getMessage().contains("has been closed"));
+                  }
+                  return null;
+                }));
+      }
+      Assert.assertTrue(writesStarted.await(10, TimeUnit.SECONDS));
+
+      writerManager.close();
+      // No write is in progress once close() returns, and no write follows it
+      Assert.assertEquals(0, writesInProgress.get());
+      closed.set(true);
+      for (Future<?> future : futures) {
+        future.get(10, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    Assert.assertFalse(writtenAfterClosed.get());
+    Assert.assertTrue(writeCount.get() >= regionNum);
+  }
+
+  private static DataRegion mockDataRegion(int regionId) {
+    final DataRegion dataRegion = Mockito.mock(DataRegion.class);
+    Mockito.when(dataRegion.getDatabaseName()).thenReturn("root.sg");
+    Mockito.when(dataRegion.getDataRegionIdString()).thenReturn(String.valueOf(regionId));
+    return dataRegion;
+  }
+
+  private static ChunkData mockChunkData(
+      int regionId,
+      AtomicInteger writesInProgress,
+      AtomicBoolean closed,
+      AtomicBoolean writtenAfterClosed,
+      AtomicInteger writeCount)
+      throws Exception {
+    final ChunkData chunkData = Mockito.mock(ChunkData.class);
+    Mockito.when(chunkData.getDevice())
+        .thenReturn(IDeviceID.Factory.DEFAULT_FACTORY.create("root.sg.d" + regionId));
+    Mockito.when(chunkData.getTimePartitionSlot()).thenReturn(new TTimePartitionSlot(0));
+    Mockito.doAnswer(
+            invocation -> {
+              writesInProgress.incrementAndGet();
+              if (closed.get()) {
+                writtenAfterClosed.set(true);
+              }
+              // Widen the window in which close() may race the write
+              Thread.sleep(1);
+              writeCount.incrementAndGet();
+              writesInProgress.decrementAndGet();
+              return null;
+            })
+        .when(chunkData)
+        .writeToFileWriter(Mockito.any(TsFileIOWriter.class));
+    return chunkData;
+  }
+}
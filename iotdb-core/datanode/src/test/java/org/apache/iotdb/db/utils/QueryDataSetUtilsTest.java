@@ -30,12 +30,14 @@ import org.apache.tsfile.read.common.block.TsBlockBuilder;
 import org.apache.tsfile.read.common.block.column.TsBlockSerde;
 import org.apache.tsfile.utils.Binary;
 import org.apache.tsfile.utils.Pair;
+import org.apache.tsfile.utils.PooledBinary;
 import org.junit.Test;
 import org.mockito.Mockito;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -134,6 +136,27 @@ public class QueryDataSetUtilsTest {
     assertEquals((byte) 0x80, res.left.bitmapList.get(5).get());
   }
 
+  @Test
+  public void testConvertPooledBinary() throws IOException {
+    // The pooled array is longer than the value
+    byte[] array = new byte[16];
+    array[0] = 'a';
+    array[1] = 'b';
+    array[2] = 'c';
+    TsBlockBuilder builder = new TsBlockBuilder(Collections.singletonList(TSDataType.TEXT));
+    builder.getTimeColumnBuilder().writeLong(1L);
+    builder.getColumnBuilder(0).writeBinary(new PooledBinary(array, 3, -1));
+    builder.declarePosition();
+
+    TSQueryDataSet dataSet =
+        QueryDataSetUtils.convertTsBlockByFetchSize(Collections.singletonList(builder.build()));
+    assertEquals(Integer.BYTES + 3, dataSet.valueList.get(0).limit());
+    assertEquals(3, dataSet.valueList.get(0).getInt());
+    byte[] bytes = new byte[3];
+    dataSet.valueList.get(0).get(bytes);
+    assertEquals("abc", new String(bytes));
+  }
+
   @Test
   public void testConvertQueryResultByFetchSize() throws IoTDBException, IOException {
 
@@ -182,4 +205,54 @@ public class QueryDataSetUtilsTest {
         new Binary(BINARY_STR, TSFileConfig.STRING_CHARSET), tsBlock.getColumn(5).getBinary(0));
     assertTrue(tsBlock.getColumn(5).isNull(1));
   }
+
+  @Test
+  public void testReadTabletFromBuffer() {
+    final int size = 3;
+    final ByteBuffer buffer = ByteBuffer.allocate(256);
+    // Values not starting at the beginning of the buffer
+    buffer.put((byte) 7);
+    for (int i = 0; i < size; i++) {
+      buffer.putLong(i * 10L);
+    }
+    for (int i = 0; i < size; i++) {
+      buffer.put((byte) (i % 2));
+    }
+    for (int i = 0; i < size; i++) {
+      buffer.putInt(i);
+    }
+    for (int i = 0; i < size; i++) {
+      buffer.putDouble(i + 0.5d);
+    }
+    buffer.putInt(2);
+    buffer.put(new byte[] {'a', 'b'});
+    buffer.putInt(0);
+    buffer.putInt(1);
+    buffer.put((byte) 'c');
+    buffer.flip();
+    buffer.get();
+
+    assertEquals(
+        Arrays.toString(new long[] {0L, 10L, 20L}),
+        Arrays.toString(QueryDataSetUtils.readTimesFromBuffer(buffer, size)));
+    final Object[] values =
+        QueryDataSetUtils.readTabletValuesFromBuffer(
+            buffer,
+            new TSDataType[] {
+              TSDataType.BOOLEAN, TSDataType.INT32, TSDataType.DOUBLE, TSDataType.TEXT
+            },
+            4,
+            size);
+    assertFalse(buffer.hasRemaining());
+    assertEquals(
+        Arrays.toString(new boolean[] {false, true, false}),
+        Arrays.toString((boolean[]) values[0]));
+    assertEquals(Arrays.toString(new int[] {0, 1, 2}), Arrays.toString((int[]) values[1]));
+    assertEquals(
+        Arrays.toString(new double[] {0.5d, 1.5d, 2.5d}), Arrays.toString((double[]) values[2]));
+    final Binary[] binaries = (Binary[]) values[3];
+    assertEquals("ab", binaries[0].getStringValue(TSFileConfig.STRING_CHARSET));
+    assertEquals("", binaries[1].getStringValue(TSFileConfig.STRING_CHARSET));
+    assertEquals("c", binaries[2].getStringValue(TSFileConfig.STRING_CHARSET));
+  }
 }
@@ -144,4 +144,28 @@ public class SortUtilTest {
 
     clear();
   }
+
+  @Test
+  public void spilledBytesTest() throws Exception {
+    TimeColumn timeColumn = new TimeColumn(3, new long[] {1, 2, 3});
+    Column column = new DoubleColumn(3, Optional.empty(), new double[] {1.0, 2.0, 3.0});
+    TsBlock tsBlock = new TsBlock(timeColumn, column);
+
+    TreeDiskSpiller diskSpiller =
+        new TreeDiskSpiller(folderPath, filePrefix, Collections.singletonList(TSDataType.DOUBLE));
+    List<SortKey> sortKeyList = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      sortKeyList.add(new SortKey(tsBlock, i));
+    }
+    try {
+      long spilledBytes = diskSpiller.spillSortedData(sortKeyList);
+      File[] spilledFiles = new File(folderPath).listFiles();
+      assertEquals(1, spilledFiles.length);
+      assertEquals(spilledFiles[0].length(), spilledBytes);
+      // the bytes of every spill are counted separately
+      assertEquals(spilledBytes, diskSpiller.spillSortedData(sortKeyList));
+    } finally {
+      clear();
+    }
+  }
 }
@@ -21,52 +21,56 @@ package org.apache.iotdb.metrics.core.type;
 
 import org.apache.iotdb.metrics.type.Histogram;
 import org.apache.iotdb.metrics.utils.AbstractMetricMBean;
+import org.apache.iotdb.metrics.utils.BucketHistogram;
 
 public class IoTDBHistogram extends AbstractMetricMBean implements Histogram, IoTDBHistogramMBean {
 
-  io.micrometer.core.instrument.DistributionSummary distributionSummary;
+  private final BucketHistogram histogram;
 
-  public IoTDBHistogram(io.micrometer.core.instrument.DistributionSummary distributionSummary) {
-    this.distributionSummary = distributionSummary;
+  public IoTDBHistogram(BucketHistogram histogram) {
+    this.histogram = histogram;
   }
 
+  // The getters below are read one by one through JMX, so they are read from the counters of the
+  // histogram instead of taking a snapshot each
+
   @Override
   public double getMax() {
-    return this.takeSnapshot().getMax();
+    return histogram.getWindowMax();
   }
 
   @Override
   public double getMean() {
-    return this.takeSnapshot().getMean();
+    return histogram.getMean();
   }
 
   @Override
   public int getSize() {
-    return this.takeSnapshot().size();
+    return (int) Math.min(histogram.getWindowCount(), Integer.MAX_VALUE);
   }
 
   @Override
   public double get50thPercentile() {
-    return this.takeSnapshot().getValue(0.5);
+    return histogram.getWindowValue(0.5);
   }
 
   @Override
   public double get99thPercentile() {
-    return this.takeSnapshot().getValue(0.99);
+    return histogram.getWindowValue(0.99);
   }
 
   @Override
   public void update(long value) {
-    distributionSummary.record(value);
+    histogram.update(value);
   }
 
   @Override
   public long getCount() {
-    return distributionSummary.count();
+    return histogram.getCount();
   }
 
   @Override
   public org.apache.iotdb.metrics.type.HistogramSnapshot takeSnapshot() {
-    return new IoTDBHistogramSnapshot(distributionSummary);
+    return histogram.takeSnapshot(1.0);
   }
 }
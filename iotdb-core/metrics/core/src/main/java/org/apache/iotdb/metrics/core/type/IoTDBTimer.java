@@ -22,74 +22,66 @@ package org.apache.iotdb.metrics.core.type;
 import org.apache.iotdb.metrics.type.HistogramSnapshot;
 import org.apache.iotdb.metrics.type.Timer;
 import org.apache.iotdb.metrics.utils.AbstractMetricMBean;
+import org.apache.iotdb.metrics.utils.BucketHistogram;
 
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-
-import java.util.Optional;
 import java.util.concurrent.TimeUnit;
 
 public class IoTDBTimer extends AbstractMetricMBean implements Timer, IoTDBTimerMBean {
 
-  private static final Logger LOGGER = LoggerFactory.getLogger(IoTDBTimer.class);
-  io.micrometer.core.instrument.Timer timer;
+  // The durations are recorded in nanoseconds and reported in seconds
+  private static final double NANOS_TO_SECONDS = 1.0 / TimeUnit.SECONDS.toNanos(1);
+
+  private final BucketHistogram histogram;
 
-  public IoTDBTimer(io.micrometer.core.instrument.Timer timer) {
-    this.timer = timer;
+  public IoTDBTimer(BucketHistogram histogram) {
+    this.histogram = histogram;
   }
 
   @Override
   public void update(long duration, TimeUnit unit) {
-    timer.record(duration, unit);
+    histogram.update(unit.toNanos(duration));
   }
 
   @Override
   public HistogramSnapshot takeSnapshot() {
-    try {
-      return new IoTDBTimerHistogramSnapshot(timer);
-    } catch (ArrayIndexOutOfBoundsException e) {
-      LOGGER.warn(
-          "Detected an error while taking snapshot, may cause a miss during this recording.", e);
-      return null;
-    }
+    return histogram.takeSnapshot(NANOS_TO_SECONDS);
   }
 
+  // The getters below are read one by one through JMX, so they are read from the counters of the
+  // histogram instead of taking a snapshot each
+
   @Override
   public double getSum() {
-    return Optional.ofNullable(takeSnapshot()).map(HistogramSnapshot::getSum).orElse(0.0);
+    return histogram.getSum() * NANOS_TO_SECONDS;
   }
 
   @Override
   public double getMax() {
-    return Optional.ofNullable(takeSnapshot()).map(HistogramSnapshot::getMax).orElse(0.0);
+    return histogram.getWindowMax() * NANOS_TO_SECONDS;
   }
 
   @Override
   public double getMean() {
-    return Optional.ofNullable(takeSnapshot()).map(HistogramSnapshot::getMean).orElse(0.0);
+    return histogram.getMean() * NANOS_TO_SECONDS;
   }
 
   @Override
   public int getSize() {
-    return Optional.ofNullable(takeSnapshot()).map(HistogramSnapshot::size).orElse(0);
+    return (int) Math.min(histogram.getWindowCount(), Integer.MAX_VALUE);
   }
 
   @Override
   public double get50thPercentile() {
-    return Optional.ofNullable(takeSnapshot())
-        .map(histogramSnapshot -> histogramSnapshot.getValue(0.5))
-        .orElse(0.0);
+    return histogram.getWindowValue(0.5) * NANOS_TO_SECONDS;
   }
 
   @Override
   public double get99thPercentile() {
-    return Optional.ofNullable(takeSnapshot())
-        .map(histogramSnapshot -> histogramSnapshot.getValue(0.99))
-        .orElse(0.0);
+    return histogram.getWindowValue(0.99) * NANOS_TO_SECONDS;
   }
 
   @Override
   public long getCount() {
-    return timer.count();
+    return histogram.getCount();
   }
 }
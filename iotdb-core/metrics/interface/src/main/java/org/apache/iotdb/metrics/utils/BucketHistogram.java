@@ -0,0 +1,263 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.metrics.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative values. Like the HdrHistogram, the values are counted in
+ * log-linear buckets: each power of two is split into {@link #SUB_BUCKET_NUM} linear sub buckets,
+ * so that the relative error of the percentiles is no more than 1 / {@link #SUB_BUCKET_NUM}.
+ * Recording a value takes a few atomic updates without any lock or allocation, and histograms can
+ * be merged by adding up their buckets.
+ *
+ * <p>The percentiles, the max and the size cover the values recorded in the last one or two
+ * windows, which are rotated when they are read, while the count and the sum cover all the recorded
+ * values. The count, the sum, the mean, the max and the size are read from counters without taking
+ * a snapshot, so that reading one of them does not copy the buckets.
+ */
+public class BucketHistogram {
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKET_NUM = 1 << SUB_BUCKET_BITS;
+
+  // The values less than SUB_BUCKET_NUM are counted exactly, and each of the higher powers of two
+  // takes SUB_BUCKET_NUM buckets
+  static final int BUCKET_NUM = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKET_NUM;
+
+  private static final long DEFAULT_WINDOW_MILLIS = 60_000L;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_NUM);
+  private final LongAdder count = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  // The max values recorded in the previous window and the current window
+  private final AtomicLong previousWindowMax = new AtomicLong();
+  private final AtomicLong currentWindowMax = new AtomicLong();
+
+  private final long windowMillis;
+
+  // The bucket counts at the starts of the previous window and the current window, guarded by this.
+  // A null start means the start of the histogram.
+  private long[] previousWindowStart;
+  private long[] currentWindowStart;
+  // The total counts of the buckets above, written under this
+  private volatile long previousWindowStartCount;
+  private long currentWindowStartCount;
+  private volatile long currentWindowStartTime;
+
+  public BucketHistogram() {
+    this(DEFAULT_WINDOW_MILLIS);
+  }
+
+  public BucketHistogram(long windowMillis) {
+    this.windowMillis = windowMillis;
+    this.currentWindowStartTime = System.currentTimeMillis();
+  }
+
+  /** Record a value, negative values are recorded as 0. */
+  public void update(long value) {
+    if (value < 0) {
+      value = 0;
+    }
+    buckets.incrementAndGet(bucketIndex(value));
+    count.increment();
+    sum.add(value);
+    updateMax(currentWindowMax, value);
+  }
+
+  private static void updateMax(AtomicLong max, long value) {
+    long currentMax = max.get();
+    while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+      currentMax = max.get();
+    }
+  }
+
+  /**
+   * Add the values recorded by another histogram into this one. They are counted in the current
+   * window of this histogram.
+   */
+  public void merge(BucketHistogram other) {
+    int highestIndex = -1;
+    for (int i = 0; i < BUCKET_NUM; i++) {
+      long bucketCount = other.buckets.get(i);
+      if (bucketCount != 0) {
+        buckets.addAndGet(i, bucketCount);
+        highestIndex = i;
+      }
+    }
+    count.add(other.count.sum());
+    sum.add(other.sum.sum());
+    long otherMax = Math.max(other.previousWindowMax.get(), other.currentWindowMax.get());
+    // The values recorded before the windows of the other histogram are bounded by their bucket
+    if (highestIndex > bucketIndex(otherMax)) {
+      otherMax = bucketUpperBound(highestIndex);
+    }
+    updateMax(currentWindowMax, otherMax);
+  }
+
+  public long getCount() {
+    return count.sum();
+  }
+
+  public long getSum() {
+    return sum.sum();
+  }
+
+  public double getMean() {
+    long totalCount = count.sum();
+    return totalCount == 0 ? 0 : (double) sum.sum() / totalCount;
+  }
+
+  /** The max value recorded in the last one or two windows. */
+  public long getWindowMax() {
+    rotateWindowIfNeeded();
+    return Math.max(previousWindowMax.get(), currentWindowMax.get());
+  }
+
+  /** The number of the values recorded in the last one or two windows. */
+  public long getWindowCount() {
+    rotateWindowIfNeeded();
+    return Math.max(0, count.sum() - previousWindowStartCount);
+  }
+
+  private void rotateWindowIfNeeded() {
+    // Only lock if the window is to be rotated
+    if (System.currentTimeMillis() - currentWindowStartTime >= windowMillis) {
+      synchronized (this) {
+        rotateWindowIfNeeded(null);
+      }
+    }
+  }
+
+  /**
+   * Rotate the window if it has lasted for the window time, should be called under this.
+   *
+   * @param bucketCounts the current bucket counts, or null to read them
+   */
+  private void rotateWindowIfNeeded(long[] bucketCounts) {
+    long now = System.currentTimeMillis();
+    if (now - currentWindowStartTime < windowMillis) {
+      return;
+    }
+    if (bucketCounts == null) {
+      bucketCounts = new long[BUCKET_NUM];
+      for (int i = 0; i < BUCKET_NUM; i++) {
+        bucketCounts[i] = buckets.get(i);
+      }
+    }
+    long bucketCount = 0;
+    for (long c : bucketCounts) {
+      bucketCount += c;
+    }
+    previousWindowStart = currentWindowStart;
+    previousWindowStartCount = currentWindowStartCount;
+    currentWindowStart = bucketCounts.clone();
+    currentWindowStartCount = bucketCount;
+    previousWindowMax.set(currentWindowMax.getAndSet(0));
+    currentWindowStartTime = now;
+  }
+
+  /**
+   * The quantile of the values recorded in the last one or two windows, computed from the buckets
+   * without copying them.
+   */
+  public synchronized long getWindowValue(double quantile) {
+    rotateWindowIfNeeded(null);
+    long windowCount = 0;
+    int highestIndex = -1;
+    for (int i = 0; i < BUCKET_NUM; i++) {
+      long bucketCount = getWindowBucketCount(i);
+      if (bucketCount > 0) {
+        windowCount += bucketCount;
+        highestIndex = i;
+      }
+    }
+    if (windowCount == 0) {
+      return 0;
+    }
+    long windowMax =
+        Math.min(
+            bucketUpperBound(highestIndex),
+            Math.max(previousWindowMax.get(), currentWindowMax.get()));
+    long rank = Math.max(1, (long) Math.ceil(quantile * windowCount));
+    long accumulatedCount = 0;
+    for (int i = 0; i <= highestIndex; i++) {
+      accumulatedCount += Math.max(0, getWindowBucketCount(i));
+      if (accumulatedCount >= rank) {
+        return Math.min(bucketUpperBound(i), windowMax);
+      }
+    }
+    return windowMax;
+  }
+
+  // Should be called under this
+  private long getWindowBucketCount(int index) {
+    long bucketCount = buckets.get(index);
+    return previousWindowStart == null ? bucketCount : bucketCount - previousWindowStart[index];
+  }
+
+  /**
+   * Take a snapshot of the histogram.
+   *
+   * @param scale the factor converting the recorded values into the values of the snapshot
+   */
+  public synchronized BucketHistogramSnapshot takeSnapshot(double scale) {
+    long[] windowCounts = new long[BUCKET_NUM];
+    for (int i = 0; i < BUCKET_NUM; i++) {
+      windowCounts[i] = buckets.get(i);
+    }
+    long totalCount = count.sum();
+    long totalSum = sum.sum();
+
+    rotateWindowIfNeeded(windowCounts);
+    if (previousWindowStart != null) {
+      for (int i = 0; i < BUCKET_NUM; i++) {
+        windowCounts[i] -= previousWindowStart[i];
+      }
+    }
+    long windowMax = Math.max(previousWindowMax.get(), currentWindowMax.get());
+    return new BucketHistogramSnapshot(windowCounts, windowMax, totalCount, totalSum, scale);
+  }
+
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKET_NUM) {
+      return (int) value;
+    }
+    int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_NUM - 1);
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_NUM + subBucket;
+  }
+
+  /** The max value counted in the bucket. */
+  static long bucketUpperBound(int index) {
+    return index == BUCKET_NUM - 1 ? Long.MAX_VALUE : bucketLowerBound(index + 1) - 1;
+  }
+
+  private static long bucketLowerBound(int index) {
+    if (index < SUB_BUCKET_NUM) {
+      return index;
+    }
+    int exponent = index / SUB_BUCKET_NUM + SUB_BUCKET_BITS - 1;
+    long subBucket = index % SUB_BUCKET_NUM;
+    return (SUB_BUCKET_NUM + subBucket) << (exponent - SUB_BUCKET_BITS);
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.metrics.utils;
+
+import org.apache.iotdb.metrics.type.HistogramSnapshot;
+
+/** The snapshot of a {@link BucketHistogram}. */
+public class BucketHistogramSnapshot extends AbstractMetricMBean implements HistogramSnapshot {
+
+  private final long[] windowCounts;
+  private final long windowCount;
+  private final long windowMax;
+  private final long totalCount;
+  private final long totalSum;
+  private final double scale;
+
+  BucketHistogramSnapshot(
+      long[] windowCounts, long max, long totalCount, long totalSum, double scale) {
+    this.windowCounts = windowCounts;
+    this.totalCount = totalCount;
+    this.totalSum = totalSum;
+    this.scale = scale;
+
+    long count = 0;
+    int highestIndex = -1;
+    for (int i = 0; i < windowCounts.length; i++) {
+      if (windowCounts[i] > 0) {
+        count += windowCounts[i];
+        highestIndex = i;
+      }
+    }
+    this.windowCount = count;
+    // The max may have been recorded before the window, so it is bounded by the highest bucket
+    this.windowMax =
+        highestIndex < 0 ? 0 : Math.min(BucketHistogram.bucketUpperBound(highestIndex), max);
+  }
+
+  @Override
+  public double getValue(double quantile) {
+    if (windowCount == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(quantile * windowCount));
+    long accumulatedCount = 0;
+    for (int i = 0; i < windowCounts.length; i++) {
+      accumulatedCount += Math.max(0, windowCounts[i]);
+      if (accumulatedCount >= rank) {
+        return Math.min(BucketHistogram.bucketUpperBound(i), windowMax) * scale;
+      }
+    }
+    return windowMax * scale;
+  }
+
+  @Override
+  public double getSum() {
+    return totalSum * scale;
+  }
+
+  @Override
+  public int size() {
+    return (int) Math.min(windowCount, Integer.MAX_VALUE);
+  }
+
+  @Override
+  public double getMean() {
+    return totalCount == 0 ? 0 : (double) totalSum / totalCount * scale;
+  }
+
+  @Override
+  public double getMax() {
+    return windowMax * scale;
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.metrics.utils;
+
+import org.apache.iotdb.metrics.type.HistogramSnapshot;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BucketHistogramTest {
+
+  @Test
+  public void testBuckets() {
+    for (long value = 0; value < 100_000; value++) {
+      int index = BucketHistogram.bucketIndex(value);
+      assertTrue(value <= BucketHistogram.bucketUpperBound(index));
+      assertTrue(index == 0 || value > BucketHistogram.bucketUpperBound(index - 1));
+      // The relative error is no more than 1 / 8
+      assertTrue(BucketHistogram.bucketUpperBound(index) - value <= value / 8);
+    }
+    assertEquals(BucketHistogram.BUCKET_NUM - 1, BucketHistogram.bucketIndex(Long.MAX_VALUE));
+  }
+
+  @Test
+  public void testSnapshot() {
+    BucketHistogram histogram = new BucketHistogram();
+    for (long value = 1; value <= 1000; value++) {
+      histogram.update(value);
+    }
+    HistogramSnapshot snapshot = histogram.takeSnapshot(1.0);
+    assertEquals(1000, histogram.getCount());
+    assertEquals(1000, snapshot.size());
+    assertEquals(500500, snapshot.getSum(), 0);
+    assertEquals(500.5, snapshot.getMean(), 0);
+    assertEquals(1000, snapshot.getMax(), 0);
+    assertEquals(500, snapshot.getValue(0.5), 500 / 8.0);
+    assertEquals(990, snapshot.getValue(0.99), 990 / 8.0);
+
+    HistogramSnapshot scaledSnapshot = histogram.takeSnapshot(0.001);
+    assertEquals(1, scaledSnapshot.getMax(), 0);
+
+    // The getters read without a snapshot agree with the snapshot
+    assertEquals(snapshot.getSum(), histogram.getSum(), 0);
+    assertEquals(snapshot.getMean(), histogram.getMean(), 0);
+    assertEquals(snapshot.getMax(), histogram.getWindowMax(), 0);
+    assertEquals(snapshot.size(), histogram.getWindowCount());
+    assertEquals(snapshot.getValue(0.5), histogram.getWindowValue(0.5), 0);
+    assertEquals(snapshot.getValue(0.99), histogram.getWindowValue(0.99), 0);
+  }
+
+  @Test
+  public void testWindow() throws InterruptedException {
+    BucketHistogram histogram = new BucketHistogram(10);
+    histogram.update(1000);
+    Thread.sleep(20);
+    // Rotate the first window, whose values are still in the snapshot
+    assertEquals(1000, histogram.takeSnapshot(1.0).getMax(), 0);
+    histogram.update(10);
+    Thread.sleep(20);
+    // Rotate the second window, so the values of the first window are out of the snapshot
+    HistogramSnapshot snapshot = histogram.takeSnapshot(1.0);
+    assertEquals(10, snapshot.getMax(), 0);
+    assertEquals(1, snapshot.size());
+    assertEquals(1010, snapshot.getSum(), 0);
+    assertEquals(2, histogram.getCount());
+
+    histogram.update(100);
+    Thread.sleep(20);
+    // The getters read without a snapshot rotate the window as well
+    assertEquals(100, histogram.getWindowMax());
+    assertEquals(1, histogram.getWindowCount());
+    assertEquals(100, histogram.getWindowValue(0.99), 100 / 8.0);
+    assertEquals(1110, histogram.getSum());
+  }
+
+  @Test
+  public void testConcurrentUpdateAndMerge() throws Exception {
+    int threadNum = 4;
+    int valueNum = 10_000;
+    BucketHistogram histogram = new BucketHistogram();
+    ExecutorService executor = Executors.newFixedThreadPool(threadNum);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int i = 0; i < threadNum; i++) {
+        futures.add(
+            executor.submit(
+                () -> {
+                  for (int value = 0; value < valueNum; value++) {
+                    histogram.update(value);
+                  }
+                }));
+      }
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals((long) threadNum * valueNum, histogram.getCount());
+
+    BucketHistogram merged = new BucketHistogram();
+    merged.update(-1);
+    merged.merge(histogram);
+    HistogramSnapshot snapshot = merged.takeSnapshot(1.0);
+    assertEquals((long) threadNum * valueNum + 1, merged.getCount());
+    assertEquals(threadNum * valueNum + 1, snapshot.size());
+    assertEquals(valueNum - 1, snapshot.getMax(), 0);
+    assertEquals((double) threadNum * valueNum * (valueNum - 1) / 2, snapshot.getSum(), 0);
+  }
+}
@@ -60,6 +60,10 @@ public final class PipeMessages {
       "PipeRealTimeQueuePollTsFileThreshold: {}";
   public static final String CONFIG_PIPE_REALTIME_QUEUE_POLL_HISTORICAL_TSFILE_THRESHOLD =
       "PipeRealTimeQueuePollHistoricalTsFileThreshold: {}";
+  public static final String CONFIG_PIPE_HISTORICAL_TSFILE_PREFETCH_THREAD_NUM =
+      "PipeHistoricalTsFilePrefetchThreadNum: {}";
+  public static final String CONFIG_PIPE_HISTORICAL_TSFILE_PREFETCH_MAX_SIZE_IN_BYTES =
+      "PipeHistoricalTsFilePrefetchMaxSizeInBytes: {}";
   public static final String CONFIG_PIPE_REALTIME_QUEUE_MAX_WAITING_TSFILE_SIZE =
       "PipeRealTimeQueueMaxWaitingTsFileSize: {}";
   public static final String CONFIG_PIPE_REALTIME_FORCE_DOWNGRADING_ENABLED =
@@ -38,6 +38,7 @@ public enum ThreadName {
   FRAGMENT_INSTANCE_DISPATCH("Fragment-Instance-Dispatch"),
   DRIVER_TASK_SCHEDULER_NOTIFICATION("Driver-Task-Scheduler-Notification"),
   EXPIRED_QUERIES_INFO_CLEAR("Expired-Queries-Info-Clear"),
+  TABLE_STATISTICS_REFRESH("Table-Statistics-Refresh"),
   // -------------------------- MPP --------------------------
   MPP_COORDINATOR_SCHEDULED_EXECUTOR("MPP-Coordinator-Scheduled-Executor"),
   MPP_DATA_EXCHANGE_TASK_EXECUTOR("MPP-Data-Exchange-Task-Executors"),
@@ -71,6 +72,7 @@ public enum ThreadName {
   PBTREE_RELEASE_MONITOR("PBTree-Release-Task-Monitor"),
   PBTREE_FLUSH_MONITOR("PBTree-Flush-Monitor"),
   PBTREE_WORKER_POOL("PBTree-Worker-Pool"),
+  PBTREE_PAGE_PREFETCH("PBTree-Page-Prefetch"),
   GENERAL_REGION_ATTRIBUTE_SECURITY_SERVICE("General-Region-Attribute-Security-Service"),
   SCHEMA_PARALLEL_POOL("Schema-Parallel-Pool"),
 
@@ -94,6 +96,8 @@ public enum ThreadName {
   CONFIG_NODE_LOAD_STATISTIC("Cluster-LoadStatistics-Service"),
   CONFIG_NODE_EVENT_SERVICE("Cluster-Event-Service"),
   CONFIG_NODE_LOAD_PUBLISHER("Cluster-LoadStatistics-Publisher"),
+  CONFIG_NODE_LOAD_AWARE_LEADER_BALANCE("Cluster-LoadAwareLeaderBalance-Service"),
+  CONFIG_NODE_REGION_MIGRATION_BALANCE("Cluster-RegionMigrationBalance-Service"),
   // -------------------------- ConfigNode-RegionManagement --------------------------
   CONFIG_NODE_REGION_MAINTAINER("IoTDB-Region-Maintainer"),
   // -------------------------- ConfigNode-Recover --------------------------
@@ -155,7 +159,9 @@ public enum ThreadName {
   PIPE_AIR_GAP_RECEIVER("Pipe-Air-Gap-Receiver"),
   PIPE_PARALLEL_EXECUTION_POOL("Pipe-Parallel-Execution-Pool"),
   PIPE_TERMINATE_EXECUTION_POOL("Pipe-Terminate-Execution-Pool"),
+  PIPE_HISTORICAL_TSFILE_PREFETCH_POOL("Pipe-Historical-TsFile-Prefetch-Pool"),
   LOAD_DATATYPE_CONVERT_POOL("Load-Datatype-Convert-Pool"),
+  LOAD_TSFILE_PIECE_DISPATCHER("Load-TsFile-Piece-Dispatcher"),
   SUBSCRIPTION_EXECUTOR_POOL("Subscription-Executor-Pool"),
   SUBSCRIPTION_RUNTIME_META_SYNCER("Subscription-Runtime-Meta-Syncer"),
   WINDOW_EVALUATION_SERVICE("WindowEvaluationTaskPoolManager"),
@@ -207,6 +213,7 @@ public enum ThreadName {
   BINARY_ALLOCATOR_AUTO_RELEASER("BinaryAllocator-Auto-Releaser"),
   FIND_EARLIEST_TIME_SLOT_PARALLEL_POOL("FindEarliestTimeSlot-Parallel-Pool"),
   DATA_PARTITION_RECOVER_PARALLEL_POOL("DataPartitionRecover-Parallel-Pool"),
+  MQTT_BATCH_FLUSHER("MQTT-Batch-Flusher"),
 
   // the unknown thread name is used for metrics
   UNKNOWN("UNKNOWN");
@@ -258,6 +265,7 @@ public enum ThreadName {
               SCHEMA_FORCE_MLOG,
               PBTREE_FLUSH_MONITOR,
               PBTREE_WORKER_POOL,
+              PBTREE_PAGE_PREFETCH,
               GENERAL_REGION_ATTRIBUTE_SECURITY_SERVICE,
               SCHEMA_PARALLEL_POOL));
 
@@ -318,6 +326,7 @@ public enum ThreadName {
               PIPE_RECEIVER_AIR_GAP_AGENT,
               PIPE_AIR_GAP_RECEIVER,
               PIPE_PARALLEL_EXECUTION_POOL,
+              PIPE_HISTORICAL_TSFILE_PREFETCH_POOL,
               SUBSCRIPTION_EXECUTOR_POOL,
               SUBSCRIPTION_RUNTIME_META_SYNCER,
               WINDOW_EVALUATION_SERVICE,
@@ -362,7 +371,12 @@ public enum ThreadName {
               ASYNC_DATANODE_HEARTBEAT_CLIENT_POOL));
 
   private static final Set<ThreadName> configNodeLoadBalanceThreadNames =
-      new HashSet<>(Arrays.asList(CONFIG_NODE_LOAD_STATISTIC, CONFIG_NODE_LOAD_PUBLISHER));
+      new HashSet<>(
+          Arrays.asList(
+              CONFIG_NODE_LOAD_STATISTIC,
+              CONFIG_NODE_LOAD_PUBLISHER,
+              CONFIG_NODE_LOAD_AWARE_LEADER_BALANCE,
+              CONFIG_NODE_REGION_MIGRATION_BALANCE));
 
   private static final Set<ThreadName> configNodeRegionManagementThreadNames =
       new HashSet<>(Arrays.asList(CONFIG_NODE_REGION_MAINTAINER));
@@ -400,7 +414,8 @@ public enum ThreadName {
               DATANODE_SHUTDOWN_HOOK,
               UPGRADE_TASK,
               REGION_MIGRATE,
-              STORAGE_ENGINE_RECOVER_TRIGGER));
+              STORAGE_ENGINE_RECOVER_TRIGGER,
+              MQTT_BATCH_FLUSHER));
 
   private static final Set<ThreadName>[] threadNameSetList =
       new Set[] {
@@ -213,6 +213,12 @@ public class CommonConfig {
 
   // Sequentially poll the tsFile by default
   private int pipeRealTimeQueuePollHistoricalTsFileThreshold = 1;
+
+  // Threads shared by all pipes to read historical TsFiles into the page cache ahead of supply
+  private int pipeHistoricalTsFilePrefetchThreadNum =
+      Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+  // The max total size of the historical TsFiles of all pipes read ahead but not supplied yet
+  private long pipeHistoricalTsFilePrefetchMaxSizeInBytes = 256 * 1024 * 1024L;
   private int pipeRealTimeQueueMaxWaitingTsFileSize = 1;
   private boolean pipeRealtimeForceDowngradingEnabled = true;
   private double pipeRealtimeForceDowngradingProportion = 0.25d;
@@ -1609,6 +1615,36 @@ public class CommonConfig {
         pipeRealTimeQueuePollHistoricalTsFileThreshold);
   }
 
+  public int getPipeHistoricalTsFilePrefetchThreadNum() {
+    return pipeHistoricalTsFilePrefetchThreadNum;
+  }
+
+  public void setPipeHistoricalTsFilePrefetchThreadNum(int pipeHistoricalTsFilePrefetchThreadNum) {
+    if (this.pipeHistoricalTsFilePrefetchThreadNum == pipeHistoricalTsFilePrefetchThreadNum) {
+      return;
+    }
+    this.pipeHistoricalTsFilePrefetchThreadNum = pipeHistoricalTsFilePrefetchThreadNum;
+    logger.info(
+        "pipeHistoricalTsFilePrefetchThreadNum is set to {}.",
+        pipeHistoricalTsFilePrefetchThreadNum);
+  }
+
+  public long getPipeHistoricalTsFilePrefetchMaxSizeInBytes() {
+    return pipeHistoricalTsFilePrefetchMaxSizeInBytes;
+  }
+
+  public void setPipeHistoricalTsFilePrefetchMaxSizeInBytes(
+      long pipeHistoricalTsFilePrefetchMaxSizeInBytes) {
+    if (this.pipeHistoricalTsFilePrefetchMaxSizeInBytes
+        == pipeHistoricalTsFilePrefetchMaxSizeInBytes) {
+      return;
+    }
+    this.pipeHistoricalTsFilePrefetchMaxSizeInBytes = pipeHistoricalTsFilePrefetchMaxSizeInBytes;
+    logger.info(
+        "pipeHistoricalTsFilePrefetchMaxSizeInBytes is set to {}.",
+        pipeHistoricalTsFilePrefetchMaxSizeInBytes);
+  }
+
   public int getPipeRealTimeQueueMaxWaitingTsFileSize() {
     return pipeRealTimeQueueMaxWaitingTsFileSize;
   }
@@ -114,6 +114,14 @@ public class PipeConfig {
     return Math.max(COMMON_CONFIG.getPipeRealTimeQueuePollHistoricalTsFileThreshold(), 1);
   }
 
+  public int getPipeHistoricalTsFilePrefetchThreadNum() {
+    return Math.max(COMMON_CONFIG.getPipeHistoricalTsFilePrefetchThreadNum(), 1);
+  }
+
+  public long getPipeHistoricalTsFilePrefetchMaxSizeInBytes() {
+    return COMMON_CONFIG.getPipeHistoricalTsFilePrefetchMaxSizeInBytes();
+  }
+
   public int getPipeRealTimeQueueMaxWaitingTsFileSize() {
     return COMMON_CONFIG.getPipeRealTimeQueueMaxWaitingTsFileSize();
   }
@@ -510,6 +518,12 @@ public class PipeConfig {
     LOGGER.info(
         PipeMessages.CONFIG_PIPE_REALTIME_QUEUE_POLL_HISTORICAL_TSFILE_THRESHOLD,
         getPipeRealTimeQueuePollHistoricalTsFileThreshold());
+    LOGGER.info(
+        PipeMessages.CONFIG_PIPE_HISTORICAL_TSFILE_PREFETCH_THREAD_NUM,
+        getPipeHistoricalTsFilePrefetchThreadNum());
+    LOGGER.info(
+        PipeMessages.CONFIG_PIPE_HISTORICAL_TSFILE_PREFETCH_MAX_SIZE_IN_BYTES,
+        getPipeHistoricalTsFilePrefetchMaxSizeInBytes());
     LOGGER.info(
         PipeMessages.CONFIG_PIPE_REALTIME_QUEUE_MAX_WAITING_TSFILE_SIZE,
         getPipeRealTimeQueueMaxWaitingTsFileSize());
@@ -277,6 +277,19 @@ public class PipeDescriptor {
             properties.getProperty(
                 "pipe_realtime_queue_poll_historical_tsfile_threshold",
                 String.valueOf(config.getPipeRealTimeQueuePollHistoricalTsFileThreshold()))));
+    final int pipeHistoricalTsFilePrefetchThreadNum =
+        Integer.parseInt(
+            properties.getProperty(
+                "pipe_historical_tsfile_prefetch_thread_num",
+                String.valueOf(config.getPipeHistoricalTsFilePrefetchThreadNum())));
+    if (pipeHistoricalTsFilePrefetchThreadNum > 0) {
+      config.setPipeHistoricalTsFilePrefetchThreadNum(pipeHistoricalTsFilePrefetchThreadNum);
+    }
+    config.setPipeHistoricalTsFilePrefetchMaxSizeInBytes(
+        Long.parseLong(
+            properties.getProperty(
+                "pipe_historical_tsfile_prefetch_max_size_in_bytes",
+                String.valueOf(config.getPipeHistoricalTsFilePrefetchMaxSizeInBytes()))));
     config.setPipeRealTimeQueueMaxWaitingTsFileSize(
         Integer.parseInt(
             properties.getProperty(
@@ -99,6 +99,10 @@ public class PipeSourceConstant {
   public static final String EXTRACTOR_HISTORY_LOOSE_RANGE_PATH_VALUE = "path";
   public static final String EXTRACTOR_HISTORY_LOOSE_RANGE_ALL_VALUE = "all";
   public static final String EXTRACTOR_HISTORY_LOOSE_RANGE_DEFAULT_VALUE = "";
+  public static final String EXTRACTOR_HISTORY_PREFETCH_WINDOW_KEY =
+      "extractor.history.prefetch-window";
+  public static final String SOURCE_HISTORY_PREFETCH_WINDOW_KEY = "source.history.prefetch-window";
+  public static final int EXTRACTOR_HISTORY_PREFETCH_WINDOW_DEFAULT_VALUE = 0;
   public static final String EXTRACTOR_MODS_ENABLE_KEY = "extractor.mods.enable";
   public static final String SOURCE_MODS_ENABLE_KEY = "source.mods.enable";
   public static final boolean EXTRACTOR_MODS_ENABLE_DEFAULT_VALUE = false;
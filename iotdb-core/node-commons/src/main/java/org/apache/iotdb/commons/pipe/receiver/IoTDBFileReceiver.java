@@ -51,6 +51,8 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Objects;
@@ -416,7 +418,12 @@ public abstract class IoTDBFileReceiver implements IoTDBReceiver {
         return PipeTransferFilePieceResp.toTPipeTransferResp(status, writingFileWriter.length());
       }
 
-      writingFileWriter.write(req.getFilePiece());
+      // Write the piece from the request body directly to avoid copying it into a byte array
+      final ByteBuffer filePieceBuffer = req.getFilePieceBuffer();
+      final FileChannel writingFileChannel = writingFileWriter.getChannel();
+      while (filePieceBuffer.hasRemaining()) {
+        writingFileChannel.write(filePieceBuffer);
+      }
       return PipeTransferFilePieceResp.toTPipeTransferResp(
           RpcUtils.SUCCESS_STATUS, writingFileWriter.length());
     } catch (final Exception e) {
@@ -36,6 +36,8 @@ public abstract class PipeTransferFilePieceReq extends TPipeTransferReq {
   private transient String fileName;
   private transient long startWritingOffset;
   private transient byte[] filePiece;
+  // A view of the file piece in the request body, set when the request is deserialized
+  private transient ByteBuffer filePieceBuffer;
 
   public final String getFileName() {
     return fileName;
@@ -46,9 +48,23 @@ public abstract class PipeTransferFilePieceReq extends TPipeTransferReq {
   }
 
   public final byte[] getFilePiece() {
+    if (Objects.isNull(filePiece) && Objects.nonNull(filePieceBuffer)) {
+      filePiece = new byte[filePieceBuffer.remaining()];
+      filePieceBuffer.duplicate().get(filePiece);
+    }
     return filePiece;
   }
 
+  /**
+   * @return a read-only view of the file piece, which does not copy the bytes out of the request
+   *     body if the request is deserialized
+   */
+  public final ByteBuffer getFilePieceBuffer() {
+    return Objects.nonNull(filePieceBuffer)
+        ? filePieceBuffer.asReadOnlyBuffer()
+        : ByteBuffer.wrap(filePiece).asReadOnlyBuffer();
+  }
+
   protected abstract PipeRequestType getPlanType();
 
   /////////////////////////////// Thrift ///////////////////////////////
@@ -78,7 +94,10 @@ public abstract class PipeTransferFilePieceReq extends TPipeTransferReq {
 
     fileName = ReadWriteIOUtils.readString(transferReq.body);
     startWritingOffset = ReadWriteIOUtils.readLong(transferReq.body);
-    filePiece = ReadWriteIOUtils.readBinary(transferReq.body).getValues();
+    final int filePieceLength = ReadWriteIOUtils.readInt(transferReq.body);
+    filePieceBuffer = transferReq.body.slice();
+    filePieceBuffer.limit(filePieceLength);
+    transferReq.body.position(transferReq.body.position() + filePieceLength);
 
     version = transferReq.version;
     type = transferReq.type;
@@ -114,7 +133,7 @@ public abstract class PipeTransferFilePieceReq extends TPipeTransferReq {
     PipeTransferFilePieceReq that = (PipeTransferFilePieceReq) obj;
     return fileName.equals(that.fileName)
         && startWritingOffset == that.startWritingOffset
-        && Arrays.equals(filePiece, that.filePiece)
+        && Arrays.equals(getFilePiece(), that.getFilePiece())
         && version == that.version
         && type == that.type
         && body.equals(that.body);
@@ -123,6 +142,6 @@ public abstract class PipeTransferFilePieceReq extends TPipeTransferReq {
   @Override
   public int hashCode() {
     return Objects.hash(
-        fileName, startWritingOffset, Arrays.hashCode(filePiece), version, type, body);
+        fileName, startWritingOffset, Arrays.hashCode(getFilePiece()), version, type, body);
   }
 }
@@ -40,6 +40,7 @@ import org.slf4j.LoggerFactory;
 import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.RandomAccessFile;
 import java.net.InetSocketAddress;
 import java.net.Socket;
@@ -49,6 +50,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.zip.CRC32;
 
 import static org.apache.iotdb.commons.pipe.config.constant.PipeSinkConstant.CONNECTOR_AIR_GAP_E_LANGUAGE_ENABLE_DEFAULT_VALUE;
@@ -60,6 +62,7 @@ import static org.apache.iotdb.commons.pipe.config.constant.PipeSinkConstant.CON
 import static org.apache.iotdb.commons.pipe.config.constant.PipeSinkConstant.CONNECTOR_LOAD_BALANCE_ROUND_ROBIN_STRATEGY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeSinkConstant.SINK_AIR_GAP_E_LANGUAGE_ENABLE_KEY;
 import static org.apache.iotdb.commons.pipe.config.constant.PipeSinkConstant.SINK_AIR_GAP_HANDSHAKE_TIMEOUT_MS_KEY;
+import static org.apache.iotdb.commons.utils.BasicStructureSerDeUtil.INT_LEN;
 import static org.apache.iotdb.commons.utils.BasicStructureSerDeUtil.LONG_LEN;
 
 @TreeModel
@@ -86,6 +89,10 @@ public abstract class IoTDBAirGapSink extends IoTDBSink {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(IoTDBAirGapSink.class);
 
+  private static final byte[] EMPTY_FILE_PIECE = new byte[0];
+  // The doubled length and the checksum before the payload of a frame
+  private static final int FRAME_PREFIX_LENGTH = 2 * INT_LEN + LONG_LEN;
+
   protected static final PipeConfig PIPE_CONFIG = PipeConfig.getInstance();
 
   protected final List<AirGapSocket> sockets = new ArrayList<>();
@@ -249,6 +256,12 @@ public abstract class IoTDBAirGapSink extends IoTDBSink {
       final AirGapSocket socket,
       final boolean isMultiFile)
       throws PipeException, IOException {
+    // The file piece is read into its frame directly only when the payload is sent as is
+    if (!isRpcCompressionEnabled() && !eLanguageEnable) {
+      transferFilePiecesInPlace(pipeName, creationTime, file, socket, isMultiFile);
+      return;
+    }
+
     final int readFileBufferSize = PipeConfig.getInstance().getPipeSinkReadFileBufferSize();
     final byte[] readBuffer = new byte[readFileBufferSize];
     long position = 0;
@@ -271,18 +284,53 @@ public abstract class IoTDBAirGapSink extends IoTDBSink {
             isMultiFile
                 ? getTransferMultiFilePieceBytes(file.getName(), position, payload)
                 : getTransferSingleFilePieceBytes(file.getName(), position, payload))) {
-          final String errorMessage =
-              String.format("Transfer file %s error. Socket %s.", file, socket);
-          if (mayNeedHandshakeWhenFail()) {
-            // Send handshake because we don't know whether the receiver side configNode
-            // has set up a new one
-            sendHandshakeReq(socket);
-          }
-          receiverStatusHandler.handle(
-              new TSStatus(TSStatusCode.PIPE_RECEIVER_USER_CONFLICT_EXCEPTION.getStatusCode())
-                  .setMessage(errorMessage),
-              errorMessage,
-              file.toString());
+          handleFilePieceTransferFailure(file, socket);
+        } else {
+          position += readLength;
+        }
+      }
+    }
+  }
+
+  /**
+   * Transfer the file with the same air gap payloads as {@link #transferFilePieces}, but each file
+   * piece is read once into the frame buffer right behind the frame header. The checksum is
+   * calculated over the frame buffer and the frame is written to the socket as a whole, so the
+   * piece is neither copied into a payload array nor concatenated with the header.
+   */
+  private void transferFilePiecesInPlace(
+      final String pipeName,
+      final long creationTime,
+      final File file,
+      final AirGapSocket socket,
+      final boolean isMultiFile)
+      throws PipeException, IOException {
+    final int readFileBufferSize = PipeConfig.getInstance().getPipeSinkReadFileBufferSize();
+    byte[] frame = null;
+    long position = 0;
+    try (final RandomAccessFile reader = new RandomAccessFile(file, "r")) {
+      while (true) {
+        // The header ends with the length of an empty piece, which will be set to the read length
+        final byte[] pieceHeader =
+            isMultiFile
+                ? getTransferMultiFilePieceBytes(file.getName(), position, EMPTY_FILE_PIECE)
+                : getTransferSingleFilePieceBytes(file.getName(), position, EMPTY_FILE_PIECE);
+        final int pieceOffset = FRAME_PREFIX_LENGTH + pieceHeader.length;
+        // The header length only depends on the file name, so the buffer is allocated once
+        if (Objects.isNull(frame) || frame.length != pieceOffset + readFileBufferSize) {
+          frame = new byte[pieceOffset + readFileBufferSize];
+        }
+
+        mayLimitRateAndRecordIO(readFileBufferSize);
+        final int readLength = reader.read(frame, pieceOffset, readFileBufferSize);
+        if (readLength == -1) {
+          break;
+        }
+
+        System.arraycopy(pieceHeader, 0, frame, FRAME_PREFIX_LENGTH, pieceHeader.length);
+        BytesUtils.intToBytes(readLength, frame, pieceOffset - INT_LEN);
+        if (!sendFrame(pipeName, creationTime, socket, frame, pieceOffset + readLength)) {
+          handleFilePieceTransferFailure(file, socket);
         } else {
           position += readLength;
         }
@@ -290,6 +338,57 @@ public abstract class IoTDBAirGapSink extends IoTDBSink {
     }
   }
 
+  /**
+   * Send a frame whose payload starts at {@link #FRAME_PREFIX_LENGTH}, after filling the length and
+   * checksum in its prefix.
+   */
+  private boolean sendFrame(
+      final String pipeName,
+      final long creationTime,
+      final AirGapSocket socket,
+      final byte[] frame,
+      final int frameLength)
+      throws IOException {
+    if (!socket.isConnected()) {
+      throw new SocketException(
+          String.format("Socket %s is closed, will try to handshake", socket));
+    }
+
+    final int payloadLength = frameLength - FRAME_PREFIX_LENGTH;
+    recordUncompressedTransferSize(payloadLength);
+    rateLimitIfNeeded(pipeName, creationTime, socket.getEndPoint(), payloadLength);
+
+    final CRC32 crc32 = new CRC32();
+    crc32.update(frame, FRAME_PREFIX_LENGTH, payloadLength);
+    // Length of checksum and bytes payload, doubled as simple checksum
+    BytesUtils.intToBytes(payloadLength + LONG_LEN, frame, 0);
+    BytesUtils.intToBytes(payloadLength + LONG_LEN, frame, INT_LEN);
+    BytesUtils.longToBytes(crc32.getValue(), frame, 2 * INT_LEN);
+
+    final OutputStream outputStream = socket.getOutputStream();
+    outputStream.write(frame, 0, frameLength);
+    outputStream.flush();
+
+    final byte[] response = new byte[1];
+    final int size = socket.getInputStream().read(response);
+    return size > 0 && Arrays.equals(AirGapOneByteResponse.OK, response);
+  }
+
+  private void handleFilePieceTransferFailure(final File file, final AirGapSocket socket)
+      throws IOException {
+    final String errorMessage = String.format("Transfer file %s error. Socket %s.", file, socket);
+    if (mayNeedHandshakeWhenFail()) {
+      // Send handshake because we don't know whether the receiver side configNode
+      // has set up a new one
+      sendHandshakeReq(socket);
+    }
+    receiverStatusHandler.handle(
+        new TSStatus(TSStatusCode.PIPE_RECEIVER_USER_CONFLICT_EXCEPTION.getStatusCode())
+            .setMessage(errorMessage),
+        errorMessage,
+        file.toString());
+  }
+
   protected abstract void mayLimitRateAndRecordIO(final long requiredBytes);
 
   protected abstract boolean mayNeedHandshakeWhenFail();
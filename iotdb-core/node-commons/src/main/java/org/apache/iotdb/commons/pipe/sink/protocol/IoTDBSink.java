@@ -600,6 +600,16 @@ public abstract class IoTDBSink implements PipeConnector, PipeConnectorWithEvent
     return req;
   }
 
+  protected boolean isRpcCompressionEnabled() {
+    return isRpcCompressionEnabled;
+  }
+
+  /** Record the size of a request that is sent as is, without calling {@link #compressIfNeeded}. */
+  protected void recordUncompressedTransferSize(final long size) {
+    totalUncompressedSize.addAndGet(size);
+    totalCompressedSize.addAndGet(size);
+  }
+
   protected byte[] compressIfNeeded(byte[] reqInBytes) throws IOException {
     totalUncompressedSize.addAndGet(reqInBytes.length);
     if (isRpcCompressionEnabled) {
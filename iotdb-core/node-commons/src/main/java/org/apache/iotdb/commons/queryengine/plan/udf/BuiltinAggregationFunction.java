@@ -55,7 +55,10 @@ public enum BuiltinAggregationFunction {
   REGR_SLOPE("regr_slope"),
   REGR_INTERCEPT("regr_intercept"),
   SKEWNESS("skewness"),
-  KURTOSIS("kurtosis");
+  KURTOSIS("kurtosis"),
+  APPROX_COUNT_DISTINCT("approx_count_distinct"),
+  APPROX_MOST_FREQUENT("approx_most_frequent"),
+  APPROX_PERCENTILE("approx_percentile");
 
   private final String functionName;
 
@@ -113,6 +116,9 @@ public enum BuiltinAggregationFunction {
       case "regr_intercept":
       case "skewness":
       case "kurtosis":
+      case "approx_count_distinct":
+      case "approx_most_frequent":
+      case "approx_percentile":
         return false;
       default:
         throw new IllegalArgumentException(
@@ -155,6 +161,9 @@ public enum BuiltinAggregationFunction {
       case "regr_intercept":
       case "skewness":
       case "kurtosis":
+      case "approx_count_distinct":
+      case "approx_most_frequent":
+      case "approx_percentile":
         return true;
       case "count_if":
       case "count_time":
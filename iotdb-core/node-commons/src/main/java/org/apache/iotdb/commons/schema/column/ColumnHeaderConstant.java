@@ -240,6 +240,16 @@ public class ColumnHeaderConstant {
   public static final String BIN = "bin";
   public static final String NUMS = "nums";
 
+  // column names for query_resources
+  public static final String FRAGMENT_INSTANCE_ID_TABLE_MODEL = "fragment_instance_id";
+  public static final String CPU_TIME_TABLE_MODEL = "cpu_time";
+  public static final String DISK_READ_BYTES_TABLE_MODEL = "disk_read_bytes";
+  public static final String CACHE_HIT_COUNT_TABLE_MODEL = "cache_hit_count";
+  public static final String DISK_LOAD_COUNT_TABLE_MODEL = "disk_load_count";
+  public static final String DECODED_BYTES_TABLE_MODEL = "decoded_bytes";
+  public static final String RESERVED_MEMORY_TABLE_MODEL = "reserved_memory";
+  public static final String SPILLED_BYTES_TABLE_MODEL = "spilled_bytes";
+
   public static final String TABLE_NAME_TABLE_MODEL = "table_name";
   public static final String TABLE_TYPE_TABLE_MODEL = "table_type";
   public static final String COLUMN_NAME_TABLE_MODEL = "column_name";
@@ -62,6 +62,7 @@ public class InformationSchema {
   public static final String CURRENT_QUERIES = "current_queries";
   public static final String QUERIES_COSTS_HISTOGRAM = "queries_costs_histogram";
   public static final String SERVICES = "services";
+  public static final String QUERY_RESOURCES = "query_resources";
 
   static {
     final TsTable queriesTable = new TsTable(QUERIES);
@@ -424,6 +425,38 @@ public class InformationSchema {
         new AttributeColumnSchema(ColumnHeaderConstant.STATE_TABLE_MODEL, TSDataType.STRING));
     servicesTable.removeColumnSchema(TsTable.TIME_COLUMN_NAME);
     schemaTables.put(SERVICES, servicesTable);
+
+    final TsTable queryResourcesTable = new TsTable(QUERY_RESOURCES);
+    queryResourcesTable.addColumnSchema(
+        new TagColumnSchema(ColumnHeaderConstant.QUERY_ID_TABLE_MODEL, TSDataType.STRING));
+    queryResourcesTable.addColumnSchema(
+        new TagColumnSchema(
+            ColumnHeaderConstant.FRAGMENT_INSTANCE_ID_TABLE_MODEL, TSDataType.STRING));
+    queryResourcesTable.addColumnSchema(
+        new AttributeColumnSchema(ColumnHeaderConstant.DATA_NODE_ID_TABLE_MODEL, TSDataType.INT32));
+    queryResourcesTable.addColumnSchema(
+        new AttributeColumnSchema(ColumnHeaderConstant.STATE_TABLE_MODEL, TSDataType.STRING));
+    queryResourcesTable.addColumnSchema(
+        new AttributeColumnSchema(ColumnHeaderConstant.CPU_TIME_TABLE_MODEL, TSDataType.FLOAT));
+    queryResourcesTable.addColumnSchema(
+        new AttributeColumnSchema(
+            ColumnHeaderConstant.DISK_READ_BYTES_TABLE_MODEL, TSDataType.INT64));
+    queryResourcesTable.addColumnSchema(
+        new AttributeColumnSchema(
+            ColumnHeaderConstant.CACHE_HIT_COUNT_TABLE_MODEL, TSDataType.INT64));
+    queryResourcesTable.addColumnSchema(
+        new AttributeColumnSchema(
+            ColumnHeaderConstant.DISK_LOAD_COUNT_TABLE_MODEL, TSDataType.INT64));
+    queryResourcesTable.addColumnSchema(
+        new AttributeColumnSchema(
+            ColumnHeaderConstant.DECODED_BYTES_TABLE_MODEL, TSDataType.INT64));
+    queryResourcesTable.addColumnSchema(
+        new AttributeColumnSchema(
+            ColumnHeaderConstant.RESERVED_MEMORY_TABLE_MODEL, TSDataType.INT64));
+    queryResourcesTable.addColumnSchema(
+        new AttributeColumnSchema(
+            ColumnHeaderConstant.SPILLED_BYTES_TABLE_MODEL, TSDataType.INT64));
+    schemaTables.put(QUERY_RESOURCES, queryResourcesTable);
   }
 
   static {
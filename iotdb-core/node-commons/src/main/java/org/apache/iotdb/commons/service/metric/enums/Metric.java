@@ -33,6 +33,7 @@ public enum Metric {
   REGION_NUM("region_num"),
   REGION_NUM_IN_DATA_NODE("region_num_in_data_node"),
   REGION_GROUP_LEADER_NUM_IN_DATA_NODE("region_group_leader_num_in_data_node"),
+  REGION_MIGRATION_BALANCE("region_migration_balance"),
   SCATTER_WIDTH_NUM_IN_DATA_NODE("scatter_width_num_in_data_node"),
   SERIES_SLOT_NUM_IN_DATABASE("series_slot_num_in_database"),
   TIME_SLOT_NUM_IN_DATABASE("time_slot_num_in_database"),
@@ -32,7 +32,8 @@ public enum Tag {
   CREATION_TIME("creation_time"),
   INDEX("index"),
   MODULE("module"),
-  LEVEL("level");
+  LEVEL("level"),
+  RESOURCE_GROUP("resource_group");
 
   final String value;
 
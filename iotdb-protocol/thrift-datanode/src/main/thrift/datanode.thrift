@@ -289,6 +289,9 @@ struct TDataNodeHeartbeatReq {
   // Using 8 bit to represent 8 bool
   // lowest bit: enable separation of admin powers
   16: optional byte booleanVariables1
+  // The version of region statistics last applied by the ConfigNode, -1 requires a full snapshot.
+  // When set, the DataNode only reports the region statistics changed since that version
+  17: optional i64 regionStatisticsBaseVersion
 }
 
 struct TDataNodeActivation {
@@ -316,6 +319,11 @@ struct TDataNodeHeartbeatResp {
   15: optional list<i64> pipeRemainingEventCountList
   16: optional list<double> pipeRemainingTimeList
   17: optional map<i32, i64> dataRegionRawDataSize
+  // Set when the request carries regionStatisticsBaseVersion
+  18: optional i64 regionStatisticsVersion
+  // Whether judgedLeaders and consensusLogicalTimeMap only contain the changed Regions
+  19: optional bool regionStatisticsDelta
+  20: optional list<common.TConsensusGroupId> removedRegionIds
 }
 
 struct TPipeHeartbeatReq {
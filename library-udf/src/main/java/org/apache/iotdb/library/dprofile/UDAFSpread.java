@@ -17,35 +17,88 @@
  * under the License.
  */
 
+
 package org.apache.iotdb.library.dprofile;
 
-import org.apache.iotdb.library.util.NoNumberException;
-import org.apache.iotdb.udf.api.UDTF;
-import org.apache.iotdb.udf.api.access.Row;
-import org.apache.iotdb.udf.api.collector.PointCollector;
-import org.apache.iotdb.udf.api.customizer.config.UDTFConfigurations;
+import org.apache.iotdb.udf.api.State;
+import org.apache.iotdb.udf.api.UDAF;
+import org.apache.iotdb.udf.api.access.Statistics;
+import org.apache.iotdb.udf.api.access.StatisticsType;
+import org.apache.iotdb.udf.api.customizer.config.UDAFConfigurations;
 import org.apache.iotdb.udf.api.customizer.parameter.UDFParameterValidator;
 import org.apache.iotdb.udf.api.customizer.parameter.UDFParameters;
-import org.apache.iotdb.udf.api.customizer.strategy.RowByRowAccessStrategy;
 import org.apache.iotdb.udf.api.type.Type;
+import org.apache.iotdb.udf.api.utils.ResultValue;
+
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.utils.BitMap;
 
-import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * This function is used to calculate the spread of time series, that is, the maximum value minus
- * the minimum value.
+ * the minimum value. It consumes the min and max statistics of TsFile, so the chunks and pages
+ * entirely in the aggregation window are not decoded.
  */
-public class UDAFSpread implements UDTF {
-
-  int intMin = Integer.MAX_VALUE;
-  int intMax = Integer.MIN_VALUE;
-  long longMin = Long.MAX_VALUE;
-  long longMax = Long.MIN_VALUE;
-  float floatMin = Float.MAX_VALUE;
-  float floatMax = -Float.MAX_VALUE;
-  double doubleMin = Double.MAX_VALUE;
-  double doubleMax = -Double.MAX_VALUE;
-  Type dataType;
+public class UDAFSpread implements UDAF {
+
+  static class SpreadState implements State {
+    long longMin = Long.MAX_VALUE;
+    long longMax = Long.MIN_VALUE;
+    double doubleMin = Double.MAX_VALUE;
+    double doubleMax = -Double.MAX_VALUE;
+    boolean initResult = false;
+
+    @Override
+    public void reset() {
+      longMin = Long.MAX_VALUE;
+      longMax = Long.MIN_VALUE;
+      doubleMin = Double.MAX_VALUE;
+      doubleMax = -Double.MAX_VALUE;
+      initResult = false;
+    }
+
+    @Override
+    public byte[] serialize() {
+      ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * 2 + Double.BYTES * 2 + 1);
+      buffer.putLong(longMin);
+      buffer.putLong(longMax);
+      buffer.putDouble(doubleMin);
+      buffer.putDouble(doubleMax);
+      buffer.put(initResult ? (byte) 1 : (byte) 0);
+      return buffer.array();
+    }
+
+    @Override
+    public void deserialize(byte[] bytes) {
+      ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      longMin = buffer.getLong();
+      longMax = buffer.getLong();
+      doubleMin = buffer.getDouble();
+      doubleMax = buffer.getDouble();
+      initResult = buffer.get() == (byte) 1;
+    }
+
+    private void updateLong(long min, long max) {
+      longMin = Math.min(longMin, min);
+      longMax = Math.max(longMax, max);
+      initResult = true;
+    }
+
+    private void updateDouble(double min, double max) {
+      // Non-finite values are skipped, so are the non-finite bounds of statistics
+      if (Double.isFinite(min)) {
+        doubleMin = Math.min(doubleMin, min);
+        initResult = true;
+      }
+      if (Double.isFinite(max)) {
+        doubleMax = Math.max(doubleMax, max);
+        initResult = true;
+      }
+    }
+  }
+
+  private Type dataType;
 
   @Override
   public void validate(UDFParameterValidator validator) throws Exception {
@@ -55,26 +108,65 @@ public class UDAFSpread implements UDTF {
   }
 
   @Override
-  public void beforeStart(UDFParameters parameters, UDTFConfigurations configurations)
-      throws Exception {
+  public void beforeStart(UDFParameters parameters, UDAFConfigurations configurations) {
     dataType = parameters.getDataType(0);
-    configurations.setAccessStrategy(new RowByRowAccessStrategy()).setOutputDataType(dataType);
+    configurations
+        .setOutputDataType(dataType)
+        .setConsumedStatistics(StatisticsType.MIN_VALUE, StatisticsType.MAX_VALUE);
+  }
+
+  @Override
+  public State createState() {
+    return new SpreadState();
+  }
+
+  @Override
+  public void addInput(State state, Column[] columns, BitMap bitMap) {
+    SpreadState spreadState = (SpreadState) state;
+    Column column = columns[0];
+    int count = column.getPositionCount();
+    for (int i = 0; i < count; i++) {
+      if ((bitMap != null && !bitMap.isMarked(i)) || column.isNull(i)) {
+        continue;
+      }
+      switch (dataType) {
+        case INT32:
+          spreadState.updateLong(column.getInt(i), column.getInt(i));
+          break;
+        case INT64:
+          spreadState.updateLong(column.getLong(i), column.getLong(i));
+          break;
+        case FLOAT:
+          spreadState.updateDouble(column.getFloat(i), column.getFloat(i));
+          break;
+        case DOUBLE:
+          spreadState.updateDouble(column.getDouble(i), column.getDouble(i));
+          break;
+        case BLOB:
+        case TIMESTAMP:
+        case BOOLEAN:
+        case STRING:
+        case TEXT:
+        case DATE:
+        default:
+          break;
+      }
+    }
   }
 
   @Override
-  public void transform(Row row, PointCollector pc) throws Exception {
+  public void addStatistics(State state, Statistics statistics) {
+    SpreadState spreadState = (SpreadState) state;
+    Number min = (Number) statistics.getMinValue();
+    Number max = (Number) statistics.getMaxValue();
     switch (dataType) {
       case INT32:
-        transformInt(row);
-        break;
       case INT64:
-        transformLong(row);
+        spreadState.updateLong(min.longValue(), max.longValue());
         break;
       case FLOAT:
-        transformFloat(row);
-        break;
       case DOUBLE:
-        transformDouble(row);
+        spreadState.updateDouble(min.doubleValue(), max.doubleValue());
         break;
       case BLOB:
       case TIMESTAMP:
@@ -88,19 +180,38 @@ public class UDAFSpread implements UDTF {
   }
 
   @Override
-  public void terminate(PointCollector pc) throws Exception {
+  public void combineState(State state, State rhs) {
+    SpreadState spreadState = (SpreadState) state;
+    SpreadState spreadRhs = (SpreadState) rhs;
+    if (!spreadRhs.initResult) {
+      return;
+    }
+    spreadState.longMin = Math.min(spreadState.longMin, spreadRhs.longMin);
+    spreadState.longMax = Math.max(spreadState.longMax, spreadRhs.longMax);
+    spreadState.doubleMin = Math.min(spreadState.doubleMin, spreadRhs.doubleMin);
+    spreadState.doubleMax = Math.max(spreadState.doubleMax, spreadRhs.doubleMax);
+    spreadState.initResult = true;
+  }
+
+  @Override
+  public void outputFinal(State state, ResultValue resultValue) {
+    SpreadState spreadState = (SpreadState) state;
+    if (!spreadState.initResult) {
+      resultValue.setNull();
+      return;
+    }
     switch (dataType) {
       case INT32:
-        pc.putInt(0, intMax - intMin);
+        resultValue.setInt((int) spreadState.longMax - (int) spreadState.longMin);
         break;
       case INT64:
-        pc.putLong(0, longMax - longMin);
+        resultValue.setLong(spreadState.longMax - spreadState.longMin);
         break;
       case FLOAT:
-        pc.putFloat(0, floatMax - floatMin);
+        resultValue.setFloat((float) spreadState.doubleMax - (float) spreadState.doubleMin);
         break;
       case DOUBLE:
-        pc.putDouble(0, doubleMax - doubleMin);
+        resultValue.setDouble(spreadState.doubleMax - spreadState.doubleMin);
         break;
       case TEXT:
       case DATE:
@@ -109,35 +220,8 @@ public class UDAFSpread implements UDTF {
       case TIMESTAMP:
       case BLOB:
       default:
-        throw new NoNumberException();
-    }
-  }
-
-  private void transformInt(Row row) throws IOException {
-    int v = row.getInt(0);
-    intMin = Math.min(intMin, v);
-    intMax = Math.max(intMax, v);
-  }
-
-  private void transformLong(Row row) throws IOException {
-    long v = row.getLong(0);
-    longMin = Math.min(longMin, v);
-    longMax = Math.max(longMax, v);
-  }
-
-  private void transformFloat(Row row) throws IOException {
-    float v = row.getFloat(0);
-    if (Float.isFinite(v)) {
-      floatMin = Math.min(floatMin, v);
-      floatMax = Math.max(floatMax, v);
-    }
-  }
-
-  private void transformDouble(Row row) throws IOException {
-    double v = row.getDouble(0);
-    if (Double.isFinite(v)) {
-      doubleMin = Math.min(doubleMin, v);
-      doubleMax = Math.max(doubleMax, v);
+        resultValue.setNull();
+        break;
     }
   }
 }
@@ -30,6 +30,9 @@ import org.apache.iotdb.udf.api.customizer.parameter.UDFParameters;
 import org.apache.iotdb.udf.api.customizer.strategy.RowByRowAccessStrategy;
 import org.apache.iotdb.udf.api.type.Type;
 
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.block.column.ColumnBuilder;
+
 /** This function calculates moving average of given window length of input series. */
 public class UDTFMvAvg implements UDTF {
   int windowSize;
@@ -73,6 +76,33 @@ public class UDTFMvAvg implements UDTF {
     }
   }
 
+  @Override
+  public void transform(Column[] columns, ColumnBuilder timesBuilder, ColumnBuilder valuesBuilder)
+      throws Exception {
+    Column values = columns[0];
+    Column times = columns[1];
+    int count = values.getPositionCount();
+    for (int i = 0; i < count; i++) {
+      if (values.isNull(i)) {
+        Util.putNull(times.getLong(i), timesBuilder, valuesBuilder);
+        continue;
+      }
+      double windowSum = 0d;
+      if (v.isFull()) {
+        windowSum -= v.pop();
+      }
+      double value = Util.getValueAsDouble(values, i);
+      if (Double.isFinite(value)) {
+        v.push(value);
+        windowSum += value;
+        if (v.isFull()) {
+          timesBuilder.writeLong(times.getLong(i));
+          valuesBuilder.writeDouble(windowSum / windowSize);
+        }
+      }
+    }
+  }
+
   @Override
   public void terminate(PointCollector collector)
       throws Exception { // default implementation ignored
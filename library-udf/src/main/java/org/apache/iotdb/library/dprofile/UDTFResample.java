@@ -30,6 +30,9 @@ import org.apache.iotdb.udf.api.customizer.parameter.UDFParameters;
 import org.apache.iotdb.udf.api.customizer.strategy.RowByRowAccessStrategy;
 import org.apache.iotdb.udf.api.type.Type;
 
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.block.column.ColumnBuilder;
+
 import java.text.SimpleDateFormat;
 
 /** This function does upsample or downsample of input series. */
@@ -104,6 +107,26 @@ public class UDTFResample implements UDTF {
     }
   }
 
+  @Override
+  public void transform(Column[] columns, ColumnBuilder timesBuilder, ColumnBuilder valuesBuilder)
+      throws Exception {
+    Column values = columns[0];
+    Column times = columns[1];
+    int count = values.getPositionCount();
+    for (int i = 0; i < count; i++) {
+      if (values.isNull(i)) {
+        Util.putNull(times.getLong(i), timesBuilder, valuesBuilder);
+        continue;
+      }
+      resampler.insert(times.getLong(i), Util.getValueAsDouble(values, i));
+      while (resampler.hasNext()) { // output as early as possible
+        timesBuilder.writeLong(resampler.getOutTime());
+        valuesBuilder.writeDouble(resampler.getOutValue());
+        resampler.next();
+      }
+    }
+  }
+
   @Override
   public void terminate(PointCollector pc) throws Exception {
     resampler.flush();
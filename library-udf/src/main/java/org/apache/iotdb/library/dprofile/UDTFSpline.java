@@ -32,6 +32,8 @@ import org.apache.iotdb.udf.api.type.Type;
 import org.apache.commons.lang3.ArrayUtils;
 import org.apache.commons.math3.analysis.interpolation.AkimaSplineInterpolator;
 import org.apache.commons.math3.analysis.polynomials.PolynomialSplineFunction;
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.block.column.ColumnBuilder;
 
 import java.util.ArrayList;
 
@@ -75,6 +77,30 @@ public class UDTFSpline implements UDTF {
     }
   }
 
+  @Override
+  public void transform(Column[] columns, ColumnBuilder timesBuilder, ColumnBuilder valuesBuilder)
+      throws Exception {
+    Column values = columns[0];
+    Column times = columns[1];
+    int count = values.getPositionCount();
+    for (int i = 0; i < count; i++) {
+      if (values.isNull(i)) {
+        Util.putNull(times.getLong(i), timesBuilder, valuesBuilder);
+        continue;
+      }
+      double v = Util.getValueAsDouble(values, i);
+      if (Double.isFinite(v)) {
+        Long t = times.getLong(i);
+        if (minimumTimestamp < 0) {
+          minimumTimestamp = t;
+        }
+        timestamp.add(t);
+        xDouble.add((Double.valueOf(Long.toString(t - minimumTimestamp))));
+        yDouble.add(v);
+      }
+    }
+  }
+
   @Override
   public void terminate(PointCollector collector) throws Exception {
     if (yDouble.size() >= 4 && samplePoints >= 2) { // 4个点以上才进行插值
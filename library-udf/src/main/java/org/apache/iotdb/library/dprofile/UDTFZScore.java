@@ -29,6 +29,9 @@ import org.apache.iotdb.udf.api.customizer.parameter.UDFParameters;
 import org.apache.iotdb.udf.api.customizer.strategy.RowByRowAccessStrategy;
 import org.apache.iotdb.udf.api.type.Type;
 
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.block.column.ColumnBuilder;
+
 import java.util.ArrayList;
 
 /**
@@ -93,6 +96,32 @@ public class UDTFZScore implements UDTF {
     }
   }
 
+  @Override
+  public void transform(Column[] columns, ColumnBuilder timesBuilder, ColumnBuilder valuesBuilder)
+      throws Exception {
+    Column values = columns[0];
+    Column times = columns[1];
+    int count = values.getPositionCount();
+    for (int i = 0; i < count; i++) {
+      if (values.isNull(i)) {
+        Util.putNull(times.getLong(i), timesBuilder, valuesBuilder);
+        continue;
+      }
+      if (compute.equalsIgnoreCase(STREAM_COMPUTE) && sd > 0) {
+        timesBuilder.writeLong(times.getLong(i));
+        valuesBuilder.writeDouble((Util.getValueAsDouble(values, i) - avg) / sd);
+      } else if (compute.equalsIgnoreCase(BATCH_COMPUTE)) {
+        double v = Util.getValueAsDouble(values, i);
+        if (Double.isFinite(v)) {
+          value.add(v);
+          timestamp.add(times.getLong(i));
+          sum += v;
+          squareSum += v * v;
+        }
+      }
+    }
+  }
+
   @Override
   public void terminate(PointCollector collector) throws Exception {
     if (compute.equalsIgnoreCase(BATCH_COMPUTE)) {
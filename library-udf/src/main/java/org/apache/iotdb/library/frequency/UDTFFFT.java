@@ -30,6 +30,8 @@ import org.apache.iotdb.udf.api.customizer.parameter.UDFParameters;
 import org.apache.iotdb.udf.api.customizer.strategy.RowByRowAccessStrategy;
 import org.apache.iotdb.udf.api.type.Type;
 
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.block.column.ColumnBuilder;
 import org.eclipse.collections.impl.list.mutable.primitive.DoubleArrayList;
 import org.jtransforms.fft.DoubleFFT_1D;
 
@@ -84,6 +86,24 @@ public class UDTFFFT implements UDTF {
     }
   }
 
+  @Override
+  public void transform(Column[] columns, ColumnBuilder timesBuilder, ColumnBuilder valuesBuilder)
+      throws Exception {
+    Column values = columns[0];
+    Column times = columns[1];
+    int count = values.getPositionCount();
+    for (int i = 0; i < count; i++) {
+      if (values.isNull(i)) {
+        Util.putNull(times.getLong(i), timesBuilder, valuesBuilder);
+        continue;
+      }
+      double v = Util.getValueAsDouble(values, i);
+      if (Double.isFinite(v)) {
+        list.add(v);
+      }
+    }
+  }
+
   @Override
   public void terminate(PointCollector collector) throws Exception {
     int n = list.size();
@@ -26,6 +26,8 @@ import org.apache.iotdb.udf.api.customizer.parameter.UDFParameters;
 import org.apache.iotdb.udf.api.type.Type;
 
 import org.apache.commons.math3.stat.descriptive.rank.Median;
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.block.column.ColumnBuilder;
 import org.eclipse.collections.api.tuple.primitive.LongIntPair;
 import org.eclipse.collections.impl.map.mutable.primitive.LongIntHashMap;
 
@@ -91,6 +93,49 @@ public class Util {
     return getValueAsDouble(row, 0);
   }
 
+  /**
+   * Get value at specific position from Column, and cast to double. Make sure never get null from
+   * Column.
+   *
+   * @param column data column
+   * @param position the position in the column
+   * @return value at specific position from Column
+   * @throws NoNumberException when getting a no number datatype
+   */
+  public static double getValueAsDouble(Column column, int position) throws NoNumberException {
+    switch (column.getDataType()) {
+      case INT32:
+        return column.getInt(position);
+      case INT64:
+        return column.getLong(position);
+      case FLOAT:
+        return column.getFloat(position);
+      case DOUBLE:
+        return column.getDouble(position);
+      case DATE:
+      case BLOB:
+      case BOOLEAN:
+      case STRING:
+      case TEXT:
+      case TIMESTAMP:
+      default:
+        throw new NoNumberException();
+    }
+  }
+
+  /**
+   * Output a null point for an input row whose values are all null, as the query engine does for a
+   * row-by-row UDTF. Used by the UDTFs transforming columns in batches.
+   *
+   * @param time time of the input row
+   * @param timesBuilder builder of output times
+   * @param valuesBuilder builder of output values
+   */
+  public static void putNull(long time, ColumnBuilder timesBuilder, ColumnBuilder valuesBuilder) {
+    timesBuilder.writeLong(time);
+    valuesBuilder.appendNull();
+  }
+
   /**
    * Get value from 0th column from Row, and cast to Object.
    *
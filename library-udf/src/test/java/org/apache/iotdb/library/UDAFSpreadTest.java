@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.library;
+
+import org.apache.iotdb.library.dprofile.UDAFSpread;
+import org.apache.iotdb.udf.api.State;
+import org.apache.iotdb.udf.api.access.Statistics;
+import org.apache.iotdb.udf.api.access.StatisticsType;
+import org.apache.iotdb.udf.api.customizer.config.UDAFConfigurations;
+import org.apache.iotdb.udf.api.customizer.parameter.UDFParameters;
+import org.apache.iotdb.udf.api.type.Type;
+import org.apache.iotdb.udf.api.utils.ResultValue;
+
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.block.column.ColumnBuilder;
+import org.apache.tsfile.read.common.block.column.DoubleColumnBuilder;
+import org.apache.tsfile.read.common.block.column.LongColumnBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+
+public class UDAFSpreadTest {
+
+  @Test
+  public void testSpreadWithStatistics() {
+    UDAFSpread spread = new UDAFSpread();
+    UDAFConfigurations configurations = new UDAFConfigurations();
+    spread.beforeStart(
+        new UDFParameters(
+            Collections.singletonList("s1"),
+            Collections.singletonList(Type.DOUBLE),
+            new HashMap<>()),
+        configurations);
+    Assert.assertEquals(
+        EnumSet.of(StatisticsType.MIN_VALUE, StatisticsType.MAX_VALUE),
+        configurations.getConsumedStatistics());
+
+    // raw values of a boundary page, the time column is the last one
+    State state = spread.createState();
+    ColumnBuilder valueBuilder = new DoubleColumnBuilder(null, 3);
+    ColumnBuilder timeBuilder = new LongColumnBuilder(null, 3);
+    for (double value : new double[] {3.5, Double.NaN, -1.5}) {
+      valueBuilder.writeDouble(value);
+      timeBuilder.writeLong(0);
+    }
+    spread.addInput(state, new Column[] {valueBuilder.build(), timeBuilder.build()}, null);
+
+    // a whole chunk answered by its statistics, merged as a partial state
+    State other = spread.createState();
+    spread.addStatistics(other, new MinMaxStatistics(-2.0, 1.0));
+    State deserialized = spread.createState();
+    deserialized.deserialize(other.serialize());
+    spread.combineState(state, deserialized);
+
+    ColumnBuilder resultBuilder = new DoubleColumnBuilder(null, 1);
+    spread.outputFinal(state, new ResultValue(resultBuilder));
+    Assert.assertEquals(5.5, resultBuilder.build().getDouble(0), 0);
+
+    // nothing aggregated
+    resultBuilder = new DoubleColumnBuilder(null, 1);
+    spread.outputFinal(spread.createState(), new ResultValue(resultBuilder));
+    Assert.assertTrue(resultBuilder.build().isNull(0));
+  }
+
+  private static class MinMaxStatistics implements Statistics {
+
+    private final double min;
+    private final double max;
+
+    private MinMaxStatistics(double min, double max) {
+      this.min = min;
+      this.max = max;
+    }
+
+    @Override
+    public Type getDataType() {
+      return Type.DOUBLE;
+    }
+
+    @Override
+    public long getCount() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long getStartTime() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public long getEndTime() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object getMinValue() {
+      return min;
+    }
+
+    @Override
+    public Object getMaxValue() {
+      return max;
+    }
+
+    @Override
+    public Object getFirstValue() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object getLastValue() {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public double getSumValue() {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
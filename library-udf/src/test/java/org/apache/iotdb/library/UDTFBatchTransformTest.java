@@ -0,0 +1,293 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.library;
+
+import org.apache.iotdb.library.dprofile.UDTFMvAvg;
+import org.apache.iotdb.library.dprofile.UDTFResample;
+import org.apache.iotdb.library.dprofile.UDTFSpline;
+import org.apache.iotdb.library.dprofile.UDTFZScore;
+import org.apache.iotdb.library.frequency.UDTFFFT;
+import org.apache.iotdb.library.frequency.UDTFLowPass;
+import org.apache.iotdb.udf.api.UDTF;
+import org.apache.iotdb.udf.api.collector.PointCollector;
+import org.apache.iotdb.udf.api.customizer.config.UDTFConfigurations;
+import org.apache.iotdb.udf.api.customizer.parameter.UDFParameters;
+import org.apache.iotdb.udf.api.type.Binary;
+import org.apache.iotdb.udf.api.type.Type;
+import org.apache.iotdb.udf.api.utils.RowImpl;
+
+import org.apache.tsfile.block.column.Column;
+import org.apache.tsfile.block.column.ColumnBuilder;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.common.block.column.DoubleColumnBuilder;
+import org.apache.tsfile.read.common.block.column.FloatColumnBuilder;
+import org.apache.tsfile.read.common.block.column.IntColumnBuilder;
+import org.apache.tsfile.read.common.block.column.LongColumnBuilder;
+import org.apache.tsfile.read.common.block.column.TimeColumnBuilder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Checks that the UDTFs transforming columns in batches output the same points as their
+ * transformations of rows, which the query engine drives by skipping the null rows with a null
+ * output.
+ */
+public class UDTFBatchTransformTest {
+
+  private static final int ROW_COUNT = 40;
+  private static final int BATCH_SIZE = 7;
+
+  private static final TSDataType[] INPUT_TYPES = {
+    TSDataType.INT32, TSDataType.INT64, TSDataType.FLOAT, TSDataType.DOUBLE
+  };
+
+  @Test
+  public void testMvAvg() throws Exception {
+    Map<String, String> attributes = new HashMap<>();
+    attributes.put("window", "3");
+    checkBatchTransform(UDTFMvAvg::new, attributes);
+  }
+
+  @Test
+  public void testZScore() throws Exception {
+    checkBatchTransform(UDTFZScore::new, new HashMap<>());
+
+    Map<String, String> attributes = new HashMap<>();
+    attributes.put("compute", "stream");
+    attributes.put("avg", "1");
+    attributes.put("sd", "2");
+    checkBatchTransform(UDTFZScore::new, attributes);
+  }
+
+  @Test
+  public void testResample() throws Exception {
+    Map<String, String> attributes = new HashMap<>();
+    attributes.put("every", "3s");
+    checkBatchTransform(UDTFResample::new, attributes);
+
+    attributes.put("every", "500ms");
+    attributes.put("interp", "linear");
+    checkBatchTransform(UDTFResample::new, attributes);
+  }
+
+  @Test
+  public void testSpline() throws Exception {
+    Map<String, String> attributes = new HashMap<>();
+    attributes.put("points", "60");
+    checkBatchTransform(UDTFSpline::new, attributes);
+  }
+
+  @Test
+  public void testFFT() throws Exception {
+    checkBatchTransform(UDTFFFT::new, new HashMap<>());
+  }
+
+  @Test
+  public void testLowPass() throws Exception {
+    Map<String, String> attributes = new HashMap<>();
+    attributes.put("wpass", "0.45");
+    checkBatchTransform(UDTFLowPass::new, attributes);
+  }
+
+  private static void checkBatchTransform(
+      Supplier<UDTF> udtfFactory, Map<String, String> attributes) throws Exception {
+    for (TSDataType dataType : INPUT_TYPES) {
+      Object[] values = generateValues(dataType);
+      UDFParameters parameters =
+          new UDFParameters(
+              Collections.singletonList("s"),
+              Collections.singletonList(Type.valueOf(dataType.name())),
+              attributes);
+
+      ListCollector rowOutput = new ListCollector();
+      UDTF rowUdtf = udtfFactory.get();
+      rowUdtf.beforeStart(parameters, new UDTFConfigurations(ZoneId.systemDefault()));
+      for (int i = 0; i < ROW_COUNT; i++) {
+        if (values[i] == null) {
+          rowOutput.putNull(getTime(i));
+          continue;
+        }
+        RowImpl row = new RowImpl(new TSDataType[] {dataType, TSDataType.TIMESTAMP});
+        row.setRowRecord(new Object[] {values[i], getTime(i)});
+        rowUdtf.transform(row, rowOutput);
+      }
+      rowUdtf.terminate(rowOutput);
+
+      ListCollector batchOutput = new ListCollector();
+      UDTF batchUdtf = udtfFactory.get();
+      batchUdtf.beforeStart(parameters, new UDTFConfigurations(ZoneId.systemDefault()));
+      for (int start = 0; start < ROW_COUNT; start += BATCH_SIZE) {
+        int end = Math.min(start + BATCH_SIZE, ROW_COUNT);
+        TimeColumnBuilder timesBuilder = new TimeColumnBuilder(null, BATCH_SIZE);
+        DoubleColumnBuilder valuesBuilder = new DoubleColumnBuilder(null, BATCH_SIZE);
+        Column[] columns = {
+          buildValueColumn(dataType, values, start, end), buildTimeColumn(start, end)
+        };
+        batchUdtf.transform(columns, timesBuilder, valuesBuilder);
+        batchOutput.addColumns(timesBuilder.build(), valuesBuilder.build());
+      }
+      batchUdtf.terminate(batchOutput);
+
+      String message = batchUdtf.getClass().getSimpleName() + " of " + dataType;
+      Assert.assertEquals(message, rowOutput.times, batchOutput.times);
+      Assert.assertEquals(message, rowOutput.values, batchOutput.values);
+    }
+  }
+
+  private static long getTime(int i) {
+    return i * 1000L;
+  }
+
+  /** Every fifth value is null. */
+  private static Object[] generateValues(TSDataType dataType) {
+    Object[] values = new Object[ROW_COUNT];
+    for (int i = 0; i < ROW_COUNT; i++) {
+      if (i % 5 == 3) {
+        continue;
+      }
+      double value = (i * 7 % 11) * 1.5 - 4;
+      switch (dataType) {
+        case INT32:
+          values[i] = (int) value;
+          break;
+        case INT64:
+          values[i] = (long) value;
+          break;
+        case FLOAT:
+          values[i] = (float) value;
+          break;
+        default:
+          values[i] = value;
+          break;
+      }
+    }
+    return values;
+  }
+
+  private static Column buildValueColumn(TSDataType dataType, Object[] values, int start, int end) {
+    ColumnBuilder builder;
+    switch (dataType) {
+      case INT32:
+        builder = new IntColumnBuilder(null, end - start);
+        break;
+      case INT64:
+        builder = new LongColumnBuilder(null, end - start);
+        break;
+      case FLOAT:
+        builder = new FloatColumnBuilder(null, end - start);
+        break;
+      default:
+        builder = new DoubleColumnBuilder(null, end - start);
+        break;
+    }
+    for (int i = start; i < end; i++) {
+      if (values[i] == null) {
+        builder.appendNull();
+        continue;
+      }
+      switch (dataType) {
+        case INT32:
+          builder.writeInt((int) values[i]);
+          break;
+        case INT64:
+          builder.writeLong((long) values[i]);
+          break;
+        case FLOAT:
+          builder.writeFloat((float) values[i]);
+          break;
+        default:
+          builder.writeDouble((double) values[i]);
+          break;
+      }
+    }
+    return builder.build();
+  }
+
+  private static Column buildTimeColumn(int start, int end) {
+    TimeColumnBuilder builder = new TimeColumnBuilder(null, end - start);
+    for (int i = start; i < end; i++) {
+      builder.writeLong(getTime(i));
+    }
+    return builder.build();
+  }
+
+  /** Collects the output points, where a null value stands for a null output. */
+  private static class ListCollector implements PointCollector {
+
+    private final List<Long> times = new ArrayList<>();
+    private final List<Double> values = new ArrayList<>();
+
+    private void putNull(long timestamp) {
+      times.add(timestamp);
+      values.add(null);
+    }
+
+    private void addColumns(Column timeColumn, Column valueColumn) {
+      for (int i = 0; i < timeColumn.getPositionCount(); i++) {
+        times.add(timeColumn.getLong(i));
+        values.add(valueColumn.isNull(i) ? null : valueColumn.getDouble(i));
+      }
+    }
+
+    @Override
+    public void putInt(long timestamp, int value) {
+      putDouble(timestamp, value);
+    }
+
+    @Override
+    public void putLong(long timestamp, long value) {
+      putDouble(timestamp, value);
+    }
+
+    @Override
+    public void putFloat(long timestamp, float value) {
+      putDouble(timestamp, value);
+    }
+
+    @Override
+    public void putDouble(long timestamp, double value) {
+      times.add(timestamp);
+      values.add(value);
+    }
+
+    @Override
+    public void putBoolean(long timestamp, boolean value) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void putBinary(long timestamp, Binary value) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void putString(long timestamp, String value) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}